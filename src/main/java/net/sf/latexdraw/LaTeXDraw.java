@@ -38,6 +38,7 @@ import javafx.stage.StageStyle;
 import javafx.stage.WindowEvent;
 import javafx.util.BuilderFactory;
 import javafx.util.Duration;
+import net.sf.latexdraw.command.UndoHistoryBudget;
 import net.sf.latexdraw.instrument.PreferencesSetter;
 import net.sf.latexdraw.instrument.StatusBarController;
 import net.sf.latexdraw.instrument.TabSelector;
@@ -56,7 +57,8 @@ public class LaTeXDraw extends JfxUI {
 	public static final String LABEL_APP = "LaTeXDraw"; //NON-NLS
 
 	static {
-		UndoCollector.INSTANCE.setSizeMax(30);
+		// The undo history is bounded by the memory its commands retain (32 MB), up to 200 commands
+		UndoCollector.INSTANCE.addHandler(new UndoHistoryBudget(UndoCollector.INSTANCE, 32L * 1024L * 1024L, 200));
 		CommandsRegistry.INSTANCE.setSizeMax(30);
 	}
 
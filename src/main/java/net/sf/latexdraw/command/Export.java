@@ -213,7 +213,14 @@ public class Export extends CommandImpl {
 
 		snapshotParameters.setFill(Color.WHITE);
 		snapshotParameters.setTransform(new Scale(scale, scale));
-		views.snapshot(snapshotParameters, img);
+		// The image must contain all the details of the views, whatever the zoom level
+		final boolean lod = canvas.isLevelOfDetailEnabled();
+		canvas.setLevelOfDetailEnabled(false);
+		try {
+			views.snapshot(snapshotParameters, img);
+		}finally {
+			canvas.setLevelOfDetailEnabled(lod);
+		}
 
 		return SwingFXUtils.fromFXImage(img, null);
 	}
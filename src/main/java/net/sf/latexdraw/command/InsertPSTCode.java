@@ -20,6 +20,7 @@ import net.sf.latexdraw.model.api.shape.Drawing;
 import net.sf.latexdraw.model.api.shape.Group;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.parser.DFACachePolicy;
 import net.sf.latexdraw.parser.pst.PSTContext;
 import net.sf.latexdraw.parser.pst.PSTLatexdrawListener;
 import net.sf.latexdraw.parser.pst.PSTLexer;
@@ -58,7 +59,7 @@ public class InsertPSTCode extends DrawingCmdImpl implements Undoable, Modifying
 		try {
 			final PSTLatexdrawListener listener = new PSTLatexdrawListener();
 			final PSTLexer lexer = new PSTLexer(CharStreams.fromString(code));
-			final PSTParser parser = new PSTParser(new CommonTokenStream(lexer));
+			final PSTParser parser = DFACachePolicy.PST.prepare(new PSTParser(new CommonTokenStream(lexer)));
 			parser.addParseListener(listener);
 			parser.pstCode(new PSTContext());
 
@@ -79,8 +80,7 @@ public class InsertPSTCode extends DrawingCmdImpl implements Undoable, Modifying
 					statusBar.setText(lang.getString("LaTeXDrawFrame.36"));
 				}
 			}
-			parser.getInterpreter().clearDFA();
-			lexer.getInterpreter().clearDFA();
+			DFACachePolicy.PST.release(lexer, parser);
 		}catch(final RecognitionException ex) {
 			BadaboomCollector.INSTANCE.add(ex);
 			if(statusBar != null) {
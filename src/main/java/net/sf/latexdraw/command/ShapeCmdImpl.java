@@ -11,6 +11,9 @@
 package net.sf.latexdraw.command;
 
 import io.github.interacto.command.CommandImpl;
+import io.github.interacto.undo.Undoable;
+import java.util.Optional;
+import net.sf.latexdraw.model.api.shape.Group;
 import net.sf.latexdraw.model.api.shape.Shape;
 import org.jetbrains.annotations.NotNull;
 
@@ -18,18 +21,86 @@ import org.jetbrains.annotations.NotNull;
  * @author Arnaud Blouin
  * @param <T>
  */
-public abstract class ShapeCmdImpl<T extends Shape> extends CommandImpl implements ShapeCmd<T> {
+public abstract class ShapeCmdImpl<T extends Shape> extends CommandImpl implements ShapeCmd<T>, UndoFootprint {
 	/** The shape to add. */
 	protected T shape;
 
+	/** Defines whether the shape is shared with the previous command of the undo history. */
+	private boolean sharedShape;
+
 	protected ShapeCmdImpl(final T sh) {
 		super();
 		shape = sh;
 	}
 
+	/**
+	 * Executes the command while the view updates of its shape are held, so that the views of the modified shapes are updated once.
+	 */
+	@Override
+	public boolean doIt() {
+		final T sh = shape;
+		if(sh == null) {
+			return super.doIt();
+		}
+		sh.holdViewUpdates();
+		try {
+			return super.doIt();
+		}finally {
+			sh.releaseViewUpdates();
+		}
+	}
+
+	/**
+	 * Runs the given modification of the shape while its view updates are held (see Shape::holdViewUpdates).
+	 * To use when undoing and redoing the command.
+	 * @param modification The modification of the shape.
+	 */
+	protected final void runHoldingViewUpdates(final @NotNull Runnable modification) {
+		shape.holdViewUpdates();
+		try {
+			modification.run();
+		}finally {
+			shape.releaseViewUpdates();
+		}
+	}
+
+	/**
+	 * @return True if the shape of the command is a group created for the command only (e.g. a copy of the selection),
+	 * so that the commands of the undo history that modify the same shapes can share it. False by default:
+	 * a command that adds or removes its shape from the drawing must keep its own instance.
+	 */
+	protected boolean isShapeSharable() {
+		return false;
+	}
+
+	@Override
+	public long getRetainedSize() {
+		// The modified shapes are still in the drawing: only the group that gathers them is retained by the command
+		if(sharedShape) {
+			return OBJECT_SIZE * 4L;
+		}
+		return OBJECT_SIZE * 4L + (shape instanceof Group && isShapeSharable() ? UndoFootprint.getSizeOfGroup((Group) shape) : REF_SIZE);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void compact(final @NotNull Undoable previous) {
+		getSharableGroup().flatMap(gp -> UndoFootprint.getSharedGroup(gp, previous)).ifPresent(gp -> {
+			// The sharable shape is a group, so T is Shape or Group
+			shape = (T) gp;
+			sharedShape = true;
+		});
+	}
+
+	@Override
+	public @NotNull Optional<Group> getSharableGroup() {
+		return isShapeSharable() && shape instanceof Group ? Optional.of((Group) shape) : Optional.empty();
+	}
+
 	@Override
 	public void setShape(final @NotNull T sh) {
 		shape = sh;
+		sharedShape = false;
 	}
 
 	@Override
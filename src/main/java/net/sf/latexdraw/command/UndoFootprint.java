@@ -0,0 +1,132 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.command;
+
+import io.github.interacto.undo.Undoable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import net.sf.latexdraw.model.api.shape.ControlPointShape;
+import net.sf.latexdraw.model.api.shape.Group;
+import net.sf.latexdraw.model.api.shape.Shape;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The memory footprint of an undoable command in the undo history (see UndoHistoryBudget).
+ * The sizes are approximations: they are used to bound the memory of the undo history, not to measure it.
+ * @author Arnaud Blouin
+ */
+public interface UndoFootprint {
+	/** The approximate size in bytes of a reference. */
+	long REF_SIZE = 8L;
+	/** The approximate size in bytes of an object without its fields. */
+	long OBJECT_SIZE = 16L;
+	/** The approximate size in bytes of a shape without its points (properties, listeners, etc.). */
+	long SHAPE_SIZE = 512L;
+	/** The approximate size in bytes of a point (object and coordinate properties). */
+	long POINT_SIZE = 96L;
+	/** The approximate size in bytes of a stored value (boxed value in an optional). */
+	long VALUE_SIZE = 48L;
+
+	/**
+	 * @return The approximate size in bytes of the objects the command retains, excluding the objects still held by the drawing
+	 * (e.g. the modified shapes), since undoing the command does not free them.
+	 */
+	long getRetainedSize();
+
+	/**
+	 * Compacts the command using the command that precedes it in the undo history:
+	 * the data identical in both commands (e.g. the group of the modified shapes) is shared.
+	 * @param previous The command that precedes this command in the undo history.
+	 */
+	default void compact(final @NotNull Undoable previous) {
+		// Nothing to share by default
+	}
+
+	/**
+	 * @return The group that gathers the shapes the command modifies, if this group is only used by the command
+	 * (e.g. a copy of the selection), so that the next commands on the same shapes can share it.
+	 */
+	default @NotNull Optional<Group> getSharableGroup() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Looks for a group identical to the given one in the given command.
+	 * @param group The group of a command.
+	 * @param previous The command that precedes this command in the undo history.
+	 * @return The sharable group of the previous command if it contains the same shapes in the same order.
+	 */
+	static @NotNull Optional<Group> getSharedGroup(final @NotNull Group group, final @NotNull Undoable previous) {
+		if(!(previous instanceof UndoFootprint)) {
+			return Optional.empty();
+		}
+		return ((UndoFootprint) previous).getSharableGroup().filter(gp -> gp != group && hasSameShapes(gp, group));
+	}
+
+	/**
+	 * @return True if both groups contain the same shapes (the same instances) in the same order.
+	 */
+	static boolean hasSameShapes(final @NotNull Group gp1, final @NotNull Group gp2) {
+		final List<Shape> shapes1 = gp1.getShapes();
+		final List<Shape> shapes2 = gp2.getShapes();
+		final int size = shapes1.size();
+
+		if(size != shapes2.size()) {
+			return false;
+		}
+
+		for(int i = 0; i < size; i++) {
+			if(shapes1.get(i) != shapes2.get(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param shapes The shapes only retained by the command (e.g. deleted shapes).
+	 * @return The approximate size in bytes of the given shapes.
+	 */
+	static long getSizeOfShapes(final @NotNull Collection<? extends Shape> shapes) {
+		return shapes.stream().mapToLong(sh -> getSizeOfShape(sh)).sum();
+	}
+
+	/**
+	 * @param sh The shape only retained by the command.
+	 * @return The approximate size in bytes of the given shape, its points and control points.
+	 */
+	static long getSizeOfShape(final @NotNull Shape sh) {
+		if(sh instanceof Group) {
+			return SHAPE_SIZE + getSizeOfShapes(((Group) sh).getShapes());
+		}
+
+		final int nbPts = sh instanceof ControlPointShape ? sh.getNbPoints() * 3 : sh.getNbPoints();
+		return SHAPE_SIZE + POINT_SIZE * nbPts;
+	}
+
+	/**
+	 * @param nbRefs The number of references of the list.
+	 * @return The approximate size in bytes of a list of references (e.g. a group that gathers shapes of the drawing).
+	 */
+	static long getSizeOfReferences(final int nbRefs) {
+		return OBJECT_SIZE * 4L + REF_SIZE * nbRefs;
+	}
+
+	/**
+	 * @param group A group that gathers shapes of the drawing.
+	 * @return The approximate size in bytes of the group without its shapes.
+	 */
+	static long getSizeOfGroup(final @NotNull Group group) {
+		return SHAPE_SIZE + getSizeOfReferences(group.size());
+	}
+}
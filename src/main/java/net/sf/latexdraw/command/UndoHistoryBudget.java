@@ -0,0 +1,125 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.command;
+
+import io.github.interacto.undo.UndoCollector;
+import io.github.interacto.undo.UndoHandler;
+import io.github.interacto.undo.Undoable;
+import java.util.Collection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Bounds the undo history by the approximate memory its commands retain (see UndoFootprint) instead of by a fixed number of commands.
+ * On each undoable added to the history, the undoable is compacted using the previous one (e.g. both share the group of their shapes)
+ * and the oldest undoables that exceed the budget are removed. The most recent undoable is always kept.
+ * The oldest undoables are removed by lowering the maximal size of the undo collector, that drops its oldest undoables,
+ * and by restoring it then. The redo history is not bounded since it is cleared on each added undoable.
+ * @author Arnaud Blouin
+ */
+public final class UndoHistoryBudget implements UndoHandler {
+	/** The approximate size in bytes of the undoables that do not provide their footprint. */
+	static final long DEFAULT_SIZE = 1024L;
+
+	private final @NotNull UndoCollector collector;
+	/** The maximal memory in bytes the undo history may retain. */
+	private final long maxBytes;
+	/** The maximal number of undoables of the history, whatever their footprint. */
+	private final int maxSize;
+
+	/**
+	 * Creates the budget and sets the maximal size of the given collector.
+	 * @param collector The undo collector to bound. This handler must be registered in it.
+	 * @param maxBytes The maximal memory in bytes the undo history may retain.
+	 * @param maxSize The maximal number of undoables of the history, whatever their footprint.
+	 */
+	public UndoHistoryBudget(final @NotNull UndoCollector collector, final long maxBytes, final int maxSize) {
+		super();
+		this.collector = collector;
+		this.maxBytes = maxBytes;
+		this.maxSize = maxSize;
+		collector.setSizeMax(maxSize);
+	}
+
+	/**
+	 * @param undoable The undoable to measure.
+	 * @return The approximate size in bytes of the objects the undoable retains.
+	 */
+	static long getRetainedSize(final @NotNull Undoable undoable) {
+		return undoable instanceof UndoFootprint ? ((UndoFootprint) undoable).getRetainedSize() : DEFAULT_SIZE;
+	}
+
+	/**
+	 * Compacts the given undoable using the one that precedes it in the history (see UndoFootprint::compact).
+	 * @param undoable The undoable to compact.
+	 * @param previous The undoable that precedes it.
+	 */
+	static void compact(final @NotNull Undoable undoable, final @NotNull Undoable previous) {
+		if(undoable instanceof UndoFootprint) {
+			((UndoFootprint) undoable).compact(previous);
+		}
+	}
+
+	/**
+	 * @param history The undoables of the history, from the most recent one to the oldest one.
+	 * @return The number of the most recent undoables whose sizes fit the budget. At least one.
+	 */
+	int getNbFitting(final @NotNull Collection<Undoable> history) {
+		long size = 0L;
+		int nb = 0;
+
+		for(final Undoable undoable : history) {
+			size += getRetainedSize(undoable);
+			if(nb > 0 && size > maxBytes) {
+				break;
+			}
+			nb++;
+		}
+
+		return Math.min(nb, maxSize);
+	}
+
+	/**
+	 * @return The maximal memory in bytes the undo history may retain.
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	@Override
+	public void onUndoableAdded(final @NotNull Undoable undoable) {
+		final Collection<Undoable> history = collector.getUndo();
+
+		// The history starts with the most recent undoable
+		history.stream().filter(u -> u != undoable).findFirst().ifPresent(previous -> compact(undoable, previous));
+
+		final int nb = getNbFitting(history);
+
+		if(nb < history.size()) {
+			collector.setSizeMax(nb);
+			collector.setSizeMax(maxSize);
+		}
+	}
+
+	@Override
+	public void onUndoableCleared() {
+		// Nothing to do
+	}
+
+	@Override
+	public void onUndoableUndo(final @NotNull Undoable undoable) {
+		// Nothing to do
+	}
+
+	@Override
+	public void onUndoableRedo(final @NotNull Undoable undoable) {
+		// Nothing to do
+	}
+}
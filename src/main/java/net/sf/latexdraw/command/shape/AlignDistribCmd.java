@@ -17,6 +17,7 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import net.sf.latexdraw.command.Modifying;
 import net.sf.latexdraw.command.ShapeCmdImpl;
+import net.sf.latexdraw.command.UndoFootprint;
 import net.sf.latexdraw.model.api.shape.Group;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.view.jfx.Canvas;
@@ -39,11 +40,24 @@ abstract class AlignDistribCmd extends ShapeCmdImpl<Group> implements Undoable,
 		this.canvas = canvas;
 	}
 
+	@Override
+	protected boolean isShapeSharable() {
+		return true;
+	}
+
+	@Override
+	public long getRetainedSize() {
+		// The former positions are new points; the views are displayed by the canvas
+		final long sizePositions = oldPositions == null ? 0L : UndoFootprint.getSizeOfReferences(oldPositions.size()) + oldPositions.size() * POINT_SIZE;
+		final long sizeViews = views == null ? 0L : UndoFootprint.getSizeOfReferences(views.size());
+		return super.getRetainedSize() + sizePositions + sizeViews;
+	}
+
 	@Override
 	public void undo() {
 		final IntegerProperty pos = new SimpleIntegerProperty(0);
 
-		shape.getShapes().forEach(sh -> {
+		runHoldingViewUpdates(() -> shape.getShapes().forEach(sh -> {
 			// Reusing the old position.
 			final Point pt = sh.getTopLeftPoint();
 			final Point oldPt = oldPositions.get(pos.get());
@@ -51,7 +65,7 @@ abstract class AlignDistribCmd extends ShapeCmdImpl<Group> implements Undoable,
 				sh.translate(oldPt.getX() - pt.getX(), oldPt.getY() - pt.getY());
 			}
 			pos.set(pos.get() + 1);
-		});
+		}));
 		shape.setModified(true);
 	}
 
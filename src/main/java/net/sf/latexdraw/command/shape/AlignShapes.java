@@ -198,6 +198,11 @@ public class AlignShapes extends AlignDistribCmd {
 
 	@Override
 	public void redo() {
+		runHoldingViewUpdates(this::align);
+		shape.setModified(true);
+	}
+
+	private void align() {
 		switch(alignment) {
 			case LEFT:
 				alignLeft();
@@ -218,8 +223,6 @@ public class AlignShapes extends AlignDistribCmd {
 				alignMidVert();
 				break;
 		}
-
-		shape.setModified(true);
 	}
 
 	@Override
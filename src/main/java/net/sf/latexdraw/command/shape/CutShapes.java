@@ -18,6 +18,7 @@ import java.util.ResourceBundle;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import net.sf.latexdraw.command.Modifying;
+import net.sf.latexdraw.command.UndoFootprint;
 import net.sf.latexdraw.model.api.shape.Shape;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,7 +26,7 @@ import org.jetbrains.annotations.NotNull;
  * This command cuts the selected shapes.
  * @author Arnaud Blouin
  */
-public class CutShapes extends CopyShapes implements Undoable, Modifying {
+public class CutShapes extends CopyShapes implements Undoable, Modifying, UndoFootprint {
 	/** The index of the cut shapes. */
 	private List<Integer> positionShapes;
 
@@ -71,6 +72,16 @@ public class CutShapes extends CopyShapes implements Undoable, Modifying {
 		});
 	}
 
+	@Override
+	public long getRetainedSize() {
+		// The cut shapes are only retained by the command (the copied shapes are the cut shapes)
+		if(copiedShapes == null || positionShapes == null) {
+			return OBJECT_SIZE * 4L;
+		}
+		return OBJECT_SIZE * 4L + UndoFootprint.getSizeOfReferences(copiedShapes.size()) + UndoFootprint.getSizeOfShapes(copiedShapes) +
+			UndoFootprint.getSizeOfReferences(positionShapes.size()) + positionShapes.size() * OBJECT_SIZE;
+	}
+
 	@Override
 	public @NotNull String getUndoName(final @NotNull ResourceBundle bundle) {
 		return bundle.getString("LaTeXDrawFrame.44");
@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 import net.sf.latexdraw.command.DrawingCmdImpl;
 import net.sf.latexdraw.command.Modifying;
 import net.sf.latexdraw.command.ShapesCmd;
+import net.sf.latexdraw.command.UndoFootprint;
 import net.sf.latexdraw.model.api.shape.Drawing;
 import net.sf.latexdraw.model.api.shape.Shape;
 import org.jetbrains.annotations.NotNull;
@@ -26,7 +27,7 @@ import org.jetbrains.annotations.NotNull;
  * This command removes shapes from a drawing.
  * @author Arnaud Blouin
  */
-public class DeleteShapes extends DrawingCmdImpl implements ShapesCmd, Undoable, Modifying {
+public class DeleteShapes extends DrawingCmdImpl implements ShapesCmd, Undoable, Modifying, UndoFootprint {
 	/** The index of the deleted shapes into the original list. */
 	private List<Integer> positionShapes;
 
@@ -68,6 +69,13 @@ public class DeleteShapes extends DrawingCmdImpl implements ShapesCmd, Undoable,
 		doCmdBody();
 	}
 
+	@Override
+	public long getRetainedSize() {
+		// The deleted shapes are only retained by the command
+		final long sizePositions = positionShapes == null ? 0L : UndoFootprint.getSizeOfReferences(positionShapes.size()) + positionShapes.size() * OBJECT_SIZE;
+		return OBJECT_SIZE * 4L + UndoFootprint.getSizeOfReferences(shapes.size()) + UndoFootprint.getSizeOfShapes(shapes) + sizePositions;
+	}
+
 	@Override
 	public @NotNull String getUndoName(final @NotNull ResourceBundle bundle) {
 		return bundle.getString("Actions.5");
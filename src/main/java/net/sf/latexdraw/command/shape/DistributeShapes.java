@@ -150,11 +150,13 @@ public class DistributeShapes extends AlignDistribCmd {
 
 	@Override
 	public void redo() {
-		if(distribution == Distribution.HORIZ_EQ || distribution == Distribution.VERT_EQ) {
-			distributeEq();
-		}else {
-			distributeNotEq();
-		}
+		runHoldingViewUpdates(() -> {
+			if(distribution == Distribution.HORIZ_EQ || distribution == Distribution.VERT_EQ) {
+				distributeEq();
+			}else {
+				distributeNotEq();
+			}
+		});
 		shape.setModified(true);
 	}
 
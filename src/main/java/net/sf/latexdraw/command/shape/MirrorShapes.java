@@ -31,6 +31,11 @@ public class MirrorShapes extends ShapeCmdImpl<Shape> implements Undoable, Modif
 		this.horizontally = horizontally;
 	}
 
+	@Override
+	protected boolean isShapeSharable() {
+		return true;
+	}
+
 	@Override
 	protected void doCmdBody() {
 		if(horizontally) {
@@ -43,12 +48,12 @@ public class MirrorShapes extends ShapeCmdImpl<Shape> implements Undoable, Modif
 
 	@Override
 	public void undo() {
-		doCmdBody();
+		runHoldingViewUpdates(this::doCmdBody);
 	}
 
 	@Override
 	public void redo() {
-		doCmdBody();
+		runHoldingViewUpdates(this::doCmdBody);
 	}
 
 	@Override
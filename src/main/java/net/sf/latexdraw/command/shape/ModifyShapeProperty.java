@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import net.sf.latexdraw.command.Modifying;
+import net.sf.latexdraw.command.UndoFootprint;
 import net.sf.latexdraw.model.api.shape.Group;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -24,11 +25,14 @@ import org.jetbrains.annotations.Nullable;
  * This command modifies a shape property of the given shape.
  * @author Arnaud Blouin
  */
-public class ModifyShapeProperty<T> extends ShapePropertyCmd<T> implements Undoable, Modifying {
+public class ModifyShapeProperty<T> extends ShapePropertyCmd<T> implements Undoable, Modifying, UndoFootprint {
 	/** The shape to modify. */
-	private final @NotNull Group shapes;
+	private @NotNull Group shapes;
 
-	/** The old value of the property. */
+	/** Defines whether the group of the shapes is shared with the previous command of the undo history. */
+	private boolean sharedShapes;
+
+	/** The old value of the property. Run-length encoded since the shapes mostly share the same value. */
 	private @NotNull List<Optional<T>> oldValue;
 
 	public ModifyShapeProperty(final @NotNull ShapeProperties<T> property, final @NotNull Group shapes, final @Nullable T value) {
@@ -40,7 +44,12 @@ public class ModifyShapeProperty<T> extends ShapePropertyCmd<T> implements Undoa
 
 	@Override
 	public void undo() {
-		property.setPropertyValueList(shapes, oldValue);
+		shapes.holdViewUpdates();
+		try {
+			property.setPropertyValueList(shapes, oldValue);
+		}finally {
+			shapes.releaseViewUpdates();
+		}
 		shapes.setModified(true);
 	}
 
@@ -59,17 +68,42 @@ public class ModifyShapeProperty<T> extends ShapePropertyCmd<T> implements Undoa
 
 	@Override
 	protected void applyValue(final @NotNull T obj) {
-		property.setPropertyValue(shapes, obj);
+		// The views of the shapes are updated once, when their updates are released
+		shapes.holdViewUpdates();
+		try {
+			property.setPropertyValue(shapes, obj);
+		}finally {
+			shapes.releaseViewUpdates();
+		}
 		shapes.setModified(true);
 	}
 
 
 	@Override
 	protected void doCmdBody() {
-		oldValue = property.getPropertyValues(shapes);
+		oldValue = new RunLengthList<>(property.getPropertyValues(shapes));
 		applyValue(value);
 	}
 
+	@Override
+	public long getRetainedSize() {
+		final long sizeValues = oldValue instanceof RunLengthList ? ((RunLengthList<?>) oldValue).getNbRuns() * (VALUE_SIZE + REF_SIZE + 4L) : 0L;
+		return OBJECT_SIZE * 4L + sizeValues + (sharedShapes ? 0L : UndoFootprint.getSizeOfGroup(shapes));
+	}
+
+	@Override
+	public void compact(final @NotNull Undoable previous) {
+		UndoFootprint.getSharedGroup(shapes, previous).ifPresent(gp -> {
+			shapes = gp;
+			sharedShapes = true;
+		});
+	}
+
+	@Override
+	public @NotNull Optional<Group> getSharableGroup() {
+		return Optional.of(shapes);
+	}
+
 	public @NotNull Group getShapes() {
 		return shapes;
 	}
@@ -39,6 +39,11 @@ public class RotateShapes extends ShapeCmdImpl<Shape> implements Undoable, Modif
 		rotationAngle = rotation;
 	}
 
+	@Override
+	protected boolean isShapeSharable() {
+		return true;
+	}
+
 	@Override
 	public boolean canDo() {
 		return MathUtils.INST.isValidCoord(rotationAngle) && MathUtils.INST.isValidPt(gc);
@@ -55,7 +60,7 @@ public class RotateShapes extends ShapeCmdImpl<Shape> implements Undoable, Modif
 	 * @param angleIncrement The increment to add to the rotation angle of the shape.
 	 */
 	private void rotateShapes(final double angleIncrement) {
-		shape.addToRotationAngle(gc, angleIncrement);
+		runHoldingViewUpdates(() -> shape.addToRotationAngle(gc, angleIncrement));
 		shape.setModified(true);
 	}
 
@@ -0,0 +1,76 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.command.shape;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable list that stores the runs of equal consecutive values once, with the index at which each run ends.
+ * Used to store the values of a property of many shapes that mostly share the same value (e.g. the former thickness of a selection).
+ * @param <E> The type of the values.
+ * @author Arnaud Blouin
+ */
+final class RunLengthList<E> extends AbstractList<E> implements RandomAccess {
+	/** The value of each run. */
+	private final @NotNull Object @NotNull [] values;
+	/** The index (exclusive) at which each run ends. */
+	private final int @NotNull [] ends;
+
+	/**
+	 * Encodes the given list.
+	 * @param list The values to encode. Consecutive values are in the same run when equal (see Objects::equals).
+	 */
+	RunLengthList(final @NotNull List<? extends E> list) {
+		super();
+		final Object[] runValues = new Object[list.size()];
+		final int[] runEnds = new int[list.size()];
+		int nb = 0;
+		int index = 0;
+
+		for(final E value : list) {
+			if(nb == 0 || !Objects.equals(runValues[nb - 1], value)) {
+				runValues[nb] = value;
+				nb++;
+			}
+			index++;
+			runEnds[nb - 1] = index;
+		}
+
+		values = Arrays.copyOf(runValues, nb);
+		ends = Arrays.copyOf(runEnds, nb);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E get(final int index) {
+		Objects.checkIndex(index, size());
+		// The run that contains the index is the first run that ends after it
+		final int pos = Arrays.binarySearch(ends, index + 1);
+		return (E) values[pos >= 0 ? pos : -pos - 1];
+	}
+
+	@Override
+	public int size() {
+		return ends.length == 0 ? 0 : ends[ends.length - 1];
+	}
+
+	/**
+	 * @return The number of runs of the list.
+	 */
+	int getNbRuns() {
+		return ends.length;
+	}
+}
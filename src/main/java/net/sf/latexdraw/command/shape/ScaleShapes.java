@@ -57,6 +57,11 @@ public class ScaleShapes extends ShapeCmdImpl<Group> implements Undoable, Modify
 		setShape(gp);
 	}
 
+	@Override
+	protected boolean isShapeSharable() {
+		return true;
+	}
+
 	@Override
 	public boolean hadEffect() {
 		return isDone() && (!MathUtils.INST.equalsDouble(oldWidth, bound.getWidth()) || !MathUtils.INST.equalsDouble(oldHeight, bound.getHeight()));
@@ -100,7 +105,7 @@ public class ScaleShapes extends ShapeCmdImpl<Group> implements Undoable, Modify
 
 	@Override
 	public void undo() {
-		shape.scale(oldWidth, oldHeight, refPosition, bound);
+		runHoldingViewUpdates(() -> shape.scale(oldWidth, oldHeight, refPosition, bound));
 		shape.setModified(true);
 		drawing.setModified(true);
 		updateBound(shape.getTopLeftPoint(), shape.getBottomRightPoint());
@@ -134,7 +139,7 @@ public class ScaleShapes extends ShapeCmdImpl<Group> implements Undoable, Modify
 
 	@Override
 	public void redo() {
-		shape.scale(scaledWidth(newX), scaledHeight(newY), refPosition, bound);
+		runHoldingViewUpdates(() -> shape.scale(scaledWidth(newX), scaledHeight(newY), refPosition, bound));
 		shape.setModified(true);
 		drawing.setModified(true);
 		updateBound(shape.getTopLeftPoint(), shape.getBottomRightPoint());
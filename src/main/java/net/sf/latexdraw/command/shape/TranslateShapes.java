@@ -49,6 +49,11 @@ public class TranslateShapes extends ShapeCmdImpl<Group> implements Undoable, Mo
 		performedTy = 0d;
 	}
 
+	@Override
+	protected boolean isShapeSharable() {
+		return true;
+	}
+
 	@Override
 	public boolean hadEffect() {
 		return !MathUtils.INST.equalsDouble(performedTx, 0d) || !MathUtils.INST.equalsDouble(performedTy, 0d);
@@ -70,14 +75,14 @@ public class TranslateShapes extends ShapeCmdImpl<Group> implements Undoable, Mo
 
 	@Override
 	public void undo() {
-		shape.translate(-performedTx, -performedTy);
+		runHoldingViewUpdates(() -> shape.translate(-performedTx, -performedTy));
 		shape.setModified(true);
 		drawing.setModified(true);
 	}
 
 	@Override
 	public void redo() {
-		shape.translate(performedTx, performedTy);
+		runHoldingViewUpdates(() -> shape.translate(performedTx, performedTy));
 		shape.setModified(true);
 		drawing.setModified(true);
 	}
@@ -0,0 +1,296 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import javafx.beans.InvalidationListener;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import net.sf.latexdraw.model.api.shape.Point;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A layer that draws the handlers of a set of points as a single path, instead of one handler node per point.
+ * The handler under the cursor is found through a spatial hash of the points and is only then materialised as a node,
+ * placed over its drawing, so that the interactions on the handler nodes (e.g. a DnD that moves the point) work as usual.
+ * At most one handler is materialised at a time.
+ * @param <T> The type of the materialised handlers.
+ * @author Arnaud Blouin
+ */
+public class PtHandlersLayer<T extends Node & Handler> extends Group {
+	private static final double HALF_SIZE = Handler.DEFAULT_SIZE / 2d;
+
+	/** The drawing of all the handlers. */
+	private final @NotNull Path handles;
+	/** Defines whether the handlers are round (control point handlers) or square (point handlers). */
+	private final boolean round;
+	private final @NotNull Function<Point, T> factory;
+	/** The list in which the materialised handler is added (e.g. the list of the handlers a binding uses). */
+	private final @NotNull List<T> materialised;
+	private final @NotNull InvalidationListener pointsUpdate;
+	private @NotNull List<Point> points;
+	private @Nullable T handler;
+	/** The point of the materialised handler. */
+	private @Nullable Point handledPoint;
+	private boolean pathValid;
+	private boolean indexValid;
+	/** The spatial hash of the points: the points of the bucket i are the indexes entries[bucketStart[i]..bucketStart[i+1][. */
+	private int @NotNull [] bucketStart;
+	private int @NotNull [] entries;
+
+	/**
+	 * Creates an empty layer.
+	 * @param round Defines whether the handlers are round (control point handlers) or square (point handlers).
+	 * @param factory Creates the handler of a point when materialised.
+	 * @param materialised The list in which the materialised handler is added.
+	 */
+	public PtHandlersLayer(final boolean round, final @NotNull Function<Point, T> factory, final @NotNull List<T> materialised) {
+		super();
+		this.round = round;
+		this.factory = factory;
+		this.materialised = materialised;
+		points = List.of();
+		bucketStart = new int[0];
+		entries = new int[0];
+		pathValid = true;
+		indexValid = true;
+		handles = new Path();
+		handles.setStroke(null);
+		handles.setFill(Handler.DEFAULT_COLOR);
+		handles.addEventHandler(MouseEvent.MOUSE_MOVED, evt -> materialise(evt.getX(), evt.getY()));
+		pointsUpdate = obs -> invalidate();
+		getChildren().add(handles);
+	}
+
+	/**
+	 * Sets the points whose handlers are drawn. The materialised handler (if any) is removed.
+	 * @param pts The points. Their moves are observed until the next call to this method or to clear.
+	 */
+	public void setPoints(final @NotNull List<Point> pts) {
+		clear();
+		points = List.copyOf(pts);
+		points.forEach(pt -> {
+			pt.xProperty().addListener(pointsUpdate);
+			pt.yProperty().addListener(pointsUpdate);
+		});
+		invalidate();
+	}
+
+	/**
+	 * Removes all the handlers.
+	 */
+	public void clear() {
+		dematerialise();
+		points.forEach(pt -> {
+			pt.xProperty().removeListener(pointsUpdate);
+			pt.yProperty().removeListener(pointsUpdate);
+		});
+		points = List.of();
+		invalidate();
+	}
+
+	/**
+	 * @return The points whose handlers are drawn.
+	 */
+	public @NotNull List<Point> getPoints() {
+		return points;
+	}
+
+	/**
+	 * @return The handler currently materialised.
+	 */
+	public @NotNull Optional<T> getHandler() {
+		return Optional.ofNullable(handler);
+	}
+
+	/**
+	 * @return The drawing of the handlers.
+	 */
+	public @NotNull Path getHandles() {
+		return handles;
+	}
+
+	/**
+	 * Finds the handler that contains the given position.
+	 * @param x The X-coordinate of the position in the layer.
+	 * @param y The Y-coordinate of the position in the layer.
+	 * @return The index of the point of the handler, or -1. The last drawn handler (on the top) when several handlers contain the position.
+	 */
+	public int getPointAt(final double x, final double y) {
+		if(points.isEmpty()) {
+			return -1;
+		}
+
+		updateIndex();
+
+		final int mask = bucketStart.length - 2; // The number of buckets minus one
+		final long minCellX = getCell(x - HALF_SIZE);
+		final long maxCellX = getCell(x + HALF_SIZE);
+		final long minCellY = getCell(y - HALF_SIZE);
+		final long maxCellY = getCell(y + HALF_SIZE);
+		int found = -1;
+
+		for(long cx = minCellX; cx <= maxCellX; cx++) {
+			for(long cy = minCellY; cy <= maxCellY; cy++) {
+				final int bucket = hash(cx, cy) & mask;
+				for(int i = bucketStart[bucket], end = bucketStart[bucket + 1]; i < end; i++) {
+					final int index = entries[i];
+					if(index > found && contains(points.get(index), x, y)) {
+						found = index;
+					}
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Materialises the handler that contains the given position (if any).
+	 * @param x The X-coordinate of the position in the layer.
+	 * @param y The Y-coordinate of the position in the layer.
+	 */
+	public void materialise(final double x, final double y) {
+		final int index = getPointAt(x, y);
+
+		if(index == -1 || handledPoint == points.get(index)) {
+			return;
+		}
+
+		dematerialise();
+		final T newHandler = factory.apply(points.get(index));
+		handler = newHandler;
+		handledPoint = points.get(index);
+		getChildren().add(newHandler);
+		materialised.add(newHandler);
+	}
+
+	private void dematerialise() {
+		if(handler != null) {
+			getChildren().remove(handler);
+			materialised.remove(handler);
+			handler.flush();
+			handler = null;
+			handledPoint = null;
+		}
+	}
+
+	@Override
+	protected void layoutChildren() {
+		if(!pathValid) {
+			updatePath();
+		}
+		super.layoutChildren();
+	}
+
+	private void invalidate() {
+		indexValid = false;
+		if(pathValid) {
+			pathValid = false;
+			requestLayout();
+		}
+	}
+
+	private void updatePath() {
+		pathValid = true;
+		final List<PathElement> elts = new ArrayList<>(points.size() * (round ? 4 : 5));
+
+		points.forEach(pt -> {
+			final double x = getCentreX(pt);
+			final double y = getCentreY(pt);
+			if(round) {
+				elts.add(new MoveTo(x + HALF_SIZE, y));
+				elts.add(new ArcTo(HALF_SIZE, HALF_SIZE, 0d, x - HALF_SIZE, y, false, true));
+				elts.add(new ArcTo(HALF_SIZE, HALF_SIZE, 0d, x + HALF_SIZE, y, false, true));
+			}else {
+				elts.add(new MoveTo(x - HALF_SIZE, y - HALF_SIZE));
+				elts.add(new LineTo(x + HALF_SIZE, y - HALF_SIZE));
+				elts.add(new LineTo(x + HALF_SIZE, y + HALF_SIZE));
+				elts.add(new LineTo(x - HALF_SIZE, y + HALF_SIZE));
+			}
+			elts.add(new ClosePath());
+		});
+
+		handles.getElements().setAll(elts);
+	}
+
+	/**
+	 * Builds the spatial hash of the points: a point is hashed in the cell (of the size of a handler) of the centre of its handler.
+	 */
+	private void updateIndex() {
+		if(indexValid) {
+			return;
+		}
+
+		indexValid = true;
+		final int size = points.size();
+		// A power of two greater than the number of points
+		final int nbBuckets = Integer.highestOneBit(Math.max(size, 1)) << 1;
+		final int[] buckets = new int[size];
+		bucketStart = new int[nbBuckets + 1];
+		entries = new int[size];
+
+		for(int i = 0; i < size; i++) {
+			final Point pt = points.get(i);
+			buckets[i] = hash(getCell(getCentreX(pt)), getCell(getCentreY(pt))) & nbBuckets - 1;
+			bucketStart[buckets[i] + 1]++;
+		}
+
+		for(int i = 1; i <= nbBuckets; i++) {
+			bucketStart[i] += bucketStart[i - 1];
+		}
+
+		final int[] filled = Arrays.copyOf(bucketStart, nbBuckets);
+		for(int i = 0; i < size; i++) {
+			entries[filled[buckets[i]]++] = i;
+		}
+	}
+
+	private boolean contains(final Point pt, final double x, final double y) {
+		final double dx = x - getCentreX(pt);
+		final double dy = y - getCentreY(pt);
+		if(round) {
+			return dx * dx + dy * dy <= HALF_SIZE * HALF_SIZE;
+		}
+		return Math.abs(dx) <= HALF_SIZE && Math.abs(dy) <= HALF_SIZE;
+	}
+
+	/**
+	 * The control point handlers are centred on the top-left corner of the square of their point, as CtrlPointHandler.
+	 */
+	private double getCentreX(final Point pt) {
+		return round ? pt.getX() - HALF_SIZE : pt.getX();
+	}
+
+	private double getCentreY(final Point pt) {
+		return round ? pt.getY() - HALF_SIZE : pt.getY();
+	}
+
+	private static long getCell(final double coord) {
+		return (long) Math.floor(coord / Handler.DEFAULT_SIZE);
+	}
+
+	private static int hash(final long cx, final long cy) {
+		return (int) (cx * 73_856_093L ^ cy * 19_349_663L);
+	}
+}
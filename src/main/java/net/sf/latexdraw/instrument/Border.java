@@ -37,6 +37,7 @@ import net.sf.latexdraw.handler.ArcAngleHandler;
 import net.sf.latexdraw.handler.CtrlPointHandler;
 import net.sf.latexdraw.handler.Handler;
 import net.sf.latexdraw.handler.MovePtHandler;
+import net.sf.latexdraw.handler.PtHandlersLayer;
 import net.sf.latexdraw.handler.RotationHandler;
 import net.sf.latexdraw.handler.ScaleHandler;
 import net.sf.latexdraw.model.ShapeFactory;
@@ -59,6 +60,12 @@ import org.jetbrains.annotations.NotNull;
  * @author Arnaud BLOUIN
  */
 public class Border extends CanvasInstrument implements Initializable {
+	/**
+	 * Beyond this number of points, the handlers of the points are drawn by a layer that only materialises
+	 * the handler under the cursor (see PtHandlersLayer), instead of being one node per point.
+	 */
+	static final int MAX_PT_HANDLER_NODES = 200;
+
 	/** The handlers that scale shapes. */
 	final ObservableList<ScaleHandler> scaleHandlers;
 	/** The handlers that move points. */
@@ -67,6 +74,12 @@ public class Border extends CanvasInstrument implements Initializable {
 	final ObservableList<CtrlPointHandler> ctrlPt1Handlers;
 	/** The handlers that move second control points. */
 	final ObservableList<CtrlPointHandler> ctrlPt2Handlers;
+	/** The layer of the handlers that move points, used instead of mvPtHandlers for the shapes with a lot of points. */
+	final PtHandlersLayer<MovePtHandler> mvPtLayer;
+	/** The layer of the handlers that move first control points. */
+	final PtHandlersLayer<CtrlPointHandler> ctrlPt1Layer;
+	/** The layer of the handlers that move second control points. */
+	final PtHandlersLayer<CtrlPointHandler> ctrlPt2Layer;
 	/** The handler that sets the start angle of an arc. */
 	final ArcAngleHandler arcHandlerStart;
 	/** The handler that sets the end angle of an arc. */
@@ -83,6 +96,9 @@ public class Border extends CanvasInstrument implements Initializable {
 		mvPtHandlers = FXCollections.observableArrayList();
 		ctrlPt1Handlers = FXCollections.observableArrayList();
 		ctrlPt2Handlers = FXCollections.observableArrayList();
+		mvPtLayer = new PtHandlersLayer<>(false, pt -> new MovePtHandler(pt), mvPtHandlers);
+		ctrlPt1Layer = new PtHandlersLayer<>(true, pt -> new CtrlPointHandler(pt), ctrlPt1Handlers);
+		ctrlPt2Layer = new PtHandlersLayer<>(true, pt -> new CtrlPointHandler(pt), ctrlPt2Handlers);
 		arcHandlerStart = new ArcAngleHandler(true);
 		arcHandlerEnd = new ArcAngleHandler(false);
 		scaleHandlers = FXCollections.observableArrayList();
@@ -106,6 +122,9 @@ public class Border extends CanvasInstrument implements Initializable {
 		canvas.addToWidgetLayer(rotHandler);
 		canvas.addToWidgetLayer(arcHandlerStart);
 		canvas.addToWidgetLayer(arcHandlerEnd);
+		canvas.addToWidgetLayer(mvPtLayer);
+		canvas.addToWidgetLayer(ctrlPt1Layer);
+		canvas.addToWidgetLayer(ctrlPt2Layer);
 
 		canvas.getDrawing().getSelection().getShapes().addListener(
 			(ListChangeListener.Change<? extends Shape> evt) -> setActivated(!canvas.getDrawing().getSelection().isEmpty()));
@@ -126,6 +145,9 @@ public class Border extends CanvasInstrument implements Initializable {
 			mvPtHandlers.forEach(handler -> handler.setVisible(false));
 			ctrlPt1Handlers.forEach(handler -> handler.setVisible(false));
 			ctrlPt2Handlers.forEach(handler -> handler.setVisible(false));
+			mvPtLayer.setVisible(false);
+			ctrlPt1Layer.setVisible(false);
+			ctrlPt2Layer.setVisible(false);
 			arcHandlerStart.setVisible(false);
 			arcHandlerEnd.setVisible(false);
 		}
@@ -170,25 +192,36 @@ public class Border extends CanvasInstrument implements Initializable {
 
 	private void updateMvPtHandlers(final Shape selectedShape) {
 		if(selectedShape instanceof ModifiablePointsShape) {
-			initialisePointHandler(mvPtHandlers, pt -> new MovePtHandler(pt), selectedShape.getPoints());
+			initialisePointHandler(mvPtHandlers, mvPtLayer, pt -> new MovePtHandler(pt), selectedShape.getPoints());
 		}
 	}
 
 	private void updateCtrlPtHandlers(final Shape selectedShape) {
 		if(selectedShape instanceof BezierCurve) {
 			final BezierCurve pts = (BezierCurve) selectedShape;
-			initialisePointHandler(ctrlPt1Handlers, pt -> new CtrlPointHandler(pt), pts.getFirstCtrlPts());
-			initialisePointHandler(ctrlPt2Handlers, pt -> new CtrlPointHandler(pt), pts.getSecondCtrlPts());
+			initialisePointHandler(ctrlPt1Handlers, ctrlPt1Layer, pt -> new CtrlPointHandler(pt), pts.getFirstCtrlPts());
+			initialisePointHandler(ctrlPt2Handlers, ctrlPt2Layer, pt -> new CtrlPointHandler(pt), pts.getSecondCtrlPts());
 		}
 	}
 
-	private <T extends Node & Handler> void initialisePointHandler(final List<T> handlers, final Function<Point, T> supplier, final List<Point> pts) {
+	private <T extends Node & Handler> void initialisePointHandler(final List<T> handlers, final PtHandlersLayer<T> layer,
+						final Function<Point, T> supplier, final List<Point> pts) {
+		layer.clear();
 		handlers.forEach(handler -> {
 			canvas.removeFromWidgetLayer(handler);
 			handler.flush();
 		});
 		handlers.clear();
 
+		if(pts.size() > MAX_PT_HANDLER_NODES) {
+			// The handler nodes are materialised one at a time, on the move of the cursor over the layer.
+			layer.setPoints(pts);
+			layer.setVisible(true);
+			return;
+		}
+
+		layer.setVisible(false);
+
 		pts.forEach(pt -> {
 			final T handler = supplier.apply(pt);
 			canvas.addToWidgetLayer(handler);
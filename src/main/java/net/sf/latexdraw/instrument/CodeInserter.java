@@ -31,6 +31,7 @@ import javafx.stage.StageStyle;
 import javafx.util.BuilderFactory;
 import net.sf.latexdraw.command.InsertPSTCode;
 import net.sf.latexdraw.model.api.shape.Drawing;
+import net.sf.latexdraw.parser.DFACachePolicy;
 import net.sf.latexdraw.parser.pst.PSTContext;
 import net.sf.latexdraw.parser.pst.PSTLatexdrawListener;
 import net.sf.latexdraw.parser.pst.PSTLexer;
@@ -133,12 +134,11 @@ public final class CodeInserter extends JfxInstrument implements Initializable {
 			errorLog.setText("");
 			final PSTLexer lexer = new PSTLexer(CharStreams.fromString(newValue));
 			lexer.addErrorListener(errorListener);
-			final PSTParser parser = new PSTParser(new CommonTokenStream(lexer));
+			final PSTParser parser = DFACachePolicy.PST.prepare(new PSTParser(new CommonTokenStream(lexer)));
 			parser.addParseListener(listener);
 			parser.addErrorListener(errorListener);
 			parser.pstCode(new PSTContext());
-			parser.getInterpreter().clearDFA();
-			lexer.getInterpreter().clearDFA();
+			DFACachePolicy.PST.release(lexer, parser);
 		});
 	}
 
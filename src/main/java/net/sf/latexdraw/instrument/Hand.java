@@ -315,7 +315,9 @@ public class Hand extends CanvasInstrument implements Flushable {
 			// Transforming the selection rectangle to match the transformation of the canvas.
 			selectionRec.getTransforms().setAll(getInstrument().canvas.getLocalToSceneTransform());
 
-			instrument.canvas.getViews().getChildren().stream().filter(view -> {
+			// The spatial index of the canvas provides the views whose bounds intersect the selection rectangle.
+			// Only these candidates are then precisely checked.
+			instrument.canvas.getViewsIntersecting(selectionBorder).stream().filter(view -> {
 				Bounds bounds;
 				final Transform transform = view.getLocalToParentTransform();
 				if(transform.isIdentity()) {
@@ -328,7 +330,7 @@ public class Hand extends CanvasInstrument implements Flushable {
 					}
 				}
 				return view.intersects(bounds) &&
-					((ViewShape<?>) view).getActivatedShapes().stream().anyMatch(sh -> !javafx.scene.shape.Shape.intersect(sh, selectionRec).getLayoutBounds().isEmpty());
+					view.getActivatedShapes().stream().anyMatch(sh -> !javafx.scene.shape.Shape.intersect(sh, selectionRec).getLayoutBounds().isEmpty());
 			}).forEach(view -> cmd.addShape((Shape) view.getUserData()));
 		}
 
@@ -135,15 +135,18 @@ public class Pencil extends CanvasInstrument {
 			sh.getPoints().get(0).setPoint(pt.getX(), pt.getY());
 			return new AddShape(sh, canvas.getDrawing());
 		}).on(canvas).
-			first((i, c) -> canvas.requestFocus()).
+			first((i, c) -> {
+				canvas.requestFocus();
+				// The same shape and view are used during the whole drawing: points are appended to the shape and the view only updates the end of its path.
+				canvas.setTempView(viewFactory.createView(c.getShape()).orElse(null));
+			}).
 			then((i, c) -> {
 				final Point last = c.getShape().getPtAt(-1);
 				final Point endPt = getAdaptedPoint(i.getTgtLocalPoint());
 				if(!MathUtils.INST.equalsDouble(last.getX(), endPt.getX(), 0.0001) &&
 					!MathUtils.INST.equalsDouble(last.getY(), endPt.getY(), 0.0001)) {
-					c.setShape(ShapeFactory.INST.createFreeHandFrom((Freehand) c.getShape(), endPt));
+					((Freehand) c.getShape()).addPoint(endPt.getX(), endPt.getY());
 				}
-				canvas.setTempView(viewFactory.createView(c.getShape()).orElse(null));
 			}).
 			endOrCancel((i, c) -> canvas.setTempView(null)).
 			when(i -> i.getButton() == MouseButton.PRIMARY && editing.getCurrentChoice() == EditionChoice.FREE_HAND).
@@ -36,4 +36,22 @@ public interface Drawing extends SetShapesProp, Modifiable, Reinitialisable {
 	void setTitle(final @NotNull String title);
 
 	@NotNull StringProperty titleProperty();
+
+	/**
+	 * Holds the view updates of the shapes of the drawing (see Shape::holdViewUpdates).
+	 * Holds can be nested.
+	 */
+	void holdViewUpdates();
+
+	/**
+	 * Releases the latest hold of the view updates. When the outermost hold is released,
+	 * the view updates of the shapes on which it started are released (even if they were removed from the drawing since).
+	 * Does nothing if the view updates are not held.
+	 */
+	void releaseViewUpdates();
+
+	/**
+	 * @return True if the view updates of the shapes of the drawing are held.
+	 */
+	boolean isHoldingViewUpdates();
 }
@@ -12,6 +12,7 @@ package net.sf.latexdraw.model.api.shape;
 
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import net.sf.latexdraw.model.api.property.FreeHandProp;
 import org.jetbrains.annotations.NotNull;
 
@@ -30,6 +31,20 @@ public interface Freehand extends FreeHandProp, SingleShape, Closable {
 	 */
 	@NotNull IntegerProperty intervalProperty();
 
+	/**
+	 * Appends a point at the end of the shape. Contrary to ShapeFactory::createFreeHandFrom,
+	 * the shape is not copied: used to draw freehand shapes point by point.
+	 * Nothing is done if the given coordinates are not valid.
+	 * @param x The X-coordinate of the new point.
+	 * @param y The Y-coordinate of the new point.
+	 */
+	void addPoint(final double x, final double y);
+
+	/**
+	 * @return The property of the number of points of the shape. Updated when a point is added using addPoint.
+	 */
+	@NotNull ReadOnlyIntegerProperty nbPointsProperty();
+
 	@NotNull
 	@Override
 	Freehand duplicate();
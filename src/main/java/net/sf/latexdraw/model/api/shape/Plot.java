@@ -29,6 +29,16 @@ public interface Plot extends PositionShape, PlotProp {
 	 */
 	double getY(final double x);
 
+	/**
+	 * Computes the Y-coordinates of regularly spaced X-coordinates at once (see PSFunctionParser::evaluateRange).
+	 * @param minX The first X-coordinate.
+	 * @param maxX The last X-coordinate.
+	 * @param n The number of coordinates to compute.
+	 * @param out The array that receives the Y-coordinates, from its first cell.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 */
+	void getYs(final double minX, final double maxX, final int n, final double @NotNull [] out);
+
 	@NotNull BooleanProperty polarProperty();
 
 	@NotNull StringProperty plotEquationProperty();
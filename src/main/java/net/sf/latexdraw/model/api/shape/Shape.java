@@ -14,6 +14,7 @@ import io.github.interacto.properties.Modifiable;
 import java.awt.geom.Rectangle2D;
 import java.util.List;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -142,6 +143,14 @@ public interface Shape extends Modifiable {
 	 */
 	@NotNull Point getFullBottomRightPoint();
 
+	/**
+	 * Fills the given bounds with the bounds of the shape, i.e. the area between getTopLeftPoint() and getBottomRightPoint().
+	 * In contrary to these methods, no point is created.
+	 * @param bounds The bounds to fill. Its previous values are discarded.
+	 * @return The given bounds.
+	 */
+	@NotNull ShapeBounds getBounds(final @NotNull ShapeBounds bounds);
+
 
 	/**
 	 * Scales the shape where the move reference point is the
@@ -529,4 +538,29 @@ public interface Shape extends Modifiable {
 	double getHeight();
 
 	@NotNull DoubleProperty rotationAngleProperty();
+
+	/**
+	 * Asks the views of the shape (and of the shapes of a group) to hold their updates until releaseViewUpdates is called,
+	 * so that a view is updated once for all the changes made in the meantime.
+	 * This is not a transaction: the properties of the shape still notify their listeners on each change.
+	 * Holds can be nested.
+	 */
+	void holdViewUpdates();
+
+	/**
+	 * Releases the latest hold of the view updates. When the outermost hold is released,
+	 * the viewUpdatesHeld property of the shape changes once so that the views run their held updates.
+	 * Does nothing if the view updates are not held.
+	 */
+	void releaseViewUpdates();
+
+	/**
+	 * @return True if the view updates of the shape are held.
+	 */
+	boolean isHoldingViewUpdates();
+
+	/**
+	 * @return The property that is true while the view updates of the shape are held.
+	 */
+	@NotNull ReadOnlyBooleanProperty viewUpdatesHeldProperty();
 }
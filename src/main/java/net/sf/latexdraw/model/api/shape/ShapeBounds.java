@@ -0,0 +1,162 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.model.api.shape;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A mutable and reusable bounding box made of primitive min/max coordinates.
+ * Used to compute the bounds of shapes without creating points.
+ * @author Arnaud Blouin
+ */
+public final class ShapeBounds {
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+
+	/**
+	 * Creates empty bounds.
+	 */
+	public ShapeBounds() {
+		super();
+		reset();
+	}
+
+	/**
+	 * Empties the bounds.
+	 * @return Itself.
+	 */
+	public @NotNull ShapeBounds reset() {
+		minX = Double.POSITIVE_INFINITY;
+		minY = Double.POSITIVE_INFINITY;
+		maxX = Double.NEGATIVE_INFINITY;
+		maxY = Double.NEGATIVE_INFINITY;
+		return this;
+	}
+
+	/**
+	 * Sets the bounds.
+	 * @return Itself.
+	 */
+	public @NotNull ShapeBounds set(final double x1, final double y1, final double x2, final double y2) {
+		minX = x1;
+		minY = y1;
+		maxX = x2;
+		maxY = y2;
+		return this;
+	}
+
+	/**
+	 * Copies the given bounds.
+	 * @param bounds The bounds to copy.
+	 * @return Itself.
+	 */
+	public @NotNull ShapeBounds set(final @NotNull ShapeBounds bounds) {
+		return set(bounds.minX, bounds.minY, bounds.maxX, bounds.maxY);
+	}
+
+	/**
+	 * Extends the bounds to contain the given coordinates.
+	 * @return Itself.
+	 */
+	public @NotNull ShapeBounds add(final double x, final double y) {
+		if(x < minX) {
+			minX = x;
+		}
+		if(x > maxX) {
+			maxX = x;
+		}
+		if(y < minY) {
+			minY = y;
+		}
+		if(y > maxY) {
+			maxY = y;
+		}
+		return this;
+	}
+
+	/**
+	 * Extends the bounds to contain the given point.
+	 * @return Itself.
+	 */
+	public @NotNull ShapeBounds add(final @NotNull Point pt) {
+		return add(pt.getX(), pt.getY());
+	}
+
+	/**
+	 * Extends the bounds to contain the given bounds. Nothing is done if the given bounds are empty.
+	 * @return Itself.
+	 */
+	public @NotNull ShapeBounds add(final @NotNull ShapeBounds bounds) {
+		if(!bounds.isEmpty()) {
+			add(bounds.minX, bounds.minY);
+			add(bounds.maxX, bounds.maxY);
+		}
+		return this;
+	}
+
+	/**
+	 * @return True if no coordinate has been added to the bounds.
+	 */
+	public boolean isEmpty() {
+		return minX > maxX || minY > maxY;
+	}
+
+	public double getMinX() {
+		return minX;
+	}
+
+	public double getMinY() {
+		return minY;
+	}
+
+	public double getMaxX() {
+		return maxX;
+	}
+
+	public double getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * @return The width of the bounds or 0 if empty.
+	 */
+	public double getWidth() {
+		return isEmpty() ? 0d : maxX - minX;
+	}
+
+	/**
+	 * @return The height of the bounds or 0 if empty.
+	 */
+	public double getHeight() {
+		return isEmpty() ? 0d : maxY - minY;
+	}
+
+	/**
+	 * @return The X-coordinate of the centre of the bounds.
+	 */
+	public double getCentreX() {
+		return (minX + maxX) / 2d;
+	}
+
+	/**
+	 * @return The Y-coordinate of the centre of the bounds.
+	 */
+	public double getCentreY() {
+		return (minY + maxY) / 2d;
+	}
+
+	@Override
+	public String toString() {
+		return "ShapeBounds{minX=" + minX + ", minY=" + minY + ", maxX=" + maxX + ", maxY=" + maxY + '}'; //NON-NLS
+	}
+}
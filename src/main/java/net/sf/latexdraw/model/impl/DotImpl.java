@@ -11,6 +11,7 @@
 package net.sf.latexdraw.model.impl;
 
 import java.awt.geom.Rectangle2D;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -24,6 +25,7 @@ import net.sf.latexdraw.model.api.shape.DotStyle;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Position;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.view.latex.DviPsColors;
 import org.jetbrains.annotations.NotNull;
 
@@ -137,47 +139,14 @@ class DotImpl extends PositionShapeBase implements Dot {
 		}
 	}
 
-	@Override
-	public @NotNull Point getBottomLeftPoint() {
-		final Point tl = ShapeFactory.INST.createPoint();
-		final Point br = ShapeFactory.INST.createPoint();
-		getTopLeftBottomRightPoints(tl, br);
-		return ShapeFactory.INST.createPoint(tl.getX(), br.getY());
-	}
-
-	@Override
-	public @NotNull Point getBottomRightPoint() {
-		final Point br = ShapeFactory.INST.createPoint();
-		getTopLeftBottomRightPoints(ShapeFactory.INST.createPoint(), br);
-		return br;
-	}
-
-	@Override
-	public @NotNull Point getTopLeftPoint() {
-		final Point tl = ShapeFactory.INST.createPoint();
-		getTopLeftBottomRightPoints(tl, ShapeFactory.INST.createPoint());
-		return tl;
-	}
-
-	@Override
-	public @NotNull Point getTopRightPoint() {
-		final Point tl = ShapeFactory.INST.createPoint();
-		final Point br = ShapeFactory.INST.createPoint();
-		getTopLeftBottomRightPoints(tl, br);
-		return ShapeFactory.INST.createPoint(br.getX(), tl.getY());
-	}
-
 	/**
-	 * Gives the top-left point and the bottom-right point of the dot
-	 * considering its current style.
-	 * @param tl The top-left point to set. Must not be null.
-	 * @param br The bottom-right point to set. Must not be null.
-	 * @throws NullPointerException If tl or br is null.
+	 * Fills the given bounds with the top-left point and the bottom-right point of the dot considering its current style.
+	 * The bounds are computed from the coordinates of the position without creating any point.
 	 */
-	protected void getTopLeftBottomRightPoints(final Point tl, final Point br) {
-		final Point centre = getPosition();
-		final double x = centre.getX();
-		final double y = centre.getY();
+	@Override
+	public @NotNull ShapeBounds getBounds(final @NotNull ShapeBounds bounds) {
+		final double x = getX();
+		final double y = getY();
 		final double diam = getDiametre();
 		final double tlx = x - diam;
 		final double tly = y - diam;
@@ -190,45 +159,30 @@ class DotImpl extends PositionShapeBase implements Dot {
 		switch(getDotStyle()) {
 			case ASTERISK:
 				final double radiusAst = tly + diam / 5d - (bry - diam / 5d) / 2d + dec;
-				tl.setX(Math.cos(7d * Math.PI / 6d) * radiusAst + x);
-				tl.setY(tly + diam / 5d - dec);
-				br.setX(Math.cos(Math.PI / 6d) * radiusAst + x);
-				br.setY(bry - diam / 5d + dec);
+				bounds.set(Math.cos(7d * Math.PI / 6d) * radiusAst + x, tly + diam / 5d - dec, Math.cos(Math.PI / 6d) * radiusAst + x, bry - diam / 5d + dec);
 				break;
 			case BAR:
 				// The thickness of the bar.
 				final double barThickness = diam / 8d;
-				tl.setX(x - barThickness);
-				tl.setY(tly);
-				br.setX(x + barThickness);
 				// thickness may be used into radius/1.875
-				br.setY(bry + diam / 1.875);
+				bounds.set(x - barThickness, tly, x + barThickness, bry + diam / 1.875);
 				break;
 			case DIAMOND:
 			case FDIAMOND:
 				final double p = 2d * Math.abs(tlx - brx) / (2d * Math.sin(GOLDEN_ANGLE)) * Math.cos(GOLDEN_ANGLE);
 				final double x1 = brx - 1.5 * dec;
 				final double x2 = tlx + 1.5 * dec;
-				tl.setX(x1 < x2 ? x1 : x2);
-				tl.setY((tly + bry) / 2d + p / 2d - 1.5 * dec);
-				br.setX(x1 > x2 ? x1 : x2);
-				br.setY((tly + bry) / 2d - p / 2d + 1.5 * dec);
+				bounds.set(x1 < x2 ? x1 : x2, (tly + bry) / 2d + p / 2d - 1.5 * dec, x1 > x2 ? x1 : x2, (tly + bry) / 2d - p / 2d + 1.5 * dec);
 				break;
 			case FPENTAGON:
 			case PENTAGON:
 				final double dist = diam + dec;
 				final double xValue = Math.sin(2d * Math.PI / 5d) * dist;
-				tl.setX(-xValue + x);
-				tl.setY(tly - dec);
-				br.setX(xValue + x);
-				br.setY(0.25 * (Math.sqrt(5d) + 1d) * dist + y + dec);
+				bounds.set(-xValue + x, tly - dec, xValue + x, 0.25 * (Math.sqrt(5d) + 1d) * dist + y + dec);
 				break;
 			case FTRIANGLE:
 			case TRIANGLE:
-				tl.setX(tlx - 0.3 * dec);
-				tl.setY(tly - 1.5 * dec);
-				br.setX(brx + 0.3 * dec);
-				br.setY(bry - 3d * dec);
+				bounds.set(tlx - 0.3 * dec, tly - 1.5 * dec, brx + 0.3 * dec, bry - 3d * dec);
 				break;
 			case FSQUARE:
 			case SQUARE:
@@ -236,26 +190,42 @@ class DotImpl extends PositionShapeBase implements Dot {
 			case O:
 			case OPLUS:
 			case OTIMES:
-				tl.setX(tlx);
-				tl.setY(tly);
-				br.setX(brx);
-				br.setY(bry);
+				bounds.set(tlx, tly, brx, bry);
 				break;
 			case PLUS:
 				final double plusGap = diam / 80d;
-				tl.setX(tlx - plusGap);
-				tl.setY(tly - plusGap);
-				br.setX(brx + plusGap);
-				br.setY(bry + plusGap);
+				bounds.set(tlx - plusGap, tly - plusGap, brx + plusGap, bry + plusGap);
 				break;
 			case X:
 				final double crossGap = diam / 5d;
-				tl.setX(tlx - crossGap);
-				tl.setY(tly - crossGap);
-				br.setX(brx + crossGap);
-				br.setY(bry + crossGap);
+				bounds.set(tlx - crossGap, tly - crossGap, brx + crossGap, bry + crossGap);
 				break;
 		}
+		return bounds;
+	}
+
+	@Override
+	public @NotNull Point getBottomLeftPoint() {
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMinX(), bounds.getMaxY());
+	}
+
+	@Override
+	public @NotNull Point getBottomRightPoint() {
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMaxX(), bounds.getMaxY());
+	}
+
+	@Override
+	public @NotNull Point getTopLeftPoint() {
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMinX(), bounds.getMinY());
+	}
+
+	@Override
+	public @NotNull Point getTopRightPoint() {
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMaxX(), bounds.getMinY());
 	}
 
 	@Override
@@ -330,6 +300,11 @@ class DotImpl extends PositionShapeBase implements Dot {
 		return style;
 	}
 
+	@Override
+	void observeFeatures(final @NotNull InvalidationListener invalidator) {
+		style.addListener(invalidator);
+	}
+
 	@Override
 	public @NotNull DoubleProperty diametreProperty() {
 		return diametre;
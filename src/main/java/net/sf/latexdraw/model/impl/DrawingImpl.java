@@ -37,6 +37,8 @@ class DrawingImpl implements Drawing, SetShapesBase {
 	/** Defined if the shape has been modified. */
 	private boolean modified;
 
+	private final @NotNull ShapesViewUpdatesHold viewUpdatesHold;
+
 
 	DrawingImpl() {
 		super();
@@ -44,6 +46,7 @@ class DrawingImpl implements Drawing, SetShapesBase {
 		shapes = new SimpleListProperty<>(FXCollections.observableArrayList());
 		selection = ShapeFactory.INST.createGroup();
 		modified = false;
+		viewUpdatesHold = new ShapesViewUpdatesHold();
 	}
 
 
@@ -102,6 +105,21 @@ class DrawingImpl implements Drawing, SetShapesBase {
 		return modified || shapes.stream().anyMatch(sh -> sh.isModified());
 	}
 
+	@Override
+	public void holdViewUpdates() {
+		viewUpdatesHold.begin(shapes);
+	}
+
+	@Override
+	public void releaseViewUpdates() {
+		viewUpdatesHold.end();
+	}
+
+	@Override
+	public boolean isHoldingViewUpdates() {
+		return viewUpdatesHold.isInProgress();
+	}
+
 	@Override
 	public void reinit() {
 		clear();
@@ -15,9 +15,12 @@ import java.util.stream.Collectors;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import net.sf.latexdraw.model.MathUtils;
 import net.sf.latexdraw.model.ShapeFactory;
 import net.sf.latexdraw.model.api.property.FreeHandProp;
 import net.sf.latexdraw.model.api.shape.FreeHandStyle;
@@ -25,6 +28,7 @@ import net.sf.latexdraw.model.api.shape.Freehand;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Shape;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An implementation of a free hand shape.
@@ -37,6 +41,8 @@ class FreehandImpl extends ShapeBase implements Freehand {
 	private final @NotNull IntegerProperty interval;
 	/** Defines if the drawing is opened of closed. */
 	private final @NotNull BooleanProperty open;
+	/** The number of points. Null until observed. */
+	private @Nullable ReadOnlyIntegerWrapper nbPoints;
 
 
 	/**
@@ -44,10 +50,11 @@ class FreehandImpl extends ShapeBase implements Freehand {
 	 * @throws IllegalArgumentException If the given point is not valid.
 	 */
 	FreehandImpl(final @NotNull List<Point> pts) {
-		super();
+		super(new PackedPoints());
 		type = new SimpleObjectProperty<>(FreeHandStyle.CURVES);
 		interval = new SimpleIntegerProperty(2);
 		open = new SimpleBooleanProperty(true);
+		// The coordinates of the given points are copied
 		points.addAll(pts);
 	}
 
@@ -71,6 +78,25 @@ class FreehandImpl extends ShapeBase implements Freehand {
 		}
 	}
 
+	@Override
+	public void addPoint(final double x, final double y) {
+		if(MathUtils.INST.isValidPt(x, y)) {
+			// The points are stored in a growable packed array: appending a point does not copy the previous ones.
+			points.add(ShapeFactory.INST.createPoint(x, y));
+			if(nbPoints != null) {
+				nbPoints.set(points.size());
+			}
+		}
+	}
+
+	@Override
+	public @NotNull ReadOnlyIntegerProperty nbPointsProperty() {
+		if(nbPoints == null) {
+			nbPoints = new ReadOnlyIntegerWrapper(points.size());
+		}
+		return nbPoints.getReadOnlyProperty();
+	}
+
 	@Override
 	public int getInterval() {
 		return interval.get();
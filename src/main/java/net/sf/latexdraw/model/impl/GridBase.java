@@ -19,6 +19,7 @@ import net.sf.latexdraw.model.ShapeFactory;
 import net.sf.latexdraw.model.api.property.IStdGridProp;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.model.api.shape.StandardGrid;
 import org.jetbrains.annotations.NotNull;
 
@@ -83,6 +84,14 @@ abstract class GridBase extends PositionShapeBase implements StandardGrid {
 	}
 
 
+	@Override
+	public @NotNull ShapeBounds getBounds(final @NotNull ShapeBounds bounds) {
+		final double x = getX();
+		final double y = getY();
+		return bounds.set(x + getGridMinX() * PPC, y - getGridMaxY() * PPC, x + getGridMaxX() * PPC, y - getGridMinY() * PPC);
+	}
+
+
 	@Override
 	public @NotNull Point getBottomRightPoint() {
 		final Point pos = getPosition();
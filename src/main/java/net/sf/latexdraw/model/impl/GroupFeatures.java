@@ -0,0 +1,261 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.model.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javafx.collections.ListChangeListener;
+import net.sf.latexdraw.model.api.shape.Shape;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The summary of the features of the shapes of a group (e.g. whether a shape of the group is thicknessable, has a shadow),
+ * so that the group answers the queries on its features without going through all its shapes.
+ * The summary counts the shapes that have each feature and caches the first shape that has each feature.
+ * The counts are updated on the changes of the shapes of the group and of the properties the features depend on.
+ * The summary is only built on the first query: the groups that are never queried (e.g. the groups of the commands)
+ * do not observe their shapes.
+ * The shapes whose features cannot be observed (the nested groups) are queried at each call.
+ * @author Arnaud Blouin
+ */
+final class GroupFeatures {
+	/**
+	 * The features of a shape, as the group defines them.
+	 */
+	enum Feature {
+		COLOURABLE(sh -> sh.isColourable()),
+		THICKNESSABLE(sh -> sh.isThicknessable()),
+		LINE_STYLABLE(sh -> sh.isLineStylable()),
+		BORDERS_MOVABLE(sh -> sh.isBordersMovable()),
+		SHOW_PTSABLE(sh -> sh.isShowPtsable()),
+		SHOW_PTS(sh -> sh.isShowPtsable() && sh.isShowPts()),
+		DBLE_BORDERABLE(sh -> sh.isDbleBorderable()),
+		DBLE_BORD(sh -> sh.hasDbleBord()),
+		DBLE_BORDERED(sh -> sh.isDbleBorderable() && sh.hasDbleBord()),
+		SHADOWABLE(sh -> sh.isShadowable()),
+		SHADOW(sh -> sh.isShadowable() && sh.hasShadow()),
+		FILLABLE(sh -> sh.isFillable()),
+		FILLED(sh -> sh.isFillable() && sh.isFilled()),
+		INTERIOR_STYLABLE(sh -> sh.isInteriorStylable()),
+		HATCHED(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isHatchings()),
+		GRADIENTED(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isGradient()),
+		HATCHINGS(sh -> sh.hasHatchings()),
+		GRADIENT(sh -> sh.hasGradient());
+
+		private final @NotNull Predicate<Shape> test;
+
+		Feature(final @NotNull Predicate<Shape> test) {
+			this.test = test;
+		}
+
+		boolean test(final @NotNull Shape sh) {
+			return test.test(sh);
+		}
+	}
+
+	private static final Feature[] FEATURES = Feature.values();
+
+	/**
+	 * @return The bitmask of the features of the given shape.
+	 */
+	static int getMask(final @NotNull Shape sh) {
+		int mask = 0;
+		for(final Feature feature : FEATURES) {
+			if(feature.test(sh)) {
+				mask |= 1 << feature.ordinal();
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * A shape of the group, whose features are observed.
+	 */
+	private final class Member {
+		private final @NotNull Shape shape;
+		/** The number of occurrences of the shape in the group. */
+		private int occurrences;
+		private int mask;
+		/** Strongly referenced by the member only: the shape references it weakly, so that the shape does not retain the group. */
+		private final @Nullable Runnable update;
+
+		Member(final @NotNull Shape shape) {
+			super();
+			this.shape = shape;
+			if(shape instanceof ShapeBase) {
+				update = () -> update(this);
+				((ShapeBase) shape).addFeaturesListener(update);
+			}else {
+				update = null;
+			}
+			mask = getMask(shape);
+		}
+
+		boolean isObserved() {
+			return update != null;
+		}
+
+		void flush() {
+			if(update != null) {
+				((ShapeBase) shape).removeFeaturesListener(update);
+			}
+		}
+	}
+
+	/** The shapes of the group. */
+	private final @NotNull List<Shape> shapes;
+	private final @NotNull Map<Shape, Member> members;
+	/** The number of observed shapes (counting their occurrences) that have each feature. */
+	private final int @NotNull [] counts;
+	/** The shapes whose features are not observed. */
+	private final @NotNull List<Shape> unobserved;
+	/** The first shape that has each feature. Only valid when its flag is set in firstsMask. */
+	private final @Nullable Shape @NotNull [] firsts;
+	private int firstsMask;
+	private boolean built;
+
+	/**
+	 * Creates the summary of the given shapes.
+	 * @param shapes The shapes of the group. Their changes must be notified through onChanged.
+	 */
+	GroupFeatures(final @NotNull List<Shape> shapes) {
+		super();
+		this.shapes = shapes;
+		members = new IdentityHashMap<>();
+		counts = new int[FEATURES.length];
+		unobserved = new ArrayList<>();
+		firsts = new Shape[FEATURES.length];
+	}
+
+	/**
+	 * @return True if at least one shape of the group has the given feature.
+	 */
+	boolean has(final @NotNull Feature feature) {
+		build();
+		return counts[feature.ordinal()] > 0 || (!unobserved.isEmpty() && unobserved.stream().anyMatch(sh -> feature.test(sh)));
+	}
+
+	/**
+	 * @return The first shape of the group that has the given feature.
+	 */
+	@NotNull Optional<Shape> getFirst(final @NotNull Feature feature) {
+		build();
+
+		if(!unobserved.isEmpty()) {
+			return shapes.stream().filter(sh -> feature.test(sh)).findFirst();
+		}
+
+		final int ordinal = feature.ordinal();
+
+		if(counts[ordinal] == 0) {
+			return Optional.empty();
+		}
+
+		if((firstsMask & 1 << ordinal) == 0) {
+			firsts[ordinal] = shapes.stream().filter(sh -> feature.test(sh)).findFirst().orElse(null);
+			firstsMask |= 1 << ordinal;
+		}
+
+		return Optional.ofNullable(firsts[ordinal]);
+	}
+
+	/**
+	 * Updates the summary on a change of the shapes of the group.
+	 */
+	void onChanged(final @NotNull ListChangeListener.Change<? extends Shape> change) {
+		if(!built) {
+			return;
+		}
+
+		while(change.next()) {
+			if(!change.wasPermutated()) {
+				change.getRemoved().forEach(sh -> remove(sh));
+				change.getAddedSubList().forEach(sh -> add(sh));
+			}
+		}
+
+		invalidateFirsts();
+	}
+
+	private void build() {
+		if(!built) {
+			built = true;
+			shapes.forEach(sh -> add(sh));
+		}
+	}
+
+	private void add(final @NotNull Shape sh) {
+		final Member member = members.computeIfAbsent(sh, s -> new Member(s));
+		member.occurrences++;
+
+		if(member.isObserved()) {
+			count(member.mask, 1);
+		}else {
+			unobserved.add(sh);
+		}
+	}
+
+	private void remove(final @NotNull Shape sh) {
+		final Member member = members.get(sh);
+
+		if(member == null) {
+			return;
+		}
+
+		member.occurrences--;
+
+		if(member.isObserved()) {
+			count(member.mask, -1);
+		}else {
+			unobserved.remove(sh);
+		}
+
+		if(member.occurrences == 0) {
+			members.remove(sh);
+			member.flush();
+		}
+	}
+
+	/**
+	 * Updates the counts on a change of the features of the given shape.
+	 */
+	private void update(final @NotNull Member member) {
+		final int mask = getMask(member.shape);
+
+		if(mask != member.mask) {
+			count(member.mask, -member.occurrences);
+			member.mask = mask;
+			count(mask, member.occurrences);
+			invalidateFirsts();
+		}
+	}
+
+	private void count(final int mask, final int nb) {
+		for(int i = 0; i < counts.length; i++) {
+			if((mask & 1 << i) != 0) {
+				counts[i] += nb;
+			}
+		}
+	}
+
+	private void invalidateFirsts() {
+		if(firstsMask != 0) {
+			firstsMask = 0;
+			Arrays.fill(firsts, null);
+		}
+	}
+}
@@ -17,9 +17,12 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ListProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import net.sf.latexdraw.model.ShapeFactory;
 import net.sf.latexdraw.model.api.property.ArcProp;
 import net.sf.latexdraw.model.api.property.AxesProp;
@@ -58,11 +61,23 @@ class GroupImpl implements GroupArcBase, GroupArrowableBase, GroupAxesBase, Grou
 	/** The set of shapes. */
 	private final @NotNull ListProperty<Shape> shapes;
 	private final @NotNull DoubleProperty rotationAngle;
+	private final @NotNull ShapesViewUpdatesHold viewUpdatesHold;
+	private final @NotNull ReadOnlyBooleanWrapper viewUpdatesHeld;
+	private final @NotNull GroupFeatures features;
 
 	GroupImpl() {
 		super();
 		shapes = new SimpleListProperty<>(FXCollections.observableArrayList());
 		rotationAngle = new SimpleDoubleProperty();
+		viewUpdatesHold = new ShapesViewUpdatesHold();
+		viewUpdatesHeld = new ReadOnlyBooleanWrapper(false);
+		features = new GroupFeatures(shapes);
+		shapes.addListener((ListChangeListener.Change<? extends Shape> change) -> features.onChanged(change));
+	}
+
+	@Override
+	public @NotNull GroupFeatures getFeatures() {
+		return features;
 	}
 
 	@Override
@@ -80,6 +95,30 @@ class GroupImpl implements GroupArcBase, GroupArrowableBase, GroupAxesBase, Grou
 		return getShapes().parallelStream().anyMatch(sh -> sh.isModified());
 	}
 
+	@Override
+	public void holdViewUpdates() {
+		if(viewUpdatesHold.begin(getShapes())) {
+			viewUpdatesHeld.set(true);
+		}
+	}
+
+	@Override
+	public void releaseViewUpdates() {
+		if(viewUpdatesHold.end()) {
+			viewUpdatesHeld.set(false);
+		}
+	}
+
+	@Override
+	public boolean isHoldingViewUpdates() {
+		return viewUpdatesHold.isInProgress();
+	}
+
+	@Override
+	public @NotNull ReadOnlyBooleanProperty viewUpdatesHeldProperty() {
+		return viewUpdatesHeld.getReadOnlyProperty();
+	}
+
 	@Override
 	public Group duplicateDeep(final boolean duplicateShapes) {
 		final Group dup = ShapeFactory.INST.createGroup();
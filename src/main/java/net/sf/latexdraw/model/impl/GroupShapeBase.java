@@ -11,6 +11,7 @@
 package net.sf.latexdraw.model.impl;
 
 import java.awt.geom.Rectangle2D;
+import java.util.List;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import net.sf.latexdraw.model.ShapeFactory;
@@ -23,8 +24,10 @@ import net.sf.latexdraw.model.api.shape.LineStyle;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Position;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.model.api.shape.SquaredShape;
 import net.sf.latexdraw.model.api.shape.StandardGrid;
+import net.sf.latexdraw.model.impl.GroupFeatures.Feature;
 import net.sf.latexdraw.view.pst.PSTricksConstants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -34,6 +37,10 @@ import org.jetbrains.annotations.Nullable;
  * @author Arnaud Blouin
  */
 interface GroupShapeBase extends Group {
+	/**
+	 * @return The summary of the features of the shapes of the group.
+	 */
+	@NotNull GroupFeatures getFeatures();
 	@Override
 	default void copy(final Shape sh) {
 	}
@@ -45,17 +52,17 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getDashSepBlack() {
-		return getShapes().stream().filter(sh -> sh.isLineStylable()).findFirst().map(sh -> sh.getDashSepBlack()).orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.LINE_STYLABLE).map(sh -> sh.getDashSepBlack()).orElse(Double.NaN);
 	}
 
 	@Override
 	default double getDashSepWhite() {
-		return getShapes().stream().filter(sh -> sh.isLineStylable()).findFirst().map(sh -> sh.getDashSepWhite()).orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.LINE_STYLABLE).map(sh -> sh.getDashSepWhite()).orElse(Double.NaN);
 	}
 
 	@Override
 	default double getDotSep() {
-		return getShapes().stream().filter(sh -> sh.isLineStylable()).findFirst().map(sh -> sh.getDotSep()).orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.LINE_STYLABLE).map(sh -> sh.getDotSep()).orElse(Double.NaN);
 	}
 
 	@Override
@@ -149,32 +156,32 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getThickness() {
-		return getShapes().stream().filter(sh -> sh.isThicknessable()).map(sh -> sh.getThickness()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.THICKNESSABLE).map(sh -> sh.getThickness()).orElse(Double.NaN);
 	}
 
 	@Override
 	default double getFullThickness() {
-		return getShapes().stream().filter(sh -> sh.isThicknessable()).map(sh -> sh.getFullThickness()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.THICKNESSABLE).map(sh -> sh.getFullThickness()).orElse(Double.NaN);
 	}
 
 	@Override
 	default boolean isColourable() {
-		return getShapes().stream().anyMatch(sh -> sh.isColourable());
+		return getFeatures().has(Feature.COLOURABLE);
 	}
 
 	@Override
 	default boolean isThicknessable() {
-		return getShapes().stream().anyMatch(sh -> sh.isThicknessable());
+		return getFeatures().has(Feature.THICKNESSABLE);
 	}
 
 	@Override
 	default boolean isShowPtsable() {
-		return getShapes().stream().anyMatch(sh -> sh.isShowPtsable());
+		return getFeatures().has(Feature.SHOW_PTSABLE);
 	}
 
 	@Override
 	default boolean isShowPts() {
-		return getShapes().stream().anyMatch(sh -> sh.isShowPtsable() && sh.isShowPts());
+		return getFeatures().has(Feature.SHOW_PTS);
 	}
 
 	@Override
@@ -189,12 +196,12 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default boolean isLineStylable() {
-		return getShapes().stream().anyMatch(sh -> sh.isLineStylable());
+		return getFeatures().has(Feature.LINE_STYLABLE);
 	}
 
 	@Override
 	default @NotNull LineStyle getLineStyle() {
-		return getShapes().stream().filter(sh -> sh.isLineStylable()).map(sh -> sh.getLineStyle()).findFirst().orElse(LineStyle.SOLID);
+		return getFeatures().getFirst(Feature.LINE_STYLABLE).map(sh -> sh.getLineStyle()).orElse(LineStyle.SOLID);
 	}
 
 	@Override
@@ -204,12 +211,12 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default boolean isBordersMovable() {
-		return getShapes().stream().anyMatch(sh -> sh.isBordersMovable());
+		return getFeatures().has(Feature.BORDERS_MOVABLE);
 	}
 
 	@Override
 	default @NotNull BorderPos getBordersPosition() {
-		return getShapes().stream().filter(sh -> sh.isBordersMovable()).map(sh -> sh.getBordersPosition()).findFirst().orElse(BorderPos.INTO);
+		return getFeatures().getFirst(Feature.BORDERS_MOVABLE).map(sh -> sh.getBordersPosition()).orElse(BorderPos.INTO);
 	}
 
 	@Override
@@ -229,12 +236,12 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Color getDbleBordCol() {
-		return getShapes().stream().filter(sh -> sh.hasDbleBord()).map(sh -> sh.getDbleBordCol()).findFirst().orElse(PSTricksConstants.DEFAULT_DOUBLE_COLOR);
+		return getFeatures().getFirst(Feature.DBLE_BORD).map(sh -> sh.getDbleBordCol()).orElse(PSTricksConstants.DEFAULT_DOUBLE_COLOR);
 	}
 
 	@Override
 	default boolean hasDbleBord() {
-		return getShapes().stream().anyMatch(sh -> sh.isDbleBorderable() && sh.hasDbleBord());
+		return getFeatures().has(Feature.DBLE_BORDERED);
 	}
 
 	@Override
@@ -244,7 +251,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default boolean isDbleBorderable() {
-		return getShapes().stream().anyMatch(sh -> sh.isDbleBorderable());
+		return getFeatures().has(Feature.DBLE_BORDERABLE);
 	}
 
 	@Override
@@ -254,17 +261,17 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getDbleBordSep() {
-		return getShapes().stream().filter(sh -> sh.isDbleBorderable() && sh.hasDbleBord()).map(sh -> sh.getDbleBordSep()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.DBLE_BORDERED).map(sh -> sh.getDbleBordSep()).orElse(Double.NaN);
 	}
 
 	@Override
 	default boolean isShadowable() {
-		return getShapes().stream().anyMatch(sh -> sh.isShadowable());
+		return getFeatures().has(Feature.SHADOWABLE);
 	}
 
 	@Override
 	default boolean hasShadow() {
-		return getShapes().stream().anyMatch(sh -> sh.isShadowable() && sh.hasShadow());
+		return getFeatures().has(Feature.SHADOW);
 	}
 
 	@Override
@@ -279,7 +286,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getShadowSize() {
-		return getShapes().stream().filter(sh -> sh.isShadowable() && sh.hasShadow()).map(sh -> sh.getShadowSize()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.SHADOW).map(sh -> sh.getShadowSize()).orElse(Double.NaN);
 	}
 
 	@Override
@@ -289,7 +296,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getShadowAngle() {
-		return getShapes().stream().filter(sh -> sh.isShadowable() && sh.hasShadow()).map(sh -> sh.getShadowAngle()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.SHADOW).map(sh -> sh.getShadowAngle()).orElse(Double.NaN);
 	}
 
 	@Override
@@ -299,13 +306,12 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Color getShadowCol() {
-		return getShapes().stream().filter(sh -> sh.isShadowable() && sh.hasShadow()).
-			map(sh -> sh.getShadowCol()).findFirst().orElse(PSTricksConstants.DEFAULT_SHADOW_COLOR);
+		return getFeatures().getFirst(Feature.SHADOW).map(sh -> sh.getShadowCol()).orElse(PSTricksConstants.DEFAULT_SHADOW_COLOR);
 	}
 
 	@Override
 	default @NotNull FillingStyle getFillingStyle() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable()).map(sh -> sh.getFillingStyle()).findFirst().orElse(FillingStyle.NONE);
+		return getFeatures().getFirst(Feature.INTERIOR_STYLABLE).map(sh -> sh.getFillingStyle()).orElse(FillingStyle.NONE);
 	}
 
 	@Override
@@ -320,17 +326,17 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default boolean isFilled() {
-		return getShapes().stream().anyMatch(sh -> sh.isFillable() && sh.isFilled());
+		return getFeatures().has(Feature.FILLED);
 	}
 
 	@Override
 	default boolean isFillable() {
-		return getShapes().stream().anyMatch(sh -> sh.isFillable());
+		return getFeatures().has(Feature.FILLABLE);
 	}
 
 	@Override
 	default boolean isInteriorStylable() {
-		return getShapes().stream().anyMatch(sh -> sh.isInteriorStylable());
+		return getFeatures().has(Feature.INTERIOR_STYLABLE);
 	}
 
 	@Override
@@ -340,8 +346,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Color getFillingCol() {
-		return getShapes().stream().filter(sh -> sh.isFillable() && sh.isFilled()).
-			map(sh -> sh.getFillingCol()).findFirst().orElse(PSTricksConstants.DEFAULT_FILL_COLOR);
+		return getFeatures().getFirst(Feature.FILLED).map(sh -> sh.getFillingCol()).orElse(PSTricksConstants.DEFAULT_FILL_COLOR);
 	}
 
 	@Override
@@ -351,8 +356,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Color getHatchingsCol() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isHatchings()).
-			map(sh -> sh.getHatchingsCol()).findFirst().orElse(PSTricksConstants.DEFAULT_HATCHING_COLOR);
+		return getFeatures().getFirst(Feature.HATCHED).map(sh -> sh.getHatchingsCol()).orElse(PSTricksConstants.DEFAULT_HATCHING_COLOR);
 	}
 
 	@Override
@@ -362,8 +366,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Color getGradColStart() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isGradient()).
-			map(sh -> sh.getGradColStart()).findFirst().orElse(PSTricksConstants.DEFAULT_GRADIENT_START_COLOR);
+		return getFeatures().getFirst(Feature.GRADIENTED).map(sh -> sh.getGradColStart()).orElse(PSTricksConstants.DEFAULT_GRADIENT_START_COLOR);
 	}
 
 	@Override
@@ -373,8 +376,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Color getGradColEnd() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isGradient()).
-			map(sh -> sh.getGradColEnd()).findFirst().orElse(PSTricksConstants.DEFAULT_GRADIENT_END_COLOR);
+		return getFeatures().getFirst(Feature.GRADIENTED).map(sh -> sh.getGradColEnd()).orElse(PSTricksConstants.DEFAULT_GRADIENT_END_COLOR);
 	}
 
 	@Override
@@ -384,8 +386,7 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getGradAngle() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isGradient()).
-			map(sh -> sh.getGradAngle()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.GRADIENTED).map(sh -> sh.getGradAngle()).orElse(Double.NaN);
 	}
 
 	@Override
@@ -395,23 +396,22 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default double getGradMidPt() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable() && sh.getFillingStyle().isGradient()).
-			map(sh -> sh.getGradMidPt()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.GRADIENTED).map(sh -> sh.getGradMidPt()).orElse(Double.NaN);
 	}
 
 	@Override
 	default double getHatchingsAngle() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable()).map(sh -> sh.getHatchingsAngle()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.INTERIOR_STYLABLE).map(sh -> sh.getHatchingsAngle()).orElse(Double.NaN);
 	}
 
 	@Override
 	default double getHatchingsSep() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable()).map(sh -> sh.getHatchingsSep()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.INTERIOR_STYLABLE).map(sh -> sh.getHatchingsSep()).orElse(Double.NaN);
 	}
 
 	@Override
 	default double getHatchingsWidth() {
-		return getShapes().stream().filter(sh -> sh.isInteriorStylable()).map(sh -> sh.getHatchingsWidth()).findFirst().orElse(Double.NaN);
+		return getFeatures().getFirst(Feature.INTERIOR_STYLABLE).map(sh -> sh.getHatchingsWidth()).orElse(Double.NaN);
 	}
 
 	@Override
@@ -459,14 +459,43 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Point getGravityCentre() {
-		return isEmpty() ? ShapeFactory.INST.createPoint() : getTopLeftPoint().getMiddlePoint(getBottomRightPoint());
+		if(isEmpty()) {
+			return ShapeFactory.INST.createPoint();
+		}
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getCentreX(), bounds.getCentreY());
+	}
+
+	@Override
+	default @NotNull ShapeBounds getBounds(final @NotNull ShapeBounds bounds) {
+		final List<Shape> shapes = getShapes();
+
+		if(shapes.isEmpty()) {
+			return bounds.set(Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+		}
+
+		// A single bounds object is reused for all the shapes of the group
+		final ShapeBounds shBounds = shapes.get(0).getBounds(new ShapeBounds());
+		double minX = shBounds.getMinX();
+		double minY = shBounds.getMinY();
+		double maxX = shBounds.getMaxX();
+		double maxY = shBounds.getMaxY();
+
+		for(int i = 1, size = shapes.size(); i < size; i++) {
+			shapes.get(i).getBounds(shBounds);
+			minX = Math.min(minX, shBounds.getMinX());
+			minY = Math.min(minY, shBounds.getMinY());
+			maxX = Math.max(maxX, shBounds.getMaxX());
+			maxY = Math.max(maxY, shBounds.getMaxY());
+		}
+
+		return bounds.set(minX, minY, maxX, maxY);
 	}
 
 	@Override
 	default @NotNull Point getBottomRightPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getBottomRightPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).
-			orElseGet(() -> ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMaxX(), bounds.getMaxY());
 	}
 
 	@Override
@@ -478,9 +507,8 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default @NotNull Point getTopLeftPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getTopLeftPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).
-			orElseGet(() -> ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMinX(), bounds.getMinY());
 	}
 
 	@Override
@@ -492,11 +520,11 @@ interface GroupShapeBase extends Group {
 
 	@Override
 	default boolean hasHatchings() {
-		return getShapes().stream().anyMatch(sh -> sh.hasHatchings());
+		return getFeatures().has(Feature.HATCHINGS);
 	}
 
 	@Override
 	default boolean hasGradient() {
-		return getShapes().stream().anyMatch(sh -> sh.hasGradient());
+		return getFeatures().has(Feature.GRADIENT);
 	}
 }
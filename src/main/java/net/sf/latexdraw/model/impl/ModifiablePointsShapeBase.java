@@ -11,9 +11,7 @@
 package net.sf.latexdraw.model.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import net.sf.latexdraw.model.MathUtils;
-import net.sf.latexdraw.model.ShapeFactory;
 import net.sf.latexdraw.model.api.shape.ModifiablePointsShape;
 import net.sf.latexdraw.model.api.shape.Point;
 import org.jetbrains.annotations.NotNull;
@@ -25,11 +23,12 @@ import org.jetbrains.annotations.Nullable;
  */
 abstract class ModifiablePointsShapeBase extends ShapeBase implements ModifiablePointsShape {
 	protected ModifiablePointsShapeBase(final @NotNull List<Point> pts) {
-		super();
+		super(new PackedPoints());
 		if(pts.stream().anyMatch(pt -> !MathUtils.INST.isValidPt(pt))) {
 			throw new IllegalArgumentException();
 		}
-		points.addAll(pts.stream().map(pt -> ShapeFactory.INST.createPoint(pt)).collect(Collectors.toList()));
+		// The coordinates of the given points are copied
+		points.addAll(pts);
 	}
 
 	@Override
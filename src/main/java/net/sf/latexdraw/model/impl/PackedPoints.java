@@ -0,0 +1,301 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.model.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Point;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A list of points that stores the coordinates in a single packed array of doubles
+ * instead of one point object and two JavaFX properties per point.
+ * The points returned by the list are lightweight facades over this array.
+ * The JavaFX properties of a point are only created when its xProperty() or yProperty() is called,
+ * i.e. when a view or a handler observes this specific coordinate. Their listeners are notified on each change,
+ * whatever the facade used to modify the point.
+ * Points can be appended and modified but not removed nor inserted: the points of a shape are never removed.
+ * The properties can be bound to other observable values: the packed coordinates follow them.
+ * @author Arnaud Blouin
+ */
+final class PackedPoints extends AbstractList<Point> implements RandomAccess {
+	private static final int DEFAULT_CAPACITY = 8;
+
+	/** The coordinates of the points: x0, y0, x1, y1, etc. */
+	private double[] coords;
+	/** The number of points. */
+	private int size;
+	/** The created X-coordinate properties. Null until a first property is created. */
+	private @Nullable CoordProperty[] xProps;
+	/** The created Y-coordinate properties. Null until a first property is created. */
+	private @Nullable CoordProperty[] yProps;
+	/** Incremented each time a coordinate is modified or a point added. */
+	private long version;
+	/** The cached bounds of the points. */
+	private final @NotNull ShapeBounds bounds;
+	/** The version of the points used to compute the cached bounds. */
+	private long boundsVersion;
+
+	/**
+	 * Creates an empty list.
+	 */
+	PackedPoints() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a list that contains the coordinates of the given points.
+	 * @param pts The points to copy.
+	 */
+	PackedPoints(final @NotNull Collection<? extends Point> pts) {
+		this(pts.size());
+		addAll(pts);
+	}
+
+	/**
+	 * Creates a list of points located at (0, 0).
+	 * @param nbPoints The number of points to create.
+	 * @return The created list.
+	 */
+	static @NotNull PackedPoints createOrigins(final int nbPoints) {
+		final PackedPoints pts = new PackedPoints(nbPoints);
+		pts.size = nbPoints;
+		return pts;
+	}
+
+	private PackedPoints(final int capacity) {
+		super();
+		coords = new double[Math.max(1, capacity) * 2];
+		bounds = new ShapeBounds();
+		boundsVersion = -1L;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public @NotNull Point get(final int index) {
+		checkIndex(index);
+		return new PackedPoint(index);
+	}
+
+	/**
+	 * Copies the coordinates of the given point at the end of the list.
+	 * @param index The position of the point. Must be the size of the list: only appending points is supported.
+	 * @param pt The point to copy.
+	 * @throws UnsupportedOperationException If the given index is not the size of the list.
+	 */
+	@Override
+	public void add(final int index, final @NotNull Point pt) {
+		if(index != size) {
+			throw new UnsupportedOperationException("Points can only be appended"); //NON-NLS
+		}
+
+		if(size * 2 == coords.length) {
+			coords = Arrays.copyOf(coords, coords.length * 2);
+		}
+
+		coords[size * 2] = pt.getX();
+		coords[size * 2 + 1] = pt.getY();
+		size++;
+		version++;
+		modCount++;
+	}
+
+	/**
+	 * Copies the coordinates of the given point into the point at the given position.
+	 * @return A copy of the previous point.
+	 */
+	@Override
+	public @NotNull Point set(final int index, final @NotNull Point pt) {
+		checkIndex(index);
+		final Point old = ShapeFactory.INST.createPoint(getX(index), getY(index));
+		setX(index, pt.getX());
+		setY(index, pt.getY());
+		return old;
+	}
+
+	/**
+	 * @param index The position of the point.
+	 * @return The X-coordinate of the point. No point object is created.
+	 */
+	double getX(final int index) {
+		checkIndex(index);
+		return coords[index * 2];
+	}
+
+	/**
+	 * @param index The position of the point.
+	 * @return The Y-coordinate of the point. No point object is created.
+	 */
+	double getY(final int index) {
+		checkIndex(index);
+		return coords[index * 2 + 1];
+	}
+
+	void setX(final int index, final double x) {
+		checkIndex(index);
+		final CoordProperty prop = getProperty(xProps, index);
+
+		if(prop == null) {
+			coords[index * 2] = x;
+			version++;
+		}else {
+			prop.set(x);
+		}
+	}
+
+	void setY(final int index, final double y) {
+		checkIndex(index);
+		final CoordProperty prop = getProperty(yProps, index);
+
+		if(prop == null) {
+			coords[index * 2 + 1] = y;
+			version++;
+		}else {
+			prop.set(y);
+		}
+	}
+
+	@NotNull DoubleProperty xProperty(final int index) {
+		checkIndex(index);
+		if(xProps == null || xProps.length < size) {
+			xProps = xProps == null ? new CoordProperty[coords.length / 2] : Arrays.copyOf(xProps, coords.length / 2);
+		}
+		if(xProps[index] == null) {
+			xProps[index] = new CoordProperty(index * 2);
+		}
+		return xProps[index];
+	}
+
+	@NotNull DoubleProperty yProperty(final int index) {
+		checkIndex(index);
+		if(yProps == null || yProps.length < size) {
+			yProps = yProps == null ? new CoordProperty[coords.length / 2] : Arrays.copyOf(yProps, coords.length / 2);
+		}
+		if(yProps[index] == null) {
+			yProps[index] = new CoordProperty(index * 2 + 1);
+		}
+		return yProps[index];
+	}
+
+	/**
+	 * @return The number of JavaFX properties created so far for the coordinates of the points.
+	 */
+	int getNbCreatedProperties() {
+		return (int) (countNonNull(xProps) + countNonNull(yProps));
+	}
+
+	/**
+	 * Fills the given bounds with the bounds of the points.
+	 * The bounds are computed in a single pass over the array and cached until a point changes.
+	 * @param out The bounds to fill.
+	 * @return The given bounds.
+	 */
+	@NotNull ShapeBounds getBounds(final @NotNull ShapeBounds out) {
+		if(boundsVersion != version) {
+			bounds.reset();
+			for(int i = 0, length = size * 2; i < length; i += 2) {
+				bounds.add(coords[i], coords[i + 1]);
+			}
+			boundsVersion = version;
+		}
+		return out.set(bounds);
+	}
+
+	private void checkIndex(final int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size); //NON-NLS
+		}
+	}
+
+	private static @Nullable CoordProperty getProperty(final @Nullable CoordProperty[] props, final int index) {
+		return props == null || index >= props.length ? null : props[index];
+	}
+
+	private static long countNonNull(final @Nullable Object[] array) {
+		return array == null ? 0L : Arrays.stream(array).filter(obj -> obj != null).count();
+	}
+
+	/**
+	 * A JavaFX property that writes its value into the packed coordinates.
+	 */
+	private final class CoordProperty extends SimpleDoubleProperty {
+		/** The position of the coordinate in the packed array. */
+		private final int position;
+
+		CoordProperty(final int position) {
+			super(coords[position]);
+			this.position = position;
+		}
+
+		/**
+		 * Called on each change of the value, set or bound: the packed coordinate is updated before the listeners are notified.
+		 * Reading the value validates the property, so that the next change calls this method again.
+		 */
+		@Override
+		protected void invalidated() {
+			coords[position] = get();
+			version++;
+		}
+	}
+
+	/**
+	 * A point facade that reads and writes the coordinates from the packed array.
+	 */
+	private final class PackedPoint extends PointBase {
+		private final int index;
+
+		PackedPoint(final int index) {
+			super();
+			this.index = index;
+		}
+
+		@Override
+		protected void updateX(final double newX) {
+			PackedPoints.this.setX(index, newX);
+		}
+
+		@Override
+		protected void updateY(final double newY) {
+			PackedPoints.this.setY(index, newY);
+		}
+
+		@Override
+		public double getX() {
+			return PackedPoints.this.getX(index);
+		}
+
+		@Override
+		public double getY() {
+			return PackedPoints.this.getY(index);
+		}
+
+		@Override
+		public @NotNull DoubleProperty xProperty() {
+			return PackedPoints.this.xProperty(index);
+		}
+
+		@Override
+		public @NotNull DoubleProperty yProperty() {
+			return PackedPoints.this.yProperty(index);
+		}
+	}
+}
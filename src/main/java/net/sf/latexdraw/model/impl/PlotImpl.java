@@ -12,7 +12,7 @@ package net.sf.latexdraw.model.impl;
 
 import java.awt.geom.Rectangle2D;
 import java.util.List;
-import java.util.stream.IntStream;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
@@ -34,6 +34,7 @@ import net.sf.latexdraw.model.api.shape.PlotStyle;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Position;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.parser.ps.PSFunctionParser;
 import net.sf.latexdraw.view.pst.PSTricksConstants;
 import org.jetbrains.annotations.NotNull;
@@ -54,6 +55,8 @@ class PlotImpl extends PositionShapeBase implements Plot {
 	private final @NotNull DoubleProperty xscale;
 	private final @NotNull DoubleProperty yscale;
 	private @NotNull PSFunctionParser parser;
+	/** The buffer that receives the Y-coordinates of the plotted points to compute the bounds. */
+	private double @NotNull [] ys;
 
 	PlotImpl(final Point pt, final double xMin, final double xMax, final String equationPlot, final boolean polarCoord) {
 		super(pt);
@@ -73,6 +76,7 @@ class PlotImpl extends PositionShapeBase implements Plot {
 		maxX = new SimpleDoubleProperty(xMax);
 		xscale = new SimpleDoubleProperty(1d);
 		yscale = new SimpleDoubleProperty(1d);
+		ys = new double[0];
 	}
 
 
@@ -176,40 +180,83 @@ class PlotImpl extends PositionShapeBase implements Plot {
 		return (getPlotMaxX() - getPlotMinX()) / (getNbPlottedPoints() - 1);
 	}
 
+	/**
+	 * Samples the function at the plotted points into the reused buffer ys. The caller must hold the lock of the plot.
+	 * @return The number of samples.
+	 */
+	private int samplePlottedPoints() {
+		final int nbPts = Math.max(0, getNbPlottedPoints());
+		if(ys.length < nbPts) {
+			ys = new double[nbPts];
+		}
+		parser.evaluateRange(getPlotMinX(), getPlotMaxX(), nbPts, ys);
+		return nbPts;
+	}
+
+	/**
+	 * @return The minimal Y-coordinate of the plotted points, or 0.
+	 */
+	private synchronized double getPlottedMinY() {
+		final int nbPts = samplePlottedPoints();
+		double yMin = nbPts > 0 ? Double.POSITIVE_INFINITY : 0d;
+		for(int i = 0; i < nbPts; i++) {
+			yMin = Math.min(yMin, ys[i]);
+		}
+		return yMin;
+	}
+
+	/**
+	 * @return The maximal Y-coordinate of the plotted points, or 0.
+	 */
+	private synchronized double getPlottedMaxY() {
+		final int nbPts = samplePlottedPoints();
+		double yMax = nbPts > 0 ? Double.NEGATIVE_INFINITY : 0d;
+		for(int i = 0; i < nbPts; i++) {
+			yMax = Math.max(yMax, ys[i]);
+		}
+		return yMax;
+	}
+
 	@Override
-	public @NotNull Point getTopLeftPoint() {
-		final double step = getPlottingStep();
+	public synchronized @NotNull ShapeBounds getBounds(final @NotNull ShapeBounds bounds) {
 		final Point pos = getPosition();
 		final double plotMinX = getPlotMinX();
-		final double yMax = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).max().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + plotMinX * Shape.PPC * getXScale(), pos.getY() - yMax * Shape.PPC * getYScale());
+		final int nbPts = samplePlottedPoints();
+		double yMin = nbPts > 0 ? Double.POSITIVE_INFINITY : 0d;
+		double yMax = nbPts > 0 ? Double.NEGATIVE_INFINITY : 0d;
+
+		// A single pass over the plotted points for both the min and max Y-coordinates
+		for(int i = 0; i < nbPts; i++) {
+			yMin = Math.min(yMin, ys[i]);
+			yMax = Math.max(yMax, ys[i]);
+		}
+
+		return bounds.set(pos.getX() + plotMinX * Shape.PPC * getXScale(), pos.getY() - yMax * Shape.PPC * getYScale(),
+			pos.getX() + getPlotMaxX() * Shape.PPC * getXScale(), pos.getY() - yMin * Shape.PPC * getYScale());
+	}
+
+	@Override
+	public @NotNull Point getTopLeftPoint() {
+		final Point pos = getPosition();
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMinX() * Shape.PPC * getXScale(), pos.getY() - getPlottedMaxY() * Shape.PPC * getYScale());
 	}
 
 	@Override
 	public @NotNull Point getBottomRightPoint() {
-		final double step = getPlottingStep();
 		final Point pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMin = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).min().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * Shape.PPC * getXScale(), pos.getY() - yMin * Shape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * Shape.PPC * getXScale(), pos.getY() - getPlottedMinY() * Shape.PPC * getYScale());
 	}
 
 	@Override
 	public @NotNull Point getTopRightPoint() {
-		final double step = getPlottingStep();
 		final Point pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double maxY = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).max().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * Shape.PPC * getXScale(), pos.getY() - maxY * Shape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * Shape.PPC * getXScale(), pos.getY() - getPlottedMaxY() * Shape.PPC * getYScale());
 	}
 
 	@Override
 	public @NotNull Point getBottomLeftPoint() {
-		final double step = getPlottingStep();
 		final Point pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMin = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).min().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + plotMinX * Shape.PPC * getXScale(), pos.getY() - yMin * Shape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMinX() * Shape.PPC * getXScale(), pos.getY() - getPlottedMinY() * Shape.PPC * getYScale());
 	}
 
 	@Override
@@ -271,6 +318,11 @@ class PlotImpl extends PositionShapeBase implements Plot {
 		return parser.getY(x);
 	}
 
+	@Override
+	public void getYs(final double minX, final double maxX, final int n, final double @NotNull [] out) {
+		parser.evaluateRange(minX, maxX, n, out);
+	}
+
 	@Override
 	public @NotNull String getPlotEquation() {
 		return equation.get();
@@ -415,6 +467,12 @@ class PlotImpl extends PositionShapeBase implements Plot {
 		return dotStyle;
 	}
 
+	@Override
+	void observeFeatures(final @NotNull InvalidationListener invalidator) {
+		style.addListener(invalidator);
+		dotStyle.addListener(invalidator);
+	}
+
 	@Override
 	public @NotNull DoubleProperty dotDiametreProperty() {
 		return dotDiametre;
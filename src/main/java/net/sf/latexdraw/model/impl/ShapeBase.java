@@ -11,13 +11,16 @@
 package net.sf.latexdraw.model.impl;
 
 import java.awt.geom.Rectangle2D;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -30,6 +33,7 @@ import net.sf.latexdraw.model.api.shape.LineStyle;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Position;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.model.api.shape.SingleShape;
 import net.sf.latexdraw.view.pst.PSTricksConstants;
 import org.jetbrains.annotations.NotNull;
@@ -40,83 +44,114 @@ import org.jetbrains.annotations.Nullable;
  * @author Arnaud Blouin
  */
 abstract class ShapeBase implements SingleShape {
+	// Most of the shapes keep the default values of their parameters, and many shapes are never displayed
+	// (e.g. the dots of plots, the shapes stored in the undo history). So each parameter is stored in a plain field
+	// and its JavaFX property is only created on the first call to its xxxProperty() method.
+	// From then on, the property holds the value.
+
 	/** The thickness of the lines of the shape in pixels. */
-	protected final @NotNull DoubleProperty thickness;
+	private double thicknessValue;
+	private @Nullable DoubleProperty thickness;
 
 	/** The colour of the lines. */
-	protected final @NotNull ObjectProperty<Color> lineColour;
+	private @NotNull Color lineColourValue;
+	private @Nullable ObjectProperty<Color> lineColour;
 
 	/** The style of the lines. */
-	protected final @NotNull ObjectProperty<LineStyle> lineStyle;
+	private @NotNull LineStyle lineStyleValue;
+	private @Nullable ObjectProperty<LineStyle> lineStyle;
 
 	/** The style of the interior of the shape. */
-	protected final @NotNull ObjectProperty<FillingStyle> fillingStyle;
+	private @NotNull FillingStyle fillingStyleValue;
+	private @Nullable ObjectProperty<FillingStyle> fillingStyle;
 
 	/** The white dash separator for dashed lines in pixel. */
-	protected final @NotNull DoubleProperty dashSepWhite;
+	private double dashSepWhiteValue;
+	private @Nullable DoubleProperty dashSepWhite;
 
 	/** The black dash separator for dashed lines in pixel. */
-	protected final @NotNull DoubleProperty dashSepBlack;
+	private double dashSepBlackValue;
+	private @Nullable DoubleProperty dashSepBlack;
 
 	/** The dot separator for dotted lines. */
-	protected final @NotNull DoubleProperty dotSep;
+	private double dotSepValue;
+	private @Nullable DoubleProperty dotSep;
 
 	/** The colour of the interior of the shape. */
-	protected final @NotNull ObjectProperty<Color> fillingCol;
+	private @NotNull Color fillingColValue;
+	private @Nullable ObjectProperty<Color> fillingCol;
 
 	/** The start colour of the gradient. */
-	protected final @NotNull ObjectProperty<Color> gradColStart;
+	private @NotNull Color gradColStartValue;
+	private @Nullable ObjectProperty<Color> gradColStart;
 
 	/** The end colour of the gradient. */
-	protected final @NotNull ObjectProperty<Color> gradColEnd;
+	private @NotNull Color gradColEndValue;
+	private @Nullable ObjectProperty<Color> gradColEnd;
 
 	/** The angle of the gradient in radian. */
-	protected final @NotNull DoubleProperty gradAngle;
+	private double gradAngleValue;
+	private @Nullable DoubleProperty gradAngle;
 
 	/** The middle point of the gradient. */
-	protected final @NotNull DoubleProperty gradMidPt;
+	private double gradMidPtValue;
+	private @Nullable DoubleProperty gradMidPt;
 
 	/** The separation size between hatchings in pixel. */
-	protected final @NotNull DoubleProperty hatchingsSep;
+	private double hatchingsSepValue;
+	private @Nullable DoubleProperty hatchingsSep;
 
 	/** The colour of the hatchings. */
-	protected final @NotNull ObjectProperty<Color> hatchingsCol;
+	private @NotNull Color hatchingsColValue;
+	private @Nullable ObjectProperty<Color> hatchingsCol;
 
 	/** The angle of the hatchings in radian. */
-	protected final @NotNull DoubleProperty hatchingsAngle;
+	private double hatchingsAngleValue;
+	private @Nullable DoubleProperty hatchingsAngle;
 
 	/** The thickness of the hatchings in pixel. */
-	protected final @NotNull DoubleProperty hatchingsWidth;
+	private double hatchingsWidthValue;
+	private @Nullable DoubleProperty hatchingsWidth;
 
 	/** The rotation angle of the shape. */
-	protected final @NotNull DoubleProperty rotationAngle;
+	private double rotationAngleValue;
+	private @Nullable DoubleProperty rotationAngle;
 
 	/** Defines if the points of the shape must be considered. */
-	protected final @NotNull BooleanProperty showPts;
+	private boolean showPtsValue;
+	private @Nullable BooleanProperty showPts;
 
 	/** Defines if the shape has double borders. */
-	protected final @NotNull BooleanProperty hasDbleBord;
+	private boolean hasDbleBordValue;
+	private @Nullable BooleanProperty hasDbleBord;
 
 	/** The colour of the double borders. */
-	protected final @NotNull ObjectProperty<Color> dbleBordCol;
+	private @NotNull Color dbleBordColValue;
+	private @Nullable ObjectProperty<Color> dbleBordCol;
 
 	/** The separation size of the double borders in pixel. */
-	protected final @NotNull DoubleProperty dbleBordSep;
+	private double dbleBordSepValue;
+	private @Nullable DoubleProperty dbleBordSep;
 
 	/** Defines if the shape has a shadow. */
-	protected final @NotNull BooleanProperty hasShadow;
+	private boolean hasShadowValue;
+	private @Nullable BooleanProperty hasShadow;
 
 	/** The colour of the shadow. */
-	protected final @NotNull ObjectProperty<Color> shadowCol;
+	private @NotNull Color shadowColValue;
+	private @Nullable ObjectProperty<Color> shadowCol;
 
 	/** The angle of the shadow in radian. */
-	protected final @NotNull DoubleProperty shadowAngle;
+	private double shadowAngleValue;
+	private @Nullable DoubleProperty shadowAngle;
 
 	/** The size of the shadow in pixel. */
-	protected final @NotNull DoubleProperty shadowSize;
+	private double shadowSizeValue;
+	private @Nullable DoubleProperty shadowSize;
 
 	/** The position of the border of the shape. */
-	protected final @NotNull ObjectProperty<BorderPos> bordersPosition;
+	private @NotNull BorderPos bordersPositionValue;
+	private @Nullable ObjectProperty<BorderPos> bordersPosition;
 
 	/** The points of the shape. */
 	protected final @NotNull List<Point> points;
@@ -124,39 +159,54 @@ abstract class ShapeBase implements SingleShape {
 	/** Defined if the shape has been modified. */
 	protected boolean modified;
 
+	/** The number of nested holds of the view updates of the shape. */
+	private int nbViewUpdatesHolds;
+	private @Nullable ReadOnlyBooleanWrapper viewUpdatesHeld;
+
+	/** The listeners notified when the features of the shape may change (see addFeaturesListener). Null until a first registration. */
+	private @Nullable List<WeakReference<Runnable>> featuresListeners;
+
 	/**
 	 * The second default constructor
 	 */
 	ShapeBase() {
+		this(new ArrayList<>());
+	}
+
+	/**
+	 * Creates a shape that stores its points in the given list.
+	 * @param pointsStorage The empty list that will contain the points of the shape.
+	 */
+	ShapeBase(final @NotNull List<Point> pointsStorage) {
 		super();
 		modified = false;
-		thickness = new SimpleDoubleProperty(2d);
-		rotationAngle = new SimpleDoubleProperty(0d);
-		shadowAngle = new SimpleDoubleProperty(-Math.PI / 4d);
-		gradAngle = new SimpleDoubleProperty(0d);
-		hatchingsAngle = new SimpleDoubleProperty(0d);
-		hasShadow = new SimpleBooleanProperty(false);
-		hasDbleBord = new SimpleBooleanProperty(false);
-		lineStyle = new SimpleObjectProperty<>(LineStyle.SOLID);
-		lineColour = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_LINE_COLOR);
-		dotSep = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DOT_STEP * PPC);
-		dashSepBlack = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DASH_BLACK * PPC);
-		dashSepWhite = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DASH_WHITE * PPC);
-		hatchingsCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_HATCHING_COLOR);
-		hatchingsSep = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_HATCH_SEP * PPC);
-		hatchingsWidth = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_HATCH_WIDTH * PPC);
-		fillingStyle = new SimpleObjectProperty<>(FillingStyle.NONE);
-		fillingCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_FILL_COLOR);
-		bordersPosition = new SimpleObjectProperty<>(BorderPos.INTO);
-		dbleBordCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_DOUBLE_COLOR);
-		dbleBordSep = new SimpleDoubleProperty(6d);
-		shadowCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_SHADOW_COLOR);
-		shadowSize = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_SHADOW_SIZE * PPC);
-		gradColStart = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_GRADIENT_START_COLOR);
-		gradColEnd = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_GRADIENT_END_COLOR);
-		gradMidPt = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_GRADIENT_MID_POINT);
-		showPts = new SimpleBooleanProperty(false);
-		points = new ArrayList<>();
+		thicknessValue = 2d;
+		rotationAngleValue = 0d;
+		shadowAngleValue = -Math.PI / 4d;
+		gradAngleValue = 0d;
+		hatchingsAngleValue = 0d;
+		hasShadowValue = false;
+		hasDbleBordValue = false;
+		lineStyleValue = LineStyle.SOLID;
+		lineColourValue = PSTricksConstants.DEFAULT_LINE_COLOR;
+		dotSepValue = PSTricksConstants.DEFAULT_DOT_STEP * PPC;
+		dashSepBlackValue = PSTricksConstants.DEFAULT_DASH_BLACK * PPC;
+		dashSepWhiteValue = PSTricksConstants.DEFAULT_DASH_WHITE * PPC;
+		hatchingsColValue = PSTricksConstants.DEFAULT_HATCHING_COLOR;
+		hatchingsSepValue = PSTricksConstants.DEFAULT_HATCH_SEP * PPC;
+		hatchingsWidthValue = PSTricksConstants.DEFAULT_HATCH_WIDTH * PPC;
+		fillingStyleValue = FillingStyle.NONE;
+		fillingColValue = PSTricksConstants.DEFAULT_FILL_COLOR;
+		bordersPositionValue = BorderPos.INTO;
+		dbleBordColValue = PSTricksConstants.DEFAULT_DOUBLE_COLOR;
+		dbleBordSepValue = 6d;
+		shadowColValue = PSTricksConstants.DEFAULT_SHADOW_COLOR;
+		shadowSizeValue = PSTricksConstants.DEFAULT_SHADOW_SIZE * PPC;
+		gradColStartValue = PSTricksConstants.DEFAULT_GRADIENT_START_COLOR;
+		gradColEndValue = PSTricksConstants.DEFAULT_GRADIENT_END_COLOR;
+		gradMidPtValue = PSTricksConstants.DEFAULT_GRADIENT_MID_POINT;
+		showPtsValue = false;
+		points = pointsStorage;
 	}
 
 	@Override
@@ -213,11 +263,11 @@ abstract class ShapeBase implements SingleShape {
 
 	@Override
 	public double getBorderGap() {
-		switch(bordersPosition.get()) {
+		switch(getBordersPosition()) {
 			case MID:
-				return hasDbleBord() ? thickness.doubleValue() + getDbleBordSep() / 2d : thickness.doubleValue() / 2d;
+				return hasDbleBord() ? getThickness() + getDbleBordSep() / 2d : getThickness() / 2d;
 			case OUT:
-				return hasDbleBord() ? thickness.doubleValue() * 2d + getDbleBordSep() : thickness.doubleValue();
+				return hasDbleBord() ? getThickness() * 2d + getDbleBordSep() : getThickness();
 			case INTO:
 				return 0d;
 		}
@@ -226,42 +276,42 @@ abstract class ShapeBase implements SingleShape {
 
 	@Override
 	public @NotNull BorderPos getBordersPosition() {
-		return bordersPosition.get();
+		return bordersPosition == null ? bordersPositionValue : bordersPosition.get();
 	}
 
 	@Override
 	public double getDashSepBlack() {
-		return dashSepBlack.doubleValue();
+		return dashSepBlack == null ? dashSepBlackValue : dashSepBlack.get();
 	}
 
 	@Override
 	public double getDashSepWhite() {
-		return dashSepWhite.doubleValue();
+		return dashSepWhite == null ? dashSepWhiteValue : dashSepWhite.get();
 	}
 
 	@Override
 	public @NotNull Color getDbleBordCol() {
-		return dbleBordCol.get();
+		return dbleBordCol == null ? dbleBordColValue : dbleBordCol.get();
 	}
 
 	@Override
 	public double getDbleBordSep() {
-		return dbleBordSep.doubleValue();
+		return dbleBordSep == null ? dbleBordSepValue : dbleBordSep.get();
 	}
 
 	@Override
 	public double getDotSep() {
-		return dotSep.doubleValue();
+		return dotSep == null ? dotSepValue : dotSep.get();
 	}
 
 	@Override
 	public @NotNull Color getFillingCol() {
-		return fillingCol.get();
+		return fillingCol == null ? fillingColValue : fillingCol.get();
 	}
 
 	@Override
 	public @NotNull FillingStyle getFillingStyle() {
-		return fillingStyle.get();
+		return fillingStyle == null ? fillingStyleValue : fillingStyle.get();
 	}
 
 	@Override
@@ -286,57 +336,61 @@ abstract class ShapeBase implements SingleShape {
 
 	@Override
 	public double getGradAngle() {
-		return gradAngle.doubleValue();
+		return gradAngle == null ? gradAngleValue : gradAngle.get();
 	}
 
 	@Override
 	public @NotNull Color getGradColEnd() {
-		return gradColEnd.get();
+		return gradColEnd == null ? gradColEndValue : gradColEnd.get();
 	}
 
 	@Override
 	public @NotNull Color getGradColStart() {
-		return gradColStart.get();
+		return gradColStart == null ? gradColStartValue : gradColStart.get();
 	}
 
 	@Override
 	public double getGradMidPt() {
-		return gradMidPt.doubleValue();
+		return gradMidPt == null ? gradMidPtValue : gradMidPt.get();
 	}
 
 	@Override
 	public @NotNull Point getGravityCentre() {
-		return points.isEmpty() ? ShapeFactory.INST.createPoint() : getTopLeftPoint().getMiddlePoint(getBottomRightPoint());
+		if(points.isEmpty()) {
+			return ShapeFactory.INST.createPoint();
+		}
+		final ShapeBounds bounds = getBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getCentreX(), bounds.getCentreY());
 	}
 
 	@Override
 	public double getHatchingsAngle() {
-		return hatchingsAngle.doubleValue();
+		return hatchingsAngle == null ? hatchingsAngleValue : hatchingsAngle.get();
 	}
 
 	@Override
 	public @NotNull Color getHatchingsCol() {
-		return hatchingsCol.get();
+		return hatchingsCol == null ? hatchingsColValue : hatchingsCol.get();
 	}
 
 	@Override
 	public double getHatchingsSep() {
-		return hatchingsSep.doubleValue();
+		return hatchingsSep == null ? hatchingsSepValue : hatchingsSep.get();
 	}
 
 	@Override
 	public double getHatchingsWidth() {
-		return hatchingsWidth.doubleValue();
+		return hatchingsWidth == null ? hatchingsWidthValue : hatchingsWidth.get();
 	}
 
 	@Override
 	public @NotNull Color getLineColour() {
-		return lineColour.get();
+		return lineColour == null ? lineColourValue : lineColour.get();
 	}
 
 	@Override
 	public @NotNull LineStyle getLineStyle() {
-		return lineStyle.get();
+		return lineStyle == null ? lineStyleValue : lineStyle.get();
 	}
 
 	@Override
@@ -364,57 +418,57 @@ abstract class ShapeBase implements SingleShape {
 
 	@Override
 	public double getRotationAngle() {
-		return rotationAngle.get();
+		return rotationAngle == null ? rotationAngleValue : rotationAngle.get();
 	}
 
 	@Override
 	public double getShadowAngle() {
-		return shadowAngle.get();
+		return shadowAngle == null ? shadowAngleValue : shadowAngle.get();
 	}
 
 	@Override
 	public @NotNull Color getShadowCol() {
-		return shadowCol.get();
+		return shadowCol == null ? shadowColValue : shadowCol.get();
 	}
 
 	@Override
 	public double getShadowSize() {
-		return shadowSize.get();
+		return shadowSize == null ? shadowSizeValue : shadowSize.get();
 	}
 
 	@Override
 	public double getThickness() {
-		return thickness.doubleValue();
+		return thickness == null ? thicknessValue : thickness.get();
 	}
 
 	@Override
 	public boolean hasDbleBord() {
-		return hasDbleBord.get();
+		return hasDbleBord == null ? hasDbleBordValue : hasDbleBord.get();
 	}
 
 	@Override
 	public boolean hasGradient() {
-		return isInteriorStylable() && fillingStyle.get() == FillingStyle.GRAD;
+		return isInteriorStylable() && getFillingStyle() == FillingStyle.GRAD;
 	}
 
 	@Override
 	public boolean hasHatchings() {
-		return isInteriorStylable() && fillingStyle.get().isHatchings();
+		return isInteriorStylable() && getFillingStyle().isHatchings();
 	}
 
 	@Override
 	public boolean hasShadow() {
-		return hasShadow.get();
+		return hasShadow == null ? hasShadowValue : hasShadow.get();
 	}
 
 	@Override
 	public boolean isFilled() {
-		return fillingStyle.get().isFilled();
+		return getFillingStyle().isFilled();
 	}
 
 	@Override
 	public boolean isShowPts() {
-		return showPts.get();
+		return showPts == null ? showPtsValue : showPts.get();
 	}
 
 	@Override
@@ -426,42 +480,66 @@ abstract class ShapeBase implements SingleShape {
 	@Override
 	public void setBordersPosition(final @NotNull BorderPos position) {
 		if(isBordersMovable()) {
-			bordersPosition.set(position);
+			if(bordersPosition == null) {
+				bordersPositionValue = position;
+			}else {
+				bordersPosition.set(position);
+			}
 		}
 	}
 
 	@Override
 	public void setDashSepBlack(final double dash) {
 		if(dash > 0d && MathUtils.INST.isValidCoord(dash)) {
-			dashSepBlack.set(dash);
+			if(dashSepBlack == null) {
+				dashSepBlackValue = dash;
+			}else {
+				dashSepBlack.set(dash);
+			}
 		}
 	}
 
 	@Override
 	public void setDashSepWhite(final double dash) {
 		if(dash > 0d && MathUtils.INST.isValidCoord(dash)) {
-			dashSepWhite.set(dash);
+			if(dashSepWhite == null) {
+				dashSepWhiteValue = dash;
+			}else {
+				dashSepWhite.set(dash);
+			}
 		}
 	}
 
 	@Override
 	public void setDbleBordCol(final @NotNull Color col) {
 		if(isDbleBorderable()) {
-			dbleBordCol.set(col);
+			if(dbleBordCol == null) {
+				dbleBordColValue = col;
+			}else {
+				dbleBordCol.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setDbleBordSep(final double sep) {
 		if(sep >= 0 && isDbleBorderable() && MathUtils.INST.isValidCoord(sep)) {
-			dbleBordSep.set(sep);
+			if(dbleBordSep == null) {
+				dbleBordSepValue = sep;
+			}else {
+				dbleBordSep.set(sep);
+			}
 		}
 	}
 
 	@Override
 	public void setDotSep(final double sep) {
 		if(sep >= 0 && MathUtils.INST.isValidCoord(sep)) {
-			dotSep.set(sep);
+			if(dotSep == null) {
+				dotSepValue = sep;
+			}else {
+				dotSep.set(sep);
+			}
 		}
 	}
 
@@ -471,106 +549,161 @@ abstract class ShapeBase implements SingleShape {
 			return;
 		}
 
-		if(isFilled) {
-			fillingStyle.set(fillingStyle.get().getFilledStyle());
-		}else {
-			fillingStyle.set(fillingStyle.get().getUnfilledStyle());
-		}
+		setFillingStyle(isFilled ? getFillingStyle().getFilledStyle() : getFillingStyle().getUnfilledStyle());
 	}
 
 	@Override
 	public void setFillingCol(final @NotNull Color col) {
 		if(isFillable()) {
-			fillingCol.set(col);
+			if(fillingCol == null) {
+				fillingColValue = col;
+			}else {
+				fillingCol.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setFillingStyle(final @NotNull FillingStyle style) {
 		if(isFillable()) {
-			fillingStyle.set(style);
+			if(fillingStyle == null) {
+				fillingStyleValue = style;
+				notifyFeaturesChanged();
+			}else {
+				fillingStyle.set(style);
+			}
 		}
 	}
 
 	@Override
 	public void setGradAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle) && isInteriorStylable()) {
-			gradAngle.set(angle);
+			if(gradAngle == null) {
+				gradAngleValue = angle;
+			}else {
+				gradAngle.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setGradColEnd(final @NotNull Color col) {
 		if(isInteriorStylable()) {
-			gradColEnd.set(col);
+			if(gradColEnd == null) {
+				gradColEndValue = col;
+			}else {
+				gradColEnd.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setGradColStart(final @NotNull Color col) {
 		if(isInteriorStylable()) {
-			gradColStart.set(col);
+			if(gradColStart == null) {
+				gradColStartValue = col;
+			}else {
+				gradColStart.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setGradMidPt(final double pt) {
 		if(pt >= 0 && pt <= 1 && isInteriorStylable()) {
-			gradMidPt.set(pt);
+			if(gradMidPt == null) {
+				gradMidPtValue = pt;
+			}else {
+				gradMidPt.set(pt);
+			}
 		}
 	}
 
 	@Override
 	public void setHasDbleBord(final boolean bord) {
 		if(isDbleBorderable()) {
-			hasDbleBord.set(bord);
+			if(hasDbleBord == null) {
+				hasDbleBordValue = bord;
+				notifyFeaturesChanged();
+			}else {
+				hasDbleBord.set(bord);
+			}
 		}
 	}
 
 	@Override
 	public void setHasShadow(final boolean shad) {
 		if(isShadowable()) {
-			hasShadow.set(shad);
+			if(hasShadow == null) {
+				hasShadowValue = shad;
+				notifyFeaturesChanged();
+			}else {
+				hasShadow.set(shad);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle) && isInteriorStylable()) {
-			hatchingsAngle.set(angle);
+			if(hatchingsAngle == null) {
+				hatchingsAngleValue = angle;
+			}else {
+				hatchingsAngle.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsCol(final @NotNull Color col) {
 		if(isInteriorStylable()) {
-			hatchingsCol.set(col);
+			if(hatchingsCol == null) {
+				hatchingsColValue = col;
+			}else {
+				hatchingsCol.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsSep(final double sep) {
 		if(sep >= 0d && MathUtils.INST.isValidCoord(sep) && isInteriorStylable()) {
-			hatchingsSep.set(sep);
+			if(hatchingsSep == null) {
+				hatchingsSepValue = sep;
+			}else {
+				hatchingsSep.set(sep);
+			}
 		}
 	}
 
 	@Override
 	public void setHatchingsWidth(final double width) {
 		if(width > 0d && MathUtils.INST.isValidCoord(width) && isInteriorStylable()) {
-			hatchingsWidth.set(width);
+			if(hatchingsWidth == null) {
+				hatchingsWidthValue = width;
+			}else {
+				hatchingsWidth.set(width);
+			}
 		}
 	}
 
 	@Override
 	public void setLineColour(final @NotNull Color col) {
-		lineColour.set(col);
+		if(lineColour == null) {
+			lineColourValue = col;
+		}else {
+			lineColour.set(col);
+		}
 	}
 
 	@Override
 	public void setLineStyle(final @NotNull LineStyle style) {
 		if(isLineStylable()) {
-			lineStyle.setValue(style);
+			if(lineStyle == null) {
+				lineStyleValue = style;
+			}else {
+				lineStyle.set(style);
+			}
 		}
 	}
 
@@ -622,42 +755,67 @@ abstract class ShapeBase implements SingleShape {
 	@Override
 	public void setRotationAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle)) {
-			rotationAngle.set(angle);
+			if(rotationAngle == null) {
+				rotationAngleValue = angle;
+			}else {
+				rotationAngle.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setShadowAngle(final double angle) {
 		if(isShadowable() && MathUtils.INST.isValidCoord(angle)) {
-			shadowAngle.set(angle);
+			if(shadowAngle == null) {
+				shadowAngleValue = angle;
+			}else {
+				shadowAngle.set(angle);
+			}
 		}
 	}
 
 	@Override
 	public void setShadowCol(final @NotNull Color col) {
 		if(isShadowable()) {
-			shadowCol.set(col);
+			if(shadowCol == null) {
+				shadowColValue = col;
+			}else {
+				shadowCol.set(col);
+			}
 		}
 	}
 
 	@Override
 	public void setShadowSize(final double size) {
 		if(size > 0d && isShadowable() && MathUtils.INST.isValidCoord(size)) {
-			shadowSize.set(size);
+			if(shadowSize == null) {
+				shadowSizeValue = size;
+			}else {
+				shadowSize.set(size);
+			}
 		}
 	}
 
 	@Override
 	public void setShowPts(final boolean pts) {
 		if(isShowPtsable()) {
-			showPts.set(pts);
+			if(showPts == null) {
+				showPtsValue = pts;
+				notifyFeaturesChanged();
+			}else {
+				showPts.set(pts);
+			}
 		}
 	}
 
 	@Override
 	public void setThickness(final double thick) {
 		if(thick > 0d && isThicknessable() && MathUtils.INST.isValidCoord(thick)) {
-			thickness.setValue(thick);
+			if(thickness == null) {
+				thicknessValue = thick;
+			}else {
+				thickness.set(thick);
+			}
 		}
 	}
 
@@ -687,32 +845,59 @@ abstract class ShapeBase implements SingleShape {
 		}
 	}
 
+	@Override
+	public @NotNull ShapeBounds getBounds(final @NotNull ShapeBounds bounds) {
+		return getPointsBounds(bounds);
+	}
+
+	/**
+	 * Fills the given bounds with the bounds of the points of the shape.
+	 * The bounds are computed in a single pass over the coordinates without creating any object.
+	 * The packed points of the shapes that have many points cache their bounds until one of them changes.
+	 * If the shape has no point, the bounds are set to (0, 0, 0, 0).
+	 * @param bounds The bounds to fill.
+	 * @return The given bounds.
+	 */
+	protected @NotNull ShapeBounds getPointsBounds(final @NotNull ShapeBounds bounds) {
+		if(points.isEmpty()) {
+			return bounds.set(0d, 0d, 0d, 0d);
+		}
+
+		if(points instanceof PackedPoints) {
+			return ((PackedPoints) points).getBounds(bounds);
+		}
+
+		bounds.reset();
+		// An indexed loop to avoid any iterator allocation
+		for(int i = 0, size = points.size(); i < size; i++) {
+			final Point pt = points.get(i);
+			bounds.add(pt.getX(), pt.getY());
+		}
+		return bounds;
+	}
+
 	@Override
 	public @NotNull Point getBottomRightPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).
-				orElseGet(() -> ShapeFactory.INST.createPoint());
+		final ShapeBounds bounds = getPointsBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMaxX(), bounds.getMaxY());
 	}
 
 	@Override
 	public @NotNull Point getBottomLeftPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).
-				orElseGet(() -> ShapeFactory.INST.createPoint());
+		final ShapeBounds bounds = getPointsBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMinX(), bounds.getMaxY());
 	}
 
 	@Override
 	public @NotNull Point getTopLeftPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).
-				orElseGet(() -> ShapeFactory.INST.createPoint());
+		final ShapeBounds bounds = getPointsBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMinX(), bounds.getMinY());
 	}
 
 	@Override
 	public @NotNull Point getTopRightPoint() {
-		return getNbPoints() == 1 ? ShapeFactory.INST.createPoint(getPtAt(0)) :
-			points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).
-				orElseGet(() -> ShapeFactory.INST.createPoint());
+		final ShapeBounds bounds = getPointsBounds(new ShapeBounds());
+		return ShapeFactory.INST.createPoint(bounds.getMaxX(), bounds.getMinY());
 	}
 
 	@Override
@@ -732,6 +917,88 @@ abstract class ShapeBase implements SingleShape {
 		return modified;
 	}
 
+	@Override
+	public void holdViewUpdates() {
+		nbViewUpdatesHolds++;
+		if(nbViewUpdatesHolds == 1 && viewUpdatesHeld != null) {
+			viewUpdatesHeld.set(true);
+		}
+	}
+
+	@Override
+	public void releaseViewUpdates() {
+		if(nbViewUpdatesHolds > 0) {
+			nbViewUpdatesHolds--;
+			if(nbViewUpdatesHolds == 0 && viewUpdatesHeld != null) {
+				viewUpdatesHeld.set(false);
+			}
+		}
+	}
+
+	@Override
+	public boolean isHoldingViewUpdates() {
+		return nbViewUpdatesHolds > 0;
+	}
+
+	@Override
+	public @NotNull ReadOnlyBooleanProperty viewUpdatesHeldProperty() {
+		if(viewUpdatesHeld == null) {
+			viewUpdatesHeld = new ReadOnlyBooleanWrapper(nbViewUpdatesHolds > 0);
+		}
+		return viewUpdatesHeld.getReadOnlyProperty();
+	}
+
+	/**
+	 * Registers a listener notified when the features of the shape the groups summarise may change (see GroupFeatures):
+	 * on the changes of the shadow, the double borders, the points, and the filling style made through their setters or properties,
+	 * and of the properties observed by observeFeatures.
+	 * The listener is weakly referenced: it must be strongly referenced by its owner, so that the shape does not retain the owner.
+	 * @param listener The listener to register. Its notifications must be followed by a read of the features.
+	 */
+	void addFeaturesListener(final @NotNull Runnable listener) {
+		if(featuresListeners == null) {
+			featuresListeners = new ArrayList<>(1);
+			observeFeatures(obs -> notifyFeaturesChanged());
+		}
+		featuresListeners.removeIf(ref -> ref.get() == null);
+		featuresListeners.add(new WeakReference<>(listener));
+	}
+
+	/**
+	 * Unregisters a listener registered using addFeaturesListener.
+	 * @param listener The listener to unregister.
+	 */
+	void removeFeaturesListener(final @NotNull Runnable listener) {
+		if(featuresListeners != null) {
+			featuresListeners.removeIf(ref -> ref.get() == null || ref.get() == listener);
+		}
+	}
+
+	/**
+	 * Observes the properties, other than the shadow, the double borders, the points, and the filling style,
+	 * the features of the shape depend on (e.g. the style of a dot).
+	 * Called on the first registration of a features listener. Does nothing by default.
+	 * @param invalidator The listener to register on these properties.
+	 */
+	void observeFeatures(final @NotNull InvalidationListener invalidator) {
+		// No other property by default.
+	}
+
+	/**
+	 * Notifies the features listeners that the features of the shape may have changed.
+	 */
+	private void notifyFeaturesChanged() {
+		if(featuresListeners != null) {
+			// A copy: the listeners may be collected or unregistered while notified.
+			for(final WeakReference<Runnable> ref : List.copyOf(featuresListeners)) {
+				final Runnable listener = ref.get();
+				if(listener != null) {
+					listener.run();
+				}
+			}
+		}
+	}
+
 	@Override
 	public void rotate(final @Nullable Point point, final double angle) {
 		final Point gc = getGravityCentre();
@@ -801,131 +1068,229 @@ abstract class ShapeBase implements SingleShape {
 
 	@Override
 	public @NotNull DoubleProperty thicknessProperty() {
+		if(thickness == null) {
+			thickness = new SimpleDoubleProperty(thicknessValue);
+		}
 		return thickness;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<LineStyle> linestyleProperty() {
+		if(lineStyle == null) {
+			lineStyle = new SimpleObjectProperty<>(lineStyleValue);
+		}
 		return lineStyle;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<BorderPos> borderPosProperty() {
+		if(bordersPosition == null) {
+			bordersPosition = new SimpleObjectProperty<>(bordersPositionValue);
+		}
 		return bordersPosition;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> lineColourProperty() {
+		if(lineColour == null) {
+			lineColour = new SimpleObjectProperty<>(lineColourValue);
+		}
 		return lineColour;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<FillingStyle> fillingProperty() {
+		if(fillingStyle == null) {
+			fillingStyle = new SimpleObjectProperty<>(fillingStyleValue) {
+				@Override
+				protected void invalidated() {
+					notifyFeaturesChanged();
+				}
+			};
+		}
 		return fillingStyle;
 	}
 
 	@Override
 	public @NotNull DoubleProperty dashSepWhiteProperty() {
+		if(dashSepWhite == null) {
+			dashSepWhite = new SimpleDoubleProperty(dashSepWhiteValue);
+		}
 		return dashSepWhite;
 	}
 
 	@Override
 	public @NotNull DoubleProperty dashSepBlackProperty() {
+		if(dashSepBlack == null) {
+			dashSepBlack = new SimpleDoubleProperty(dashSepBlackValue);
+		}
 		return dashSepBlack;
 	}
 
 	@Override
 	public @NotNull DoubleProperty dotSepProperty() {
+		if(dotSep == null) {
+			dotSep = new SimpleDoubleProperty(dotSepValue);
+		}
 		return dotSep;
 	}
 
 	@Override
 	public @NotNull BooleanProperty dbleBordProperty() {
+		if(hasDbleBord == null) {
+			hasDbleBord = new SimpleBooleanProperty(hasDbleBordValue) {
+				@Override
+				protected void invalidated() {
+					notifyFeaturesChanged();
+				}
+			};
+		}
 		return hasDbleBord;
 	}
 
 	@Override
 	public @NotNull DoubleProperty dbleBordSepProperty() {
+		if(dbleBordSep == null) {
+			dbleBordSep = new SimpleDoubleProperty(dbleBordSepValue);
+		}
 		return dbleBordSep;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> dbleBordColProperty() {
+		if(dbleBordCol == null) {
+			dbleBordCol = new SimpleObjectProperty<>(dbleBordColValue);
+		}
 		return dbleBordCol;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> gradColStartProperty() {
+		if(gradColStart == null) {
+			gradColStart = new SimpleObjectProperty<>(gradColStartValue);
+		}
 		return gradColStart;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> gradColEndProperty() {
+		if(gradColEnd == null) {
+			gradColEnd = new SimpleObjectProperty<>(gradColEndValue);
+		}
 		return gradColEnd;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> fillingColProperty() {
+		if(fillingCol == null) {
+			fillingCol = new SimpleObjectProperty<>(fillingColValue);
+		}
 		return fillingCol;
 	}
 
 	@Override
 	public @NotNull DoubleProperty gradAngleProperty() {
+		if(gradAngle == null) {
+			gradAngle = new SimpleDoubleProperty(gradAngleValue);
+		}
 		return gradAngle;
 	}
 
 	@Override
 	public @NotNull DoubleProperty gradMidPtProperty() {
+		if(gradMidPt == null) {
+			gradMidPt = new SimpleDoubleProperty(gradMidPtValue);
+		}
 		return gradMidPt;
 	}
 
 	@Override
 	public @NotNull BooleanProperty shadowProperty() {
+		if(hasShadow == null) {
+			hasShadow = new SimpleBooleanProperty(hasShadowValue) {
+				@Override
+				protected void invalidated() {
+					notifyFeaturesChanged();
+				}
+			};
+		}
 		return hasShadow;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> shadowColProperty() {
+		if(shadowCol == null) {
+			shadowCol = new SimpleObjectProperty<>(shadowColValue);
+		}
 		return shadowCol;
 	}
 
 	@Override
 	public @NotNull DoubleProperty shadowAngleProperty() {
+		if(shadowAngle == null) {
+			shadowAngle = new SimpleDoubleProperty(shadowAngleValue);
+		}
 		return shadowAngle;
 	}
 
 	@Override
 	public @NotNull DoubleProperty shadowSizeProperty() {
+		if(shadowSize == null) {
+			shadowSize = new SimpleDoubleProperty(shadowSizeValue);
+		}
 		return shadowSize;
 	}
 
 	@Override
 	public @NotNull DoubleProperty hatchingsAngleProperty() {
+		if(hatchingsAngle == null) {
+			hatchingsAngle = new SimpleDoubleProperty(hatchingsAngleValue);
+		}
 		return hatchingsAngle;
 	}
 
 	@Override
 	public @NotNull DoubleProperty hatchingsSepProperty() {
+		if(hatchingsSep == null) {
+			hatchingsSep = new SimpleDoubleProperty(hatchingsSepValue);
+		}
 		return hatchingsSep;
 	}
 
 	@Override
 	public @NotNull DoubleProperty hatchingsWidthProperty() {
+		if(hatchingsWidth == null) {
+			hatchingsWidth = new SimpleDoubleProperty(hatchingsWidthValue);
+		}
 		return hatchingsWidth;
 	}
 
 	@Override
 	public @NotNull ObjectProperty<Color> hatchingsColProperty() {
+		if(hatchingsCol == null) {
+			hatchingsCol = new SimpleObjectProperty<>(hatchingsColValue);
+		}
 		return hatchingsCol;
 	}
 
 	@Override
 	public @NotNull DoubleProperty rotationAngleProperty() {
+		if(rotationAngle == null) {
+			rotationAngle = new SimpleDoubleProperty(rotationAngleValue);
+		}
 		return rotationAngle;
 	}
 
 	@Override
 	public @NotNull ReadOnlyBooleanProperty showPointProperty() {
+		if(showPts == null) {
+			showPts = new SimpleBooleanProperty(showPtsValue) {
+				@Override
+				protected void invalidated() {
+					notifyFeaturesChanged();
+				}
+			};
+		}
 		return showPts;
 	}
 }
@@ -0,0 +1,71 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.model.impl;
+
+import java.util.List;
+import net.sf.latexdraw.model.api.shape.Shape;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The holds of the view updates of a set of shapes (a group or a drawing).
+ * The outermost hold starts on the shapes of the set and is released on the same shapes,
+ * whatever the shapes added to or removed from the set during the hold.
+ * @author Arnaud Blouin
+ */
+final class ShapesViewUpdatesHold {
+	/** The shapes on which the hold in progress started. */
+	private @NotNull List<Shape> shapes;
+	/** The number of nested holds in progress. */
+	private int depth;
+
+	ShapesViewUpdatesHold() {
+		super();
+		shapes = List.of();
+		depth = 0;
+	}
+
+	/**
+	 * Starts a hold.
+	 * @param setShapes The shapes of the set. Considered only when the outermost hold starts.
+	 * @return True if the outermost hold started.
+	 */
+	boolean begin(final @NotNull List<Shape> setShapes) {
+		depth++;
+		if(depth > 1) {
+			return false;
+		}
+		shapes = List.copyOf(setShapes);
+		shapes.forEach(sh -> sh.holdViewUpdates());
+		return true;
+	}
+
+	/**
+	 * Ends the latest started hold.
+	 * @return True if the outermost hold ended.
+	 */
+	boolean end() {
+		if(depth == 0) {
+			return false;
+		}
+		depth--;
+		if(depth > 0) {
+			return false;
+		}
+		final List<Shape> released = shapes;
+		shapes = List.of();
+		released.forEach(sh -> sh.releaseViewUpdates());
+		return true;
+	}
+
+	boolean isInProgress() {
+		return depth > 0;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parser;
+
+import java.util.Arrays;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.atn.LexerATNSimulator;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Manages the prediction caches (DFA) of an ANTLR grammar.
+ * The DFA built by ANTLR while parsing are shared by all the lexers and parsers of a grammar:
+ * keeping them between two parsings avoids the costly adaptive prediction of the already met inputs.
+ * Since these caches grow with the variety of the parsed inputs, they are cleared once
+ * their number of states exceeds a given budget instead of being cleared after each parsing.
+ * The parsers prepared by the policy share its cache of prediction contexts instead of the static cache of their grammar,
+ * that ANTLR never clears: this cache is dropped together with the DFA.
+ * @author Arnaud Blouin
+ */
+public final class DFACachePolicy {
+	/** The policy of the PSTricks grammar. */
+	public static final @NotNull DFACachePolicy PST = new DFACachePolicy(200_000);
+	/** The policy of the SVG path grammar. */
+	public static final @NotNull DFACachePolicy SVG_PATH = new DFACachePolicy(20_000);
+
+	private int maxStates;
+	private long nbResets;
+	/** The prediction contexts of the prepared parsers. Replaced when the DFA are cleared. */
+	private @NotNull PredictionContextCache contextCache;
+
+	/**
+	 * Creates a policy.
+	 * @param maxStates The maximal number of DFA states (lexer and parser) kept between two parsings.
+	 */
+	public DFACachePolicy(final int maxStates) {
+		super();
+		this.maxStates = maxStates;
+		contextCache = new PredictionContextCache();
+	}
+
+	/**
+	 * To call before a parsing: the given parser will use the cache of prediction contexts of the policy.
+	 * @param parser The parser to prepare.
+	 * @param <T> The type of the parser.
+	 * @return The given parser.
+	 */
+	public synchronized <T extends Parser> @NotNull T prepare(final @NotNull T parser) {
+		parser.setInterpreter(new ParserATNSimulator(parser, parser.getATN(), parser.getInterpreter().decisionToDFA, contextCache));
+		return parser;
+	}
+
+	/**
+	 * To call once a parsing is done: clears the DFA of the grammar and the cache of prediction contexts
+	 * if one of them exceeds the budget.
+	 * @param lexer The lexer used for the parsing.
+	 * @param parser The parser used for the parsing.
+	 * @return True if the DFA have been cleared.
+	 */
+	public synchronized boolean release(final @NotNull Lexer lexer, final @NotNull Parser parser) {
+		if(getNbStates(lexer, parser) <= maxStates && contextCache.size() <= maxStates) {
+			return false;
+		}
+
+		parser.getInterpreter().clearDFA();
+		lexer.getInterpreter().clearDFA();
+		contextCache = new PredictionContextCache();
+		nbResets++;
+		return true;
+	}
+
+	/**
+	 * @return The number of DFA states currently shared by the lexers and the parsers of the grammar of the given ones.
+	 */
+	public static int getNbStates(final @NotNull Lexer lexer, final @NotNull Parser parser) {
+		final LexerATNSimulator lexerSim = lexer.getInterpreter();
+		final ParserATNSimulator parserSim = parser.getInterpreter();
+		return countStates(lexerSim.decisionToDFA) + countStates(parserSim.decisionToDFA);
+	}
+
+	private static int countStates(final DFA[] dfas) {
+		return Arrays.stream(dfas).mapToInt(dfa -> dfa.states.size()).sum();
+	}
+
+	/**
+	 * @return The number of prediction contexts cached for the prepared parsers.
+	 */
+	public synchronized int getNbCachedContexts() {
+		return contextCache.size();
+	}
+
+	/**
+	 * @return The number of times the DFA have been cleared.
+	 */
+	public synchronized long getNbResets() {
+		return nbResets;
+	}
+
+	/**
+	 * @return The maximal number of DFA states kept between two parsings.
+	 */
+	public synchronized int getMaxStates() {
+		return maxStates;
+	}
+
+	/**
+	 * @param max The maximal number of DFA states kept between two parsings. 0: the DFA are cleared after each parsing.
+	 */
+	public synchronized void setMaxStates(final int max) {
+		maxStates = Math.max(0, max);
+	}
+}
@@ -0,0 +1,320 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parser.ps;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.sf.latexdraw.model.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A postscript function compiled into an array of operation codes evaluated on a stack of primitive values.
+ * The depth of the stack is known before each operation, so that the stack is allocated once and the constants
+ * (values and 'count' commands) are resolved at compile time: evaluating the function allocates nothing.
+ * The evaluation has the semantics of the postscript commands (the angles of 'sin' and 'cos' are in degrees, 'log' is decimal,
+ * 'div', 'idiv', and 'mod' fail on a zero divisor): an operation that lacks operands, as a function that produces no value,
+ * fails when evaluated.
+ * @author Arnaud Blouin
+ */
+final class PSCompiledFunction {
+	private static final int OP_X = 0;
+	private static final int OP_VALUE = 1;
+	// The arithmetic operations on the two values at the top of the stack
+	private static final int OP_ADD = 2;
+	private static final int OP_MUL = 3;
+	private static final int OP_SUB = 4;
+	private static final int OP_DIV = 5;
+	private static final int OP_IDIV = 6;
+	private static final int OP_MOD = 7;
+	private static final int OP_EXP = 8;
+	// The arithmetic operations on the value at the top of the stack
+	private static final int OP_SIN = 9;
+	private static final int OP_COS = 10;
+	private static final int OP_LOG = 11;
+	private static final int OP_NEG = 12;
+	private static final int OP_ABS = 13;
+	private static final int OP_FLOOR = 14;
+	private static final int OP_CEILING = 15;
+	// The operations on the stack
+	private static final int OP_EXCH = 16;
+	private static final int OP_DUP = 17;
+	private static final int OP_POP = 18;
+	private static final int OP_CLEAR = 19;
+	private static final int OP_COUNT = 20;
+	/** Not supported command: fails when evaluated. */
+	private static final int OP_UNSUPPORTED = 21;
+	/** Fails when evaluated since the previous operations do not let enough values in the stack. */
+	private static final int OP_MISSING_OPERAND = 22;
+
+	private static final Map<String, Integer> OPS;
+
+	static {
+		OPS = new HashMap<>();
+		OPS.put("x", OP_X); //NON-NLS
+		OPS.put("add", OP_ADD); //NON-NLS
+		OPS.put("mul", OP_MUL); //NON-NLS
+		OPS.put("sub", OP_SUB); //NON-NLS
+		OPS.put("div", OP_DIV); //NON-NLS
+		OPS.put("idiv", OP_IDIV); //NON-NLS
+		OPS.put("mod", OP_MOD); //NON-NLS
+		OPS.put("exp", OP_EXP); //NON-NLS
+		OPS.put("exch", OP_EXCH); //NON-NLS
+		OPS.put("sin", OP_SIN); //NON-NLS
+		OPS.put("cos", OP_COS); //NON-NLS
+		OPS.put("log", OP_LOG); //NON-NLS
+		OPS.put("neg", OP_NEG); //NON-NLS
+		OPS.put("abs", OP_ABS); //NON-NLS
+		OPS.put("floor", OP_FLOOR); //NON-NLS
+		OPS.put("ceiling", OP_CEILING); //NON-NLS
+		OPS.put("dup", OP_DUP); //NON-NLS
+		OPS.put("pop", OP_POP); //NON-NLS
+		OPS.put("clear", OP_CLEAR); //NON-NLS
+		OPS.put("count", OP_COUNT); //NON-NLS
+		OPS.put("roll", OP_UNSUPPORTED); //NON-NLS
+		OPS.put("sqrt", OP_UNSUPPORTED); //NON-NLS
+	}
+
+	/** The operation codes. */
+	private final int[] ops;
+	/** The constant pushed by each OP_VALUE operation, at the same index. */
+	private final double[] values;
+	/** The stack of values, as large as the deepest stack the function produces. */
+	private final double[] stack;
+
+	/**
+	 * Compiles a postscript function.
+	 * @param cmds The commands of the function, in the postfix order.
+	 * @throws InvalidFormatPSFunctionException If a command is not a postscript command nor a number.
+	 */
+	PSCompiledFunction(final @NotNull List<String> cmds) {
+		super();
+		final int size = cmds.size();
+		final int[] codes = new int[size + 1];
+		final double[] constants = new double[size + 1];
+		int depth = 0;
+		int maxDepth = 0;
+		int pc = 0;
+		boolean missingOperand = false;
+
+		for(final String cmd : cmds) {
+			// All the commands are identified, even those after a missing operand
+			final int op = identify(cmd, constants, pc);
+			if(!missingOperand) {
+				missingOperand = depth < getNbOperands(op);
+				// The size of the stack does not depend on x
+				codes[pc] = missingOperand ? OP_MISSING_OPERAND : op == OP_COUNT ? OP_VALUE : op;
+				constants[pc] = op == OP_COUNT ? depth : constants[pc];
+				pc++;
+				depth = getNewDepth(op, depth);
+				maxDepth = Math.max(maxDepth, depth);
+			}
+		}
+
+		// The function must produce a value
+		if(!missingOperand && depth == 0) {
+			codes[pc++] = OP_MISSING_OPERAND;
+		}
+
+		ops = Arrays.copyOf(codes, pc);
+		values = Arrays.copyOf(constants, pc);
+		stack = new double[maxDepth];
+	}
+
+	/**
+	 * @return The code of the given command. The value of a number is stored in the constants at the given position.
+	 * @throws InvalidFormatPSFunctionException If the command is not a postscript command nor a number.
+	 */
+	private static int identify(final String cmd, final double[] constants, final int pc) {
+		final Integer op = OPS.get(cmd);
+		if(op != null) {
+			return op;
+		}
+		try {
+			constants[pc] = Double.parseDouble(cmd);
+			return OP_VALUE;
+		}catch(final NumberFormatException ex) {
+			throw new InvalidFormatPSFunctionException("Cannot parse: " + cmd); //NON-NLS
+		}
+	}
+
+	/**
+	 * @return The number of values the given operation requires in the stack.
+	 */
+	private static int getNbOperands(final int op) {
+		if(op >= OP_ADD && op <= OP_EXP || op == OP_EXCH) {
+			return 2;
+		}
+		return op >= OP_SIN && op <= OP_POP ? 1 : 0;
+	}
+
+	/**
+	 * @return The depth of the stack after the given operation.
+	 */
+	private static int getNewDepth(final int op, final int depth) {
+		switch(op) {
+			case OP_X:
+			case OP_VALUE:
+			case OP_DUP:
+			case OP_COUNT:
+				return depth + 1;
+			case OP_ADD:
+			case OP_MUL:
+			case OP_SUB:
+			case OP_DIV:
+			case OP_IDIV:
+			case OP_MOD:
+			case OP_EXP:
+			case OP_POP:
+				return depth - 1;
+			case OP_CLEAR:
+				return 0;
+			default:
+				return depth;
+		}
+	}
+
+	/**
+	 * Evaluates the function.
+	 * @param x The X-coordinate.
+	 * @return The value at the top of the stack once the function executed.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If a division by 0 occurs.
+	 */
+	synchronized double evaluate(final double x) {
+		return execute(x);
+	}
+
+	/**
+	 * Evaluates the function on regularly spaced X-coordinates.
+	 * @param min The first X-coordinate.
+	 * @param step The gap between two X-coordinates.
+	 * @param n The number of values to compute.
+	 * @param out The array that receives the values, from its first cell.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If a division by 0 occurs.
+	 */
+	synchronized void evaluate(final double min, final double step, final int n, final double[] out) {
+		for(int i = 0; i < n; i++) {
+			out[i] = execute(min + i * step);
+		}
+	}
+
+	private double execute(final double x) {
+		int sp = 0;
+
+		for(int pc = 0, size = ops.length; pc < size; pc++) {
+			final int op = ops[pc];
+			switch(op) {
+				case OP_X:
+					stack[sp++] = x;
+					break;
+				case OP_VALUE:
+					stack[sp++] = values[pc];
+					break;
+				case OP_CLEAR:
+					sp = 0;
+					break;
+				case OP_UNSUPPORTED:
+					throw new InvalidFormatPSFunctionException("Unsupported command"); //NON-NLS
+				case OP_MISSING_OPERAND:
+					throw new InvalidFormatPSFunctionException();
+				default:
+					sp = executeOnStack(op, sp);
+					break;
+			}
+		}
+
+		return stack[sp - 1];
+	}
+
+	/**
+	 * Executes an operation on the values at the top of the stack.
+	 * @return The new size of the stack.
+	 */
+	private int executeOnStack(final int op, final int sp) {
+		if(op <= OP_EXP) {
+			stack[sp - 2] = applyBinary(op, stack[sp - 2], stack[sp - 1]);
+			return sp - 1;
+		}
+		if(op <= OP_CEILING) {
+			stack[sp - 1] = applyUnary(op, stack[sp - 1]);
+			return sp;
+		}
+		switch(op) {
+			case OP_EXCH:
+				final double top = stack[sp - 1];
+				stack[sp - 1] = stack[sp - 2];
+				stack[sp - 2] = top;
+				return sp;
+			case OP_DUP:
+				stack[sp] = stack[sp - 1];
+				return sp + 1;
+			default:
+				// pop
+				return sp - 1;
+		}
+	}
+
+	/**
+	 * @param a The value below the top of the stack.
+	 * @param b The value at the top of the stack.
+	 */
+	private static double applyBinary(final int op, final double a, final double b) {
+		switch(op) {
+			case OP_ADD:
+				return a + b;
+			case OP_MUL:
+				return a * b;
+			case OP_SUB:
+				return a - b;
+			case OP_DIV:
+				return a / nonZero(b);
+			case OP_IDIV:
+				return Math.floor(a / nonZero(b));
+			case OP_MOD:
+				return a % nonZero(b);
+			default:
+				return Math.pow(a, b);
+		}
+	}
+
+	private static double applyUnary(final int op, final double value) {
+		switch(op) {
+			case OP_SIN:
+				return Math.sin(Math.toRadians(value));
+			case OP_COS:
+				return Math.cos(Math.toRadians(value));
+			case OP_LOG:
+				return Math.log10(value);
+			case OP_NEG:
+				return -value;
+			case OP_ABS:
+				return Math.abs(value);
+			case OP_FLOOR:
+				return Math.floor(value);
+			default:
+				return Math.ceil(value);
+		}
+	}
+
+	/**
+	 * @return The given divisor.
+	 * @throws ArithmeticException If the divisor is 0.
+	 */
+	private static double nonZero(final double divisor) {
+		if(MathUtils.INST.equalsDouble(divisor, 0d)) {
+			throw new ArithmeticException();
+		}
+		return divisor;
+	}
+}
@@ -10,13 +10,8 @@
  */
 package net.sf.latexdraw.parser.ps;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Supplier;
 import net.sf.latexdraw.util.Tuple;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,33 +20,8 @@ import org.jetbrains.annotations.NotNull;
  * @author Arnaud Blouin
  */
 public class PSFunctionParser {
-	private static final Map<String, Supplier<PSArithemticCommand>> factoryMap;
-
-	static {
-		factoryMap = new HashMap<>();
-		factoryMap.put("add", () -> new PSAddCommand()); //NON-NLS
-		factoryMap.put("mul", () -> new PSMulCommand()); //NON-NLS
-		factoryMap.put("sub", () -> new PSSubCommand()); //NON-NLS
-		factoryMap.put("sin", () -> new PSSinCommand()); //NON-NLS
-		factoryMap.put("cos", () -> new PSCosCommand()); //NON-NLS
-		factoryMap.put("div", () -> new PSDivCommand()); //NON-NLS
-		factoryMap.put("idiv", () -> new PSIDivCommand()); //NON-NLS
-		factoryMap.put("mod", () -> new PSModCommand()); //NON-NLS
-		factoryMap.put("neg", () -> new PSNegCommand()); //NON-NLS
-		factoryMap.put("exch", () -> new PSExchCommand()); //NON-NLS
-		factoryMap.put("clear", () -> new PSClearCommand()); //NON-NLS
-		factoryMap.put("dup", () -> new PSDupCommand()); //NON-NLS
-		factoryMap.put("pop", () -> new PSPopCommand()); //NON-NLS
-		factoryMap.put("roll", () -> null); //NON-NLS
-		factoryMap.put("sqrt", () -> null); //NON-NLS
-		factoryMap.put("exp", () -> new PSExpCommand()); //NON-NLS
-		factoryMap.put("abs", () -> new PSAbsCommand()); //NON-NLS
-		factoryMap.put("floor", () -> new PSFloorCommand()); //NON-NLS
-		factoryMap.put("ceiling", () -> new PSCeilingCommand()); //NON-NLS
-		factoryMap.put("count", () -> new PSCountCommand()); //NON-NLS
-		factoryMap.put("x", () -> new PSPlotXVariable()); //NON-NLS
-		factoryMap.put("log", () -> new PSLogCommand()); //NON-NLS
-	}
+	/** The number of values computed at once to validate an equation. */
+	static final int VALIDATION_CHUNK = 256;
 
 	/**
 	 * Checks whether the given equation is a valid post-fixed PS equation.
@@ -66,11 +36,19 @@ public class PSFunctionParser {
 		try {
 			final PSFunctionParser fct = new PSFunctionParser(eq);
 			final double gap = (max - min) / (nbPts - 1);
-
-			for(double x = min; x < max; x += gap) {
-				final double y = fct.getY(x);
-				if(Double.isNaN(y) || Double.isInfinite(y)) {
-					return new Tuple<>(Boolean.FALSE, "f(x)=" + eq + " produces an invalid value with x=" + x);
+			// The X-coordinates lower than max, then max
+			final int nb = gap > 0d ? (int) Math.ceil((max - min) / gap) : 0;
+			// The number of points comes from the document: the values are computed by chunks of fixed size
+			final double[] ys = new double[Math.min(nb, VALIDATION_CHUNK)];
+
+			for(int start = 0; start < nb; start += ys.length) {
+				final int size = Math.min(ys.length, nb - start);
+				fct.compiled.evaluate(min + start * gap, gap, size, ys);
+
+				for(int i = 0; i < size; i++) {
+					if(Double.isNaN(ys[i]) || Double.isInfinite(ys[i])) {
+						return new Tuple<>(Boolean.FALSE, "f(x)=" + eq + " produces an invalid value with x=" + (min + (start + i) * gap));
+					}
 				}
 			}
 
@@ -88,7 +66,8 @@ public class PSFunctionParser {
 	}
 	/** The postscript function. */
 	private final String function;
-	private final List<PSArithemticCommand> commands;
+	/** The function compiled once parsed. */
+	private final @NotNull PSCompiledFunction compiled;
 
 	/**
 	 * Creates and parser from postscript functions.
@@ -101,10 +80,8 @@ public class PSFunctionParser {
 			throw new IllegalArgumentException();
 		}
 
-		commands = new ArrayList<>();
 		function = fct;
-
-		parseFunction();
+		compiled = new PSCompiledFunction(parseFunction());
 	}
 
 	/**
@@ -114,26 +91,35 @@ public class PSFunctionParser {
 	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
 	 */
 	public double getY(final double x) {
-		final Deque<Double> stack = new ArrayDeque<>();
-
-		commands.forEach(cmd -> cmd.execute(stack, x));
+		return compiled.evaluate(x);
+	}
 
-		if(stack.isEmpty()) {
-			throw new InvalidFormatPSFunctionException();
+	/**
+	 * Computes the Y-coordinates of regularly spaced X-coordinates. Nothing is allocated to compute them.
+	 * @param min The first X-coordinate.
+	 * @param max The last X-coordinate.
+	 * @param n The number of coordinates to compute. If 1, the coordinate of min is computed.
+	 * @param out The array that receives the Y-coordinates, from its first cell.
+	 * @throws IllegalArgumentException If n is negative or if the array is smaller than n.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 */
+	public void evaluateRange(final double min, final double max, final int n, final double @NotNull [] out) {
+		if(n < 0 || out.length < n) {
+			throw new IllegalArgumentException();
 		}
-
-		return stack.pop();
+		compiled.evaluate(min, n > 1 ? (max - min) / (n - 1) : 0d, n, out);
 	}
 
 	/**
 	 * Parses the function.
-	 * @throws InvalidFormatPSFunctionException If the function is not correct.
-	 * @throws NumberFormatException If the function is not correct.
+	 * @return The commands of the function.
 	 */
-	protected void parseFunction() {
+	protected @NotNull List<String> parseFunction() {
 		int i = 0;
 		final int lgth = function.length();
 		final StringBuilder cmd = new StringBuilder();
+		final List<String> cmds = new ArrayList<>();
 
 		while(i < lgth) {
 			cmd.delete(0, cmd.length());
@@ -147,22 +133,10 @@ public class PSFunctionParser {
 			}
 
 			if(cmd.length() > 0) {
-				commands.add(identifyCommand(cmd.toString()));
+				cmds.add(cmd.toString());
 			}
 		}
-	}
 
-	/**
-	 * @param cmd The arithmetic command to analyse.
-	 * @return The arithmetic instance corresponding to the given command.
-	 * @throws InvalidFormatPSFunctionException If the function is not correct.
-	 * @throws NumberFormatException If the function is not correct.
-	 */
-	protected PSArithemticCommand identifyCommand(final @NotNull String cmd) {
-		try {
-			return factoryMap.getOrDefault(cmd, () -> new PSValue(Double.parseDouble(cmd))).get();
-		}catch(final NumberFormatException ex) {
-			throw new InvalidFormatPSFunctionException("Cannot parse: " + cmd); //NON-NLS
-		}
+		return cmds;
 	}
 }
@@ -541,10 +541,9 @@ public class PSTLatexdrawListener extends PSTCtxListener {
 						fh.get().setOpened(ifh.isOpened());
 					}else {
 						// Otherwise, the shape has two points. So, we take the last one and add it to the first shape.
-						final Freehand fh2 = ShapeFactory.INST.createFreeHandFrom(fh.get(), ifh.getPtAt(ifh.getNbPoints() - 1));
-						gp.getShapes().set(gp.getShapes().indexOf(fh.get()), fh2);
-						fh.set(fh2);
-						fh2.setType(ifh.getType());
+						final Point last = ifh.getPtAt(ifh.getNbPoints() - 1);
+						fh.get().addPoint(last.getX(), last.getY());
+						fh.get().setType(ifh.getType());
 					}
 				}
 			});
@@ -82,6 +82,10 @@ public class SVGAttr implements Attr {
 			throw new DOMException(DOMException.SYNTAX_ERR, "A value cannot be null");
 		}
 		value = val;
+
+		if(owner instanceof SVGElement) {
+			((SVGElement) owner).attributeChanged(name);
+		}
 	}
 
 
@@ -11,15 +11,22 @@
 package net.sf.latexdraw.parser.svg;
 
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Defines the SVG tag <code>defs</code>.
  * @author Arnaud BLOUIN
  */
 public class SVGDefsElement extends SVGElement {
+	/** The children indexed by their identifier (the first child wins when several have the same identifier).
+	 * Built lazily; null when not up to date. Not initialised here since children are added by the super constructor. */
+	private @Nullable Map<String, SVGElement> defsById;
+
 	/**
 	 */
 	public SVGDefsElement(final Node n, final SVGElement p) {
@@ -57,18 +64,25 @@ public class SVGDefsElement extends SVGElement {
 			return null;
 		}
 
-		final NodeList nl = getChildNodes();
-		SVGElement e = null;
-		Node n;
+		if(defsById == null) {
+			defsById = new HashMap<>();
+			children.getNodes().forEach(child -> defsById.putIfAbsent(child.getId(), child));
+		}
+
+		return defsById.get(id);
+	}
 
-		for(int i = 0, size = nl.getLength(); i < size && e == null; i++) {
-			n = nl.item(i);
 
-			if(n instanceof SVGElement && id.equals(((SVGElement) n).getId())) {
-				e = (SVGElement) n;
-			}
+	@Override
+	protected void childAppended(final @NotNull SVGElement child) {
+		if(defsById != null) {
+			defsById.putIfAbsent(child.getId(), child);
 		}
+	}
 
-		return e;
+
+	@Override
+	protected void childrenChanged() {
+		defsById = null;
 	}
 }
@@ -10,18 +10,16 @@
  */
 package net.sf.latexdraw.parser.svg;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.util.Optional;
-import javax.xml.parsers.DocumentBuilder;
 import net.sf.latexdraw.util.BadaboomCollector;
-import net.sf.latexdraw.util.SystemUtils;
-import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Attr;
 import org.w3c.dom.CDATASection;
 import org.w3c.dom.Comment;
@@ -39,13 +37,6 @@ import org.w3c.dom.NodeList;
 import org.w3c.dom.ProcessingInstruction;
 import org.w3c.dom.Text;
 import org.w3c.dom.UserDataHandler;
-import org.w3c.dom.bootstrap.DOMImplementationRegistry;
-import org.w3c.dom.ls.DOMImplementationLS;
-import org.w3c.dom.ls.LSOutput;
-import org.w3c.dom.ls.LSSerializer;
-import org.xml.sax.EntityResolver;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 /**
  * Defines an SVG document.
@@ -65,6 +56,10 @@ public class SVGDocument implements Document {
 	private String xmlVersion;
 	/** The encoding of the document. */
 	private String xmlEncoding;
+	/** Incremented each time the namespace declarations or the tree change, to invalidate the namespace resolutions cached by the elements. */
+	private long namespaceVersion;
+	/** The number of namespace declarations scans of the elements of the document, i.e. the namespace resolutions not cached. */
+	private long nbNamespaceScans;
 
 
 	/**
@@ -75,37 +70,31 @@ public class SVGDocument implements Document {
 	 * @throws IllegalArgumentException If an argument is not valid.
 	 */
 	public SVGDocument(final URI uri) throws IOException {
+		this(uri, null);
+	}
+
+
+	/**
+	 * Parses the SVG document located at the given URI in a single pass: the SVG elements are built while
+	 * the file is read, without building an intermediate DOM document.
+	 * @param uri The file to parse.
+	 * @param listener Notified of the children of the root element (and of the children of the streamed groups)
+	 * as soon as they and the elements they refer to are read, in the document order. Can be null.
+	 * @throws IOException If the document cannot be opened.
+	 * @throws IllegalArgumentException If an argument is not valid.
+	 */
+	public SVGDocument(final URI uri, final @Nullable SVGElementsListener listener) throws IOException {
 		super();
 		if(uri == null) {
 			throw new IllegalArgumentException();
 		}
 
-		final DocumentBuilder builder = SystemUtils.getInstance().createXMLDocumentBuilder()
-			.orElseThrow(() -> new IllegalArgumentException());
-
-		builder.setEntityResolver(new SVGEntityResolver());
-		final Document doc = readXMLDocument(builder, uri.getPath())
-			.orElseGet(() -> readXMLDocument(builder, "file:" + uri.getPath()).orElse(null));
-
-		if(doc == null) {
-			throw new IOException("Cannot open the XML document " + uri);
-		}
-
-		final NodeList nl;
+		final Path path = uri.isAbsolute() ? Path.of(uri) : Path.of(uri.getPath());
 
-		setXmlStandalone(doc.getXmlStandalone());
-		setXmlVersion(doc.getXmlVersion());
-		xmlEncoding = doc.getXmlEncoding();
-		root = null;
-		nl = doc.getChildNodes();
-		Node n;
-
-		for(int i = 0, size = nl.getLength(); i < size && root == null; i++) {
-			n = nl.item(i);
-
-			if(n instanceof Element && n.getNodeName().endsWith(SVGElements.SVG_SVG)) {
-				root = new SVGSVGElement(this, nl.item(i));
-			}
+		try(final InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+			root = new SVGStreamBuilder(this, listener).read(input);
+		}catch(final IOException | InvalidPathException ex) {
+			throw new IOException("Cannot open the XML document " + uri, ex);
 		}
 	}
 
@@ -122,20 +111,47 @@ public class SVGDocument implements Document {
 		root = new SVGSVGElement(this);
 	}
 
-	private Optional<Document> readXMLDocument(final DocumentBuilder builder, @NonNls final String path) {
-		try {
-			return Optional.of(builder.parse(path));
-		}catch(final SAXException | IOException ex) {
-			return Optional.empty();
-		}
-	}
-
 	@Override
 	public String toString() {
 		return "SVG Document:" + root; //NON-NLS
 	}
 
 
+	/**
+	 * @return The version of the namespace declarations of the document: the namespace resolutions cached by the elements are
+	 * valid while this version does not change.
+	 */
+	long getNamespaceVersion() {
+		return namespaceVersion;
+	}
+
+
+	/**
+	 * Invalidates the namespace resolutions cached by the elements of the document.
+	 * To call when a namespace declaration is modified or when an element is moved.
+	 */
+	void namespacesChanged() {
+		namespaceVersion++;
+	}
+
+
+	/**
+	 * @return The number of times the namespace declarations of an element of the document have been scanned
+	 * because its namespace resolutions were not cached.
+	 */
+	long getNbNamespaceScans() {
+		return nbNamespaceScans;
+	}
+
+
+	/**
+	 * To call each time the namespace declarations of an element of the document are scanned.
+	 */
+	void namespacesScanned() {
+		nbNamespaceScans++;
+	}
+
+
 	@Override
 	public SVGSVGElement adoptNode(final Node source) {
 		if(!(source instanceof SVGSVGElement)) {
@@ -167,6 +183,14 @@ public class SVGDocument implements Document {
 	}
 
 
+	/**
+	 * @param encoding The encoding of the document.
+	 */
+	void setXmlEncoding(final @Nullable String encoding) {
+		xmlEncoding = encoding;
+	}
+
+
 	@Override
 	public boolean getXmlStandalone() {
 		return xmlStandalone;
@@ -545,19 +569,9 @@ public class SVGDocument implements Document {
 		}
 
 		boolean ok = true;
-		try {
-			final DOMImplementationLS impl = (DOMImplementationLS) DOMImplementationRegistry.newInstance().getDOMImplementation("XML 3.0 LS 3.0"); //NON-NLS
-			final LSSerializer serializer = impl.createLSSerializer();
-			serializer.getDomConfig().setParameter("format-pretty-print", Boolean.TRUE); //NON-NLS
-			serializer.getDomConfig().setParameter("namespaces", Boolean.FALSE); //NON-NLS
-			final LSOutput output = impl.createLSOutput();
-			final Charset charset = Charset.defaultCharset();
-			try(final OutputStreamWriter fw = new OutputStreamWriter(Files.newOutputStream(Path.of(path)), charset.newEncoder())) {
-				output.setEncoding(charset.name());
-				output.setCharacterStream(fw);
-				serializer.write(getDocumentElement(), output);
-			}
-		}catch(final ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException | IOException ex) {
+		try(final SVGStreamWriter writer = new SVGStreamWriter(Path.of(path), Charset.defaultCharset())) {
+			writer.writeNode(getDocumentElement());
+		}catch(final IOException | InvalidPathException ex) {
 			BadaboomCollector.INSTANCE.add(ex);
 			ok = false;
 		}
@@ -565,16 +579,6 @@ public class SVGDocument implements Document {
 	}
 
 
-	/**
-	 * Used to avoid freeze when opening an SVG document.
-	 */
-	static class SVGEntityResolver implements EntityResolver {
-		@Override
-		public InputSource resolveEntity(final String publicId, final String systemId) {
-			return new InputSource(new ByteArrayInputStream("<?xml version='1.0' encoding='UTF-8'?>".getBytes(Charset.defaultCharset()))); //NON-NLS
-		}
-	}
-
 	static class SVGDOMImplementation implements DOMImplementation {
 		@Override
 		public boolean hasFeature(final String feature, final String version) {
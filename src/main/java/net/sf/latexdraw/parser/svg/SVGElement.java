@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.parser.svg;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -51,6 +52,15 @@ public abstract class SVGElement implements LElement, Cloneable {
 	/** The document containing the element. */
 	protected SVGDocument ownerDocument;
 
+	/** The cached namespace URIs of prefixes (null key and values allowed). Valid for the namespace version nsVersion of the document. */
+	private @Nullable Map<String, String> namespaceURIs;
+
+	/** The cached prefixes of namespace URIs (null values allowed). Valid for the namespace version nsVersion of the document. */
+	private @Nullable Map<String, String> prefixes;
+
+	/** The namespace version of the document the cached namespace resolutions come from. */
+	private long nsVersion;
+
 
 	/**
 	 * The constructor by default.
@@ -64,6 +74,9 @@ public abstract class SVGElement implements LElement, Cloneable {
 		parent = null;
 		name = null;
 		ownerDocument = null;
+		namespaceURIs = null;
+		prefixes = null;
+		nsVersion = -1L;
 	}
 
 
@@ -149,6 +162,7 @@ public abstract class SVGElement implements LElement, Cloneable {
 
 			for(int i = 0, size = nnm.getLength(); i < size; i++) {
 				attributes.getAttributes().add(new SVGAttr(nnm.item(i).getNodeName(), nnm.item(i).getNodeValue(), this));
+				attributeChanged(nnm.item(i).getNodeName());
 			}
 		}
 	}
@@ -180,19 +194,71 @@ public abstract class SVGElement implements LElement, Cloneable {
 	 */
 	public void setParent(final SVGElement parent) {
 		if(this.parent != parent) {
-			if(this.parent != null) {
-				this.parent.children.getNodes().remove(this);
-			}
-
+			detach();
 			this.parent = parent;
 
-			if(this.parent != null && !this.parent.children.getNodes().contains(this)) {
-				this.parent.children.getNodes().add(this);
+			if(parent != null) {
+				parent.children.getNodes().add(this);
+				parent.childAppended(this);
 			}
 		}
 	}
 
 
+	/**
+	 * Removes the element from the children of its parent (the parent attribute is not modified).
+	 * Invalidates the namespace resolutions that depend on the position of the element.
+	 */
+	private void detach() {
+		if(parent != null) {
+			parent.children.getNodes().remove(this);
+			parent.childrenChanged();
+		}
+
+		// The resolutions of the element and of its descendants walk up to the previous parent.
+		// An element without parent and children may only have cached its own resolutions.
+		if(ownerDocument != null && (parent != null || hasChildNodes())) {
+			ownerDocument.namespacesChanged();
+		}
+		namespaceURIs = null;
+		prefixes = null;
+	}
+
+
+	/**
+	 * Called when the given element has just been appended to the children of the current element.
+	 * By default, does nothing.
+	 * @param child The appended child.
+	 */
+	protected void childAppended(final @NotNull SVGElement child) {
+		// To override to update data computed from the children.
+	}
+
+
+	/**
+	 * Called when children of the current element are inserted or removed, or when the identifier of a child changes.
+	 * By default, does nothing.
+	 */
+	protected void childrenChanged() {
+		// To override to update data computed from the children.
+	}
+
+
+	/**
+	 * Updates the data that depend on the given attribute. To call each time an attribute is added, modified, or removed.
+	 * @param attrName The name of the attribute.
+	 */
+	void attributeChanged(final @NotNull String attrName) {
+		if(ownerDocument != null && attrName.startsWith("xmlns")) { //NON-NLS
+			ownerDocument.namespacesChanged();
+		}
+
+		if(parent != null && (SVGAttributes.SVG_ID.equals(attrName) || attrName.endsWith(':' + SVGAttributes.SVG_ID))) {
+			parent.childrenChanged();
+		}
+	}
+
+
 	@Override
 	public @NotNull NamedNodeMap getAttributes() {
 		return attributes;
@@ -253,6 +319,11 @@ public abstract class SVGElement implements LElement, Cloneable {
 	 */
 	public void setNodeName(final String nodeName) {
 		name = nodeName;
+
+		// The prefix of the element defines the name of its identifier attribute
+		if(parent != null) {
+			parent.childrenChanged();
+		}
 	}
 
 
@@ -286,10 +357,16 @@ public abstract class SVGElement implements LElement, Cloneable {
 			throw new DOMException(DOMException.TYPE_MISMATCH_ERR, "SVGElement excepted here."); //NON-NLS
 		}
 
-		children.getNodes().remove(newChild);
+		final SVGElement elt = (SVGElement) newChild;
 
-		children.getNodes().add((SVGElement) newChild);
-		((SVGElement) newChild).setParent(this);
+		if(elt.parent == this) {
+			// The child is moved to the end.
+			children.getNodes().remove(elt);
+			children.getNodes().add(elt);
+			childrenChanged();
+		}else {
+			elt.setParent(this);
+		}
 
 		return newChild;
 	}
@@ -348,10 +425,12 @@ public abstract class SVGElement implements LElement, Cloneable {
 		boolean ok = false;
 
 		if(newChild != null && refChild != null) {
-			final int pos = children.getNodes().indexOf(refChild);
-
-			if(pos != -1 && newChild instanceof SVGElement) {
-				children.getNodes().add(pos, (SVGElement) newChild);
+			if(children.getNodes().contains(refChild) && newChild instanceof SVGElement && newChild != refChild) {
+				final SVGElement elt = (SVGElement) newChild;
+				elt.detach();
+				elt.parent = this;
+				children.getNodes().add(children.getNodes().indexOf(refChild), elt);
+				childrenChanged();
 				ok = true;
 			}
 		}
@@ -386,8 +465,10 @@ public abstract class SVGElement implements LElement, Cloneable {
 	public @Nullable Node removeChild(final Node oldChild) {
 		boolean ok = false;
 
-		if(oldChild != null) {
-			ok = children.getNodes().remove(oldChild);
+		if(oldChild instanceof SVGElement && ((SVGElement) oldChild).parent == this) {
+			((SVGElement) oldChild).detach();
+			((SVGElement) oldChild).parent = null;
+			ok = true;
 		}
 
 		return ok ? oldChild : null;
@@ -410,6 +491,31 @@ public abstract class SVGElement implements LElement, Cloneable {
 			return null;
 		}
 
+		final Map<String, String> cache = getNamespaceCache(false);
+
+		if(cache != null && cache.containsKey(namespaceURI)) {
+			return cache.get(namespaceURI);
+		}
+
+		final String pref = lookupPrefixWithAttributes(namespaceURI);
+		final String result = pref != null || getParentNode() == null ? pref : getParentNode().lookupPrefix(namespaceURI);
+
+		if(cache != null) {
+			cache.put(namespaceURI, result);
+		}
+
+		return result;
+	}
+
+
+	/**
+	 * Companion method of lookupPrefix
+	 */
+	private String lookupPrefixWithAttributes(final String namespaceURI) {
+		if(ownerDocument != null) {
+			ownerDocument.namespacesScanned();
+		}
+
 		String pref = null;
 		final String xmlns = "xmlns"; //NON-NLS
 
@@ -431,15 +537,7 @@ public abstract class SVGElement implements LElement, Cloneable {
 			}
 		}
 
-		if(pref != null) {
-			return pref;
-		}
-
-		if(getParentNode() == null) {
-			return null;
-		}
-
-		return getParentNode().lookupPrefix(namespaceURI);
+		return pref;
 	}
 
 
@@ -457,12 +555,53 @@ public abstract class SVGElement implements LElement, Cloneable {
 
 	@Override
 	public String lookupNamespaceURI(final String prefix) {
+		final Map<String, String> cache = getNamespaceCache(true);
+
+		if(cache != null && cache.containsKey(prefix)) {
+			return cache.get(prefix);
+		}
+
 		final String uri = lookupNamespaceURIWithAttributes(prefix);
-		if(uri != null) {
-			return uri;
+		final String result = uri != null || parent == null ? uri : parent.lookupNamespaceURI(prefix);
+
+		if(cache != null) {
+			cache.put(prefix, result);
 		}
 
-		return parent == null ? null : parent.lookupNamespaceURI(prefix);
+		return result;
+	}
+
+
+	/**
+	 * The namespace resolutions are cached since they walk up to the root for each element and attribute read.
+	 * The cache is cleared when the namespace version of the document changes.
+	 * @param uris True: the cache of the namespace URIs of prefixes is returned. Otherwise, the cache of the prefixes of namespace URIs.
+	 * @return The cache or null if the element has no document.
+	 */
+	private @Nullable Map<String, String> getNamespaceCache(final boolean uris) {
+		if(ownerDocument == null) {
+			return null;
+		}
+
+		final long version = ownerDocument.getNamespaceVersion();
+
+		if(version != nsVersion) {
+			nsVersion = version;
+			namespaceURIs = null;
+			prefixes = null;
+		}
+
+		if(uris) {
+			if(namespaceURIs == null) {
+				namespaceURIs = new HashMap<>();
+			}
+			return namespaceURIs;
+		}
+
+		if(prefixes == null) {
+			prefixes = new HashMap<>();
+		}
+		return prefixes;
 	}
 
 	/**
@@ -476,6 +615,10 @@ public abstract class SVGElement implements LElement, Cloneable {
 	 * Companion method of lookupNamespaceURI
 	 */
 	private String lookupNamespaceURIWithAttributes(final String prefix) {
+		if(ownerDocument != null) {
+			ownerDocument.namespacesScanned();
+		}
+
 		String uri = null;
 		int i = 0;
 		final int size = attributes.getLength();
@@ -544,6 +687,7 @@ public abstract class SVGElement implements LElement, Cloneable {
 		}
 
 		attributes.setNamedItem(new SVGAttr(name, value, this));
+		attributeChanged(name);
 
 		if(SVGAttributes.SVG_TRANSFORM.equals(name)) {
 			setTransformation(value);
@@ -664,6 +808,7 @@ public abstract class SVGElement implements LElement, Cloneable {
 		try {
 			if(nameAttr != null) {
 				attributes.removeNamedItem(nameAttr);
+				attributeChanged(nameAttr);
 			}
 		}catch(final DOMException ex) {
 			/* Nothing to do. */
@@ -60,7 +60,7 @@ public final class SVGElementsFactory {
 	/**
 	 * Companion method of createSVGElement
 	 */
-	private String getElementNS(final @NotNull Node src, final @NotNull SVGElement parent) {
+	String getElementNS(final @NotNull Node src, final @NotNull SVGElement parent) {
 		final String pref = src.getNodeName().contains(":") ? src.getNodeName().substring(0, src.getNodeName().indexOf(':')) : null;
 		final NamedNodeMap nnm = src.getAttributes();
 
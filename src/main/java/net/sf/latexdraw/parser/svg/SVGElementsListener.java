@@ -0,0 +1,47 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parser.svg;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified of the elements of an SVG document while the document is read (see SVGDocument(URI, SVGElementsListener)).
+ * An element is notified once it is read and once the elements it refers to (url(#id), href="#id") are read,
+ * in the document order.
+ * @author Arnaud Blouin
+ */
+@FunctionalInterface
+public interface SVGElementsListener {
+	/**
+	 * Called with each child of the root element.
+	 * The children of a streamed group are notified before the group.
+	 * @param elt The read element.
+	 */
+	void onTopLevelElement(final @NotNull SVGElement elt);
+
+	/**
+	 * Called when a top-level group starts, with its attributes but without its children.
+	 * @param group The started group.
+	 * @return True if the children of the group must be notified through onGroupChild as soon as they are read,
+	 * instead of waiting for the end of the group. False by default.
+	 */
+	default boolean isStreamed(final @NotNull SVGElement group) {
+		return false;
+	}
+
+	/**
+	 * Called with each child of a streamed top-level group (see isStreamed).
+	 * @param child The read child element.
+	 */
+	default void onGroupChild(final @NotNull SVGElement child) {
+		// Nothing by default
+	}
+}
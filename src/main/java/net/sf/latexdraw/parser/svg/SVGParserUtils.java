@@ -23,6 +23,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import net.sf.latexdraw.model.MathUtils;
+import net.sf.latexdraw.parser.DFACachePolicy;
 import net.sf.latexdraw.parser.svg.path.SVGPathSeg;
 import net.sf.latexdraw.parser.svg.path.SVGPathSegArc;
 import net.sf.latexdraw.parser.svg.path.SVGPathSegClosePath;
@@ -41,7 +42,6 @@ import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
-import org.antlr.v4.runtime.atn.ATNDeserializer;
 import org.jetbrains.annotations.NotNull;
 
 public final class SVGParserUtils {
@@ -89,10 +89,19 @@ public final class SVGParserUtils {
 	 * @return The parsed points or null.
 	 */
 	public List<Point2D> parsePoints(final String code) {
+		final List<Point2D> points = new SVGPathTokenizer(code).parsePoints();
+		// The grammar parses the codes not supported by the tokenizer and reports the errors.
+		return points == null ? parsePointsWithGrammar(code) : points;
+	}
+
+	/**
+	 * Parses the given points using the SVG path grammar.
+	 */
+	List<Point2D> parsePointsWithGrammar(final String code) {
 		final List<Point2D> points = new ArrayList<>();
 		final AtomicBoolean error = new AtomicBoolean(false);
 		final net.sf.latexdraw.parser.svg.SVGPathLexer lexer = new net.sf.latexdraw.parser.svg.SVGPathLexer(CharStreams.fromString(code));
-		final net.sf.latexdraw.parser.svg.SVGPathParser parser = new net.sf.latexdraw.parser.svg.SVGPathParser(new CommonTokenStream(lexer));
+		final net.sf.latexdraw.parser.svg.SVGPathParser parser = DFACachePolicy.SVG_PATH.prepare(new net.sf.latexdraw.parser.svg.SVGPathParser(new CommonTokenStream(lexer)));
 		parser.addParseListener(new net.sf.latexdraw.parser.svg.SVGPathBaseListener() {
 			@Override
 			public void exitCoordPair(final net.sf.latexdraw.parser.svg.SVGPathParser.CoordPairContext ctx) {
@@ -110,20 +119,37 @@ public final class SVGParserUtils {
 			}
 		});
 		parser.coordPairSeq();
-		parser.getInterpreter().clearDFA();
-		lexer.getInterpreter().clearDFA();
-		new ATNDeserializer().deserialize(net.sf.latexdraw.parser.pst.PSTLexer._serializedATN.toCharArray());
+		DFACachePolicy.SVG_PATH.release(lexer, parser);
 		return error.get() ? new ArrayList<>() : points;
 	}
 
 
+	/**
+	 * Parses the given SVG path data.
+	 * @param code The path data to parse.
+	 * @param handler Receives the parsed segments.
+	 */
 	public void parseSVGPath(final @NotNull String code, final @NotNull Consumer<SVGPathSeg> handler) {
 		if(code.isEmpty()) {
 			return;
 		}
 
+		final List<SVGPathSeg> segs = new SVGPathTokenizer(code).parsePath();
+
+		// The grammar parses the codes not supported by the tokenizer and reports the errors.
+		if(segs == null) {
+			parseSVGPathWithGrammar(code, handler);
+		}else {
+			segs.forEach(handler);
+		}
+	}
+
+	/**
+	 * Parses the given SVG path data using the SVG path grammar.
+	 */
+	void parseSVGPathWithGrammar(final @NotNull String code, final @NotNull Consumer<SVGPathSeg> handler) {
 		final net.sf.latexdraw.parser.svg.SVGPathLexer lexer = new net.sf.latexdraw.parser.svg.SVGPathLexer(CharStreams.fromString(code));
-		final net.sf.latexdraw.parser.svg.SVGPathParser parser = new net.sf.latexdraw.parser.svg.SVGPathParser(new CommonTokenStream(lexer));
+		final net.sf.latexdraw.parser.svg.SVGPathParser parser = DFACachePolicy.SVG_PATH.prepare(new net.sf.latexdraw.parser.svg.SVGPathParser(new CommonTokenStream(lexer)));
 		parser.addParseListener(new SVGPathListener(handler));
 		parser.addErrorListener(new BaseErrorListener() {
 			@Override
@@ -133,9 +159,7 @@ public final class SVGParserUtils {
 			}
 		});
 		parser.svgpath();
-		parser.getInterpreter().clearDFA();
-		lexer.getInterpreter().clearDFA();
-		new ATNDeserializer().deserialize(net.sf.latexdraw.parser.pst.PSTLexer._serializedATN.toCharArray());
+		DFACachePolicy.SVG_PATH.release(lexer, parser);
 	}
 
 	private static class SVGPathListener extends net.sf.latexdraw.parser.svg.SVGPathBaseListener {
@@ -0,0 +1,324 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parser.svg;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import net.sf.latexdraw.parser.svg.path.SVGPathSeg;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegArc;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegClosePath;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegCurvetoCubic;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegCurvetoCubicSmooth;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegCurvetoQuadratic;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegCurvetoQuadraticSmooth;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegLineto;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegLinetoHorizontal;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegLinetoVertical;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegMoveto;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single-pass parser of SVG path data and SVG points, that reads the numbers
+ * without building tokens nor substrings.
+ * It recognises the same language than the grammar SVGPath.g4 and produces the same segments.
+ * Any code it does not recognise (invalid code, unusual numbers) must be parsed by the grammar,
+ * that reports the errors: the parsing methods return null in such a case.
+ * @author Arnaud Blouin
+ */
+final class SVGPathTokenizer {
+	/** The greatest mantissa that a double represents exactly. */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	/** The powers of ten that a double represents exactly. */
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+		1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+	/** The maximal number of values of the first arguments of a command (an arc). */
+	private static final int MAX_ARGS = 7;
+
+	private final @NotNull String code;
+	private final int length;
+	private int pos;
+	/** The values of the first arguments of the current command. */
+	private final double[] args;
+	/** Whether the flags of the current arc are exactly the text '1', as expected by the grammar. */
+	private boolean largeArcFlag;
+	private boolean sweepFlag;
+	/** The digits of the number being read. */
+	private long mantissa;
+	/** Whether the mantissa is represented exactly by a double. */
+	private boolean exact;
+
+	SVGPathTokenizer(final @NotNull String code) {
+		super();
+		this.code = code;
+		length = code.length();
+		args = new double[MAX_ARGS];
+	}
+
+	/**
+	 * Parses SVG path data.
+	 * @return The segments of the path, or null if the code must be parsed by the grammar.
+	 */
+	@Nullable List<SVGPathSeg> parsePath() {
+		final List<SVGPathSeg> segs = new ArrayList<>();
+		boolean first = true;
+
+		skipSpaces();
+
+		while(pos < length) {
+			final char cmd = code.charAt(pos);
+			// The path must start with a move-to
+			if(first && cmd != 'M' && cmd != 'm') {
+				return null;
+			}
+			pos++;
+			final SVGPathSeg seg = parseCommand(cmd);
+			if(seg == null) {
+				return null;
+			}
+			segs.add(seg);
+			first = false;
+			skipSpaces();
+		}
+
+		// The path must contain at least two commands
+		return segs.size() < 2 ? null : segs;
+	}
+
+	/**
+	 * Parses SVG points (pairs of numbers).
+	 * @return The points, or null if the code must be parsed by the grammar.
+	 */
+	@Nullable List<Point2D> parsePoints() {
+		final List<Point2D> points = new ArrayList<>();
+		int nb = 0;
+		boolean comma = false;
+
+		skipSpaces();
+
+		while(pos < length) {
+			if(code.charAt(pos) == ',') {
+				if(isMisplacedComma(comma, nb)) {
+					return null;
+				}
+				comma = true;
+				pos++;
+			}else {
+				final double value = parseNumber(-1);
+				if(Double.isNaN(value)) {
+					return null;
+				}
+				if(nb % 2 == 1) {
+					points.add(new Point2D.Double(args[0], value));
+				}else {
+					args[0] = value;
+				}
+				nb++;
+				comma = false;
+			}
+			skipSpaces();
+		}
+
+		return comma || nb == 0 || nb % 2 == 1 ? null : points;
+	}
+
+	private @Nullable SVGPathSeg parseCommand(final char cmd) {
+		final boolean rel = Character.isLowerCase(cmd);
+
+		switch(Character.toUpperCase(cmd)) {
+			case 'Z':
+				return new SVGPathSegClosePath();
+			case 'M':
+				return parseArguments(2, 2, true) ? new SVGPathSegMoveto(args[0], args[1], rel) : null;
+			case 'L':
+				return parseArguments(2, 2, true) ? new SVGPathSegLineto(args[0], args[1], rel) : null;
+			case 'H':
+				return parseArguments(1, 1, false) ? new SVGPathSegLinetoHorizontal(args[0], rel) : null;
+			case 'V':
+				return parseArguments(1, 1, false) ? new SVGPathSegLinetoVertical(args[0], rel) : null;
+			default:
+				return parseCurveCommand(Character.toUpperCase(cmd), rel);
+		}
+	}
+
+	private @Nullable SVGPathSeg parseCurveCommand(final char cmd, final boolean rel) {
+		switch(cmd) {
+			case 'C':
+				return parseArguments(6, 6, true) ? new SVGPathSegCurvetoCubic(args[4], args[5], args[0], args[1], args[2], args[3], rel) : null;
+			case 'S':
+				return parseArguments(4, 4, true) ? new SVGPathSegCurvetoCubicSmooth(args[2], args[3], args[0], args[1], rel) : null;
+			case 'Q':
+				// The grammar accepts a control point and a point, followed by sequences of cubic coordinates.
+				return parseArguments(4, 6, true) ? new SVGPathSegCurvetoQuadratic(args[2], args[3], args[0], args[1], rel) : null;
+			case 'T':
+				return parseArguments(2, 2, true) ? new SVGPathSegCurvetoQuadraticSmooth(args[0], args[1], rel) : null;
+			case 'A':
+				return parseArguments(MAX_ARGS, MAX_ARGS, true) ?
+					new SVGPathSegArc(args[5], args[6], args[0], args[1], args[2], largeArcFlag, sweepFlag, rel) : null;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Parses the numbers following a command: the first group of arguments is stored, the next groups are checked only.
+	 * @param firstSize The number of values of the first group of arguments.
+	 * @param nextSize The number of values of the following groups of arguments.
+	 * @param commas True if the values can be separated by commas.
+	 * @return False if the numbers do not form complete groups of arguments.
+	 */
+	private boolean parseArguments(final int firstSize, final int nextSize, final boolean commas) {
+		int nb = 0;
+		boolean comma = false;
+
+		skipSpaces();
+
+		while(pos < length && (code.charAt(pos) == ',' || isNumberStart(code.charAt(pos)))) {
+			if(code.charAt(pos) == ',') {
+				if(!commas || isMisplacedComma(comma, nb)) {
+					return false;
+				}
+				comma = true;
+				pos++;
+			}else {
+				if(!parseArgument(nb, firstSize)) {
+					return false;
+				}
+				nb++;
+				comma = false;
+			}
+			skipSpaces();
+		}
+
+		return !comma && nb >= firstSize && (nb - firstSize) % nextSize == 0;
+	}
+
+	/**
+	 * Parses the number at the given position in the arguments of the current command.
+	 * @return False if the number must be parsed by the grammar.
+	 */
+	private boolean parseArgument(final int index, final int firstSize) {
+		final double value = parseNumber(index);
+
+		if(Double.isNaN(value)) {
+			return false;
+		}
+		if(index < firstSize) {
+			args[index] = value;
+		}
+		return true;
+	}
+
+	/**
+	 * A comma separates two numbers.
+	 * @param afterComma True if the previous symbol is a comma.
+	 * @param nbNumbers The number of numbers before the comma.
+	 */
+	private static boolean isMisplacedComma(final boolean afterComma, final int nbNumbers) {
+		return afterComma || nbNumbers == 0;
+	}
+
+	private static boolean isNumberStart(final char c) {
+		return c == '+' || c == '-' || c == '.' || isDigit(c);
+	}
+
+	/**
+	 * Parses the number at the current position, as the NUMBER token of the grammar.
+	 * @param index The position of the number in the arguments of its command. Used to read the flags of arcs.
+	 * @return The number, or NaN if the code must be parsed by the grammar.
+	 */
+	private double parseNumber(final int index) {
+		final int start = pos;
+		final boolean negative = readSign();
+
+		mantissa = 0L;
+		exact = true;
+		final boolean hasInt = readDigits() > 0;
+		int nbDecimals = 0;
+
+		if(pos < length && code.charAt(pos) == '.') {
+			pos++;
+			nbDecimals = readDigits();
+		}
+
+		// A sign alone, several signs, or a dot without digits: not supported
+		if(!hasInt && nbDecimals == 0) {
+			return Double.NaN;
+		}
+
+		readArcFlag(index, start);
+
+		if(exact && nbDecimals < POWERS_OF_TEN.length) {
+			// Both operands are exact doubles: the division is correctly rounded, as Double.parseDouble
+			final double value = mantissa / POWERS_OF_TEN[nbDecimals];
+			return negative ? -value : value;
+		}
+
+		return Double.parseDouble(code.substring(start, pos));
+	}
+
+	/**
+	 * Reads the optional sign at the current position.
+	 * @return True if the sign is minus.
+	 */
+	private boolean readSign() {
+		if(pos < length) {
+			final char c = code.charAt(pos);
+			if(c == '-' || c == '+') {
+				pos++;
+				return c == '-';
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the digits at the current position into the mantissa.
+	 * @return The number of read digits.
+	 */
+	private int readDigits() {
+		final int start = pos;
+
+		while(pos < length && isDigit(code.charAt(pos))) {
+			mantissa = mantissa * 10L + (code.charAt(pos) - '0');
+			exact = exact && mantissa <= MAX_EXACT_MANTISSA;
+			pos++;
+		}
+
+		return pos - start;
+	}
+
+	/**
+	 * The flags of the arcs are true when their text is exactly '1'.
+	 */
+	private void readArcFlag(final int index, final int start) {
+		if(index == 3) {
+			largeArcFlag = pos - start == 1 && code.charAt(start) == '1';
+		}else if(index == 4) {
+			sweepFlag = pos - start == 1 && code.charAt(start) == '1';
+		}
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private void skipSpaces() {
+		while(pos < length && isSpace(code.charAt(pos))) {
+			pos++;
+		}
+	}
+
+	private static boolean isSpace(final char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000C';
+	}
+}
@@ -11,6 +11,8 @@
 package net.sf.latexdraw.parser.svg;
 
 import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Node;
 
 /**
@@ -18,6 +20,11 @@ import org.w3c.dom.Node;
  * @author Arnaud BLOUIN
  */
 public class SVGSVGElement extends SVGElement implements SVGRectParseTrait {
+	/** The cached defs element (may be null). Not initialised here since children are added by the super constructor. */
+	private @Nullable SVGDefsElement defs;
+	/** Whether defs is up to date. */
+	private boolean defsCached;
+
 	/**
 	 * @param n The node.
 	 * @param owner The owner document.
@@ -83,7 +90,25 @@ public class SVGSVGElement extends SVGElement implements SVGRectParseTrait {
 	 * @return the defs element or null.
 	 */
 	public SVGDefsElement getDefs() {
-		return children.getNodes().stream().filter(ch -> ch instanceof SVGDefsElement).map(ch -> (SVGDefsElement) ch).findAny().orElse(null);
+		if(!defsCached) {
+			defs = children.getNodes().stream().filter(ch -> ch instanceof SVGDefsElement).map(ch -> (SVGDefsElement) ch).findFirst().orElse(null);
+			defsCached = true;
+		}
+		return defs;
+	}
+
+
+	@Override
+	protected void childAppended(final @NotNull SVGElement child) {
+		if(defsCached && defs == null && child instanceof SVGDefsElement) {
+			defs = (SVGDefsElement) child;
+		}
+	}
+
+
+	@Override
+	protected void childrenChanged() {
+		defsCached = false;
 	}
 
 
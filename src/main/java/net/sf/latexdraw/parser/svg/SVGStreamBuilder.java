@@ -0,0 +1,424 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parser.svg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import net.sf.latexdraw.util.SystemUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Builds the SVG elements of a document in a single pass over the StAX events of an XML input.
+ * The SVG root and its (nested) SVG groups are created as soon as their start tag is read.
+ * The other elements are gathered into a transient DOM subtree that is converted into SVG elements
+ * once closed and then discarded: the complete XML document is never held in memory.
+ * The produced elements are the same than the ones produced from a DOM document.
+ * The top-level elements (the children of the SVG root) are notified once closed and once
+ * the elements they refer to (url(#id), href="#id") have been read.
+ * The children of a top-level group can be notified the same way while the group is read (see SVGElementsListener::isStreamed),
+ * e.g. the shapes of the single group of the latexdraw documents: a child that does not refer to the definitions
+ * (written after the group) does not wait for them.
+ * @author Arnaud Blouin
+ */
+final class SVGStreamBuilder {
+	private static final String URL_REF = "url(#"; //NON-NLS
+	private static final String HREF = "href"; //NON-NLS
+
+	private final @NotNull SVGDocument doc;
+	private final @Nullable SVGElementsListener listener;
+	/** The factory of the transient DOM nodes. */
+	private final @NotNull Document nodes;
+	/** The SVG elements being built (the root and the SVG groups). */
+	private final @NotNull Deque<Container> containers;
+	/** The identifiers of the read elements. */
+	private final @NotNull Set<String> ids;
+	/** The closed elements to notify, waiting for the elements they refer to. */
+	private final @NotNull Deque<Pending> pending;
+	/** The identifiers the current notified element (top-level element or child of the streamed group) refers to. */
+	private @NotNull Set<String> refs;
+	/** The top-level group being read whose children are notified. */
+	private @Nullable SVGElement streamed;
+	/** The identifiers the streamed group refers to. */
+	private @NotNull Set<String> streamedRefs;
+	/** The current node of the transient subtree being read. Null: no subtree is read. */
+	private @Nullable Node current;
+	/** The root of the transient subtree being read. */
+	private @Nullable Node subtree;
+	/** Whether the transient subtree being read must not be converted. */
+	private boolean discarded;
+	/** The text read since the last node. */
+	private final @NotNull StringBuilder text;
+	private @Nullable SVGSVGElement root;
+
+	/**
+	 * @param doc The document the elements will belong to.
+	 * @param listener Notified of the read elements, in the document order. Can be null.
+	 * @throws IllegalArgumentException If no DOM document can be created.
+	 */
+	SVGStreamBuilder(final @NotNull SVGDocument doc, final @Nullable SVGElementsListener listener) {
+		super();
+		this.doc = doc;
+		this.listener = listener;
+		containers = new ArrayDeque<>();
+		ids = new HashSet<>();
+		pending = new ArrayDeque<>();
+		refs = new HashSet<>();
+		streamedRefs = new HashSet<>();
+		text = new StringBuilder();
+		nodes = SystemUtils.getInstance().createXMLDocumentBuilder().map(b -> b.newDocument()).orElseThrow(() -> new IllegalArgumentException());
+	}
+
+	/**
+	 * Reads the given XML input. DTD are not supported, as for the DOM documents.
+	 * @param input The XML input. Not closed.
+	 * @return The SVG root of the document, or null if the root element is not an SVG element.
+	 * @throws IOException If the input is not a valid XML document.
+	 * @throws IllegalArgumentException If the SVG root is not valid.
+	 */
+	@Nullable SVGSVGElement read(final @NotNull InputStream input) throws IOException {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		if(factory.isPropertySupported("http://java.sun.com/xml/stream/properties/report-cdata-event")) { //NON-NLS
+			factory.setProperty("http://java.sun.com/xml/stream/properties/report-cdata-event", Boolean.TRUE); //NON-NLS
+		}
+
+		try {
+			final XMLStreamReader reader = factory.createXMLStreamReader(input);
+			try {
+				readProlog(reader);
+				while(reader.hasNext() && readEvent(reader)) {
+					reader.next();
+				}
+			}finally {
+				reader.close();
+			}
+		}catch(final XMLStreamException ex) {
+			throw new IOException(ex);
+		}
+
+		notifyPending(true);
+		return root;
+	}
+
+	private void readProlog(final XMLStreamReader reader) {
+		doc.setXmlVersion(reader.getVersion() == null ? "1.0" : reader.getVersion()); //NON-NLS
+		doc.setXmlStandalone(reader.standaloneSet() && reader.isStandalone());
+		doc.setXmlEncoding(reader.getCharacterEncodingScheme());
+	}
+
+	/**
+	 * Processes the current event.
+	 * @return False if the reading must stop.
+	 */
+	private boolean readEvent(final XMLStreamReader reader) throws IOException {
+		switch(reader.getEventType()) {
+			case XMLStreamConstants.DTD:
+				throw new IOException("DTD not supported"); //NON-NLS
+			case XMLStreamConstants.START_ELEMENT:
+				return startElement(reader);
+			case XMLStreamConstants.END_ELEMENT:
+				endElement();
+				return !containers.isEmpty();
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+				if(root != null) {
+					text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				}
+				return true;
+			case XMLStreamConstants.CDATA:
+				addNode(nodes.createCDATASection(reader.getText()));
+				return true;
+			case XMLStreamConstants.COMMENT:
+				addNode(nodes.createComment(reader.getText()));
+				return true;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				addNode(nodes.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * @return False if the root element is not an SVG element: nothing is built.
+	 */
+	private boolean startElement(final XMLStreamReader reader) {
+		final Element elt = createElement(reader);
+
+		if(root == null) {
+			if(!elt.getNodeName().endsWith(SVGElements.SVG_SVG)) {
+				return false;
+			}
+			root = new SVGSVGElement(doc, elt);
+			doc.adoptNode(root);
+			containers.push(new Container(root));
+			return true;
+		}
+
+		flushText();
+
+		if(current != null) {
+			current.appendChild(elt);
+			current = elt;
+			return true;
+		}
+
+		final Container parent = containers.peek();
+		parent.addChild(null);
+
+		if(isGroup(elt, parent.elt)) {
+			final SVGElement group = createGroup(elt, parent.elt);
+			if(group != null) {
+				containers.push(new Container(group));
+				startStreaming(group, parent.elt);
+				return true;
+			}
+			// The group is not valid: its content is skipped
+			discarded = true;
+		}
+
+		subtree = elt;
+		current = elt;
+		return true;
+	}
+
+	private void endElement() {
+		flushText();
+
+		if(current != null) {
+			if(current == subtree) {
+				final Container parent = containers.peek();
+				final int nbChildren = parent.elt.getChildNodes().getLength();
+				if(!discarded) {
+					SVGElementsFactory.INSTANCE.createSVGElement(subtree, parent.elt);
+				}
+				subtree = null;
+				current = null;
+				discarded = false;
+				// The element may not have been created (unknown or invalid element)
+				if(parent.elt.getChildNodes().getLength() > nbChildren) {
+					closeElement(parent.elt, (SVGElement) parent.elt.getLastChild());
+				}
+			}else {
+				current = current.getParentNode();
+			}
+			return;
+		}
+
+		final Container container = containers.pop();
+		container.close();
+		if(!containers.isEmpty()) {
+			closeElement(containers.peek().elt, container.elt);
+		}
+	}
+
+	/**
+	 * An SVG group is created when started: its content is directly converted into SVG elements.
+	 */
+	private static boolean isGroup(final Element elt, final SVGElement parent) {
+		final String name = elt.getNodeName();
+		final int colon = name.indexOf(':');
+		return SVGElements.SVG_G.equals(name.substring(colon + 1)) &&
+			SVGDocument.SVG_NAMESPACE.equals(SVGElementsFactory.INSTANCE.getElementNS(elt, parent));
+	}
+
+	/**
+	 * @return The created SVG group or null if the group is not valid.
+	 */
+	private static @Nullable SVGElement createGroup(final Element elt, final SVGElement parent) {
+		final int nbChildren = parent.getChildNodes().getLength();
+		SVGElementsFactory.INSTANCE.createSVGElement(elt, parent);
+		return parent.getChildNodes().getLength() > nbChildren ? (SVGElement) parent.getLastChild() : null;
+	}
+
+	/**
+	 * Asks the listener whether the children of the given started group must be notified.
+	 * Only asked when no element waits for its notification: the listener knows all the preceding elements.
+	 */
+	private void startStreaming(final SVGElement group, final SVGElement parent) {
+		if(parent == root && listener != null && pending.isEmpty() && listener.isStreamed(group)) {
+			streamed = group;
+			// The references of the attributes of the group
+			streamedRefs = refs;
+			refs = new HashSet<>();
+		}
+	}
+
+	private void closeElement(final SVGElement parent, final SVGElement elt) {
+		if(parent == root) {
+			if(elt == streamed) {
+				streamedRefs.addAll(refs);
+				refs = streamedRefs;
+				streamedRefs = new HashSet<>();
+				streamed = null;
+			}
+			pending.add(new Pending(elt, refs, false));
+			refs = new HashSet<>();
+			notifyPending(false);
+		}else if(parent == streamed) {
+			pending.add(new Pending(elt, refs, true));
+			refs = new HashSet<>();
+			notifyPending(false);
+		}
+	}
+
+	/**
+	 * Notifies the pending elements, in the document order.
+	 * @param all True: the elements are notified even if they refer to unknown elements.
+	 */
+	private void notifyPending(final boolean all) {
+		while(!pending.isEmpty() && (all || ids.containsAll(pending.peek().refs))) {
+			final Pending next = pending.poll();
+			if(listener != null) {
+				if(next.groupChild) {
+					listener.onGroupChild(next.elt);
+				}else {
+					listener.onTopLevelElement(next.elt);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a node containing the name and the attributes of the current element.
+	 * Identifiers and references to identifiers are gathered.
+	 */
+	private Element createElement(final XMLStreamReader reader) {
+		final Element elt = nodes.createElement(reader.getLocalName());
+
+		for(int i = 0, size = reader.getAttributeCount(); i < size; i++) {
+			final String prefix = reader.getAttributePrefix(i);
+			final String name = prefix == null || prefix.isEmpty() ? reader.getAttributeLocalName(i) : prefix + ':' + reader.getAttributeLocalName(i);
+			final String value = reader.getAttributeValue(i);
+			elt.setAttribute(name, value);
+			collectIdentifiers(name, value);
+		}
+
+		return elt;
+	}
+
+	private void collectIdentifiers(final String name, final String value) {
+		if(SVGAttributes.SVG_ID.equals(name)) {
+			ids.add(value);
+		}else if(name.endsWith(HREF) && value.startsWith("#")) {
+			refs.add(value.substring(1));
+		}else {
+			int index = value.indexOf(URL_REF);
+			while(index >= 0) {
+				final int end = value.indexOf(')', index);
+				if(end < 0) {
+					break;
+				}
+				refs.add(value.substring(index + URL_REF.length(), end).trim());
+				index = value.indexOf(URL_REF, end);
+			}
+		}
+	}
+
+	/**
+	 * Adds a text, a comment, or a processing instruction.
+	 */
+	private void addNode(final Node node) {
+		if(root == null) {
+			return;
+		}
+
+		flushText();
+
+		if(current == null) {
+			final Container parent = containers.peek();
+			parent.addChild(node);
+			SVGElementsFactory.INSTANCE.createSVGElement(node, parent.elt);
+		}else {
+			current.appendChild(node);
+		}
+	}
+
+	/**
+	 * The consecutive texts form a single text node, as in DOM documents.
+	 */
+	private void flushText() {
+		if(text.length() > 0) {
+			final Node node = nodes.createTextNode(text.toString());
+			text.setLength(0);
+			if(current == null) {
+				containers.peek().addChild(node);
+			}else {
+				current.appendChild(node);
+			}
+		}
+	}
+
+	/**
+	 * A read element waiting for its notification.
+	 */
+	private static final class Pending {
+		final @NotNull SVGElement elt;
+		/** The identifiers of the elements it refers to. */
+		final @NotNull Set<String> refs;
+		/** True: a child of the streamed group. */
+		final boolean groupChild;
+
+		Pending(final @NotNull SVGElement elt, final @NotNull Set<String> refs, final boolean groupChild) {
+			super();
+			this.elt = elt;
+			this.refs = refs;
+			this.groupChild = groupChild;
+		}
+	}
+
+	/**
+	 * An SVG element being built from the stream.
+	 */
+	private static final class Container {
+		final @NotNull SVGElement elt;
+		int nbChildren;
+		/** The last child node if it is a text. */
+		@Nullable String lastText;
+
+		Container(final @NotNull SVGElement elt) {
+			super();
+			this.elt = elt;
+		}
+
+		/**
+		 * @param node The added child node. Null for elements.
+		 */
+		void addChild(final @Nullable Node node) {
+			nbChildren++;
+			lastText = node != null && (node.getNodeType() == Node.TEXT_NODE || node.getNodeType() == Node.CDATA_SECTION_NODE) ? node.getNodeValue() : null;
+		}
+
+		/**
+		 * An element with a single text has this text as content.
+		 */
+		void close() {
+			if(nbChildren == 1 && lastText != null) {
+				elt.setTextContent(lastText);
+			}
+		}
+	}
+}
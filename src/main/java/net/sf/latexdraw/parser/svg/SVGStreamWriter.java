@@ -0,0 +1,322 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parser.svg;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.jetbrains.annotations.NotNull;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Serialises SVG elements into an XML output while they are produced: an element can be written and then forgotten,
+ * so that the complete SVG tree of a document does not have to be built before being saved.
+ * The output is pretty-printed and escaped as the LS serialiser of the JDK does.
+ * @author Arnaud Blouin
+ */
+public final class SVGStreamWriter implements Closeable {
+	private static final String INDENT = "    "; //NON-NLS
+
+	private final @NotNull Writer writer;
+	private final @NotNull CharsetEncoder encoder;
+	/** The started elements that are not ended yet. */
+	private final @NotNull Deque<OpenElement> openElements;
+
+	/**
+	 * Creates a writer that writes the XML declaration.
+	 * @param path The file to write.
+	 * @param charset The charset of the file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public SVGStreamWriter(final @NotNull Path path, final @NotNull Charset charset) throws IOException {
+		this(new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), charset.newEncoder())), charset);
+	}
+
+	/**
+	 * Creates a writer that writes the XML declaration.
+	 * @param writer The output. Closed by this writer.
+	 * @param charset The charset of the output, used to escape the characters it cannot encode.
+	 * @throws IOException If the output cannot be written.
+	 */
+	public SVGStreamWriter(final @NotNull Writer writer, final @NotNull Charset charset) throws IOException {
+		super();
+		this.writer = writer;
+		encoder = charset.newEncoder();
+		openElements = new ArrayDeque<>();
+		writer.write("<?xml version=\"1.0\" encoding=\"" + charset.name() + "\"?>"); //NON-NLS
+	}
+
+	/**
+	 * Writes the start tag of an element. Its children must then be written using the other methods of the writer.
+	 * @param elt The element to start. Its children are not written.
+	 * @throws IOException If the output cannot be written.
+	 */
+	public void writeStartElement(final @NotNull Node elt) throws IOException {
+		startChild();
+		writer.write('<');
+		writer.write(elt.getNodeName());
+		writeAttributes(elt);
+		openElements.push(new OpenElement(elt.getNodeName()));
+	}
+
+	/**
+	 * Writes the end tag of the last started element.
+	 * @throws IOException If the output cannot be written.
+	 * @throws IllegalStateException If no element is started.
+	 */
+	public void writeEndElement() throws IOException {
+		if(openElements.isEmpty()) {
+			throw new IllegalStateException();
+		}
+		final OpenElement elt = openElements.pop();
+		if(elt.hasChildren) {
+			indent();
+			writer.write("</"); //NON-NLS
+			writer.write(elt.name);
+			writer.write(">\n"); //NON-NLS
+		}else {
+			writer.write("/>\n"); //NON-NLS
+		}
+	}
+
+	/**
+	 * Writes a node and all its descendants.
+	 * @param node The node to write (element, text, or comment).
+	 * @throws IOException If the output cannot be written.
+	 */
+	public void writeNode(final @NotNull Node node) throws IOException {
+		switch(node.getNodeType()) {
+			case Node.ELEMENT_NODE:
+				writeElement(node);
+				break;
+			case Node.TEXT_NODE:
+				if(!isWhitespace(node.getNodeValue())) {
+					startChild();
+					writeText(node.getNodeValue());
+					writer.write('\n');
+				}
+				break;
+			case Node.COMMENT_NODE:
+				startChild();
+				writer.write("<!--"); //NON-NLS
+				writer.write(node.getNodeValue());
+				writer.write("-->\n"); //NON-NLS
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void writeElement(final Node elt) throws IOException {
+		final NodeList children = elt.getChildNodes();
+		final int size = children.getLength();
+
+		if(hasTextOnly(children)) {
+			startChild();
+			writer.write('<');
+			writer.write(elt.getNodeName());
+			writeAttributes(elt);
+			writer.write('>');
+			for(int i = 0; i < size; i++) {
+				// As for the other children, blank texts are not written
+				if(!isWhitespace(children.item(i).getNodeValue())) {
+					writeText(children.item(i).getNodeValue());
+				}
+			}
+			writer.write("</"); //NON-NLS
+			writer.write(elt.getNodeName());
+			writer.write(">\n"); //NON-NLS
+			return;
+		}
+
+		writeStartElement(elt);
+		for(int i = 0; i < size; i++) {
+			writeNode(children.item(i));
+		}
+		writeEndElement();
+	}
+
+	/**
+	 * @return True if the given nodes contain at least one not blank text and only texts.
+	 */
+	private static boolean hasTextOnly(final NodeList nodes) {
+		boolean text = false;
+		for(int i = 0, size = nodes.getLength(); i < size; i++) {
+			final Node node = nodes.item(i);
+			if(node.getNodeType() != Node.TEXT_NODE) {
+				return false;
+			}
+			text = text || !isWhitespace(node.getNodeValue());
+		}
+		return text;
+	}
+
+	private static boolean isWhitespace(final String text) {
+		return text.chars().allMatch(c -> c == ' ' || c == '\t' || c == '\n' || c == '\r');
+	}
+
+	/**
+	 * Starts a child in the current element: completes the start tag of this element if required, and moves to a new line.
+	 */
+	private void startChild() throws IOException {
+		if(openElements.isEmpty()) {
+			return;
+		}
+		if(!openElements.peek().hasChildren) {
+			openElements.peek().hasChildren = true;
+			writer.write(">\n"); //NON-NLS
+		}
+		indent();
+	}
+
+	private void indent() throws IOException {
+		for(int i = 0, size = openElements.size(); i < size; i++) {
+			writer.write(INDENT);
+		}
+	}
+
+	private void writeAttributes(final Node elt) throws IOException {
+		final NamedNodeMap attrs = elt.getAttributes();
+
+		if(attrs == null) {
+			return;
+		}
+
+		// The declaration of the namespace of the element comes first
+		final String name = elt.getNodeName();
+		final int colon = name.indexOf(':');
+		final String nsDecl = colon < 0 ? "xmlns" : "xmlns:" + name.substring(0, colon); //NON-NLS
+		final Node nsAttr = attrs.getNamedItem(nsDecl);
+
+		if(nsAttr != null) {
+			writeAttribute(nsAttr);
+		}
+
+		for(int i = 0, size = attrs.getLength(); i < size; i++) {
+			if(!nsDecl.equals(attrs.item(i).getNodeName())) {
+				writeAttribute(attrs.item(i));
+			}
+		}
+	}
+
+	private void writeAttribute(final Node attr) throws IOException {
+		writer.write(' ');
+		writer.write(attr.getNodeName());
+		writer.write("=\""); //NON-NLS
+		writeAttributeValue(attr.getNodeValue());
+		writer.write('"');
+	}
+
+	private void writeAttributeValue(final String value) throws IOException {
+		int i = 0;
+		while(i < value.length()) {
+			final char c = value.charAt(i);
+			switch(c) {
+				case '"':
+					writer.write("&quot;"); //NON-NLS
+					break;
+				case '\n':
+				case '\t':
+					writeCharRef(c);
+					break;
+				default:
+					i = writeTextChar(value, i);
+			}
+			i++;
+		}
+	}
+
+	private void writeText(final String text) throws IOException {
+		int i = 0;
+		while(i < text.length()) {
+			i = writeTextChar(text, i) + 1;
+		}
+	}
+
+	/**
+	 * Writes the character at the given position, escaped if required.
+	 * @return The position of the last written character (a surrogate pair is written at once).
+	 */
+	private int writeTextChar(final String text, final int pos) throws IOException {
+		final char c = text.charAt(pos);
+
+		switch(c) {
+			case '&':
+				writer.write("&amp;"); //NON-NLS
+				return pos;
+			case '<':
+				writer.write("&lt;"); //NON-NLS
+				return pos;
+			case '>':
+				writer.write("&gt;"); //NON-NLS
+				return pos;
+			case '\n':
+			case '\t':
+				writer.write(c);
+				return pos;
+			default:
+				break;
+		}
+
+		if(Character.isHighSurrogate(c) && pos + 1 < text.length() && Character.isLowSurrogate(text.charAt(pos + 1))) {
+			writeCharRef(text.codePointAt(pos));
+			return pos + 1;
+		}
+		if(Character.isISOControl(c) || !encoder.canEncode(c)) {
+			writeCharRef(c);
+		}else {
+			writer.write(c);
+		}
+		return pos;
+	}
+
+	private void writeCharRef(final int codePoint) throws IOException {
+		writer.write("&#"); //NON-NLS
+		writer.write(Integer.toString(codePoint));
+		writer.write(';');
+	}
+
+	/**
+	 * Closes the started elements and the output.
+	 * @throws IOException If the output cannot be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			while(!openElements.isEmpty()) {
+				writeEndElement();
+			}
+		}finally {
+			writer.close();
+		}
+	}
+
+	private static final class OpenElement {
+		final @NotNull String name;
+		/** Whether the start tag is completed since the element has children. */
+		boolean hasChildren;
+
+		OpenElement(final @NotNull String name) {
+			super();
+			this.name = name;
+		}
+	}
+}
@@ -86,6 +86,10 @@ public class PreferencesService {
 	private final @NotNull ObjectProperty<GridStyle> gridStyle;
 	private final @NotNull ObjectProperty<Unit> unit;
 	private final @NotNull ObjectProperty<Page> page;
+	/** The on-screen size (in pixels) below which a shape is painted as its bounding box. 0 to disable. */
+	private final @NotNull IntegerProperty lodProxySize;
+	/** The on-screen size (in pixels) below which the shadow, the double border, and the hatchings of a shape are not painted. 0 to disable. */
+	private final @NotNull IntegerProperty lodReducedSize;
 	private final @NotNull String prefsPath;
 
 	PreferencesService(final @NotNull String prefsPath) {
@@ -106,6 +110,8 @@ public class PreferencesService {
 		currentFolder = Optional.empty();
 		recentFileNames = new SimpleListProperty<>(FXCollections.observableArrayList());
 		page = new SimpleObjectProperty<>(Page.USLETTER);
+		lodProxySize = new SimpleIntegerProperty(8);
+		lodReducedSize = new SimpleIntegerProperty(40);
 
 		nbRecentFiles.addListener((observable, oldValue, newValue) -> {
 			while(newValue.intValue() > recentFileNames.size() && !recentFileNames.isEmpty()) {
@@ -148,6 +154,14 @@ public class PreferencesService {
 		return gridGap;
 	}
 
+	public @NotNull IntegerProperty lodProxySizeProperty() {
+		return lodProxySize;
+	}
+
+	public @NotNull IntegerProperty lodReducedSizeProperty() {
+		return lodReducedSize;
+	}
+
 	public boolean isMagneticGrid() {
 		return magneticGrid.get();
 	}
@@ -334,6 +348,8 @@ public class PreferencesService {
 		SystemUtils.getInstance().createElement(document, LNamespace.XML_MAGNETIC_GRID, String.valueOf(magneticGrid.get()), root);
 		SystemUtils.getInstance().createElement(document, LNamespace.XML_GRID_STYLE, gridStyle.get().name(), root);
 		SystemUtils.getInstance().createElement(document, LNamespace.XML_GRID_GAP, String.valueOf(gridGap.get()), root);
+		SystemUtils.getInstance().createElement(document, LNamespace.XML_LOD_PROXY_SIZE, String.valueOf(lodProxySize.get()), root);
+		SystemUtils.getInstance().createElement(document, LNamespace.XML_LOD_REDUCED_SIZE, String.valueOf(lodReducedSize.get()), root);
 		SystemUtils.getInstance().createElement(document, LNamespace.XML_LATEX_INCLUDES, includes.get(), root);
 		final Element recent = document.createElement(LNamespace.XML_RECENT_FILES);
 		root.appendChild(recent);
@@ -398,6 +414,10 @@ public class PreferencesService {
 
 		MathUtils.INST.parseInt(prefMap.getOrDefault(LNamespace.XML_GRID_GAP, noElt).getTextContent()).ifPresent(gap -> gridGap.set(gap));
 
+		MathUtils.INST.parseInt(prefMap.getOrDefault(LNamespace.XML_LOD_PROXY_SIZE, noElt).getTextContent()).ifPresent(size -> lodProxySize.set(size));
+
+		MathUtils.INST.parseInt(prefMap.getOrDefault(LNamespace.XML_LOD_REDUCED_SIZE, noElt).getTextContent()).ifPresent(size -> lodReducedSize.set(size));
+
 		final String magnet = prefMap.getOrDefault(LNamespace.XML_MAGNETIC_GRID, noElt).getTextContent();
 		if(magnet != null) {
 			magneticGrid.setValue(Boolean.valueOf(magnet));
@@ -57,6 +57,8 @@ public final class LNamespace {
 	public static final String XML_PAGE					= "page"; //NON-NLS
 	public static final String XML_GRID_GAP				= "gridGap"; //NON-NLS
 	public static final String XML_MAGNETIC_GRID		= "magneticGrid"; //NON-NLS
+	public static final String XML_LOD_PROXY_SIZE		= "lodProxySize"; //NON-NLS
+	public static final String XML_LOD_REDUCED_SIZE		= "lodReducedSize"; //NON-NLS
 	public static final String XML_VERSION				= "version"; //NON-NLS
 	public static final String XML_POSITION 			= "position"; //NON-NLS
 	public static final String XML_POSITION_X 			= "x"; //NON-NLS
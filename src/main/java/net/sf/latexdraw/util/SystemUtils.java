@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -35,6 +36,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.FactoryConfigurationError;
 import javax.xml.parsers.ParserConfigurationException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -286,6 +288,17 @@ public final class SystemUtils {
 	 * @return The log.
 	 */
 	public @NotNull Tuple<Boolean, String> execute(final @NotNull String[] cmd, final File tmpdir) {
+		return execute(cmd, tmpdir, null);
+	}
+
+	/**
+	 * Executes a command.
+	 * @param cmd The execution command
+	 * @param tmpdir The working dir
+	 * @param started Called with the process once started, e.g. to be able to kill it. Can be null.
+	 * @return The log.
+	 */
+	public @NotNull Tuple<Boolean, String> execute(final @NotNull String[] cmd, final File tmpdir, final @Nullable Consumer<Process> started) {
 		if(cmd.length == 0) {
 			return new Tuple<>(Boolean.FALSE, "");
 		}
@@ -298,6 +311,10 @@ public final class SystemUtils {
 				directory(tmpdir);
 			final Process process = builder.start();
 
+			if(started != null) {
+				started.accept(process);
+			}
+
 			try(final InputStream is = process.getInputStream();
 				final InputStreamReader isr = new InputStreamReader(is);
 				final BufferedReader br = new BufferedReader(isr)) {
@@ -10,26 +10,43 @@
  */
 package net.sf.latexdraw.view;
 
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Transform;
 import net.sf.latexdraw.model.api.shape.Shape;
 import net.sf.latexdraw.service.PreferencesService;
 import net.sf.latexdraw.util.Unit;
 import net.sf.latexdraw.view.jfx.Canvas;
 import net.sf.latexdraw.view.pst.PSTricksConstants;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * The base class for computing background grids
+ * The base class for computing background grids.
+ * The grid is drawn in a single raster that only covers the part of the grid visible in the scroll pane
+ * of the canvas (or in the scene), so that the zoom level and the size of the canvas do not change the amount of scene nodes.
+ * The raster is redrawn when the visible part changes (scroll, zoom, resize).
  */
 public abstract class GridViewBase extends Pane {
 	protected final @NotNull Canvas canvas;
 	private final @NotNull Color lineCol;
 	private final double strokeWidth;
 	private final @NotNull PreferencesService prefs;
+	/** The raster of the visible lines. Its size is in screen pixels. */
+	private final @NotNull javafx.scene.canvas.Canvas raster;
+	/** Maps the pixels of the raster to the coordinates of the grid. */
+	private final @NotNull Scale rasterScale;
+	/** Whether a redraw is already planned: the redraws requested during a same event are coalesced. */
+	private boolean redrawPlanned;
+	/** The number of lines of the last drawing of the raster. */
+	private int nbLines;
 
 	public GridViewBase(final @NotNull Canvas canvas, final @NotNull PreferencesService prefs, final @NotNull Color color, final double strokeWidth) {
 		super();
@@ -37,6 +54,13 @@ public abstract class GridViewBase extends Pane {
 		this.prefs = prefs;
 		lineCol = color;
 		this.strokeWidth = strokeWidth;
+		raster = new javafx.scene.canvas.Canvas();
+		rasterScale = new Scale();
+		redrawPlanned = false;
+		nbLines = 0;
+		raster.setManaged(false);
+		raster.getTransforms().add(rasterScale);
+		getChildren().add(raster);
 		setFocusTraversable(false);
 		setMouseTransparent(true);
 
@@ -44,6 +68,24 @@ public abstract class GridViewBase extends Pane {
 		this.prefs.gridStyleProperty().addListener((observable, oldValue, newValue) -> update());
 		this.prefs.unitProperty().addListener((observable, oldValue, newValue) -> update());
 		this.canvas.zoomProperty().addListener((observable, oldValue, newValue) -> update());
+
+		// Scrolling and zooming (including the zoom animation) change the transformation to the scene.
+		// Resizing the window or the page changes the size of the scene or of the grid.
+		final InvalidationListener sizeListener = observable -> planRedraw();
+		localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> planRedraw());
+		widthProperty().addListener(sizeListener);
+		heightProperty().addListener(sizeListener);
+		sceneProperty().addListener((observable, oldValue, newValue) -> {
+			if(oldValue != null) {
+				oldValue.widthProperty().removeListener(sizeListener);
+				oldValue.heightProperty().removeListener(sizeListener);
+			}
+			if(newValue != null) {
+				newValue.widthProperty().addListener(sizeListener);
+				newValue.heightProperty().addListener(sizeListener);
+			}
+			planRedraw();
+		});
 	}
 
 	protected abstract double getUpdateWidth();
@@ -81,64 +123,131 @@ public abstract class GridViewBase extends Pane {
 
 	protected abstract double getLengthSub();
 
-	public void update() {
-		final double width = getUpdateWidth();
-		final double height = getUpdateHeight();
-		final double step = getMainStep() * canvas.getPPCDrawing();
-		final double substep = getSubStep() * canvas.getPPCDrawing();
-		final int incr = (int) (step / substep);
-		final double lengthMain = getLengthMain();
-		final double lengthSub = getLengthSub();
-		getChildren().clear();
-
-		produceXMainLines(width, step, lengthMain);
-		produceXSubLines(width, step, substep, incr, lengthSub);
-		produceYMainLines(height, step, lengthMain);
-		produceYSubLines(height, step, substep, incr, lengthSub);
+	/**
+	 * @return The raster the grid is drawn in.
+	 */
+	public @NotNull javafx.scene.canvas.Canvas getRaster() {
+		return raster;
 	}
 
-	private Line createLine(final double x1, final double y1, final double x2, final double y2) {
-		final Line line = new Line(x1, y1, x2, y2);
-		line.setStroke(lineCol);
-		line.setStrokeWidth(strokeWidth);
-		return line;
+	/**
+	 * @return The number of lines of the last drawing of the raster: the cost of the drawing.
+	 */
+	int getNbLines() {
+		return nbLines;
 	}
 
-	protected void produceXMainLines(final double width, final double step, final double length) {
-		getChildren().addAll(IntStream
-			.rangeClosed(-1, (int) (width / step))
-			.parallel()
-			.mapToObj(i -> createLine(i * step, 0d, i * step, length))
-			.collect(Collectors.toList()));
+	private void planRedraw() {
+		if(!redrawPlanned) {
+			redrawPlanned = true;
+			Platform.runLater(() -> {
+				redrawPlanned = false;
+				update();
+			});
+		}
 	}
 
-	protected void produceXSubLines(final double width, final double step, final double substep, final int incr, final double length) {
-		getChildren().addAll(IntStream
-			.rangeClosed(-1, (int) (width / step))
-			.parallel()
-			.mapToObj(j -> IntStream.range(1, incr)
-				.parallel()
-				.mapToObj(i -> createLine(j * step + i * substep, 0d, j * step + i * substep, length)))
-			.flatMap(s -> s)
-			.collect(Collectors.toList()));
+	/**
+	 * @return The part of the grid visible in the scroll pane of the canvas (or in the scene if no scroll pane),
+	 * in the coordinates of the grid. Null if no part of the grid is visible.
+	 */
+	protected @Nullable Bounds getVisibleBounds() {
+		if(getScene() == null) {
+			return null;
+		}
+
+		final ScrollPane scrollPane = canvas.getScrollPane();
+		final Bounds viewport = sceneToLocal(scrollPane == null ? new BoundingBox(0d, 0d, getScene().getWidth(), getScene().getHeight()) :
+			scrollPane.localToScene(scrollPane.getLayoutBounds()));
+		final double minX = Math.max(0d, viewport.getMinX());
+		final double minY = Math.max(0d, viewport.getMinY());
+		final double maxX = Math.min(getUpdateWidth(), viewport.getMaxX());
+		final double maxY = Math.min(getUpdateHeight(), viewport.getMaxY());
+
+		if(maxX <= minX || maxY <= minY) {
+			return null;
+		}
+
+		return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
 	}
 
-	protected void produceYMainLines(final double height, final double step, final double length) {
-		getChildren().addAll(IntStream
-			.rangeClosed(-1, (int) (height / step))
-			.parallel()
-			.mapToObj(i -> createLine(0d, i * step, length, i * step))
-			.collect(Collectors.toList()));
+	public void update() {
+		final Bounds visible = prefs.gridStyleProperty().get() == GridStyle.NONE ? null : getVisibleBounds();
+		nbLines = 0;
+
+		if(visible == null) {
+			raster.setWidth(0d);
+			raster.setHeight(0d);
+			return;
+		}
+
+		// The raster has the resolution of the screen whatever the zoom level
+		final Transform toScene = getLocalToSceneTransform();
+		final double scaleX = Math.abs(toScene.getMxx()) > 0d ? Math.abs(toScene.getMxx()) : 1d;
+		final double scaleY = Math.abs(toScene.getMyy()) > 0d ? Math.abs(toScene.getMyy()) : 1d;
+		final double step = getMainStep() * canvas.getPPCDrawing();
+		final double substep = getSubStep() * canvas.getPPCDrawing();
+		final int incr = (int) (step / substep);
+
+		raster.setWidth(Math.ceil(visible.getWidth() * scaleX));
+		raster.setHeight(Math.ceil(visible.getHeight() * scaleY));
+		raster.relocate(visible.getMinX(), visible.getMinY());
+		rasterScale.setX(1d / scaleX);
+		rasterScale.setY(1d / scaleY);
+
+		final GraphicsContext gc = raster.getGraphicsContext2D();
+		gc.setTransform(1d, 0d, 0d, 1d, 0d, 0d);
+		gc.clearRect(0d, 0d, raster.getWidth(), raster.getHeight());
+		gc.setTransform(scaleX, 0d, 0d, scaleY, -visible.getMinX() * scaleX, -visible.getMinY() * scaleY);
+		gc.setStroke(lineCol);
+		gc.setLineWidth(strokeWidth);
+		gc.beginPath();
+		produceXLines(gc, visible, step, substep, incr);
+		produceYLines(gc, visible, step, substep, incr);
+		gc.stroke();
 	}
 
-	protected void produceYSubLines(final double height, final double step, final double substep, final int incr, final double length) {
-		getChildren().addAll(IntStream
-			.rangeClosed(-1, (int) (height / step))
-			.parallel()
-			.mapToObj(j -> IntStream.range(1, incr)
-				.parallel()
-				.mapToObj(i -> createLine(0d, j * step + i * substep, length, j * step + i * substep)))
-			.flatMap(s -> s)
-			.collect(Collectors.toList()));
+	/**
+	 * Produces the visible vertical main and sub lines.
+	 */
+	protected void produceXLines(final @NotNull GraphicsContext gc, final @NotNull Bounds visible, final double step, final double substep, final int incr) {
+		final double minY = visible.getMinY() - strokeWidth;
+		final double maxY = visible.getMaxY() + strokeWidth;
+		final double mainMaxY = Math.min(getLengthMain(), maxY);
+		final double subMaxY = Math.min(getLengthSub(), maxY);
+		final int last = Math.min((int) (getUpdateWidth() / step), (int) Math.floor((visible.getMaxX() + strokeWidth) / step));
+
+		for(int j = Math.max(-1, (int) Math.floor((visible.getMinX() - strokeWidth) / step)); j <= last; j++) {
+			nbLines += incr;
+			gc.moveTo(j * step, minY);
+			gc.lineTo(j * step, mainMaxY);
+
+			for(int i = 1; i < incr; i++) {
+				gc.moveTo(j * step + i * substep, minY);
+				gc.lineTo(j * step + i * substep, subMaxY);
+			}
+		}
+	}
+
+	/**
+	 * Produces the visible horizontal main and sub lines.
+	 */
+	protected void produceYLines(final @NotNull GraphicsContext gc, final @NotNull Bounds visible, final double step, final double substep, final int incr) {
+		final double minX = visible.getMinX() - strokeWidth;
+		final double maxX = visible.getMaxX() + strokeWidth;
+		final double mainMaxX = Math.min(getLengthMain(), maxX);
+		final double subMaxX = Math.min(getLengthSub(), maxX);
+		final int last = Math.min((int) (getUpdateHeight() / step), (int) Math.floor((visible.getMaxY() + strokeWidth) / step));
+
+		for(int j = Math.max(-1, (int) Math.floor((visible.getMinY() - strokeWidth) / step)); j <= last; j++) {
+			nbLines += incr;
+			gc.moveTo(minX, j * step);
+			gc.lineTo(mainMaxX, j * step);
+
+			for(int i = 1; i < incr; i++) {
+				gc.moveTo(minX, j * step + i * substep);
+				gc.lineTo(subMaxX, j * step + i * substep);
+			}
+		}
 	}
 }
@@ -27,31 +27,63 @@ import net.sf.latexdraw.model.api.shape.Shape;
  * @author Arnaud Blouin
  */
 public interface PlotViewComputation {
-	default Point getPolarPoint(final Plot shape, final double x, final double xs, final double ys, final double posX, final double posY) {
-		final double radius = shape.getY(x);
-		final double angle = Math.toRadians(x);
-		final double x1 = radius * Math.cos(angle);
-		final double y1 = -radius * Math.sin(angle);
-		return ShapeFactory.INST.createPoint(x1 * Shape.PPC * xs + posX, y1 * Shape.PPC * ys + posY);
+	/**
+	 * Samples the function of the plot.
+	 * @return The samples: the X-coordinate of the sample i at the index 2i, the value of the function at 2i+1.
+	 * The samples may be cached: they must not be modified.
+	 */
+	default double[] sample(final Plot shape, final double minX, final double maxX, final double step) {
+		final int nbPts = Math.max(0, shape.getNbPlottedPoints());
+		final double[] samples = new double[nbPts * 2];
+
+		// The values are computed at once into the first cells of the samples, then interleaved with their X-coordinates
+		// from the last one: the cell i is read before the cells 2i and 2i+1 are written.
+		shape.getYs(minX, minX + step * (nbPts - 1), nbPts, samples);
+
+		for(int i = nbPts - 1; i >= 0; i--) {
+			samples[2 * i + 1] = samples[i];
+			samples[2 * i] = minX + i * step;
+		}
+
+		return samples;
 	}
 
-	default List<Point> fillPoints(final Plot shape, final double posX, final double posY, final double minX,
-								final double maxX, final double step) {
+	/**
+	 * Computes the coordinates of the plotted points.
+	 * @return The coordinates of the points: the X-coordinate of the point i at the index 2i, its Y-coordinate at 2i+1.
+	 */
+	default double[] fillCoordinates(final Plot shape, final double posX, final double posY, final double minX, final double maxX,
+									final double step) {
 		final double xs = shape.getXScale();
 		final double ys = shape.getYScale();
-		double x = minX;
-		final List<Point> pts = new ArrayList<>();
+		final double[] samples = sample(shape, minX, maxX, step);
+		final double[] coords = new double[samples.length];
 
-		if(shape.isPolar()) {
-			for(int i = 0; i < shape.getNbPlottedPoints(); i++, x += step) {
-				pts.add(getPolarPoint(shape, x, xs, ys, posX, posY));
-			}
-		}else {
-			for(int i = 0; i < shape.getNbPlottedPoints(); i++, x += step) {
-				pts.add(ShapeFactory.INST.createPoint(x * Shape.PPC * xs + posX, -shape.getY(x) * Shape.PPC * ys + posY));
+		for(int i = 0; i < coords.length; i += 2) {
+			final double x = samples[i];
+			final double y = samples[i + 1];
+			if(shape.isPolar()) {
+				final double angle = Math.toRadians(x);
+				coords[i] = y * Math.cos(angle) * Shape.PPC * xs + posX;
+				coords[i + 1] = -y * Math.sin(angle) * Shape.PPC * ys + posY;
+			}else {
+				coords[i] = x * Shape.PPC * xs + posX;
+				coords[i + 1] = -y * Shape.PPC * ys + posY;
 			}
 		}
 
+		return coords;
+	}
+
+	default List<Point> fillPoints(final Plot shape, final double posX, final double posY, final double minX,
+								final double maxX, final double step) {
+		final double[] coords = fillCoordinates(shape, posX, posY, minX, maxX, step);
+		final List<Point> pts = new ArrayList<>(coords.length / 2);
+
+		for(int i = 0; i < coords.length; i += 2) {
+			pts.add(ShapeFactory.INST.createPoint(coords[i], coords[i + 1]));
+		}
+
 		return pts;
 	}
 
@@ -23,17 +23,23 @@ import io.reactivex.rxjavafx.schedulers.JavaFxScheduler;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.ParallelTransition;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -77,6 +83,8 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	ViewsSynchroniserHandler, Flushable {
 	/** The margin used to surround the drawing. */
 	static int margins = 1500;
+	/** The size of the cells of the spatial index of the views. */
+	static final double INDEX_CELL_SIZE = 200d;
 
 	/** The origin of the drawing in the whole drawing area. */
 	public static final @NotNull Point ORIGIN = ShapeFactory.INST.createPoint(margins, margins);
@@ -105,8 +113,23 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	private final @NotNull Rectangle selectionBorder;
 	private final @NotNull Rectangle ongoingSelectionBorder;
 	private final @NotNull Map<Shape, ViewShape<?>> shapesToViewMap;
+	/** The spatial index of the views, based on their bounds in the shapes pane. */
+	private final @NotNull SpatialIndex<ViewShape<?>> viewsIndex;
+	/** The views whose bounds changed since the last update of the spatial index. */
+	private final @NotNull Set<ViewShape<?>> viewsToReindex;
+	/** The listeners that mark the views to reindex when their bounds change. */
+	private final @NotNull Map<ViewShape<?>, InvalidationListener> viewsIndexListeners;
+	/** The position of the views in the shapes pane, to sort the views in their painting order. Cleared when the views change. */
+	private final @NotNull Map<javafx.scene.Node, Integer> paintingOrder;
+	/** The views whose level of detail must be updated since their bounds changed. */
+	private final @NotNull Set<ViewShape<?>> viewsToLevel;
+	/** Whether an update of the levels of detail of the views is already planned. */
+	private boolean levelsUpdatePlanned;
+	/** Whether the level of detail of the views depends on their size on screen. If not, the views are fully detailed. */
+	private boolean levelOfDetailEnabled;
 	/** The magnetic grid of the canvas. */
 	private final @NotNull MagneticGrid magneticGrid;
+	private final @NotNull PreferencesService prefs;
 	/** Defined whether the canvas has been modified. */
 	private boolean modified;
 	/** The temporary view that the canvas may contain. */
@@ -121,6 +144,7 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 	public Canvas(final PreferencesService prefs, final ViewFactory viewFactory) {
 		super();
 		this.viewFactory = Objects.requireNonNull(viewFactory);
+		this.prefs = Objects.requireNonNull(prefs);
 		modified = false;
 		drawing = ShapeFactory.INST.createDrawing();
 		zoom = new SimpleDoubleProperty(1d);
@@ -132,6 +156,13 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		widgetsPane = new Group();
 		shapesPane = new Group();
 		shapesToViewMap = new HashMap<>();
+		viewsIndex = new SpatialIndex<>(INDEX_CELL_SIZE);
+		viewsToReindex = Collections.newSetFromMap(new IdentityHashMap<>());
+		viewsIndexListeners = new IdentityHashMap<>();
+		viewsToLevel = Collections.newSetFromMap(new IdentityHashMap<>());
+		paintingOrder = new IdentityHashMap<>();
+		levelsUpdatePlanned = false;
+		levelOfDetailEnabled = true;
 		selectionBorder = new Rectangle();
 		ongoingSelectionBorder = new Rectangle();
 
@@ -151,6 +182,7 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		widgetsPane.getChildren().add(ongoingSelectionBorder);
 		widgetsPane.relocate(ORIGIN.getX(), ORIGIN.getY());
 		shapesPane.relocate(ORIGIN.getX(), ORIGIN.getY());
+		shapesPane.getChildren().addListener((InvalidationListener) obs -> paintingOrder.clear());
 
 		defineShapeListToViewBinding();
 
@@ -183,6 +215,10 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 
 		shapesPane.setFocusTraversable(false);
 
+		zoom.addListener((observable, oldValue, newValue) -> updateLevelsOfDetail());
+		prefs.lodProxySizeProperty().addListener((observable, oldValue, newValue) -> updateLevelsOfDetail());
+		prefs.lodReducedSizeProperty().addListener((observable, oldValue, newValue) -> updateLevelsOfDetail());
+
 		prefWidthProperty().bind(Bindings.createDoubleBinding(() -> margins * 2d + prefs.getPage().getWidth() * Shape.PPC, prefs.pageProperty()));
 		prefHeightProperty().bind(Bindings.createDoubleBinding(() -> margins * 2d + prefs.getPage().getHeight() * Shape.PPC, prefs.pageProperty()));
 	}
@@ -267,6 +303,7 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 				}else {
 					shapesPane.getChildren().add(index, v);
 				}
+				addToViewsIndex(v);
 			}
 		}));
 	}
@@ -275,10 +312,136 @@ public class Canvas extends Pane implements Preferenciable, Modifiable, Reinitia
 		evt.getRemoved().forEach(sh -> {
 			final ViewShape<?> toRemove = shapesToViewMap.remove(sh);
 			shapesPane.getChildren().remove(toRemove);
+			removeFromViewsIndex(toRemove);
 			toRemove.flush();
 		});
 	}
 
+	private void addToViewsIndex(final @NotNull ViewShape<?> view) {
+		// The bounds of the view are only marked as dirty here: the index is updated lazily when queried.
+		final InvalidationListener listener = obs -> {
+			viewsToReindex.add(view);
+			planLevelOfDetailUpdate(view);
+		};
+		viewsIndexListeners.put(view, listener);
+		view.boundsInParentProperty().addListener(listener);
+		viewsIndex.put(view, view.getBoundsInParent());
+		updateLevelOfDetail(view);
+	}
+
+	private void removeFromViewsIndex(final @Nullable ViewShape<?> view) {
+		if(view != null) {
+			final InvalidationListener listener = viewsIndexListeners.remove(view);
+			if(listener != null) {
+				view.boundsInParentProperty().removeListener(listener);
+			}
+			viewsToReindex.remove(view);
+			viewsToLevel.remove(view);
+			viewsIndex.remove(view);
+		}
+	}
+
+	private void updateViewsIndex() {
+		if(!viewsToReindex.isEmpty()) {
+			viewsToReindex.forEach(view -> viewsIndex.put(view, view.getBoundsInParent()));
+			viewsToReindex.clear();
+		}
+	}
+
+	/**
+	 * Gives the views whose bounds intersect the given rectangle, using a spatial index.
+	 * The returned views are candidates: their bounds intersect the rectangle but their shapes may not.
+	 * @param bounds The rectangle, in the coordinate system of the views pane (i.e. the origin of the drawing).
+	 * @return The views in their painting order.
+	 */
+	public @NotNull List<ViewShape<?>> getViewsIntersecting(final @NotNull Bounds bounds) {
+		updateViewsIndex();
+		return sortByPaintingOrder(viewsIndex.query(bounds));
+	}
+
+	/**
+	 * Gives the views whose bounds are near the given point, using a spatial index.
+	 * The returned views are candidates: their bounds are near the point but their shapes may not.
+	 * @param x The X-coordinate of the point, in the coordinate system of the views pane (i.e. the origin of the drawing).
+	 * @param y The Y-coordinate of the point, in the coordinate system of the views pane (i.e. the origin of the drawing).
+	 * @param radius The tolerance around the point.
+	 * @return The views in their painting order.
+	 */
+	public @NotNull List<ViewShape<?>> getViewsNear(final double x, final double y, final double radius) {
+		updateViewsIndex();
+		return sortByPaintingOrder(viewsIndex.queryNear(x, y, radius));
+	}
+
+	/**
+	 * Plans the update of the level of detail of the given view once the current event is processed,
+	 * so that all the views that change together are updated at once.
+	 */
+	private void planLevelOfDetailUpdate(final @NotNull ViewShape<?> view) {
+		viewsToLevel.add(view);
+		if(!levelsUpdatePlanned) {
+			levelsUpdatePlanned = true;
+			Platform.runLater(() -> {
+				levelsUpdatePlanned = false;
+				final List<ViewShape<?>> views = List.copyOf(viewsToLevel);
+				viewsToLevel.clear();
+				views.forEach(v -> updateLevelOfDetail(v));
+			});
+		}
+	}
+
+	/**
+	 * Updates the level of detail of all the views, for instance when the zoom changes.
+	 */
+	private void updateLevelsOfDetail() {
+		viewsToLevel.clear();
+		shapesToViewMap.values().forEach(v -> updateLevelOfDetail(v));
+	}
+
+	/**
+	 * Selects the level of detail of the given view from its size on screen and the thresholds defined in the preferences.
+	 */
+	private void updateLevelOfDetail(final @NotNull ViewShape<?> view) {
+		if(levelOfDetailEnabled) {
+			final Bounds bounds = view.getBoundsInParent();
+			view.setLevelOfDetail(LevelOfDetail.fromSize(Math.max(bounds.getWidth(), bounds.getHeight()) * getZoom(),
+				prefs.lodProxySizeProperty().get(), prefs.lodReducedSizeProperty().get()));
+		}else {
+			view.setLevelOfDetail(LevelOfDetail.FULL);
+		}
+	}
+
+	/**
+	 * @return Whether the level of detail of the views depends on their size on screen.
+	 */
+	public boolean isLevelOfDetailEnabled() {
+		return levelOfDetailEnabled;
+	}
+
+	/**
+	 * Defines whether the level of detail of the views depends on their size on screen.
+	 * Should be disabled to produce images of the views with all their details (e.g. exports).
+	 * @param enabled If false, all the views are fully detailed.
+	 */
+	public void setLevelOfDetailEnabled(final boolean enabled) {
+		if(levelOfDetailEnabled != enabled) {
+			levelOfDetailEnabled = enabled;
+			updateLevelsOfDetail();
+		}
+	}
+
+	private @NotNull List<ViewShape<?>> sortByPaintingOrder(final @NotNull List<ViewShape<?>> views) {
+		if(views.size() > 1) {
+			if(paintingOrder.isEmpty()) {
+				final ObservableList<javafx.scene.Node> children = shapesPane.getChildren();
+				for(int i = 0, size = children.size(); i < size; i++) {
+					paintingOrder.put(children.get(i), i);
+				}
+			}
+			views.sort(Comparator.comparingInt(view -> paintingOrder.getOrDefault(view, -1)));
+		}
+		return views;
+	}
+
 
 	/**
 	 * @return The point where the page is located.
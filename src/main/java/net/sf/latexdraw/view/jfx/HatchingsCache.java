@@ -0,0 +1,322 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.Paint;
+import net.sf.latexdraw.model.api.shape.FillingStyle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of the tiles that paint hatchings, shared by the views.
+ * A tile only depends on the hatchings parameters (not on the size of the shapes): it is the smallest rectangle
+ * that repeats the hatchings. The tiles are rasterised pixel by pixel, without any scene snapshot.
+ * The cache is bounded in size, the least recently used tiles are evicted first.
+ * @author Arnaud Blouin
+ */
+public final class HatchingsCache {
+	/** The number of pixels of the tiles per unit of the drawing. */
+	static final double RESOLUTION = 2d;
+	/** The largest area of a tile, in units of the drawing. Hatchings almost parallel to an axis are considered parallel beyond. */
+	static final double MAX_TILE_AREA = 512d * 512d;
+	/** The largest dimension of a tile of crossed hatchings, in units of the drawing. */
+	static final double MAX_CROSSED_TILE_SIZE = 512d;
+
+	/** The iteration order is the access order. */
+	private final @NotNull Map<Key, Tile> tiles;
+	private final long maxBytes;
+	private long bytes;
+	private long nbHits;
+	private long nbMisses;
+
+	/**
+	 * Creates the cache.
+	 * @param maxBytes The maximal size of the tiles kept in memory.
+	 */
+	public HatchingsCache(final long maxBytes) {
+		super();
+		this.maxBytes = maxBytes;
+		tiles = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Gives the paint of the given hatchings. The tile of the hatchings is computed if not cached.
+	 * @param style The hatchings style (VLINES, HLINES, CLINES, or their filled versions).
+	 * @param angle The angle of the hatchings, in radian.
+	 * @param sep The gap between two hatchings.
+	 * @param width The width of the hatchings.
+	 * @param hatchingsCol The colour of the hatchings.
+	 * @param fillingCol The colour behind the hatchings. Null if transparent.
+	 * @param x The X-coordinate where the hatchings start (a hatching passes through this point).
+	 * @param y The Y-coordinate where the hatchings start.
+	 * @return The paint that repeats the tile from the given position, or a plain colour if the hatchings have no gap.
+	 */
+	public @NotNull Paint getPaint(final @NotNull FillingStyle style, final double angle, final double sep, final double width,
+								final @NotNull Color hatchingsCol, final @Nullable Color fillingCol, final double x, final double y) {
+		if(width + sep <= 0d) {
+			return hatchingsCol;
+		}
+
+		final Tile tile = getTile(new Key(style, angle, sep, width, hatchingsCol, fillingCol));
+		return new ImagePattern(tile.image, x, y, tile.width, tile.height, false);
+	}
+
+	private synchronized @NotNull Tile getTile(final @NotNull Key key) {
+		Tile tile = tiles.get(key);
+
+		if(tile == null) {
+			nbMisses++;
+			tile = createTile(key);
+			tiles.put(key, tile);
+			bytes += tile.getSize();
+			// The most recent tile is always kept, even if larger than the budget.
+			final Iterator<Tile> it = tiles.values().iterator();
+			while(bytes > maxBytes && tiles.size() > 1) {
+				bytes -= it.next().getSize();
+				it.remove();
+			}
+		}else {
+			nbHits++;
+		}
+
+		return tile;
+	}
+
+	/**
+	 * @return The number of requests that found a tile.
+	 */
+	public synchronized long getNbHits() {
+		return nbHits;
+	}
+
+	/**
+	 * @return The number of requests that computed a tile.
+	 */
+	public synchronized long getNbMisses() {
+		return nbMisses;
+	}
+
+	/**
+	 * @return The number of tiles kept in memory.
+	 */
+	public synchronized int getNbEntries() {
+		return tiles.size();
+	}
+
+	/**
+	 * Empties the cache.
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+		bytes = 0L;
+	}
+
+	/**
+	 * Computes the normals of the families of lines that compose the hatchings.
+	 * The lines of a family with normal n are the points p such that n.p is a multiple of the period (width + sep).
+	 */
+	private static double[][] getNormals(final Key key) {
+		final double[] normal = {Math.cos(key.angle), Math.sin(key.angle)};
+		final double[] perpendicular = {-normal[1], normal[0]};
+
+		switch(key.style) {
+			case HLINES:
+			case HLINES_PLAIN:
+				return new double[][] {perpendicular};
+			case CLINES:
+			case CLINES_PLAIN:
+				return new double[][] {normal, perpendicular};
+			default:
+				return new double[][] {normal};
+		}
+	}
+
+	private static Tile createTile(final Key key) {
+		final double period = key.width + key.sep;
+		final double[][] normals = getNormals(key);
+
+		// Hatchings almost parallel to an axis would need a too large tile: they are made parallel to this axis.
+		for(final double[] normal : normals) {
+			if(period * period / Math.abs(normal[0] * normal[1]) > MAX_TILE_AREA) {
+				normal[Math.abs(normal[0]) < Math.abs(normal[1]) ? 0 : 1] = 0d;
+			}
+		}
+
+		final double tileWidth = adjustNormals(normals, 0, period);
+		final double tileHeight = adjustNormals(normals, 1, period);
+		final int pxWidth = Math.max(1, (int) Math.ceil(tileWidth * RESOLUTION));
+		final int pxHeight = Math.max(1, (int) Math.ceil(tileHeight * RESOLUTION));
+		final WritableImage image = new WritableImage(pxWidth, pxHeight);
+		final PixelWriter writer = image.getPixelWriter();
+
+		for(int j = 0; j < pxHeight; j++) {
+			final double y = (j + 0.5) * tileHeight / pxHeight;
+			for(int i = 0; i < pxWidth; i++) {
+				final double coverage = getCoverage(normals, (i + 0.5) * tileWidth / pxWidth, y, period, key.width);
+				writer.setArgb(i, j, blend(key.hatchingsCol, key.fillingCol, coverage));
+			}
+		}
+
+		return new Tile(image, tileWidth, tileHeight);
+	}
+
+	/**
+	 * Computes the length of the tile along the given axis: a common multiple of the periods of the families of lines along this axis.
+	 * The normals are then slightly adjusted so that their lines repeat exactly in the tile.
+	 * @return The length of the tile along the given axis.
+	 */
+	private static double adjustNormals(final double[][] normals, final int axis, final double period) {
+		double length = -1d;
+
+		for(final double[] normal : normals) {
+			if(normal[axis] != 0d) {
+				final double axisPeriod = period / Math.abs(normal[axis]);
+				length = length < 0d ? axisPeriod : getCommonMultiple(length, axisPeriod);
+			}
+		}
+
+		if(length < 0d) {
+			// The lines are parallel to this axis
+			return period;
+		}
+
+		for(final double[] normal : normals) {
+			normal[axis] = Math.signum(normal[axis]) * period * Math.rint(length * Math.abs(normal[axis]) / period) / length;
+		}
+
+		return length;
+	}
+
+	/**
+	 * @return A multiple of the first length that is the nearest to a multiple of the second one.
+	 */
+	private static double getCommonMultiple(final double length1, final double length2) {
+		double best = length1;
+		double bestError = Double.MAX_VALUE;
+
+		for(int k = 1; k * length1 <= MAX_CROSSED_TILE_SIZE || k == 1; k++) {
+			final double ratio = k * length1 / length2;
+			final double error = ratio < 0.5 ? Double.MAX_VALUE : Math.abs(ratio - Math.rint(ratio)) / Math.rint(ratio);
+			if(error < bestError - 1e-9) {
+				best = k * length1;
+				bestError = error;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * @return The part of the pixel centred on the given position that is covered by the lines, in [0, 1].
+	 */
+	private static double getCoverage(final double[][] normals, final double x, final double y, final double period, final double width) {
+		double transparency = 1d;
+
+		for(final double[] normal : normals) {
+			final double phase = (normal[0] * x + normal[1] * y) / period;
+			final double dist = Math.abs(phase - Math.rint(phase)) * period / Math.hypot(normal[0], normal[1]);
+			// A pixel partially covered by the edge of a line is partially painted
+			final double coverage = Math.max(0d, Math.min(Math.min(1d, width * RESOLUTION), (width / 2d - dist) * RESOLUTION + 0.5));
+			transparency *= 1d - coverage;
+		}
+
+		return 1d - transparency;
+	}
+
+	/**
+	 * @return The ARGB value of the hatchings colour painted over the filling colour with the given coverage.
+	 */
+	private static int blend(final Color hatchingsCol, final @Nullable Color fillingCol, final double coverage) {
+		final double hatchingsOpacity = hatchingsCol.getOpacity() * coverage;
+		final double fillingOpacity = fillingCol == null ? 0d : fillingCol.getOpacity() * (1d - hatchingsOpacity);
+		final double opacity = hatchingsOpacity + fillingOpacity;
+
+		if(opacity <= 0d) {
+			return 0;
+		}
+
+		final Color under = fillingCol == null ? Color.TRANSPARENT : fillingCol;
+		return toByte(opacity) << 24 |
+			toByte((hatchingsCol.getRed() * hatchingsOpacity + under.getRed() * fillingOpacity) / opacity) << 16 |
+			toByte((hatchingsCol.getGreen() * hatchingsOpacity + under.getGreen() * fillingOpacity) / opacity) << 8 |
+			toByte((hatchingsCol.getBlue() * hatchingsOpacity + under.getBlue() * fillingOpacity) / opacity);
+	}
+
+	private static int toByte(final double value) {
+		return (int) Math.round(Math.max(0d, Math.min(1d, value)) * 255d);
+	}
+
+	private static final class Tile {
+		final @NotNull WritableImage image;
+		/** The width of the tile, in units of the drawing. */
+		final double width;
+		/** The height of the tile, in units of the drawing. */
+		final double height;
+
+		Tile(final @NotNull WritableImage image, final double width, final double height) {
+			super();
+			this.image = image;
+			this.width = width;
+			this.height = height;
+		}
+
+		long getSize() {
+			// Four bytes per pixel
+			return (long) image.getWidth() * (long) image.getHeight() * 4L;
+		}
+	}
+
+	private static final class Key {
+		final @NotNull FillingStyle style;
+		final double angle;
+		final double sep;
+		final double width;
+		final @NotNull Color hatchingsCol;
+		final @Nullable Color fillingCol;
+
+		Key(final @NotNull FillingStyle style, final double angle, final double sep, final double width, final @NotNull Color hatchingsCol,
+			final @Nullable Color fillingCol) {
+			super();
+			this.style = style;
+			this.angle = angle;
+			this.sep = sep;
+			this.width = width;
+			this.hatchingsCol = hatchingsCol;
+			this.fillingCol = fillingCol;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof Key)) {
+				return false;
+			}
+			final Key key = (Key) o;
+			return style == key.style && Double.compare(key.angle, angle) == 0 && Double.compare(key.sep, sep) == 0 &&
+				Double.compare(key.width, width) == 0 && hatchingsCol.equals(key.hatchingsCol) && Objects.equals(fillingCol, key.fillingCol);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(style, angle, sep, width, hatchingsCol, fillingCol);
+		}
+	}
+}
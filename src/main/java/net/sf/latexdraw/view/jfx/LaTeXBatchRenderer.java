@@ -0,0 +1,352 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import javafx.scene.image.Image;
+import net.sf.latexdraw.command.ExportFormat;
+import net.sf.latexdraw.util.OperatingSystem;
+import net.sf.latexdraw.util.SystemUtils;
+import net.sf.latexdraw.util.Tuple;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compiles LaTeX texts into pictures.
+ * Several texts are compiled in a single multi-page standalone document, so that the LaTeX toolchain
+ * (latex, dvips, ps2pdf, convert) is run once for all of them. The pages are then split back into one picture per text.
+ * The pictures are stored in the given rendering cache: texts already compiled do not start any process.
+ * @author Arnaud Blouin
+ */
+public final class LaTeXBatchRenderer {
+	/** The environment that delimits the pages of a batch document. */
+	private static final String PAGE_ENV = "latexdrawtext"; //NON-NLS
+	private static final String PNG_PREFIX = "page-"; //NON-NLS
+
+	private final @NotNull LaTeXRenderingCache cache;
+	private final @NotNull CommandRunner runner;
+	private long nbBatches;
+	private int lastBatchSize;
+	private long lastBatchDuration;
+
+	/**
+	 * Creates a renderer that runs the LaTeX toolchain of the system.
+	 * @param cache The cache where the pictures are looked for and stored.
+	 */
+	public LaTeXBatchRenderer(final @NotNull LaTeXRenderingCache cache) {
+		this(cache, (cmd, dir, started) -> SystemUtils.getInstance().execute(cmd, dir, started));
+	}
+
+	/**
+	 * Creates a renderer.
+	 * @param cache The cache where the pictures are looked for and stored.
+	 * @param runner Runs the commands of the LaTeX toolchain.
+	 */
+	LaTeXBatchRenderer(final @NotNull LaTeXRenderingCache cache, final @NotNull CommandRunner runner) {
+		super();
+		this.cache = cache;
+		this.runner = runner;
+	}
+
+	/**
+	 * Creates the standalone document of a single text.
+	 * @param packages The LaTeX packages to use.
+	 * @param body The LaTeX code of the text.
+	 * @return The LaTeX document.
+	 */
+	public static @NotNull String createDocument(final @NotNull String packages, final @NotNull String body) {
+		return "\\documentclass{standalone}\n\\usepackage[usenames,dvipsnames]{pstricks}" + packages + //NON-NLS
+			"\n\\begin{document}\n" + body + "\n\\end{document}"; //NON-NLS
+	}
+
+	/**
+	 * Creates the multi-page standalone document of several texts: one page per text.
+	 * @param packages The LaTeX packages to use.
+	 * @param bodies The LaTeX code of the texts.
+	 * @return The LaTeX document.
+	 */
+	static @NotNull String createBatchDocument(final @NotNull String packages, final @NotNull List<String> bodies) {
+		final StringBuilder doc = new StringBuilder();
+		doc.append("\\documentclass[multi]{standalone}\n\\usepackage[usenames,dvipsnames]{pstricks}").append(packages); //NON-NLS
+		doc.append("\n\\newenvironment{").append(PAGE_ENV).append("}{}{}\n\\standaloneenv{").append(PAGE_ENV).append("}\n\\begin{document}\n"); //NON-NLS
+		bodies.forEach(body -> doc.append("\\begin{").append(PAGE_ENV).append('}').append(body).append("\\end{").append(PAGE_ENV).append("}\n")); //NON-NLS
+		doc.append("\\end{document}"); //NON-NLS
+		return doc.toString();
+	}
+
+	/**
+	 * Produces the pictures of the given texts. The texts not in the cache are compiled together.
+	 * If the batch compilation fails (e.g. a text contains an error), the batch is split into two halves compiled separately,
+	 * until the failing texts are compiled alone: each text gets its own picture or its own error log,
+	 * and a single faulty text costs a number of compilations logarithmic in the number of texts.
+	 * @param packages The LaTeX packages to use.
+	 * @param bodies The LaTeX code of the texts.
+	 * @return For each text, in the same order, its picture (null if the compilation failed) and its compilation log.
+	 */
+	public @NotNull List<Tuple<Image, String>> render(final @NotNull String packages, final @NotNull List<String> bodies) {
+		return render(packages, bodies, new Job());
+	}
+
+	/**
+	 * Produces the pictures of the given texts. See render(String, List).
+	 * @param job The job that can cancel the compilation. Once cancelled, the running process is killed
+	 * and the texts not compiled yet get no picture.
+	 */
+	public @NotNull List<Tuple<Image, String>> render(final @NotNull String packages, final @NotNull List<String> bodies, final @NotNull Job job) {
+		final List<Tuple<Image, String>> results = new ArrayList<>(Collections.nCopies(bodies.size(), null));
+		final List<Integer> toCompile = new ArrayList<>();
+
+		for(int i = 0, size = bodies.size(); i < size; i++) {
+			final Optional<Tuple<Image, String>> cached = cache.get(createDocument(packages, bodies.get(i)));
+			if(cached.isPresent()) {
+				results.set(i, cached.get());
+			}else {
+				toCompile.add(i);
+			}
+		}
+
+		if(toCompile.size() == 1) {
+			results.set(toCompile.get(0), compileSingle(packages, bodies.get(toCompile.get(0)), job));
+		}else if(toCompile.size() > 1) {
+			final long start = System.currentTimeMillis();
+			compileBatch(packages, bodies, toCompile, results, job);
+			final long duration = System.currentTimeMillis() - start;
+
+			synchronized(this) {
+				nbBatches++;
+				lastBatchSize = toCompile.size();
+				lastBatchDuration = duration;
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * @return The number of batches compiled so far.
+	 */
+	public synchronized long getNbBatches() {
+		return nbBatches;
+	}
+
+	/**
+	 * @return The number of texts of the latest compiled batch.
+	 */
+	public synchronized int getLastBatchSize() {
+		return lastBatchSize;
+	}
+
+	/**
+	 * @return The duration in milliseconds of the compilation of the latest batch, bisection of a failing batch included.
+	 */
+	public synchronized long getLastBatchDuration() {
+		return lastBatchDuration;
+	}
+
+	private void compileBatch(final String packages, final List<String> bodies, final List<Integer> toCompile, final List<Tuple<Image, String>> results,
+		final Job job) {
+		final int size = toCompile.size();
+
+		if(size == 1) {
+			results.set(toCompile.get(0), compileSingle(packages, bodies.get(toCompile.get(0)), job));
+			return;
+		}
+
+		final Tuple<List<File>, String> pages = compile(createBatchDocument(packages, toCompile.stream().map(i -> bodies.get(i)).collect(Collectors.toList())), job);
+		// If some pages are missing, the texts cannot be matched with their pictures
+		final boolean ok = pages.a.size() == size;
+
+		if(ok) {
+			for(int i = 0; i < size; i++) {
+				final String doc = createDocument(packages, bodies.get(toCompile.get(i)));
+				final Image img = new Image(pages.a.get(i).toURI().toString());
+				cache.put(doc, img, pages.a.get(i), pages.b);
+				results.set(toCompile.get(i), new Tuple<>(img, pages.b));
+			}
+		}
+
+		pages.a.stream().findFirst().ifPresent(file -> SystemUtils.getInstance().removeDirWithContent(file.getParent()));
+
+		// Bisecting the batch to isolate the failing texts
+		if(!ok) {
+			compileBatch(packages, bodies, toCompile.subList(0, size / 2), results, job);
+			compileBatch(packages, bodies, toCompile.subList(size / 2, size), results, job);
+		}
+	}
+
+	private Tuple<Image, String> compileSingle(final String packages, final String body, final Job job) {
+		final String doc = createDocument(packages, body);
+		final Tuple<List<File>, String> pages = compile(doc, job);
+		Image img = null;
+
+		if(!pages.a.isEmpty()) {
+			img = new Image(pages.a.get(0).toURI().toString());
+			cache.put(doc, img, pages.a.get(0), pages.b);
+			SystemUtils.getInstance().removeDirWithContent(pages.a.get(0).getParent());
+		}
+
+		return new Tuple<>(img, pages.b);
+	}
+
+	/**
+	 * Runs the LaTeX toolchain on the given document.
+	 * @return The PNG file of each page, in the page order, and the compilation log.
+	 * The files are located in a temporary directory that the caller must remove. No file if the compilation failed.
+	 */
+	private Tuple<List<File>, String> compile(final String doc, final Job job) {
+		if(job.isCancelled()) {
+			return new Tuple<>(Collections.emptyList(), ""); //NON-NLS
+		}
+
+		final Optional<File> optDir = SystemUtils.getInstance().createTempDir();
+
+		if(optDir.isEmpty()) {
+			return new Tuple<>(Collections.emptyList(), "A temporary file cannot be created."); //NON-NLS
+		}
+
+		final File tmpDir = optDir.get();
+		final String basePathPic = tmpDir.getAbsolutePath() + SystemUtils.getInstance().fileSep + "latexdrawTmpPic" + System.currentTimeMillis(); //NON-NLS
+		final String pathTex = basePathPic + ExportFormat.TEX.getFileExtension();
+		final OperatingSystem os = SystemUtils.getInstance().getSystem().orElse(OperatingSystem.LINUX);
+
+		ViewText.LOGGER.log(Level.INFO, doc);
+
+		// Saving the LaTeX document into a file to be compiled.
+		if(SystemUtils.getInstance().saveFile(pathTex, doc).isEmpty()) {
+			SystemUtils.getInstance().removeDirWithContent(tmpDir.getPath());
+			return new Tuple<>(Collections.emptyList(), ""); //NON-NLS
+		}
+
+		// Compiling the LaTeX document.
+		Tuple<Boolean, String> res = run(job, new String[] {os.getLatexBinPath(), "--halt-on-error", "--interaction=nonstopmode", //NON-NLS
+			"--output-directory=" + tmpDir.getAbsolutePath(), SystemUtils.getInstance().normalizeForLaTeX(pathTex)}); //NON-NLS
+		boolean ok = res.a;
+		String log = res.b;
+
+		// Compiling the DVI document.
+		if(ok) {
+			res = run(job, new String[] {os.getDvipsBinPath(), basePathPic + ".dvi", "-o", //NON-NLS
+				basePathPic + ExportFormat.EPS_LATEX.getFileExtension()}); //NON-NLS
+			ok = res.a;
+			log = log + res.b;
+		}
+
+		// Converting the PS document as a PDF one.
+		if(ok) {
+			res = run(job, new String[] {os.getPs2pdfBinPath(), basePathPic + ExportFormat.EPS_LATEX.getFileExtension(),
+				basePathPic + ExportFormat.PDF.getFileExtension()}); //NON-NLS
+			ok = res.a;
+			log = log + res.b;
+		}
+
+		// Getting one picture per page of the PDF document.
+		if(ok) {
+			run(job, new String[] {"convert", basePathPic + ExportFormat.PDF.getFileExtension(), //NON-NLS
+				tmpDir.getAbsolutePath() + SystemUtils.getInstance().fileSep + PNG_PREFIX + "%d.png"}); //NON-NLS
+		}
+
+		ViewText.LOGGER.log(Level.INFO, log);
+
+		final List<File> pngs = ok && !job.isCancelled() ? getPages(tmpDir) : Collections.emptyList();
+
+		if(pngs.isEmpty()) {
+			// Deleting the temporary folder and its content.
+			SystemUtils.getInstance().removeDirWithContent(tmpDir.getPath());
+		}
+
+		return new Tuple<>(pngs, log);
+	}
+
+	private Tuple<Boolean, String> run(final Job job, final String[] cmd) {
+		if(job.isCancelled()) {
+			return new Tuple<>(Boolean.FALSE, ""); //NON-NLS
+		}
+		return runner.run(cmd, null, process -> job.setProcess(process));
+	}
+
+	/**
+	 * @return The PNG files produced from the pages of a document, sorted by page number.
+	 */
+	private static List<File> getPages(final File dir) {
+		final File[] files = dir.listFiles((d, name) -> name.startsWith(PNG_PREFIX) && name.endsWith(".png")); //NON-NLS
+		if(files == null) {
+			return Collections.emptyList();
+		}
+		return Arrays.stream(files).sorted(Comparator.comparingInt(file -> getPageNumber(file.getName()))).collect(Collectors.toList());
+	}
+
+	private static int getPageNumber(final String fileName) {
+		try {
+			return Integer.parseInt(fileName.substring(PNG_PREFIX.length(), fileName.length() - 4));
+		}catch(final NumberFormatException ex) {
+			return Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Runs a command of the LaTeX toolchain.
+	 */
+	@FunctionalInterface
+	interface CommandRunner {
+		/**
+		 * @param cmd The command to run.
+		 * @param dir The working directory. Can be null.
+		 * @param started Must be called with the process once started, so that the process can be killed.
+		 * @return Whether the command succeeded and its log.
+		 */
+		@NotNull Tuple<Boolean, String> run(final @NotNull String[] cmd, final @Nullable File dir, final @NotNull Consumer<Process> started);
+	}
+
+	/**
+	 * A compilation that can be cancelled.
+	 */
+	public static final class Job {
+		private boolean cancelled;
+		private @Nullable Process process;
+
+		public Job() {
+			super();
+		}
+
+		/**
+		 * Cancels the compilation: the running process is killed and the next steps are not run.
+		 */
+		public synchronized void cancel() {
+			cancelled = true;
+			if(process != null) {
+				process.destroyForcibly();
+			}
+		}
+
+		/**
+		 * @return True if the compilation has been cancelled.
+		 */
+		public synchronized boolean isCancelled() {
+			return cancelled;
+		}
+
+		synchronized void setProcess(final @NotNull Process started) {
+			process = started;
+			if(cancelled) {
+				started.destroyForcibly();
+			}
+		}
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javafx.scene.image.Image;
+import net.sf.latexdraw.util.BadaboomCollector;
+import net.sf.latexdraw.util.SystemUtils;
+import net.sf.latexdraw.util.Tuple;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of the pictures produced by the compilation of LaTeX documents.
+ * The pictures are identified by a hash of their LaTeX document: a document contains all the
+ * parameters of the compilation (text, colour, packages, scale), so that a modified parameter produces a new entry.
+ * The cache has two tiers: the most recently used pictures are kept in memory, the PNG files
+ * are stored in a directory to be reused between two sessions. Both tiers are bounded in size,
+ * the least recently used pictures are evicted first.
+ * @author Arnaud Blouin
+ */
+public final class LaTeXRenderingCache {
+	private static final String PNG_EXTENSION = ".png"; //NON-NLS
+	private static final String LOG_EXTENSION = ".log"; //NON-NLS
+
+	/** The in-memory tier. The iteration order is the access order. */
+	private final @NotNull Map<String, Tuple<Image, String>> memory;
+	/** The directory of the on-disk tier. Null if no disk tier. */
+	private final @Nullable Path diskDir;
+	private final long maxMemoryBytes;
+	private final long maxDiskBytes;
+	private long memoryBytes;
+	private long nbHits;
+	private long nbMisses;
+
+	/**
+	 * Creates the cache.
+	 * @param diskDir The directory where the PNG files are stored. Null if the pictures must only be kept in memory.
+	 * @param maxMemoryBytes The maximal size of the decoded pictures kept in memory.
+	 * @param maxDiskBytes The maximal size of the files stored on disk.
+	 */
+	public LaTeXRenderingCache(final @Nullable Path diskDir, final long maxMemoryBytes, final long maxDiskBytes) {
+		super();
+		this.diskDir = diskDir;
+		this.maxMemoryBytes = maxMemoryBytes;
+		this.maxDiskBytes = maxDiskBytes;
+		memory = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Looks for the picture of the given LaTeX document, in memory first, then on disk.
+	 * No process is started.
+	 * @param document The LaTeX document.
+	 * @return The picture and the compilation log of the document, or nothing if the document has not been compiled yet.
+	 */
+	public @NotNull Optional<Tuple<Image, String>> get(final @NotNull String document) {
+		final String key = hash(document);
+		Tuple<Image, String> entry;
+
+		synchronized(this) {
+			entry = memory.get(key);
+		}
+
+		if(entry == null) {
+			entry = readFromDisk(key);
+			if(entry != null) {
+				putInMemory(key, entry);
+			}
+		}
+
+		synchronized(this) {
+			if(entry == null) {
+				nbMisses++;
+			}else {
+				nbHits++;
+			}
+		}
+
+		return Optional.ofNullable(entry);
+	}
+
+	/**
+	 * Adds the picture of the given LaTeX document to the cache.
+	 * @param document The compiled LaTeX document.
+	 * @param img The picture produced by the compilation.
+	 * @param png The PNG file of the picture. Copied into the on-disk tier.
+	 * @param log The compilation log.
+	 */
+	public void put(final @NotNull String document, final @NotNull Image img, final @NotNull File png, final @NotNull String log) {
+		if(img.isError()) {
+			return;
+		}
+
+		final String key = hash(document);
+		putInMemory(key, new Tuple<>(img, log));
+
+		if(diskDir != null) {
+			try {
+				Files.createDirectories(diskDir);
+				Files.copy(png.toPath(), diskDir.resolve(key + PNG_EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+				Files.writeString(diskDir.resolve(key + LOG_EXTENSION), log, StandardCharsets.UTF_8);
+				trimDisk();
+			}catch(final IOException | SecurityException ex) {
+				BadaboomCollector.INSTANCE.add(ex);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of requests that found a picture, in memory or on disk.
+	 */
+	public synchronized long getNbHits() {
+		return nbHits;
+	}
+
+	/**
+	 * @return The number of requests that did not find any picture.
+	 */
+	public synchronized long getNbMisses() {
+		return nbMisses;
+	}
+
+	/**
+	 * @return The number of pictures kept in memory.
+	 */
+	public synchronized int getNbMemoryEntries() {
+		return memory.size();
+	}
+
+	/**
+	 * Empties the in-memory tier. The on-disk tier is kept.
+	 */
+	public synchronized void clearMemory() {
+		memory.clear();
+		memoryBytes = 0L;
+	}
+
+	private synchronized void putInMemory(final String key, final Tuple<Image, String> entry) {
+		final Tuple<Image, String> old = memory.put(key, entry);
+
+		if(old != null) {
+			memoryBytes -= getSize(old.a);
+		}
+		memoryBytes += getSize(entry.a);
+
+		// The most recent picture is always kept, even if larger than the budget.
+		final Iterator<Tuple<Image, String>> it = memory.values().iterator();
+		while(memoryBytes > maxMemoryBytes && memory.size() > 1) {
+			memoryBytes -= getSize(it.next().a);
+			it.remove();
+		}
+	}
+
+	private @Nullable Tuple<Image, String> readFromDisk(final String key) {
+		if(diskDir == null) {
+			return null;
+		}
+
+		final File png = diskDir.resolve(key + PNG_EXTENSION).toFile();
+		if(!png.isFile()) {
+			return null;
+		}
+
+		final Image img = new Image(png.toURI().toString());
+		if(img.isError()) {
+			SystemUtils.getInstance().removeFilePath(png.toPath());
+			return null;
+		}
+
+		// The modification date is used as the access date for the eviction.
+		png.setLastModified(System.currentTimeMillis());
+
+		try {
+			final Path log = diskDir.resolve(key + LOG_EXTENSION);
+			return new Tuple<>(img, log.toFile().isFile() ? Files.readString(log, StandardCharsets.UTF_8) : ""); //NON-NLS
+		}catch(final IOException | SecurityException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+			return new Tuple<>(img, ""); //NON-NLS
+		}
+	}
+
+	/**
+	 * Removes the least recently used files until the size of the on-disk tier respects its budget.
+	 */
+	private void trimDisk() throws IOException {
+		final List<File> pngs;
+
+		try(final Stream<Path> files = Files.list(diskDir)) {
+			pngs = files.map(path -> path.toFile()).filter(file -> file.getName().endsWith(PNG_EXTENSION)).
+				sorted(Comparator.comparingLong(file -> file.lastModified())).collect(Collectors.toList());
+		}
+
+		long size = pngs.stream().mapToLong(file -> file.length()).sum();
+		final Iterator<File> it = pngs.iterator();
+
+		while(size > maxDiskBytes && it.hasNext()) {
+			final File png = it.next();
+			size -= png.length();
+			SystemUtils.getInstance().removeFilePath(png.toPath());
+			SystemUtils.getInstance().removeFilePath(diskDir.resolve(SystemUtils.getInstance().getFileWithoutExtension(png.getName()) + LOG_EXTENSION));
+		}
+	}
+
+	private static long getSize(final Image img) {
+		// Four bytes per pixel once decoded
+		return (long) img.getWidth() * (long) img.getHeight() * 4L;
+	}
+
+	/**
+	 * @return The SHA-256 hash of the given document, in hexadecimal.
+	 */
+	static @NotNull String hash(final @NotNull String document) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(document.getBytes(StandardCharsets.UTF_8)); //NON-NLS
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for(final byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		}catch(final NoSuchAlgorithmException ex) {
+			// SHA-256 is supported by every Java platform
+			throw new IllegalStateException(ex);
+		}
+	}
+}
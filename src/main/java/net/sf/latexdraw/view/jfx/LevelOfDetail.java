@@ -0,0 +1,43 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The levels of detail of the views painted in the canvas.
+ * @author Arnaud Blouin
+ */
+public enum LevelOfDetail {
+	/** The view is painted with all its details. */
+	FULL,
+	/** The shadow, the double border, and the hatchings of the view are not painted. */
+	REDUCED,
+	/** The view is painted as its bounding box. */
+	PROXY;
+
+	/**
+	 * Selects the level of detail of a view from its size on screen.
+	 * @param size The largest dimension of the view on screen, in pixels.
+	 * @param proxySize The size below which the view is painted as its bounding box. Not considered if lower or equal to 0.
+	 * @param reducedSize The size below which the details of the view are not painted. Not considered if lower or equal to 0.
+	 * @return The level of detail to use.
+	 */
+	public static @NotNull LevelOfDetail fromSize(final double size, final int proxySize, final int reducedSize) {
+		if(proxySize > 0 && size < proxySize) {
+			return PROXY;
+		}
+		if(reducedSize > 0 && size < reducedSize) {
+			return REDUCED;
+		}
+		return FULL;
+	}
+}
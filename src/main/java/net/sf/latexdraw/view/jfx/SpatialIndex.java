@@ -0,0 +1,280 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.geometry.Bounds;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A uniform grid that indexes objects by their bounds to quickly find the objects
+ * that may intersect a rectangle or that may be near a point.
+ * The index only works on bounds: the returned objects are candidates that must be checked more precisely by the caller.
+ * @param <T> The type of the indexed objects.
+ * @author Arnaud Blouin
+ */
+public class SpatialIndex<T> {
+	/** Objects that cover more cells than this value are not stored in the grid but in a dedicated list. */
+	static final int MAX_CELLS_PER_OBJECT = 256;
+
+	/** The width and height of a cell. */
+	private final double cellSize;
+	/** The cells of the grid. The key is built from the column and the row of the cell. */
+	private final @NotNull Map<Long, List<T>> cells;
+	/** The location of each indexed object. */
+	private final @NotNull Map<T, Entry> entries;
+	/** The objects too large to be stored in the cells. */
+	private final @NotNull Set<T> oversized;
+	/** The number of objects whose bounds the last query checked. */
+	private int nbChecked;
+
+	/**
+	 * Creates an empty index.
+	 * @param cellSize The width and height of the grid cells. Must be greater than 0.
+	 * @throws IllegalArgumentException If the cell size is not valid.
+	 */
+	public SpatialIndex(final double cellSize) {
+		super();
+		if(!(cellSize > 0d) || Double.isInfinite(cellSize)) {
+			throw new IllegalArgumentException("Invalid cell size: " + cellSize); //NON-NLS
+		}
+		this.cellSize = cellSize;
+		cells = new HashMap<>();
+		entries = new IdentityHashMap<>();
+		oversized = Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Adds or updates the given object with the given bounds.
+	 * @param obj The object to index.
+	 * @param bounds The bounds of the object. If empty or not valid, the object is removed from the index.
+	 */
+	public void put(final @NotNull T obj, final @NotNull Bounds bounds) {
+		put(obj, bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+	}
+
+	/**
+	 * Adds or updates the given object with the given bounds.
+	 * @param obj The object to index.
+	 * @param minX The min X-coordinate of the object.
+	 * @param minY The min Y-coordinate of the object.
+	 * @param maxX The max X-coordinate of the object.
+	 * @param maxY The max Y-coordinate of the object.
+	 */
+	public void put(final @NotNull T obj, final double minX, final double minY, final double maxX, final double maxY) {
+		remove(obj);
+
+		if(!isValid(minX, minY, maxX, maxY)) {
+			return;
+		}
+
+		final Entry entry = new Entry(minX, minY, maxX, maxY, toCell(minX), toCell(minY), toCell(maxX), toCell(maxY));
+		entries.put(obj, entry);
+
+		if(entry.nbCells() > MAX_CELLS_PER_OBJECT) {
+			oversized.add(obj);
+			return;
+		}
+
+		for(int col = entry.minCol; col <= entry.maxCol; col++) {
+			for(int row = entry.minRow; row <= entry.maxRow; row++) {
+				cells.computeIfAbsent(key(col, row), k -> new ArrayList<>(4)).add(obj);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given object from the index.
+	 * @param obj The object to remove.
+	 * @return True if the object was indexed.
+	 */
+	public boolean remove(final @NotNull T obj) {
+		final Entry entry = entries.remove(obj);
+
+		if(entry == null) {
+			return false;
+		}
+
+		if(!oversized.remove(obj)) {
+			for(int col = entry.minCol; col <= entry.maxCol; col++) {
+				for(int row = entry.minRow; row <= entry.maxRow; row++) {
+					final Long key = key(col, row);
+					final List<T> cell = cells.get(key);
+					if(cell != null) {
+						cell.remove(obj);
+						if(cell.isEmpty()) {
+							cells.remove(key);
+						}
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all the indexed objects.
+	 */
+	public void clear() {
+		cells.clear();
+		entries.clear();
+		oversized.clear();
+	}
+
+	/**
+	 * @param obj The object to look for.
+	 * @return True if the given object is indexed.
+	 */
+	public boolean contains(final @NotNull T obj) {
+		return entries.containsKey(obj);
+	}
+
+	/**
+	 * @return The number of indexed objects.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return The number of objects whose bounds the last query checked: the cost of the query.
+	 */
+	int getNbChecked() {
+		return nbChecked;
+	}
+
+	/**
+	 * Looks for the objects whose bounds intersect the given rectangle.
+	 * @param bounds The rectangle to look at.
+	 * @return The objects whose bounds intersect the given rectangle (no specific order).
+	 */
+	public @NotNull List<T> query(final @NotNull Bounds bounds) {
+		return query(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+	}
+
+	/**
+	 * Looks for the objects whose bounds are at a distance lower or equal than the given radius from the given point.
+	 * @param x The X-coordinate of the point.
+	 * @param y The Y-coordinate of the point.
+	 * @param radius The tolerance around the point.
+	 * @return The objects near the given point (no specific order).
+	 */
+	public @NotNull List<T> queryNear(final double x, final double y, final double radius) {
+		final double r = Math.max(0d, radius);
+		return query(x - r, y - r, x + r, y + r);
+	}
+
+	/**
+	 * Looks for the objects whose bounds intersect the given rectangle.
+	 * @param minX The min X-coordinate of the rectangle.
+	 * @param minY The min Y-coordinate of the rectangle.
+	 * @param maxX The max X-coordinate of the rectangle.
+	 * @param maxY The max Y-coordinate of the rectangle.
+	 * @return The objects whose bounds intersect the given rectangle (no specific order).
+	 */
+	public @NotNull List<T> query(final double minX, final double minY, final double maxX, final double maxY) {
+		if(!isValid(minX, minY, maxX, maxY) || entries.isEmpty()) {
+			nbChecked = 0;
+			return Collections.emptyList();
+		}
+
+		final int minCol = toCell(minX);
+		final int maxCol = toCell(maxX);
+		final int minRow = toCell(minY);
+		final int maxRow = toCell(maxY);
+
+		// When the query covers more cells than there are objects, scanning the objects is cheaper.
+		if((long) (maxCol - minCol + 1) * (maxRow - minRow + 1) > entries.size()) {
+			return scanEntries(minX, minY, maxX, maxY);
+		}
+
+		final List<T> found = new ArrayList<>();
+		final Set<T> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for(int col = minCol; col <= maxCol; col++) {
+			for(int row = minRow; row <= maxRow; row++) {
+				final List<T> cell = cells.get(key(col, row));
+				if(cell != null) {
+					cell.stream().filter(obj -> visited.add(obj) && entries.get(obj).intersects(minX, minY, maxX, maxY)).forEach(obj -> found.add(obj));
+				}
+			}
+		}
+
+		oversized.stream().filter(obj -> entries.get(obj).intersects(minX, minY, maxX, maxY)).forEach(obj -> found.add(obj));
+		nbChecked = visited.size() + oversized.size();
+
+		return found;
+	}
+
+	private @NotNull List<T> scanEntries(final double minX, final double minY, final double maxX, final double maxY) {
+		final List<T> found = new ArrayList<>();
+		nbChecked = entries.size();
+		entries.forEach((obj, entry) -> {
+			if(entry.intersects(minX, minY, maxX, maxY)) {
+				found.add(obj);
+			}
+		});
+		return found;
+	}
+
+	private int toCell(final double coord) {
+		return (int) Math.floor(coord / cellSize);
+	}
+
+	private static Long key(final int col, final int row) {
+		return ((long) col << 32) | (row & 0xFFFFFFFFL);
+	}
+
+	private static boolean isValid(final double minX, final double minY, final double maxX, final double maxY) {
+		return Double.isFinite(minX) && Double.isFinite(minY) && Double.isFinite(maxX) && Double.isFinite(maxY) && minX <= maxX && minY <= maxY;
+	}
+
+	/**
+	 * The bounds of an indexed object and the cells it covers.
+	 */
+	private static final class Entry {
+		final double minX;
+		final double minY;
+		final double maxX;
+		final double maxY;
+		final int minCol;
+		final int minRow;
+		final int maxCol;
+		final int maxRow;
+
+		Entry(final double minX, final double minY, final double maxX, final double maxY, final int minCol, final int minRow,
+			final int maxCol, final int maxRow) {
+			super();
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+			this.minCol = minCol;
+			this.minRow = minRow;
+			this.maxCol = maxCol;
+			this.maxRow = maxRow;
+		}
+
+		long nbCells() {
+			return (long) (maxCol - minCol + 1) * (maxRow - minRow + 1);
+		}
+
+		boolean intersects(final double x1, final double y1, final double x2, final double y2) {
+			return minX <= x2 && maxX >= x1 && minY <= y2 && maxY >= y1;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import net.sf.latexdraw.util.BadaboomCollector;
+import net.sf.latexdraw.util.Tuple;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Schedules the compilation of the texts of the text views.
+ * A compilation request starts a quiet period: the requests of the same view received during this period
+ * are coalesced and the period restarts, so that typing a text compiles it once the user pauses.
+ * The views whose quiet period ends at the same time (e.g. the views created when loading a drawing) are compiled in the same batch.
+ * A request for a view whose text is being compiled supersedes this compilation: once all the texts
+ * of a running batch are superseded, the batch is cancelled and its process killed.
+ * @author Arnaud Blouin
+ */
+public final class TextCompilationScheduler {
+	/** The views whose quiet period ends within this delay after the current one are compiled in the same batch. */
+	static final long BATCH_WINDOW = 20L;
+
+	private final @NotNull ScheduledExecutorService pool;
+	private final @NotNull LaTeXBatchRenderer renderer;
+	/** The views waiting for the end of their quiet period, in the order of their first request. */
+	private final @NotNull Map<ViewText, Request> waiting;
+	/** The batch that compiles each view. */
+	private final @NotNull Map<ViewText, Batch> running;
+	private long quietPeriod;
+	private @Nullable ScheduledFuture<?> nextStart;
+	private long nextStartTime;
+	private long nbSubmitted;
+	private long nbCoalesced;
+	private long nbCancelled;
+
+	/**
+	 * Creates the scheduler.
+	 * @param pool The threads used to wait for the quiet periods and to compile the texts.
+	 * @param renderer The renderer that compiles the texts.
+	 * @param quietPeriod The quiet period in milliseconds.
+	 */
+	public TextCompilationScheduler(final @NotNull ScheduledExecutorService pool, final @NotNull LaTeXBatchRenderer renderer, final long quietPeriod) {
+		super();
+		this.pool = pool;
+		this.renderer = renderer;
+		this.quietPeriod = Math.max(0L, quietPeriod);
+		waiting = new LinkedHashMap<>();
+		running = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Requests the compilation of the current text of the given view.
+	 * @param view The view to compile.
+	 * @return The future completed once the compilation that will consider the current text is done or cancelled.
+	 */
+	synchronized @NotNull Future<?> request(final @NotNull ViewText view) {
+		nbSubmitted++;
+		supersede(view);
+
+		final long due = System.currentTimeMillis() + quietPeriod;
+		Request req = waiting.get(view);
+
+		if(req == null) {
+			req = new Request(due);
+			waiting.put(view, req);
+		}else {
+			// The pending compilation will consider the new text: the quiet period restarts.
+			nbCoalesced++;
+			req.due = due;
+		}
+
+		scheduleStart(due);
+		return req.done;
+	}
+
+	/**
+	 * Cancels the compilations of the given view (e.g. when the view is flushed).
+	 * @param view The view.
+	 */
+	synchronized void cancel(final @NotNull ViewText view) {
+		final Request req = waiting.remove(view);
+		if(req != null) {
+			nbCancelled++;
+			req.done.complete(null);
+		}
+		supersede(view);
+	}
+
+	/**
+	 * @return The number of compilation requests.
+	 */
+	public synchronized long getNbSubmitted() {
+		return nbSubmitted;
+	}
+
+	/**
+	 * @return The number of requests merged into a request waiting for its quiet period.
+	 */
+	public synchronized long getNbCoalesced() {
+		return nbCoalesced;
+	}
+
+	/**
+	 * @return The number of compilations abandoned because superseded by a new text or because their view was flushed.
+	 */
+	public synchronized long getNbCancelled() {
+		return nbCancelled;
+	}
+
+	/**
+	 * @return The quiet period in milliseconds.
+	 */
+	public synchronized long getQuietPeriod() {
+		return quietPeriod;
+	}
+
+	/**
+	 * @param period The new quiet period in milliseconds. Negative values are considered as 0.
+	 */
+	public synchronized void setQuietPeriod(final long period) {
+		quietPeriod = Math.max(0L, period);
+	}
+
+	/**
+	 * Marks the running compilation of the given view as useless. The batch is cancelled if all its views are superseded.
+	 */
+	private void supersede(final ViewText view) {
+		final Batch batch = running.remove(view);
+
+		if(batch != null) {
+			nbCancelled++;
+			batch.superseded.add(view);
+			if(batch.superseded.size() == batch.views.size()) {
+				batch.job.cancel();
+			}
+		}
+	}
+
+	private void scheduleStart(final long due) {
+		if(nextStart == null || due < nextStartTime) {
+			if(nextStart != null) {
+				nextStart.cancel(false);
+			}
+			nextStartTime = due;
+			nextStart = pool.schedule(() -> startBatch(), Math.max(0L, due - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Compiles the views whose quiet period is over.
+	 */
+	private void startBatch() {
+		final Batch batch;
+
+		synchronized(this) {
+			nextStart = null;
+			final long limit = System.currentTimeMillis() + BATCH_WINDOW;
+			final List<ViewText> views = waiting.entrySet().stream().filter(entry -> entry.getValue().due <= limit).map(entry -> entry.getKey()).
+				collect(Collectors.toList());
+
+			batch = new Batch(views);
+			views.forEach(view -> {
+				batch.done.add(waiting.remove(view).done);
+				running.put(view, batch);
+			});
+
+			waiting.values().stream().mapToLong(req -> req.due).min().ifPresent(due -> scheduleStart(due));
+		}
+
+		if(!batch.views.isEmpty()) {
+			compile(batch);
+		}
+	}
+
+	private void compile(final Batch batch) {
+		try {
+			// The versions are read before the texts: a text modified in between will not be applied.
+			final List<Long> versions = batch.views.stream().map(view -> view.getTextVersion()).collect(Collectors.toList());
+			final Map<String, List<Integer>> byPackages = new LinkedHashMap<>();
+
+			for(int i = 0, size = batch.views.size(); i < size; i++) {
+				byPackages.computeIfAbsent(batch.views.get(i).getPackages(), k -> new ArrayList<>()).add(i);
+			}
+
+			byPackages.forEach((packages, positions) -> {
+				final List<Tuple<Image, String>> images = renderer.render(packages,
+					positions.stream().map(i -> batch.views.get(i).getLaTeXBody()).collect(Collectors.toList()), batch.job);
+
+				if(!batch.job.isCancelled()) {
+					for(int i = 0, size = positions.size(); i < size; i++) {
+						final ViewText view = batch.views.get(positions.get(i));
+						final long version = versions.get(positions.get(i));
+						final Tuple<Image, String> image = images.get(i);
+						Platform.runLater(() -> view.updateImageText(image, version));
+					}
+				}
+			});
+		}catch(final RuntimeException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}finally {
+			synchronized(this) {
+				batch.views.forEach(view -> running.remove(view, batch));
+			}
+			batch.done.forEach(future -> future.complete(null));
+		}
+	}
+
+	/**
+	 * A request waiting for the end of its quiet period.
+	 */
+	private static final class Request {
+		final @NotNull CompletableFuture<Void> done;
+		long due;
+
+		Request(final long due) {
+			super();
+			this.due = due;
+			done = new CompletableFuture<>();
+		}
+	}
+
+	/**
+	 * The views compiled together.
+	 */
+	private static final class Batch {
+		final @NotNull List<ViewText> views;
+		final @NotNull Set<ViewText> superseded;
+		final @NotNull List<CompletableFuture<Void>> done;
+		final @NotNull LaTeXBatchRenderer.Job job;
+
+		Batch(final @NotNull List<ViewText> views) {
+			super();
+			this.views = views;
+			superseded = new HashSet<>();
+			done = new ArrayList<>();
+			job = new LaTeXBatchRenderer.Job();
+		}
+	}
+}
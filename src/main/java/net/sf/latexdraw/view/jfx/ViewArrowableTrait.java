@@ -31,8 +31,10 @@ import net.sf.latexdraw.model.api.shape.Point;
 abstract class ViewArrowableTrait<T extends Shape, S extends ArrowableSingleShape> extends ViewShape<S> {
 	protected final List<ViewArrow> arrows;
 	protected final ViewSingleShape<? extends ArrowableSingleShape, T> mainView;
-	protected final ChangeListener<Object> updateArrow = (observable, oldValue, newValue) -> updateAllArrows();
-	protected final ChangeListener<Object> updateClip = (observable, oldValue, newValue) -> updateClip();
+	private final Runnable arrowsUpdate = this::updateAllArrows;
+	private final Runnable clipUpdate = this::updateClip;
+	protected final ChangeListener<Object> updateArrow = (observable, oldValue, newValue) -> scheduleUpdate(arrowsUpdate);
+	protected final ChangeListener<Object> updateClip = (observable, oldValue, newValue) -> scheduleUpdate(clipUpdate);
 
 	ViewArrowableTrait(final ViewSingleShape<S, T> view) {
 		super(view.model);
@@ -43,7 +45,8 @@ abstract class ViewArrowableTrait<T extends Shape, S extends ArrowableSingleShap
 			final ViewArrow viewArrow = new ViewArrow(model.getArrowAt(i));
 			arrows.add(viewArrow);
 			getChildren().addAll(viewArrow);
-			model.getArrowAt(i).onChanges(() -> updateArrows(arrows.indexOf(viewArrow)));
+			final Runnable arrowUpdate = () -> updateArrows(arrows.indexOf(viewArrow));
+			model.getArrowAt(i).onChanges(() -> scheduleUpdate(arrowUpdate));
 		}
 
 		final int nbPts = model.getNbPoints();
@@ -37,6 +37,11 @@ public class ViewAxes extends ViewStdGrid<Axes> implements GenericAxes<Text> {
 	private final ChangeListener<Object> fullAxesUpdate;
 	private final ChangeListener<Object> ticksUpdate;
 	private final ChangeListener<Object> axesUpdate;
+	private final Runnable pathUpdate = this::updateDirtyPaths;
+	/** The parts of the axes to update at the next scheduled update. */
+	private boolean axesDirty;
+	private boolean ticksDirty;
+	private boolean textsDirty;
 
 	/**
 	 * Creates the view.
@@ -44,11 +49,11 @@ public class ViewAxes extends ViewStdGrid<Axes> implements GenericAxes<Text> {
 	 */
 	ViewAxes(final Axes sh, final PathElementProducer pathProducer) {
 		super(sh, pathProducer);
-		labelUpdate = (o, formerv, newv) -> updatePath(false, false, true);
-		labelTicksUpdate = (o, formerv, newv) -> updatePath(false, true, true);
-		fullAxesUpdate = (o, formerv, newv) -> updatePath(true, true, true);
-		ticksUpdate = (o, formerv, newv) -> updatePath(false, true, false);
-		axesUpdate = (o, formerv, newv) -> updatePath(true, false, false);
+		labelUpdate = (o, formerv, newv) -> invalidatePath(false, false, true);
+		labelTicksUpdate = (o, formerv, newv) -> invalidatePath(false, true, true);
+		fullAxesUpdate = (o, formerv, newv) -> invalidatePath(true, true, true);
+		ticksUpdate = (o, formerv, newv) -> invalidatePath(false, true, false);
+		axesUpdate = (o, formerv, newv) -> invalidatePath(true, false, false);
 
 		framePath = new Path();
 		pathTicks = new Path();
@@ -126,6 +131,27 @@ public class ViewAxes extends ViewStdGrid<Axes> implements GenericAxes<Text> {
 	}
 
 
+	/**
+	 * Marks the given parts of the axes as to update and schedules their update.
+	 */
+	private void invalidatePath(final boolean axes, final boolean ticks, final boolean texts) {
+		axesDirty |= axes;
+		ticksDirty |= ticks;
+		textsDirty |= texts;
+		scheduleUpdate(pathUpdate);
+	}
+
+	private void updateDirtyPaths() {
+		final boolean axes = axesDirty;
+		final boolean ticks = ticksDirty;
+		final boolean texts = textsDirty;
+		axesDirty = false;
+		ticksDirty = false;
+		textsDirty = false;
+		updatePath(axes, ticks, texts);
+	}
+
+
 	private final void updatePath(final boolean axes, final boolean ticks, final boolean texts) {
 		if(axes) {
 			framePath.getElements().clear();
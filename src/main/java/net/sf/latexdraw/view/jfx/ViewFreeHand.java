@@ -10,17 +10,37 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
 import java.util.List;
 import javafx.beans.value.ChangeListener;
+import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.model.api.shape.Freehand;
 import net.sf.latexdraw.model.api.shape.Point;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The JFX view of a freehand model.
+ * When points are appended to the model, only the end of the path is updated
+ * so that drawing a freehand shape does not rebuild the whole path on each new point.
  * @author Arnaud Blouin
  */
 public class ViewFreeHand extends ViewPathShape<Freehand> {
-	private final ChangeListener<Object> update = (observable, oldValue, newValue) -> setPath();
+	private final Runnable pathUpdate = this::setPath;
+	private final Runnable pathAppend = this::appendPath;
+	private final ChangeListener<Object> update = (observable, oldValue, newValue) -> scheduleUpdate(pathUpdate);
+	private final ChangeListener<Number> pointsAdded = (observable, oldValue, newValue) -> scheduleUpdate(pathAppend);
+	/** The point listened to update the path on translation. */
+	private final @Nullable Point listenedPt;
+	/** The position of the last point of the model used in the part of the path that does not change when points are appended. -1 if none. */
+	private int lastPathPt;
+	/** The number of path elements that do not change when points are appended. */
+	private int nbFixedElts;
+	/** The current point of the curves, i.e. the last point used by the fixed part of the path. */
+	private double curX;
+	private double curY;
+	/** The end point of the last curve of the fixed part of the path. */
+	private double midX;
+	private double midY;
 
 
 	/**
@@ -31,141 +51,173 @@ public class ViewFreeHand extends ViewPathShape<Freehand> {
 		super(sh, pathProducer);
 
 		// To update on translation. To improve.
-		if(!model.getPoints().isEmpty()) {
-			model.getPoints().get(model.getPoints().size() - 1).xProperty().addListener(update);
-			model.getPoints().get(model.getPoints().size() - 1).yProperty().addListener(update);
+		if(model.getPoints().isEmpty()) {
+			listenedPt = null;
+		}else {
+			listenedPt = model.getPoints().get(model.getPoints().size() - 1);
+			listenedPt.xProperty().addListener(update);
+			listenedPt.yProperty().addListener(update);
 		}
 
 		model.intervalProperty().addListener(update);
 		model.typeProperty().addListener(update);
 		model.openedProperty().addListener(update);
+		model.nbPointsProperty().addListener(pointsAdded);
 
 		setPath();
 	}
 
 
+	/**
+	 * Rebuilds the whole path.
+	 */
 	private final void setPath() {
 		border.getElements().clear();
 		shadow.getElements().clear();
+		lastPathPt = -1;
+		nbFixedElts = 0;
+		appendPath();
+	}
+
+
+	/**
+	 * Updates the path with the points added to the model since the latest update:
+	 * the end of the path (the last segment and the closing element) is replaced,
+	 * the rest of the path is kept.
+	 */
+	private void appendPath() {
+		final List<Point> pts = model.getPoints();
+
+		if(pts.size() < 2) {
+			return;
+		}
+
+		final List<PathElement> elts = new ArrayList<>();
+
+		if(lastPathPt < 0) {
+			lastPathPt = 0;
+			curX = pts.get(0).getX();
+			curY = pts.get(0).getY();
+			elts.add(pathProducer.createMoveTo(curX, curY));
+		}
+
+		switch(model.getType()) {
+			case CURVES:
+				appendCurves(pts, elts);
+				break;
+			case LINES:
+				appendLines(pts, elts);
+				break;
+		}
+
+		removeEnd(nbFixedElts);
+		border.getElements().addAll(elts);
+		shadow.getElements().addAll(elts);
+		nbFixedElts += elts.size();
+		elts.clear();
+
+		switch(model.getType()) {
+			case CURVES:
+				addCurvesEnd(pts, elts);
+				break;
+			case LINES:
+				elts.add(pathProducer.createLineTo(pts.get(pts.size() - 1).getX(), pts.get(pts.size() - 1).getY()));
+				break;
+		}
 
-		if(model.getNbPoints() > 1) {
-			switch(model.getType()) {
-				case CURVES:
-					setPathCurves();
-					break;
-				case LINES:
-					setPathLines();
-					break;
-			}
-
-			if(!model.isOpened()) {
-				border.getElements().add(pathProducer.createClosePath());
-			}
-
-			shadow.getElements().addAll(border.getElements());
+		if(!model.isOpened()) {
+			elts.add(pathProducer.createClosePath());
 		}
+
+		border.getElements().addAll(elts);
+		shadow.getElements().addAll(elts);
 	}
 
 
 	/**
-	 * Fills the path of curves.
+	 * Removes the path elements from the given position to the end of the path.
 	 */
-	private void setPathCurves() {
+	private void removeEnd(final int from) {
+		border.getElements().remove(from, border.getElements().size());
+		shadow.getElements().remove(from, shadow.getElements().size());
+	}
+
+
+	/**
+	 * Adds to the given list the curves of the points that follow the last used point.
+	 */
+	private void appendCurves(final List<Point> pts, final List<PathElement> elts) {
 		final int interval = model.getInterval();
-		final List<Point> pts = model.getPoints();
 		final int size = pts.size();
-		double prevx = pts.get(size - 1).getX();
-		double prevy = pts.get(size - 1).getY();
-		double curx = pts.get(0).getX();
-		double cury = pts.get(0).getY();
-		double midx = (curx + prevx) / 2d;
-		double midy = (cury + prevy) / 2d;
-		int i;
-		double x1;
-		double x2;
-		double y1;
-		double y2;
-
-		border.getElements().add(pathProducer.createMoveTo(curx, cury));
 
 		// Starting the drawing of the shape with a line.
-		if(size > interval) {
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(interval).getX();
-			cury = pts.get(interval).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-
-			border.getElements().add(pathProducer.createLineTo(midx, midy));
+		if(lastPathPt == 0 && size > interval) {
+			lastPathPt = interval;
+			midX = (pts.get(interval).getX() + curX) / 2d;
+			midY = (pts.get(interval).getY() + curY) / 2d;
+			curX = pts.get(interval).getX();
+			curY = pts.get(interval).getY();
+			elts.add(pathProducer.createLineTo(midX, midY));
 		}
 
 		// Adding curves
-		for(i = interval * 2; i < size; i += interval) {
-			x1 = (midx + curx) / 2d;
-			y1 = (midy + cury) / 2d;
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(i).getX();
-			cury = pts.get(i).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-			x2 = (prevx + midx) / 2d;
-			y2 = (prevy + midy) / 2d;
-
-			border.getElements().add(pathProducer.createCubicCurveTo(x1, y1, x2, y2, midx, midy));
+		for(int i = lastPathPt + interval; lastPathPt > 0 && i < size; i += interval) {
+			final double x1 = (midX + curX) / 2d;
+			final double y1 = (midY + curY) / 2d;
+			final double prevx = curX;
+			final double prevy = curY;
+			curX = pts.get(i).getX();
+			curY = pts.get(i).getY();
+			midX = (curX + prevx) / 2d;
+			midY = (curY + prevy) / 2d;
+			elts.add(pathProducer.createCubicCurveTo(x1, y1, (prevx + midX) / 2d, (prevy + midY) / 2d, midX, midY));
+			lastPathPt = i;
 		}
+	}
+
+
+	/**
+	 * Adds to the given list the curve that joins the last used point to the last point of the shape.
+	 */
+	private void addCurvesEnd(final List<Point> pts, final List<PathElement> elts) {
+		final int size = pts.size();
 
 		// If it remains not used points.
-		if(i - interval + 1 < size) {
-			x1 = (midx + curx) / 2d;
-			y1 = (midy + cury) / 2d;
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(size - 1).getX();
-			cury = pts.get(size - 1).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-			x2 = (prevx + midx) / 2d;
-			y2 = (prevy + midy) / 2d;
-
-			border.getElements().add(pathProducer.createCubicCurveTo(x1, y1, x2, y2, pts.get(size - 1).getX(), pts.get(size - 1).getY()));
+		if(lastPathPt > 0 && lastPathPt + 1 < size) {
+			final double lastx = pts.get(size - 1).getX();
+			final double lasty = pts.get(size - 1).getY();
+			final double lastMidx = (lastx + curX) / 2d;
+			final double lastMidy = (lasty + curY) / 2d;
+			elts.add(pathProducer.createCubicCurveTo((midX + curX) / 2d, (midY + curY) / 2d, (curX + lastMidx) / 2d, (curY + lastMidy) / 2d, lastx, lasty));
 		}
 	}
 
 
 	/**
-	 * Fills the path of lines.
+	 * Adds to the given list the lines of the points that follow the last used point.
 	 */
-	private void setPathLines() {
+	private void appendLines(final List<Point> pts, final List<PathElement> elts) {
 		final int interval = model.getInterval();
-		final List<Point> pts = model.getPoints();
 		final int size = pts.size();
-		Point pt = pts.get(0);
-		int i;
-
-		border.getElements().add(pathProducer.createMoveTo(pt.getX(), pt.getY()));
-
-		for(i = interval; i < size; i += interval) {
-			pt = pts.get(i);
-			border.getElements().add(pathProducer.createLineTo(pt.getX(), pt.getY()));
-		}
 
-		if(i - interval < size) {
-			border.getElements().add(pathProducer.createLineTo(pts.get(size - 1).getX(), pts.get(size - 1).getY()));
+		for(int i = lastPathPt + interval; i < size; i += interval) {
+			final Point pt = pts.get(i);
+			elts.add(pathProducer.createLineTo(pt.getX(), pt.getY()));
+			lastPathPt = i;
 		}
 	}
 
 	@Override
 	public void flush() {
-		if(!border.getElements().isEmpty()) {
-			model.getPoints().get(model.getPoints().size() - 1).xProperty().removeListener(update);
-			model.getPoints().get(model.getPoints().size() - 1).yProperty().removeListener(update);
+		if(listenedPt != null) {
+			listenedPt.xProperty().removeListener(update);
+			listenedPt.yProperty().removeListener(update);
 		}
 
 		model.intervalProperty().removeListener(update);
 		model.typeProperty().removeListener(update);
 		model.openedProperty().removeListener(update);
+		model.nbPointsProperty().removeListener(pointsAdded);
 
 		super.flush();
 	}
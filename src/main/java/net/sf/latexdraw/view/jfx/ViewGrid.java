@@ -35,6 +35,11 @@ public class ViewGrid extends ViewStdGrid<Grid> {
 	private final ChangeListener<Number> subGridUpdate;
 	private final ChangeListener<Object> gridUpdate;
 	private final ChangeListener<Object> labelUpdate;
+	private final Runnable pathUpdate = this::updateDirtyPaths;
+	/** The parts of the grid to update at the next scheduled update. */
+	private boolean mainGridDirty;
+	private boolean subGridDirty;
+	private boolean labelsDirty;
 
 	/**
 	 * Creates the view.
@@ -46,19 +51,19 @@ public class ViewGrid extends ViewStdGrid<Grid> {
 		subgrid = new Path();
 		mainGridLineCapUpdate = (o, formerv, newv) -> {
 			maingrid.setStrokeLineCap(newv.doubleValue() > 0d ? StrokeLineCap.ROUND : StrokeLineCap.SQUARE);
-			updatePath(true, false, false);
+			invalidatePath(true, false, false);
 		};
 		subGridLineCapUpdate = (o, formerv, newv) -> {
 			subgrid.setStrokeLineCap(newv.doubleValue() > 0d ? StrokeLineCap.ROUND : StrokeLineCap.SQUARE);
-			updatePath(false, true, false);
+			invalidatePath(false, true, false);
 		};
-		gridUpdate = (o, formerv, newv) -> updatePath(true, true, true);
-		labelUpdate = (o, formerv, newv) -> updatePath(false, false, true);
+		gridUpdate = (o, formerv, newv) -> invalidatePath(true, true, true);
+		labelUpdate = (o, formerv, newv) -> invalidatePath(false, false, true);
 		gridWidthUpdate = (o, formerv, newv) -> {
 			maingrid.setStrokeWidth(model.getGridWidth());
-			updatePath(false, false, true);
+			invalidatePath(false, false, true);
 		};
-		subGridUpdate = (o, formerv, newv) -> updatePath(false, true, false);
+		subGridUpdate = (o, formerv, newv) -> invalidatePath(false, true, false);
 
 		getChildren().add(subgrid);
 		getChildren().add(maingrid);
@@ -265,6 +270,27 @@ public class ViewGrid extends ViewStdGrid<Grid> {
 	}
 
 
+	/**
+	 * Marks the given parts of the grid as to update and schedules their update.
+	 */
+	private void invalidatePath(final boolean withMainGrid, final boolean withSubGrid, final boolean withLabels) {
+		mainGridDirty |= withMainGrid;
+		subGridDirty |= withSubGrid;
+		labelsDirty |= withLabels;
+		scheduleUpdate(pathUpdate);
+	}
+
+	private void updateDirtyPaths() {
+		final boolean withMainGrid = mainGridDirty;
+		final boolean withSubGrid = subGridDirty;
+		final boolean withLabels = labelsDirty;
+		mainGridDirty = false;
+		subGridDirty = false;
+		labelsDirty = false;
+		updatePath(withMainGrid, withSubGrid, withLabels);
+	}
+
+
 	private final void updatePath(final boolean withMainGrid, final boolean withSubGrid, final boolean withLabels) {
 		final double minY = model.getGridMinY();
 		final double maxY = model.getGridMaxY();
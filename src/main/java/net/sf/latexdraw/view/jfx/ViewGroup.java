@@ -31,6 +31,12 @@ public class ViewGroup extends ViewShape<Group> {
 		getChildren().add(group);
 	}
 
+	@Override
+	protected void reduceDetails(final boolean reduce) {
+		final LevelOfDetail level = reduce ? LevelOfDetail.REDUCED : LevelOfDetail.FULL;
+		group.getChildren().forEach(ch -> ((ViewShape<?>) ch).setLevelOfDetail(level));
+	}
+
 	@Override
 	public void flush() {
 		super.flush();
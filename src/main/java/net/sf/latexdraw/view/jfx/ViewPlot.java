@@ -11,22 +11,31 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
 import net.sf.latexdraw.model.api.shape.Plot;
 import net.sf.latexdraw.view.PlotViewComputation;
 
 /**
  * The JFX view of a plot.
+ * The samples of the function are cached: the changes of the style or of the scales of the plot do not sample the function again.
  * @author Arnaud Blouin
  */
 public class ViewPlot extends ViewPositionShape<Plot> implements PlotViewComputation {
 	private ViewPolyline lineView;
 	private ViewPolygon polygonView;
 	private ViewBezierCurve curveView;
-	private List<ViewDot> dotsView;
 	private final PathElementProducer pathProducer;
 	private final ChangeListener<Object> updatePath = (observable, oldValue, newValue) -> updatePath();
+	private final ChangeListener<Object> updateStyle = (observable, oldValue, newValue) -> updateStyle();
+	/** The last computed samples of the function. */
+	private double[] samples;
+	/** The parameters the last samples were computed with. */
+	private SamplesKey samplesKey;
+	/** The number of times the samples were reused. */
+	private long nbSamplesHits;
 
 	/**
 	 * Creates the view.
@@ -46,10 +55,58 @@ public class ViewPlot extends ViewPositionShape<Plot> implements PlotViewComputa
 		model.polarProperty().addListener(updatePath);
 		model.xScaleProperty().addListener(updatePath);
 		model.yScaleProperty().addListener(updatePath);
+		getStyleProperties().forEach(prop -> prop.addListener(updateStyle));
 
 		updatePath();
 	}
 
+	/**
+	 * @return The properties of the plot that only change the style of its sub-views.
+	 */
+	private List<ObservableValue<?>> getStyleProperties() {
+		return List.of(model.thicknessProperty(), model.linestyleProperty(), model.borderPosProperty(), model.lineColourProperty(),
+			model.fillingProperty(), model.dashSepWhiteProperty(), model.dashSepBlackProperty(), model.dotSepProperty(), model.dbleBordProperty(),
+			model.dbleBordSepProperty(), model.dbleBordColProperty(), model.gradColStartProperty(), model.gradColEndProperty(),
+			model.fillingColProperty(), model.gradAngleProperty(), model.gradMidPtProperty(), model.shadowProperty(), model.shadowColProperty(),
+			model.shadowAngleProperty(), model.shadowSizeProperty(), model.hatchingsAngleProperty(), model.hatchingsSepProperty(),
+			model.hatchingsWidthProperty(), model.hatchingsColProperty());
+	}
+
+	@Override
+	public double[] sample(final Plot shape, final double minX, final double maxX, final double step) {
+		final SamplesKey key = new SamplesKey(shape, minX, maxX, step);
+
+		if(key.equals(samplesKey)) {
+			nbSamplesHits++;
+		}else {
+			samples = PlotViewComputation.super.sample(shape, minX, maxX, step);
+			samplesKey = key;
+		}
+
+		return samples;
+	}
+
+	/**
+	 * @return The number of times the samples of the function were reused instead of being computed.
+	 */
+	long getNbSamplesHits() {
+		return nbSamplesHits;
+	}
+
+	/**
+	 * Applies the style of the plot to its sub-view. The samples and the sub-view are kept, except the dots that are painted again.
+	 */
+	private void updateStyle() {
+		for(final Node child : getChildren()) {
+			if(child instanceof ViewShape<?>) {
+				((ViewShape<?>) child).getModel().copy(model);
+			}else {
+				updatePath();
+				return;
+			}
+		}
+	}
+
 	private final void updatePath() {
 		final double minX = model.getPlotMinX();
 		final double maxX = model.getPlotMaxX();
@@ -82,13 +139,9 @@ public class ViewPlot extends ViewPositionShape<Plot> implements PlotViewComputa
 
 
 	private void updatePoints(final double minX, final double maxX, final double step) {
-		flushDots();
-		dotsView = updatePoints(model, 0d, 0d, minX, maxX, step).parallelStream().map(dot -> {
-			final ViewDot viewDot = new ViewDot(dot, pathProducer);
-			viewDot.setUserData(this);
-			return viewDot;
-		}).collect(Collectors.toList());
-		getChildren().addAll(dotsView);
+		final ViewPlotDots dotsView = new ViewPlotDots(model, fillCoordinates(model, 0d, 0d, minX, maxX, step), pathProducer);
+		dotsView.setUserData(this);
+		getChildren().add(dotsView);
 	}
 
 	private void updatePolygon(final double minX, final double maxX, final double step) {
@@ -128,10 +181,10 @@ public class ViewPlot extends ViewPositionShape<Plot> implements PlotViewComputa
 		model.polarProperty().removeListener(updatePath);
 		model.xScaleProperty().removeListener(updatePath);
 		model.yScaleProperty().removeListener(updatePath);
+		getStyleProperties().forEach(prop -> prop.removeListener(updateStyle));
 
 		flushLine();
 		flushCurve();
-		flushDots();
 		flushPolygon();
 	}
 
@@ -153,10 +206,40 @@ public class ViewPlot extends ViewPositionShape<Plot> implements PlotViewComputa
 		}
 	}
 
-	private void flushDots() {
-		if(dotsView != null) {
-			dotsView.forEach(v -> v.flush());
-			dotsView.clear();
+	private static final class SamplesKey {
+		final String equation;
+		final double minX;
+		final double maxX;
+		final double step;
+		final int nbPts;
+		final boolean polar;
+
+		SamplesKey(final Plot plot, final double minX, final double maxX, final double step) {
+			super();
+			equation = plot.getPlotEquation();
+			nbPts = plot.getNbPlottedPoints();
+			polar = plot.isPolar();
+			this.minX = minX;
+			this.maxX = maxX;
+			this.step = step;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof SamplesKey)) {
+				return false;
+			}
+			final SamplesKey key = (SamplesKey) o;
+			return Double.compare(key.minX, minX) == 0 && Double.compare(key.maxX, maxX) == 0 && Double.compare(key.step, step) == 0 &&
+				nbPts == key.nbPts && polar == key.polar && Objects.equals(equation, key.equation);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(equation, minX, maxX, step, nbPts, polar);
 		}
 	}
 }
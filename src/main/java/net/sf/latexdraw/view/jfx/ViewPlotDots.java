@@ -0,0 +1,117 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.Group;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Shape;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Dot;
+import net.sf.latexdraw.model.api.shape.Plot;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The JFX view of the dots of a plot. The dots are not shapes: the glyph of a dot is computed once by a dot view
+ * and repeated at each plotted point, so that all the dots are painted by two paths.
+ * @author Arnaud Blouin
+ */
+class ViewPlotDots extends Group {
+	/** The circles of the dots (O, DOT, OPLUS, OTIMES styles). */
+	final Path circles;
+	/** The other parts of the dots. */
+	final Path glyphs;
+
+	/**
+	 * Creates the view.
+	 * @param plot The plot, which provides the parameters of the dots.
+	 * @param coords The positions of the dots: the X-coordinate of the dot i at the index 2i, its Y-coordinate at 2i+1.
+	 * @param pathProducer The producer of the path elements.
+	 */
+	ViewPlotDots(final @NotNull Plot plot, final double @NotNull [] coords, final @NotNull PathElementProducer pathProducer) {
+		super();
+		circles = new Path();
+		glyphs = new Path();
+
+		// The glyph of a dot placed at the origin
+		final Dot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint());
+		dot.copy(plot);
+		dot.setPosition(0d, 0d);
+		dot.setRotationAngle(0d);
+		final ViewDot template = new ViewDot(dot, pathProducer);
+
+		copyStyle(template.dot, circles);
+		copyStyle(template.path, glyphs);
+		circles.setVisible(template.dot.isVisible() && template.dot.getRadiusX() > 0d);
+		glyphs.setVisible(template.path.isVisible() && !template.path.getElements().isEmpty());
+
+		if(circles.isVisible()) {
+			circles.getElements().setAll(repeatCircle(template.dot.getRadiusX(), coords, pathProducer));
+		}
+		if(glyphs.isVisible()) {
+			glyphs.getElements().setAll(repeatPath(template.path.getElements(), coords, pathProducer));
+		}
+
+		template.flush();
+		getChildren().addAll(circles, glyphs);
+	}
+
+	private static void copyStyle(final Shape src, final Shape tgt) {
+		tgt.setStroke(src.getStroke());
+		tgt.setStrokeWidth(src.getStrokeWidth());
+		tgt.setStrokeLineCap(src.getStrokeLineCap());
+		tgt.setFill(src.getFill());
+	}
+
+	private static List<PathElement> repeatCircle(final double radius, final double[] coords, final PathElementProducer pathProducer) {
+		final List<PathElement> elts = new ArrayList<>(coords.length * 2);
+
+		for(int i = 0; i < coords.length; i += 2) {
+			final double x = coords[i];
+			final double y = coords[i + 1];
+			elts.add(pathProducer.createMoveTo(x + radius, y));
+			elts.add(new ArcTo(radius, radius, 0d, x - radius, y, false, true));
+			elts.add(new ArcTo(radius, radius, 0d, x + radius, y, false, true));
+			elts.add(pathProducer.createClosePath());
+		}
+
+		return elts;
+	}
+
+	/**
+	 * Translates the elements of the given path at each position.
+	 */
+	private static List<PathElement> repeatPath(final List<PathElement> path, final double[] coords, final PathElementProducer pathProducer) {
+		final List<PathElement> elts = new ArrayList<>(coords.length / 2 * path.size());
+
+		for(int i = 0; i < coords.length; i += 2) {
+			final double x = coords[i];
+			final double y = coords[i + 1];
+			for(final PathElement elt : path) {
+				if(elt instanceof MoveTo) {
+					elts.add(pathProducer.createMoveTo(((MoveTo) elt).getX() + x, ((MoveTo) elt).getY() + y));
+				}else if(elt instanceof LineTo) {
+					elts.add(pathProducer.createLineTo(((LineTo) elt).getX() + x, ((LineTo) elt).getY() + y));
+				}else {
+					// The dot glyphs are only composed of lines
+					elts.add(pathProducer.createClosePath());
+				}
+			}
+		}
+
+		return elts;
+	}
+}
@@ -11,16 +11,26 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.SingleShape;
 import net.sf.latexdraw.util.Flushable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The base class of a JFX shape view.
@@ -28,8 +38,27 @@ import net.sf.latexdraw.util.Flushable;
  * @author Arnaud Blouin
  */
 public abstract class ViewShape<S extends Shape> extends Group implements Flushable {
+	/** Coalesces the updates of the displayed views into a single pass per pulse. */
+	static final ViewUpdateScheduler UPDATES = new ViewUpdateScheduler();
+	/** The key of the node properties where the opacity of the children hidden by the proxy is saved. */
+	private static final String OPACITY_BEFORE_PROXY = "opacityBeforeProxy"; //NON-NLS
+
 	/** The model of the view. */
 	protected final S model;
+	/** The level of detail used to paint the view. */
+	private @NotNull LevelOfDetail levelOfDetail;
+	/** The bounding box that replaces the hidden children of the view when painted as a proxy. */
+	private @Nullable Rectangle proxy;
+	private final @NotNull InvalidationListener proxyUpdate = obs -> updateProxy();
+	private final @NotNull ListChangeListener<Node> proxyChildrenUpdate = this::onChildrenChangedWhileProxy;
+	/** The number of times the scheduled updates of the view were run. */
+	private long nbUpdatePasses;
+	/** Runs the updates held while the view updates of the model were held, once released. */
+	private final @NotNull ChangeListener<Boolean> viewUpdatesRelease = (obs, oldValue, newValue) -> {
+		if(!newValue) {
+			UPDATES.release(this);
+		}
+	};
 
 	/**
 	 * Creates the view.
@@ -38,6 +67,8 @@ public abstract class ViewShape<S extends Shape> extends Group implements Flusha
 	ViewShape(final S sh) {
 		super();
 		model = sh;
+		levelOfDetail = LevelOfDetail.FULL;
+		model.viewUpdatesHeldProperty().addListener(viewUpdatesRelease);
 
 		setUserData(model);
 		setFocusTraversable(false);
@@ -73,8 +104,158 @@ public abstract class ViewShape<S extends Shape> extends Group implements Flusha
 		return shapes;
 	}
 
+	/**
+	 * @return The level of detail used to paint the view.
+	 */
+	public @NotNull LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
+	/**
+	 * Changes the level of detail used to paint the view.
+	 * With a proxy, the children of the view are not painted (but still considered in its bounds) and a bounding box is painted instead.
+	 * @param level The new level of detail.
+	 */
+	public void setLevelOfDetail(final @NotNull LevelOfDetail level) {
+		if(level == levelOfDetail) {
+			return;
+		}
+
+		levelOfDetail = level;
+		reduceDetails(level != LevelOfDetail.FULL);
+
+		if(level == LevelOfDetail.PROXY) {
+			showProxy();
+		}else {
+			removeProxy();
+		}
+	}
+
+	/**
+	 * Stops or starts painting the costly details of the view (shadows, hatchings, etc.) when its level of detail changes.
+	 * Does nothing by default.
+	 * @param reduce True: the details must not be painted.
+	 */
+	protected void reduceDetails(final boolean reduce) {
+		// Nothing to reduce by default.
+	}
+
+	private void showProxy() {
+		if(proxy != null) {
+			return;
+		}
+
+		getChildren().forEach(ch -> hideForProxy(ch));
+		proxy = new Rectangle();
+		proxy.setStroke(null);
+		// The proxy follows the colour of the shape. The colour of other shapes (e.g. groups) is updated with the bounds of the proxy.
+		if(model instanceof SingleShape) {
+			proxy.fillProperty().bind(Bindings.createObjectBinding(() -> model.getLineColour().toJFX(), ((SingleShape) model).lineColourProperty()));
+		}
+		updateProxy();
+		getChildren().add(proxy);
+		getChildren().addListener(proxyChildrenUpdate);
+	}
+
+	private void removeProxy() {
+		if(proxy == null) {
+			return;
+		}
+
+		getChildren().removeListener(proxyChildrenUpdate);
+		getChildren().remove(proxy);
+		proxy.fillProperty().unbind();
+		proxy = null;
+		getChildren().forEach(ch -> showAfterProxy(ch));
+	}
+
+	private void hideForProxy(final Node node) {
+		// Children with no opacity are not painted but still define the bounds of the view, so that the proxy can follow them.
+		node.getProperties().put(OPACITY_BEFORE_PROXY, node.getOpacity());
+		node.setOpacity(0d);
+		node.boundsInParentProperty().addListener(proxyUpdate);
+		node.visibleProperty().addListener(proxyUpdate);
+	}
+
+	private void showAfterProxy(final Node node) {
+		node.boundsInParentProperty().removeListener(proxyUpdate);
+		node.visibleProperty().removeListener(proxyUpdate);
+		final Object opacity = node.getProperties().remove(OPACITY_BEFORE_PROXY);
+		node.setOpacity(opacity instanceof Double ? (Double) opacity : 1d);
+	}
+
+	private void onChildrenChangedWhileProxy(final ListChangeListener.Change<? extends Node> evt) {
+		while(evt.next()) {
+			evt.getRemoved().stream().filter(ch -> ch != proxy).forEach(ch -> showAfterProxy(ch));
+			evt.getAddedSubList().stream().filter(ch -> ch != proxy).forEach(ch -> hideForProxy(ch));
+		}
+		updateProxy();
+	}
+
+	/**
+	 * Sets the proxy to the union of the bounds of the other visible children (the invisible ones do not define the bounds of the view).
+	 */
+	private void updateProxy() {
+		if(proxy == null) {
+			return;
+		}
+
+		final Bounds bounds = getChildren().stream().filter(ch -> ch != proxy && ch.isVisible()).map(ch -> ch.getBoundsInParent()).filter(b -> !b.isEmpty())
+			.reduce((b1, b2) -> {
+				final double minX = Math.min(b1.getMinX(), b2.getMinX());
+				final double minY = Math.min(b1.getMinY(), b2.getMinY());
+				return (Bounds) new BoundingBox(minX, minY, Math.max(b1.getMaxX(), b2.getMaxX()) - minX, Math.max(b1.getMaxY(), b2.getMaxY()) - minY);
+			}).orElseGet(() -> new BoundingBox(0d, 0d, 0d, 0d));
+
+		if(!proxy.fillProperty().isBound()) {
+			proxy.setFill(model.getLineColour().toJFX());
+		}
+		proxy.setX(bounds.getMinX());
+		proxy.setY(bounds.getMinY());
+		proxy.setWidth(bounds.getWidth());
+		proxy.setHeight(bounds.getHeight());
+	}
+
+	/**
+	 * @return The bounding box painted instead of the view when its level of detail is a proxy.
+	 */
+	public @NotNull Optional<Rectangle> getProxy() {
+		return Optional.ofNullable(proxy);
+	}
+
+	/**
+	 * Schedules an update of the view (e.g. recomputing a path). The listeners of the model should schedule their updates
+	 * instead of running them, so that a view is updated once per frame whatever the number of changes of its model.
+	 * @param update The update. The same instance must be used for the same update so that it is run once.
+	 */
+	protected final void scheduleUpdate(final @NotNull Runnable update) {
+		UPDATES.schedule(this, update);
+	}
+
+	/**
+	 * Runs the given scheduled updates, and those scheduled while running them.
+	 */
+	final void runUpdates(final @NotNull Deque<Runnable> updates) {
+		nbUpdatePasses++;
+		Runnable update = updates.poll();
+		while(update != null) {
+			update.run();
+			update = updates.poll();
+		}
+	}
+
+	/**
+	 * @return The number of times the scheduled updates of the view were run.
+	 */
+	long getNbUpdatePasses() {
+		return nbUpdatePasses;
+	}
+
 	@Override
 	public void flush() {
+		UPDATES.cancel(this);
+		model.viewUpdatesHeldProperty().removeListener(viewUpdatesRelease);
+		removeProxy();
 		setUserData(null);
 		getChildren().clear();
 		// Should be overridden to flush the bindings.
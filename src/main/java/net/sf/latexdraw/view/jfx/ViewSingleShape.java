@@ -13,18 +13,17 @@ package net.sf.latexdraw.view.jfx;
 import java.awt.geom.Point2D;
 import java.util.Optional;
 import java.util.function.Supplier;
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.Bounds;
-import javafx.scene.Group;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.image.WritableImage;
 import javafx.scene.paint.CycleMethod;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Paint;
 import javafx.scene.paint.Stop;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Shape;
 import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.shape.StrokeLineJoin;
@@ -46,15 +45,28 @@ import net.sf.latexdraw.model.api.shape.SingleShape;
  * @author Arnaud Blouin
  */
 public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> extends ViewShape<S> {
+	/** The tiles of the hatchings, shared by all the views. */
+	static final HatchingsCache HATCHINGS_CACHE = new HatchingsCache(32L * 1024L * 1024L);
+
 	protected final T border;
 	protected final T dblBorder;
 	protected final T shadow;
 	protected Rotate shapeRotation;
+	/** Whether the shadow, the double border, and the hatchings are not painted, given the level of detail of the view. */
+	private final BooleanProperty detailsReduced = new SimpleBooleanProperty(false);
 
-	private final ChangeListener<?> strokesUpdateCall = (obj, oldVal, newVal) -> updateStrokes();
+	private final Runnable strokesUpdate = this::updateStrokes;
+	private final Runnable fillUpdate = this::updateFill;
+	private final Runnable shadowUpdate = this::updateShadowPosition;
+	private final ChangeListener<?> strokesUpdateCall = (obj, oldVal, newVal) -> scheduleUpdate(strokesUpdate);
 	private final ChangeListener<?> fillUpdateCall;
+	/**
+	 * Not a change listener, so that the bounds are not computed at each change of the shape, but once when the filling is updated.
+	 * Listens to the layout bounds, which do not depend on the clip of the arrows, so that clipping the shape does not update the filling.
+	 */
+	private final InvalidationListener boundsUpdateCall = obs -> scheduleUpdate(fillUpdate);
 	private final ChangeListener<Boolean> shadowSetCall;
-	private final ChangeListener<Number> shadowUpdateCall = (obs, oldVal, newVal) -> updateShadowPosition();
+	private final ChangeListener<Number> shadowUpdateCall = (obs, oldVal, newVal) -> scheduleUpdate(shadowUpdate);
 
 
 	/**
@@ -85,7 +97,7 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 			model.shadowAngleProperty().addListener(shadowUpdateCall);
 			model.shadowSizeProperty().addListener(shadowUpdateCall);
 			shadow.strokeTypeProperty().bind(border.strokeTypeProperty());
-			shadow.visibleProperty().bind(Bindings.createBooleanBinding(() -> !shadow.isDisable(), shadow.disableProperty()));
+			shadow.visibleProperty().bind(createDetailVisibleBinding(shadow));
 			shadow.setDisable(!model.hasShadow());
 		}else {
 			shadow = null;
@@ -104,13 +116,13 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 			model.dbleBordProperty().addListener((ChangeListener<? super Boolean>) strokesUpdateCall);
 			model.dbleBordSepProperty().addListener((ChangeListener<? super Number>) strokesUpdateCall);
 			model.dbleBordColProperty().addListener((ChangeListener<? super Color>) strokesUpdateCall);
-			dblBorder.visibleProperty().bind(Bindings.createBooleanBinding(() -> !dblBorder.isDisable(), dblBorder.disableProperty()));
+			dblBorder.visibleProperty().bind(createDetailVisibleBinding(dblBorder));
 		} else {
 			dblBorder = null;
 		}
 
 		if(model.isFillable()) {
-			fillUpdateCall = (obs, oldVal, newVal) -> border.setFill(getFillingPaint(model.getFillingStyle()));
+			fillUpdateCall = (obs, oldVal, newVal) -> scheduleUpdate(fillUpdate);
 			model.fillingProperty().addListener((ChangeListener<? super FillingStyle>) fillUpdateCall);
 			model.gradColStartProperty().addListener((ChangeListener<? super Color>) fillUpdateCall);
 			model.gradColEndProperty().addListener((ChangeListener<? super Color>) fillUpdateCall);
@@ -121,9 +133,9 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 			model.hatchingsSepProperty().addListener((ChangeListener<? super Number>) fillUpdateCall);
 			model.hatchingsWidthProperty().addListener((ChangeListener<? super Number>) fillUpdateCall);
 			model.hatchingsColProperty().addListener((ChangeListener<? super Color>) fillUpdateCall);
-			border.setFill(getFillingPaint(model.getFillingStyle()));
+			updateFill();
 			// The filling must be updated on resize and co.
-			border.boundsInLocalProperty().addListener((ChangeListener<? super Bounds>) fillUpdateCall);
+			border.layoutBoundsProperty().addListener(boundsUpdateCall);
 
 		}else {
 			fillUpdateCall = null;
@@ -138,6 +150,13 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 		bindRotationAngle();
 	}
 
+	/**
+	 * @return A binding that hides the given detail (shadow, double border) when disabled or when the details are reduced.
+	 */
+	private BooleanBinding createDetailVisibleBinding(final T detail) {
+		return Bindings.createBooleanBinding(() -> !detail.isDisable() && !detailsReduced.get(), detail.disableProperty(), detailsReduced);
+	}
+
 	private final void setUpLine() {
 		if(model.isThicknessable()) {
 			model.thicknessProperty().addListener((ChangeListener<? super Number>) strokesUpdateCall);
@@ -195,6 +214,12 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 
 	protected abstract T createJFXShape();
 
+	private void updateFill() {
+		// Validates the bounds so that their next change is notified
+		border.getLayoutBounds();
+		border.setFill(getFillingPaint(model.getFillingStyle()));
+	}
+
 	private Paint getFillingPaint(final FillingStyle style) {
 		switch(style) {
 			case NONE:
@@ -223,118 +248,41 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 			return null;
 		}
 
-		final Group hatchings = new Group();
-		final double hAngle = model.getHatchingsAngle();
-
-		hatchings.getChildren().add(new Rectangle(bounds.getWidth(), bounds.getHeight(), style.isFilled() ? model.getFillingCol().toJFX() : null));
-
-		switch(style) {
-			case VLINES:
-			case VLINES_PLAIN:
-				computeHatchings(hatchings, hAngle, bounds.getWidth(), bounds.getHeight());
-				break;
-			case HLINES:
-			case HLINES_PLAIN:
-				computeHatchings(hatchings, hAngle > 0d ? hAngle - Math.PI / 2d : hAngle + Math.PI / 2d, bounds.getWidth(), bounds.getHeight());
-				break;
-			case CLINES:
-			case CLINES_PLAIN:
-				computeHatchings(hatchings, hAngle, bounds.getWidth(), bounds.getHeight());
-				computeHatchings(hatchings, hAngle > 0d ? hAngle - Math.PI / 2d : hAngle + Math.PI / 2d, bounds.getWidth(), bounds.getHeight());
-				break;
+		if(detailsReduced.get()) {
+			return getReducedHatchingsPaint(style);
 		}
 
-		final WritableImage image = new WritableImage((int) bounds.getWidth(), (int) bounds.getHeight());
-		hatchings.snapshot(new SnapshotParameters(), image);
-		return new ImagePattern(image, 0, 0, 1, 1, true);
+		// The tile of the hatchings does not depend on the size of the shape: resizing the shape only moves the start of the pattern.
+		final Bounds local = border.getLayoutBounds();
+		return HATCHINGS_CACHE.getPaint(style, model.getHatchingsAngle(), model.getHatchingsSep(), model.getHatchingsWidth(),
+			model.getHatchingsCol().toJFX(), style.isFilled() ? model.getFillingCol().toJFX() : null, local.getMinX(), local.getMinY());
 	}
 
 	/**
-	 * Companion method of computeHatchings
+	 * @return A plain colour that replaces the hatchings when the details are reduced:
+	 * the filling colour, or the colour of the hatchings weighted by the area they cover.
 	 */
-	private double computeHatchingsAngle(final double angle) {
-		if(angle > 0d) {
-			if(angle > 3f * Math.PI / 2d) {
-				return angle - Math.PI * 2d;
-			}
-			if(angle > Math.PI / 2d) {
-				return angle - Math.PI;
-			}
-		}else {
-			if(angle < -3f * Math.PI / 2d) {
-				return angle + Math.PI * 2d;
-			}
-			if(angle < -Math.PI / 2d) {
-				return angle + Math.PI;
-			}
+	private Paint getReducedHatchingsPaint(final FillingStyle style) {
+		if(style.isFilled()) {
+			return model.getFillingCol().toJFX();
 		}
-		return angle;
-	}
-
-	/**
-	 * Companion method of computeHatchings
-	 */
-	private void computeRotatedHatchings(final Group hatchings, final double angle2, final double width, final double height, final double val) {
-		if(MathUtils.INST.equalsDouble(angle2, Math.PI / 2d)) {
-			for(double y = 0d; y < height; y += val) {
-				createHatchingLine(hatchings, 0d, y, width, y, width, height);
-			}
-		}else {
-			final double incX = val / Math.cos(angle2);
-			final double incY = val / Math.sin(angle2);
-			final double limitX;
-			double startY;
-			double endX = 0d;
-
-			if(angle2 > 0) {
-				startY = 0d;
-				limitX = width + height * Math.tan(angle2);
-			}else {
-				startY = height;
-				limitX = width - height * Math.tan(angle2);
-			}
-
-			final double endY = startY;
-
-			while(endX < limitX) {
-				endX += incX;
-				startY += incY;
-				createHatchingLine(hatchings, 0d, startY, endX, endY, width, height);
-			}
+		final double width = model.getHatchingsWidth();
+		final double cover = width / (width + model.getHatchingsSep());
+		final javafx.scene.paint.Color col = model.getHatchingsCol().toJFX();
+		if(Double.isNaN(cover)) {
+			return col;
 		}
+		return col.deriveColor(0d, 1d, 1d, style == FillingStyle.CLINES ? cover * (2d - cover) : cover);
 	}
 
-	private void computeHatchings(final Group hatchings, final double angle, final double width, final double height) {
-		final double adaptedAngle = computeHatchingsAngle(angle % (Math.PI * 2d));
-		final double val = model.getHatchingsWidth() + model.getHatchingsSep();
-
-		if(MathUtils.INST.equalsDouble(adaptedAngle, 0d)) {
-
-			for(double x = 0d; x < width; x += val) {
-				createHatchingLine(hatchings, x, 0d, x, height, width, height);
-			}
-		}else {
-			computeRotatedHatchings(hatchings, adaptedAngle, width, height, val);
+	@Override
+	protected void reduceDetails(final boolean reduce) {
+		detailsReduced.set(reduce);
+		if(fillUpdateCall != null && model.getFillingStyle().isHatchings()) {
+			border.setFill(getFillingPaint(model.getFillingStyle()));
 		}
 	}
 
-	private void createHatchingLine(final Group group, final double x1, final double y1, final double x2, final double y2,
-									final double clipWidth, final double clipHeight) {
-		final javafx.scene.shape.Line line = new javafx.scene.shape.Line();
-		line.setStrokeWidth(model.getHatchingsWidth());
-		line.setStrokeLineJoin(StrokeLineJoin.MITER);
-		line.setStrokeLineCap(StrokeLineCap.SQUARE);
-		line.setStroke(model.getHatchingsCol().toJFX());
-		line.setStartX(x1);
-		line.setStartY(y1);
-		line.setEndX(x2);
-		line.setEndY(y2);
-		// Required, otherwise the line may not be drawn.
-		line.setClip(new Rectangle(0, 0, clipWidth, clipHeight));
-		group.getChildren().add(line);
-	}
-
-
 	private LinearGradient computeRotatedGradient(final double angle, final double gradMidPt, final Point tl, final Point br) {
 		Point pt1;
 		Point pt2;
@@ -530,7 +478,7 @@ public abstract class ViewSingleShape<S extends SingleShape, T extends Shape> ex
 			model.hatchingsSepProperty().removeListener((ChangeListener<? super Number>) fillUpdateCall);
 			model.hatchingsWidthProperty().removeListener((ChangeListener<? super Number>) fillUpdateCall);
 			model.hatchingsColProperty().removeListener((ChangeListener<? super Color>) fillUpdateCall);
-			border.boundsInLocalProperty().removeListener((ChangeListener<? super Bounds>) fillUpdateCall);
+			border.layoutBoundsProperty().removeListener(boundsUpdateCall);
 		}
 
 		if(shadowSetCall != null) {
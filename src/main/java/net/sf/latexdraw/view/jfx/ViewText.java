@@ -10,27 +10,24 @@
  */
 package net.sf.latexdraw.view.jfx;
 
-import java.io.File;
+import java.nio.file.Path;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import net.sf.latexdraw.command.ExportFormat;
 import net.sf.latexdraw.model.MathUtils;
 import net.sf.latexdraw.model.api.shape.Color;
 import net.sf.latexdraw.model.api.shape.Shape;
 import net.sf.latexdraw.model.api.shape.Text;
 import net.sf.latexdraw.service.LaTeXDataService;
-import net.sf.latexdraw.util.OperatingSystem;
 import net.sf.latexdraw.util.SystemUtils;
-import net.sf.latexdraw.util.Triple;
 import net.sf.latexdraw.util.Tuple;
 import net.sf.latexdraw.view.latex.DviPsColors;
 import net.sf.latexdraw.view.pst.PSTricksConstants;
@@ -41,14 +38,22 @@ import net.sf.latexdraw.view.pst.PSTricksConstants;
  */
 public class ViewText extends ViewPositionShape<Text> {
 	static final Logger LOGGER = Logger.getAnonymousLogger();
-	private static final ExecutorService COMPILATION_POOL = Executors.newFixedThreadPool(5);
+	private static final ScheduledExecutorService COMPILATION_POOL = Executors.newScheduledThreadPool(5);
 	private static final double SCALE_COMPILE = 2d;
+	/** The pictures of the compiled texts, shared by all the text views. */
+	private static final LaTeXRenderingCache RENDERING_CACHE = new LaTeXRenderingCache(
+		Path.of(SystemUtils.getInstance().getPathCacheDir(), "texts"), 64L * 1024L * 1024L, 128L * 1024L * 1024L); //NON-NLS
+	private static final LaTeXBatchRenderer RENDERER = new LaTeXBatchRenderer(RENDERING_CACHE);
+	/** Coalesces the successive modifications of the texts and compiles them in batches. */
+	private static final TextCompilationScheduler SCHEDULER = new TextCompilationScheduler(COMPILATION_POOL, RENDERER, 150L);
 
 	private final javafx.scene.text.Text text;
 	private final ImageView compiledText;
 	private final Tooltip compileTooltip;
 	private final ChangeListener<String> textUpdate;
 	private Future<?> currentCompilation;
+	/** Incremented at each modification of the text: only the picture of the latest version is displayed. */
+	private final AtomicLong textVersion;
 	private final LaTeXDataService latexData;
 
 	static {
@@ -65,6 +70,7 @@ public class ViewText extends ViewPositionShape<Text> {
 		compiledText = new ImageView();
 		compileTooltip = new Tooltip(null);
 		this.latexData = data;
+		textVersion = new AtomicLong();
 
 		compiledText.setScaleX(1d / SCALE_COMPILE);
 		compiledText.setScaleY(compiledText.getScaleX());
@@ -96,10 +102,36 @@ public class ViewText extends ViewPositionShape<Text> {
 
 	private final void update() {
 		text.setText(model.getText());
-		currentCompilation = COMPILATION_POOL.submit(() -> {
-			final Tuple<Image, String> image = createImage();
-			Platform.runLater(() -> updateImageText(image));
-		});
+		textVersion.incrementAndGet();
+		currentCompilation = SCHEDULER.request(this);
+	}
+
+	/**
+	 * @return The version of the text of the view, incremented at each modification.
+	 */
+	long getTextVersion() {
+		return textVersion.get();
+	}
+
+	/**
+	 * @return The LaTeX packages used to compile the text.
+	 */
+	String getPackages() {
+		return latexData.getPackages();
+	}
+
+	/**
+	 * @return The renderer that compiles the texts of all the text views.
+	 */
+	public static LaTeXBatchRenderer getRenderer() {
+		return RENDERER;
+	}
+
+	/**
+	 * @return The scheduler of the compilations of all the text views.
+	 */
+	public static TextCompilationScheduler getCompilationScheduler() {
+		return SCHEDULER;
 	}
 
 	/**
@@ -109,7 +141,15 @@ public class ViewText extends ViewPositionShape<Text> {
 		return currentCompilation;
 	}
 
-	private void updateImageText(final Tuple<Image, String> values) {
+	/**
+	 * Displays the result of the compilation of the given version of the text.
+	 * Results of outdated versions are ignored.
+	 */
+	void updateImageText(final Tuple<Image, String> values, final long version) {
+		if(version != textVersion.get()) {
+			return;
+		}
+
 		if(currentCompilation != null && currentCompilation.isDone()) {
 			currentCompilation = null;
 		}
@@ -133,6 +173,13 @@ public class ViewText extends ViewPositionShape<Text> {
 		}
 	}
 
+	/**
+	 * @return The cache of the compiled texts shared by all the text views.
+	 */
+	public static LaTeXRenderingCache getRenderingCache() {
+		return RENDERING_CACHE;
+	}
+
 	public Optional<String> getCompilationData() {
 		if(compiledText.getUserData() instanceof String) {
 			return Optional.of((String) compiledText.getUserData());
@@ -140,7 +187,10 @@ public class ViewText extends ViewPositionShape<Text> {
 		return Optional.empty();
 	}
 
-	private String getLaTeXDocument() {
+	/**
+	 * @return The LaTeX code that renders the text of the shape, scaled and coloured, without the document preamble.
+	 */
+	String getLaTeXBody() {
 		final String code = model.getText();
 		final StringBuilder doc = new StringBuilder();
 		final Color textColour = model.getLineColour();
@@ -149,9 +199,7 @@ public class ViewText extends ViewPositionShape<Text> {
 		// We must scale the text to fit its latex size: latexdrawDPI/latexDPI is the ratio to scale the created png picture.
 		final double scale = Shape.PPC * PSTricksConstants.INCH_VAL_CM / PSTricksConstants.INCH_VAL_PT * SCALE_COMPILE;
 
-		doc.append("\\documentclass{standalone}\n\\usepackage[usenames,dvipsnames]{pstricks}"); //NON-NLS
-		doc.append(latexData.getPackages()).append('\n');
-		doc.append("\\begin{document}\n\\psscalebox{"); //NON-NLS
+		doc.append("\\psscalebox{"); //NON-NLS
 		doc.append((float) MathUtils.INST.getCutNumber(scale)).append(' ');
 		doc.append((float) MathUtils.INST.getCutNumber(scale)).append('}').append('{');
 
@@ -167,77 +215,14 @@ public class ViewText extends ViewPositionShape<Text> {
 			doc.append('}');
 		}
 
-		doc.append("}\n\\end{document}"); //NON-NLS
+		doc.append('}');
 		return doc.toString();
 	}
 
-
-	/**
-	 * @return The LaTeX compiled picture of the text with its file path and its log.
-	 */
-	private Tuple<Image, String> createImage() {
-		final Optional<File> optDir = SystemUtils.getInstance().createTempDir();
-
-		if(optDir.isEmpty()) {
-			return new Tuple<>(null, "A temporary file cannot be created."); //NON-NLS
-		}
-
-		Image img = null;
-		String log = ""; //NON-NLS
-		final File tmpDir = optDir.get();
-		final String doc = getLaTeXDocument();
-		final String basePathPic = tmpDir.getAbsolutePath() + SystemUtils.getInstance().fileSep + "latexdrawTmpPic" + System.currentTimeMillis(); //NON-NLS
-		final String pathTex = basePathPic + ExportFormat.TEX.getFileExtension();
-		final OperatingSystem os = SystemUtils.getInstance().getSystem().orElse(OperatingSystem.LINUX);
-
-		LOGGER.log(Level.INFO, doc);
-
-		// Saving the LaTeX document into a file to be compiled.
-		if(!SystemUtils.getInstance().saveFile(pathTex, doc).isPresent()) {
-			return new Triple<>(null, basePathPic, log);
-		}
-
-		// Compiling the LaTeX document.
-		Tuple<Boolean, String> res = SystemUtils.getInstance().execute(new String[] {os.getLatexBinPath(), "--halt-on-error", "--interaction=nonstopmode", //NON-NLS
-			"--output-directory=" + tmpDir.getAbsolutePath(), SystemUtils.getInstance().normalizeForLaTeX(pathTex)}, null); //NON-NLS
-		boolean ok = res.a;
-		log = res.b;
-
-		// Compiling the DVI document.
-		if(ok) {
-			res = SystemUtils.getInstance().execute(new String[] {os.getDvipsBinPath(), basePathPic + ".dvi", "-o", //NON-NLS
-				basePathPic + ExportFormat.EPS_LATEX.getFileExtension()}, null); //NON-NLS
-			ok = res.a;
-			log = log + res.b;
-		}
-
-		// Converting the PS document as a PDF one.
-		if(ok) {
-			res = SystemUtils.getInstance().execute(new String[] {os.getPs2pdfBinPath(), basePathPic + ExportFormat.EPS_LATEX.getFileExtension(),
-				basePathPic + ExportFormat.PDF.getFileExtension()}, null); //NON-NLS
-			ok = res.a;
-			log = log + res.b;
-		}
-
-		// Getting the image of the first page of the PDF document.
-		if(ok) {
-			final String pdfpath = basePathPic + ExportFormat.PDF.getFileExtension();
-			final String picPath = basePathPic + ".png"; //NON-NLS
-			SystemUtils.getInstance().execute(new String[] {"convert", pdfpath, picPath}, null); //NON-NLS
-			img = new Image(new File(picPath).toURI().toString());
-		}
-
-		// Deleting the temporary folder and its content.
-		SystemUtils.getInstance().removeDirWithContent(tmpDir.getPath());
-
-		LOGGER.log(Level.INFO, log);
-
-		return new Tuple<>(img, log);
-	}
-
 	@Override
 	public void flush() {
 		model.textProperty().removeListener(textUpdate);
+		SCHEDULER.cancel(this);
 		super.flush();
 	}
 }
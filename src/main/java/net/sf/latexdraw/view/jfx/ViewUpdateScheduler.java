@@ -0,0 +1,172 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import net.sf.latexdraw.util.BadaboomCollector;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Coalesces the updates of the displayed views: the listeners of the views only schedule their updates (paths, arrows, filling, etc.),
+ * and the scheduled updates are run in a single pass before the layout of the next pulse. An update scheduled several times
+ * before this pass is run once, so that a view is recomputed once per frame whatever the number of properties of its model that changed.
+ * The views that are not displayed (no scene or no shown window) are updated at once since no pulse would paint them.
+ * The updates of a view whose model holds its view updates (see Shape::holdViewUpdates) are held until they are released.
+ * @author Arnaud Blouin
+ */
+final class ViewUpdateScheduler {
+	/** The views to update with their updates (possibly held), in the order of their first scheduled update. */
+	private final @NotNull Map<ViewShape<?>, Deque<Runnable>> pending;
+	/** The scenes whose pulses run the pending updates. */
+	private final @NotNull Set<Scene> scenes;
+	private final @NotNull Runnable pulseListener;
+	private long nbPasses;
+
+	ViewUpdateScheduler() {
+		super();
+		pending = new LinkedHashMap<>();
+		scenes = Collections.newSetFromMap(new WeakHashMap<>());
+		pulseListener = this::runPending;
+	}
+
+	/**
+	 * Schedules an update of the given view.
+	 * @param view The view to update.
+	 * @param update The update. Not run again before the next pass if already scheduled.
+	 */
+	void schedule(final @NotNull ViewShape<?> view, final @NotNull Runnable update) {
+		final boolean held = isHeld(view);
+
+		if(!held && !isDisplayed(view)) {
+			final Deque<Runnable> updates = new ArrayDeque<>(1);
+			updates.add(update);
+			view.runUpdates(updates);
+			return;
+		}
+
+		final Deque<Runnable> updates = pending.computeIfAbsent(view, v -> new ArrayDeque<>());
+		if(!updates.contains(update)) {
+			updates.add(update);
+		}
+		if(!held) {
+			requestPass(view.getScene());
+		}
+	}
+
+	/**
+	 * Runs the updates held by the given view until the view updates of its model were just released:
+	 * at the next pass if the view is displayed, now otherwise.
+	 */
+	void release(final @NotNull ViewShape<?> view) {
+		final Deque<Runnable> updates = pending.get(view);
+
+		if(updates == null || isHeld(view)) {
+			return;
+		}
+
+		if(isDisplayed(view)) {
+			requestPass(view.getScene());
+		}else {
+			run(view);
+		}
+	}
+
+	/**
+	 * Cancels the pending updates of the given view (e.g. when flushed).
+	 */
+	void cancel(final @NotNull ViewShape<?> view) {
+		pending.remove(view);
+	}
+
+	/**
+	 * Runs the pending updates now, except the held ones.
+	 * Called before the layout of each pulse of the scenes that contain the views.
+	 */
+	void runPending() {
+		List<ViewShape<?>> views = getReleasedViews();
+
+		if(views.isEmpty()) {
+			return;
+		}
+
+		nbPasses++;
+
+		// The updates scheduled during the pass (by the updates themselves) are run in the same pass.
+		while(!views.isEmpty()) {
+			views.forEach(view -> run(view));
+			views = getReleasedViews();
+		}
+	}
+
+	private void run(final @NotNull ViewShape<?> view) {
+		final Deque<Runnable> updates = pending.get(view);
+		if(updates == null) {
+			return;
+		}
+		try {
+			view.runUpdates(updates);
+		}catch(final RuntimeException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}finally {
+			pending.remove(view);
+		}
+	}
+
+	private @NotNull List<ViewShape<?>> getReleasedViews() {
+		return pending.keySet().stream().filter(view -> !isHeld(view)).collect(Collectors.toList());
+	}
+
+	private void requestPass(final @NotNull Scene scene) {
+		if(scenes.add(scene)) {
+			scene.addPreLayoutPulseListener(pulseListener);
+		}
+		Platform.requestNextPulse();
+	}
+
+	/**
+	 * @return True if the model of the view holds its view updates, so that the updates of the view wait for their release.
+	 */
+	private static boolean isHeld(final @NotNull ViewShape<?> view) {
+		return view.getModel().isHoldingViewUpdates();
+	}
+
+	/**
+	 * @return True if the view is in the scene of a shown window: the pulses of the scene run its updates.
+	 */
+	private static boolean isDisplayed(final @NotNull ViewShape<?> view) {
+		final Scene scene = view.getScene();
+		return scene != null && scene.getWindow() != null && scene.getWindow().isShowing() && Platform.isFxApplicationThread();
+	}
+
+	/**
+	 * @return The number of passes that ran pending updates.
+	 */
+	long getNbPasses() {
+		return nbPasses;
+	}
+
+	/**
+	 * @return The number of views that wait for their updates, including the views whose updates are held.
+	 */
+	int getNbPendingViews() {
+		return pending.size();
+	}
+}
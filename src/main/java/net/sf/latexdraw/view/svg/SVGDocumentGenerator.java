@@ -16,16 +16,24 @@ import io.github.interacto.jfx.ui.OpenSaver;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javafx.application.Platform;
@@ -50,6 +58,7 @@ import net.sf.latexdraw.model.api.shape.Drawing;
 import net.sf.latexdraw.model.api.shape.Group;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.parser.svg.SVGAttributes;
 import net.sf.latexdraw.parser.svg.SVGDefsElement;
 import net.sf.latexdraw.parser.svg.SVGDocument;
@@ -58,6 +67,7 @@ import net.sf.latexdraw.parser.svg.SVGElements;
 import net.sf.latexdraw.parser.svg.SVGGElement;
 import net.sf.latexdraw.parser.svg.SVGMetadataElement;
 import net.sf.latexdraw.parser.svg.SVGSVGElement;
+import net.sf.latexdraw.parser.svg.SVGStreamWriter;
 import net.sf.latexdraw.util.BadaboomCollector;
 import net.sf.latexdraw.util.Inject;
 import net.sf.latexdraw.util.LNamespace;
@@ -429,50 +439,70 @@ public class SVGDocumentGenerator implements OpenSaver<Label> {
 		}
 
 		/**
-		 * Creates an SVG document from a drawing.
+		 * Writes a drawing as an SVG document. The SVG element of each shape is written as soon as created.
+		 * The definitions (arrows, gradients, etc.) the shapes produced are then written.
 		 * @param drawing The drawing to convert in SVG.
-		 * @return The created SVG document or null.
+		 * @param doc The SVG document that will contain the definitions and the metadata.
+		 * @param writer The output.
+		 * @throws IOException If the output cannot be written.
 		 */
-		private SVGDocument toSVG(final Drawing drawing, final double incr) {
+		private void writeSVG(final Drawing drawing, final SVGDocument doc, final SVGStreamWriter writer, final double incr) throws IOException {
 			// Creation of the SVG document.
 			final List<Shape> shapes = onlySelection ? drawing.getSelection().getShapes() : drawing.getShapes();
-			final SVGDocument doc = new SVGDocument();
 			final SVGSVGElement root = doc.getFirstChild();
 			final SVGGElement g = new SVGGElement(doc);
+			final SVGDefsElement defs = new SVGDefsElement(doc);
 			final int padding = 20;
-			final Optional<Point> opttl = drawing.getShapes().parallelStream().map(sh -> sh.getTopLeftPoint()).
-				reduce((p1, p2) -> ShapeFactory.INST.createPoint(p1.getX() < p2.getX() ? p1.getX() : p2.getX(), p1.getY() < p2.getY() ? p1.getY() : p2.getY()));
-			final Optional<Point> optbr = drawing.getShapes().parallelStream().map(sh -> sh.getBottomRightPoint()).
-				reduce((p1, p2) -> ShapeFactory.INST.createPoint(p1.getX() > p2.getX() ? p1.getX() : p2.getX(), p1.getY() > p2.getY() ? p1.getY() : p2.getY()));
+			final List<Shape> allShapes = drawing.getShapes();
+
+			if(!allShapes.isEmpty()) {
+				// The bounds of the drawing are computed without creating any point.
+				final ShapeBounds shBounds = new ShapeBounds();
+				double minX = Double.POSITIVE_INFINITY;
+				double minY = Double.POSITIVE_INFINITY;
+				double maxX = Double.NEGATIVE_INFINITY;
+				double maxY = Double.NEGATIVE_INFINITY;
+
+				for(final Shape sh : allShapes) {
+					sh.getBounds(shBounds);
+					minX = Math.min(minX, shBounds.getMinX());
+					minY = Math.min(minY, shBounds.getMinY());
+					maxX = Math.max(maxX, shBounds.getMaxX());
+					maxY = Math.max(maxY, shBounds.getMaxY());
+				}
 
-			opttl.ifPresent(tl -> optbr.ifPresent(br ->
-				root.setAttribute("viewBox", MathUtils.INST.format.format(tl.getX() - padding) + " " + //NON-NLS
-					MathUtils.INST.format.format(tl.getY() - padding) + " " +
-					MathUtils.INST.format.format(br.getX() - tl.getX() + padding * 2) + " " +
-					MathUtils.INST.format.format(br.getY() - tl.getY() + padding * 2))));
+				root.setAttribute("viewBox", MathUtils.INST.format.format(minX - padding) + " " + //NON-NLS
+					MathUtils.INST.format.format(minY - padding) + " " +
+					MathUtils.INST.format.format(maxX - minX + padding * 2) + " " +
+					MathUtils.INST.format.format(maxY - minY + padding * 2));
+			}
 
 			root.appendChild(g);
 			root.setAttribute("xmlns:" + LNamespace.LATEXDRAW_NAMESPACE, LNamespace.LATEXDRAW_NAMESPACE_URI); //NON-NLS
-			root.appendChild(new SVGDefsElement(doc));
+			root.appendChild(defs);
+
+			// Setting SVG attributes to the created document.
+			root.setAttribute(SVGAttributes.SVG_VERSION, "1.1"); //NON-NLS
+			root.setAttribute(SVGAttributes.SVG_BASE_PROFILE, "full"); //NON-NLS
+
+			writer.writeStartElement(root);
+			writer.writeStartElement(g);
 
 			try {
-				shapes.forEach(sh -> {
-					// For each shape an SVG element is created.
+				for(final Shape sh : shapes) {
+					// For each shape an SVG element is created, written, and then forgotten.
 					final SVGElement elt = svgFactory.createSVGElement(sh, doc);
 					if(elt != null) {
-						g.appendChild(elt);
+						writer.writeNode(elt);
 					}
 					Platform.runLater(() -> updateProgress(getProgress() + incr, 100d));
-				});
+				}
 			}catch(final IllegalArgumentException ex) {
 				BadaboomCollector.INSTANCE.add(ex);
 			}
 
-			// Setting SVG attributes to the created document.
-			root.setAttribute(SVGAttributes.SVG_VERSION, "1.1"); //NON-NLS
-			root.setAttribute(SVGAttributes.SVG_BASE_PROFILE, "full"); //NON-NLS
-
-			return doc;
+			writer.writeEndElement();
+			writer.writeNode(defs);
 		}
 
 
@@ -482,29 +512,79 @@ public class SVGDocumentGenerator implements OpenSaver<Label> {
 			// Creation of the SVG document.
 			final Set<JfxInstrument> instruments = app.getInstruments();
 			final double incr = 100d / (drawing.size() + instruments.size() + 1d);
-			final SVGDocument doc = toSVG(drawing, incr);
-			final SVGMetadataElement meta = new SVGMetadataElement(doc);
-			final SVGSVGElement root = doc.getFirstChild();
-			final SVGElement metaLTD = (SVGElement) doc.createElement(LNamespace.LATEXDRAW_NAMESPACE + ':' + SVGElements.SVG_METADATA);
+			final SVGDocument doc = new SVGDocument();
+			final Path target;
+			final Path tmp;
 
-			// Creation of the SVG meta data tag.
-			meta.appendChild(metaLTD);
-			root.appendChild(meta);
+			try {
+				target = Path.of(path).toAbsolutePath();
+				// The document is written in a temporary file that replaces the target file once the whole document written:
+				// a failure while generating the document does not alter the previous version of the document.
+				tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp"); //NON-NLS
+			}catch(final IOException | InvalidPathException ex) {
+				BadaboomCollector.INSTANCE.add(ex);
+				return Boolean.FALSE;
+			}
+
+			try(final SVGStreamWriter writer = new SVGStreamWriter(tmp, Charset.defaultCharset())) {
+				writeSVG(drawing, doc, writer, incr);
+
+				final SVGMetadataElement meta = new SVGMetadataElement(doc);
+				final SVGSVGElement root = doc.getFirstChild();
+				final SVGElement metaLTD = (SVGElement) doc.createElement(LNamespace.LATEXDRAW_NAMESPACE + ':' + SVGElements.SVG_METADATA);
+
+				// Creation of the SVG meta data tag.
+				meta.appendChild(metaLTD);
+				root.appendChild(meta);
 
-			if(saveParameters) {
+				if(saveParameters) {
 					// The parameters of the instruments are now saved.
-				instruments.forEach(ins -> {
-					ins.save(false, LNamespace.LATEXDRAW_NAMESPACE, doc, metaLTD);
+					instruments.forEach(ins -> {
+						ins.save(false, LNamespace.LATEXDRAW_NAMESPACE, doc, metaLTD);
+						Platform.runLater(() -> updateProgress(getProgress() + incr, 100d));
+					});
+
+					canvas.save(false, LNamespace.LATEXDRAW_NAMESPACE, doc, metaLTD);
 					Platform.runLater(() -> updateProgress(getProgress() + incr, 100d));
-				});
 
-				canvas.save(false, LNamespace.LATEXDRAW_NAMESPACE, doc, metaLTD);
-				Platform.runLater(() -> updateProgress(getProgress() + incr, 100d));
+					app.save(false, LNamespace.LATEXDRAW_NAMESPACE, doc, metaLTD);
+					Platform.runLater(() -> drawing.setTitle(getDocumentName()));
+				}
 
-				app.save(false, LNamespace.LATEXDRAW_NAMESPACE, doc, metaLTD);
-				Platform.runLater(() -> drawing.setTitle(getDocumentName()));
+				// The metadata block ends the document.
+				writer.writeNode(meta);
+			}catch(final IOException ex) {
+				BadaboomCollector.INSTANCE.add(ex);
+				Files.deleteIfExists(tmp);
+				return Boolean.FALSE;
+			}catch(final RuntimeException ex) {
+				Files.deleteIfExists(tmp);
+				throw ex;
+			}
+
+			return replace(tmp, target);
+		}
+
+		/**
+		 * Replaces the target file by the written temporary file, atomically when the file system supports it.
+		 * @param tmp The written temporary file. Deleted if it cannot be moved.
+		 * @param target The file to replace.
+		 * @return True if the target file is replaced.
+		 * @throws IOException If the temporary file cannot be deleted.
+		 */
+		private Boolean replace(final Path tmp, final Path target) throws IOException {
+			try {
+				try {
+					Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}catch(final AtomicMoveNotSupportedException ex) {
+					Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+				}
+				return Boolean.TRUE;
+			}catch(final IOException ex) {
+				BadaboomCollector.INSTANCE.add(ex);
+				Files.deleteIfExists(tmp);
+				return Boolean.FALSE;
 			}
-			return doc.saveSVGDocument(path);
 		}
 
 		@Override
@@ -543,6 +623,77 @@ public class SVGDocumentGenerator implements OpenSaver<Label> {
 
 			return shapes;
 		}
+
+		/**
+		 * Reads the SVG document and converts its elements into shapes as soon as they are read (see SVGStreamedShapes).
+		 * As for toLatexdraw, the shapes of a document that contains a single group are the shapes of this group.
+		 * @param sink Receives the created shapes, in the document order. Not called in the JFX thread.
+		 * @return The read SVG document.
+		 * @throws IOException If the document cannot be opened.
+		 */
+		protected SVGDocument toLatexdrawStreamed(final SVGStreamedShapes.Sink sink) throws IOException {
+			final SVGStreamedShapes streamed = new SVGStreamedShapes(svgFactory, sink, () -> updateProgress(Math.min(50d, getProgress() + 1d), 100d));
+			final SVGDocument doc = new SVGDocument(new File(path).toURI(), streamed);
+			streamed.end();
+			return doc;
+		}
+	}
+
+
+	/**
+	 * Adds the streamed shapes to the drawing by batches in the JFX thread: the shapes streamed while
+	 * a batch waits for the JFX thread are added with this batch, while the view updates of the drawing are held.
+	 */
+	private static final class DrawingBatches implements SVGStreamedShapes.Sink {
+		private final @NotNull Drawing drawing;
+		/** The modifications of the drawing not yet done. */
+		private final @NotNull Queue<Consumer<Drawing>> pending;
+		/** Whether a batch is waiting for the JFX thread. */
+		private final @NotNull AtomicBoolean scheduled;
+
+		DrawingBatches(final @NotNull Drawing drawing) {
+			super();
+			this.drawing = drawing;
+			pending = new ConcurrentLinkedQueue<>();
+			scheduled = new AtomicBoolean();
+		}
+
+		@Override
+		public void add(final @NotNull Shape sh) {
+			submit(d -> d.addShape(sh));
+		}
+
+		@Override
+		public void replace(final @NotNull List<Shape> added, final @NotNull List<Shape> shapes) {
+			submit(d -> {
+				final int index = added.isEmpty() ? -1 : d.getShapes().indexOf(added.get(0));
+				added.forEach(sh -> d.removeShape(sh));
+				for(int i = 0, size = shapes.size(); i < size; i++) {
+					d.addShape(shapes.get(i), index == -1 ? -1 : index + i);
+				}
+			});
+		}
+
+		private void submit(final @NotNull Consumer<Drawing> modification) {
+			pending.add(modification);
+			if(scheduled.compareAndSet(false, true)) {
+				Platform.runLater(() -> runBatch());
+			}
+		}
+
+		private void runBatch() {
+			scheduled.set(false);
+			drawing.holdViewUpdates();
+			try {
+				Consumer<Drawing> modification = pending.poll();
+				while(modification != null) {
+					modification.accept(drawing);
+					modification = pending.poll();
+				}
+			}finally {
+				drawing.releaseViewUpdates();
+			}
+		}
 	}
 
 
@@ -579,7 +730,8 @@ public class SVGDocumentGenerator implements OpenSaver<Label> {
 			super.call();
 
 			try {
-				final SVGDocument svgDoc = new SVGDocument(new File(path).toURI());
+				// The shapes are added while the document is read.
+				final SVGDocument svgDoc = toLatexdrawStreamed(new DrawingBatches(drawing));
 				final Element meta = svgDoc.getDocumentElement().getMeta();
 				final Set<JfxInstrument> instruments = app.getInstruments();
 				final Element ldMeta;
@@ -592,12 +744,10 @@ public class SVGDocumentGenerator implements OpenSaver<Label> {
 					ldMeta = node instanceof Element ? (Element) node : null;
 				}
 
-				// Adding loaded shapes.
 				final double incrProgressBar = Math.max(50d / (svgDoc.getDocumentElement().getChildNodes().getLength() + 1d), 1d);
 
 				Platform.runLater(() -> {
-					toLatexdraw(svgDoc, incrProgressBar).forEach(s -> drawing.addShape(s));
-					updateProgress(getProgress() + 50d, 100d);
+					updateProgress(50d, 100d);
 
 					// Loads the canvas' data.
 					canvas.load(false, LNamespace.LATEXDRAW_NAMESPACE_URI, ldMeta);
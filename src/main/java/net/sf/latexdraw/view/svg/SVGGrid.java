@@ -28,8 +28,13 @@ import net.sf.latexdraw.parser.svg.SVGElement;
 import net.sf.latexdraw.parser.svg.SVGGElement;
 import net.sf.latexdraw.parser.svg.SVGLineElement;
 import net.sf.latexdraw.parser.svg.SVGParserUtils;
+import net.sf.latexdraw.parser.svg.SVGPathElement;
 import net.sf.latexdraw.parser.svg.SVGTextElement;
 import net.sf.latexdraw.parser.svg.SVGTransform;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegLineto;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegLinetoHorizontal;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegList;
+import net.sf.latexdraw.parser.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.BadaboomCollector;
 import net.sf.latexdraw.util.LNamespace;
 import org.jetbrains.annotations.NotNull;
@@ -39,13 +44,30 @@ import org.jetbrains.annotations.NotNull;
  * @author Arnaud BLOUIN
  */
 class SVGGrid extends SVGShape<Grid> {
+	/** If true, the dots and the lines of each layer of the grid are exported as the subpaths of a single SVG path,
+	 * instead of one SVG element per dot or line. */
+	private final boolean compact;
+
 	/**
-	 * Creates a generator of SVG grids.
+	 * Creates a generator of SVG grids that uses the compact encoding.
 	 * @param grid The grid used for the generation.
 	 * @throws IllegalArgumentException If grid is null.
 	 */
 	SVGGrid(final Grid grid) {
+		this(grid, true);
+	}
+
+
+	/**
+	 * Creates a generator of SVG grids.
+	 * @param grid The grid used for the generation.
+	 * @param compact If true, each layer of the grid (sub-grid and main grid) is exported as a single SVG path.
+	 * Otherwise, one SVG element is exported per dot or line. Both encodings are read in the same way.
+	 * @throws IllegalArgumentException If grid is null.
+	 */
+	SVGGrid(final Grid grid, final boolean compact) {
 		super(grid);
+		this.compact = compact;
 	}
 
 
@@ -226,7 +248,7 @@ class SVGGrid extends SVGShape<Grid> {
 		final double nbX = (maxX - minX) * subGridDiv;
 		final double nbY = (maxY - minY) * subGridDiv;
 		final SVGElement subgridDots = new SVGGElement(document);
-		SVGElement dot;
+		final GridLayer layer = new GridLayer(document, subgridDots, subGridWidth / 2.);
 
 		subgridDots.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(subGridColour, true));
 		subgridDots.setAttribute(prefix + LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID_SUB);
@@ -241,11 +263,7 @@ class SVGGrid extends SVGShape<Grid> {
 		for(double i = 0, n = tlx; i < nbX; i++, n += xSubStep) {
 			for(double j = 0, m = tly; j <= nbY; j++, m += ySubStep) {
 				for(double k = 0; k < subGridDots; k++) {
-					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(n + k * dotStep));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(m));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(subGridWidth / 2.));
-					subgridDots.appendChild(dot);
+					layer.addDot(n + k * dotStep, m);
 				}
 			}
 		}
@@ -253,20 +271,12 @@ class SVGGrid extends SVGShape<Grid> {
 		for(double j = 0, n = tly; j < nbY; j++, n += ySubStep) {
 			for(double i = 0, m = tlx; i <= nbX; i++, m += xSubStep) {
 				for(double k = 0; k < subGridDots; k++) {
-					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(m));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(n + k * dotStep));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(subGridWidth / 2.));
-					subgridDots.appendChild(dot);
+					layer.addDot(m, n + k * dotStep);
 				}
 			}
 		}
 
-		dot = new SVGCircleElement(document);
-		dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(brx));
-		dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(bry));
-		dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(subGridWidth / 2.));
-
+		layer.endDots(subGridColour);
 		elt.appendChild(subgridDots);
 	}
 
@@ -282,7 +292,7 @@ class SVGGrid extends SVGShape<Grid> {
 		double j;
 		double k;
 		final SVGElement subgrids = new SVGGElement(document);
-		SVGElement line;
+		final GridLayer layer = new GridLayer(document, subgrids, 0d);
 
 		subgrids.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(subGridWidth));
 		subgrids.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(subGridColour, true));
@@ -297,26 +307,17 @@ class SVGGrid extends SVGShape<Grid> {
 
 		for(k = minX, i = posX; k < maxX; i += xStep, k++) {
 			for(j = 0; j <= subGridDiv; j++) {
-				line = new SVGLineElement(document);
-				line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(i + xSubStep * j));
-				line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(i + xSubStep * j));
-				line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(bry));
-				line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(tly));
-				subgrids.appendChild(line);
+				layer.addLine(i + xSubStep * j, bry, i + xSubStep * j, tly);
 			}
 		}
 
 		for(k = minY, i = posY; k < maxY; i -= yStep, k++) {
 			for(j = 0; j <= subGridDiv; j++) {
-				line = new SVGLineElement(document);
-				line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(tlx));
-				line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(brx));
-				line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(i - ySubStep * j));
-				line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(i - ySubStep * j));
-				subgrids.appendChild(line);
+				layer.addLine(tlx, i - ySubStep * j, brx, i - ySubStep * j);
 			}
 		}
 
+		layer.endLines();
 		elt.appendChild(subgrids);
 	}
 
@@ -337,7 +338,7 @@ class SVGGrid extends SVGShape<Grid> {
 		final int gridDots = shape.getGridDots();
 		final double dotStep = unit * Shape.PPC / gridDots;
 		final SVGElement gridDotsElt = new SVGGElement(document);
-		SVGElement dot;
+		final GridLayer layer = new GridLayer(document, gridDotsElt, gridWidth / 2.);
 
 		gridDotsElt.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(linesColour, true));
 		gridDotsElt.setAttribute(prefix + LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID);
@@ -351,11 +352,7 @@ class SVGGrid extends SVGShape<Grid> {
 		for(k = minX, i = posX; k <= maxX; i += xStep, k++) {
 			for(m = tly, n = minY; n < maxY; n++, m += absStep) {
 				for(l = 0, j = m; l < gridDots; l++, j += dotStep) {
-					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(i));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(j));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(gridWidth / 2.));
-					gridDotsElt.appendChild(dot);
+					layer.addDot(i, j);
 				}
 			}
 		}
@@ -363,21 +360,13 @@ class SVGGrid extends SVGShape<Grid> {
 		for(k = minY, i = posY; k <= maxY; i -= yStep, k++) {
 			for(m = tlx, n = minX; n < maxX; n++, m += absStep) {
 				for(l = 0, j = m; l < gridDots; l++, j += dotStep) {
-					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(j));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(i));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(gridWidth / 2.));
-					gridDotsElt.appendChild(dot);
+					layer.addDot(j, i);
 				}
 			}
 		}
 
-		dot = new SVGCircleElement(document);
-		dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(brx));
-		dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(bry));
-		dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(gridWidth / 2.));
-		gridDotsElt.appendChild(dot);
-
+		layer.addDot(brx, bry);
+		layer.endDots(linesColour);
 		elt.appendChild(gridDotsElt);
 	}
 
@@ -391,7 +380,7 @@ class SVGGrid extends SVGShape<Grid> {
 		double k;
 		double i;
 		final SVGElement grids = new SVGGElement(document);
-		SVGElement line;
+		final GridLayer layer = new GridLayer(document, grids, 0d);
 
 		grids.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(gridWidth));
 		grids.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(linesColour, true));
@@ -403,23 +392,14 @@ class SVGGrid extends SVGShape<Grid> {
 		}
 
 		for(k = minX, i = posX; k <= maxX; i += xStep, k++) {
-			line = new SVGLineElement(document);
-			line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(i));
-			line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(i));
-			line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(bry));
-			line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(tly));
-			grids.appendChild(line);
+			layer.addLine(i, bry, i, tly);
 		}
 
 		for(k = minY, i = posY; k <= maxY; i -= yStep, k++) {
-			line = new SVGLineElement(document);
-			line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(tlx));
-			line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(brx));
-			line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(i));
-			line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(i));
-			grids.appendChild(line);
+			layer.addLine(tlx, i, brx, i);
 		}
 
+		layer.endLines();
 		elt.appendChild(grids);
 	}
 
@@ -608,4 +588,91 @@ class SVGGrid extends SVGShape<Grid> {
 
 		return root;
 	}
+
+
+	/**
+	 * Produces the dots or the lines of a layer of the grid: one SVG element per dot or line, or the subpaths
+	 * of a single SVG path when the compact encoding is used.
+	 */
+	private final class GridLayer {
+		private final @NotNull SVGDocument document;
+		private final @NotNull SVGElement layer;
+		private final @NotNull SVGPathSegList path;
+		private final double dotRadius;
+
+		GridLayer(final @NotNull SVGDocument document, final @NotNull SVGElement layer, final double dotRadius) {
+			super();
+			this.document = document;
+			this.layer = layer;
+			this.dotRadius = dotRadius;
+			path = new SVGPathSegList();
+		}
+
+		void addDot(final double x, final double y) {
+			if(compact) {
+				// A zero-length subpath painted with a round cap is a dot.
+				path.add(new SVGPathSegMoveto(x, y, false));
+				path.add(new SVGPathSegLinetoHorizontal(0d, true));
+			}else {
+				final SVGElement dot = new SVGCircleElement(document);
+				dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(x));
+				dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(y));
+				dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(dotRadius));
+				layer.appendChild(dot);
+			}
+		}
+
+		void addLine(final double x1, final double y1, final double x2, final double y2) {
+			if(compact) {
+				path.add(new SVGPathSegMoveto(x1, y1, false));
+				path.add(new SVGPathSegLineto(x2, y2, false));
+			}else {
+				final SVGElement line = new SVGLineElement(document);
+				line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(x1));
+				line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(x2));
+				line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(y1));
+				line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(y2));
+				layer.appendChild(line);
+			}
+		}
+
+		/**
+		 * Ends a layer of lines: the path of the compact encoding inherits the stroke of the layer.
+		 */
+		void endLines() {
+			endPath();
+		}
+
+		/**
+		 * Ends a layer of dots: the dots of the compact encoding are painted with the stroke of the path.
+		 */
+		void endDots(final @NotNull Color colour) {
+			final SVGElement elt = endPath();
+
+			if(elt != null) {
+				elt.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(colour, true));
+				elt.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(dotRadius * 2d));
+				elt.setAttribute(SVGAttributes.SVG_STROKE_LINECAP, SVGAttributes.SVG_LINECAP_VALUE_ROUND);
+
+				if(colour.getO() < 1d) {
+					elt.setAttribute(SVGAttributes.SVG_STROKE_OPACITY, MathUtils.INST.format.format(colour.getO()));
+				}
+			}
+		}
+
+		/**
+		 * @return The path of the compact encoding appended to the layer, or null if not compact or empty.
+		 */
+		private SVGElement endPath() {
+			if(!compact || path.isEmpty()) {
+				return null;
+			}
+
+			final SVGPathElement elt = new SVGPathElement(document);
+			elt.setAttribute(SVGAttributes.SVG_FILL, SVGAttributes.SVG_VALUE_NONE);
+			elt.setPathData(path);
+			layer.appendChild(elt);
+			return elt;
+		}
+	}
 }
@@ -0,0 +1,185 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2018 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.svg;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Group;
+import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.parser.svg.SVGElement;
+import net.sf.latexdraw.parser.svg.SVGElementsListener;
+import net.sf.latexdraw.parser.svg.SVGGElement;
+import net.sf.latexdraw.util.LNamespace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Converts the elements of an SVG document into shapes while the document is read.
+ * The produced shapes are the ones of SVGDocumentGenerator::toLatexdraw: a shape per top-level element,
+ * or the shapes of the top-level group when it is the single shape of the document.
+ * The first shape is kept back until a second one is created since a single group must be unwrapped.
+ * The children of a first top-level group are converted and delivered while the group is read, supposing that
+ * the group is the single shape of the document, as in latexdraw documents. If another shape follows, the delivered shapes
+ * are replaced by their group.
+ * @author Arnaud Blouin
+ */
+final class SVGStreamedShapes implements SVGElementsListener {
+	/**
+	 * Receives the shapes, in the document order.
+	 */
+	interface Sink {
+		/**
+		 * @param sh The shape to add after the previous ones.
+		 */
+		void add(final @NotNull Shape sh);
+
+		/**
+		 * Replaces the given shapes, previously added, by the given shapes.
+		 * @param added The shapes to remove. Consecutive.
+		 * @param shapes The shapes to add where the removed shapes were.
+		 */
+		void replace(final @NotNull List<Shape> added, final @NotNull List<Shape> shapes);
+	}
+
+	private final @NotNull SVGShapeProducer factory;
+	private final @NotNull Sink sink;
+	/** Called on each notified element (e.g. to update a progress bar). */
+	private final @NotNull Runnable onElement;
+	private @Nullable Shape first;
+	private boolean several;
+	/** The top-level group whose children are delivered while it is read. */
+	private @Nullable SVGElement streamedGroup;
+	/** The shapes of the children of the streamed group: delivered. */
+	private final @NotNull List<Shape> streamedShapes;
+	/** True: the first shape is the shape of the streamed group, whose children are already delivered. */
+	private boolean firstStreamed;
+	/** The number of children of the streamed group. */
+	private int nbStreamedChildren;
+
+	/**
+	 * @param factory Converts the SVG elements.
+	 * @param sink Receives the shapes.
+	 * @param onElement Called on each notified element.
+	 */
+	SVGStreamedShapes(final @NotNull SVGShapeProducer factory, final @NotNull Sink sink, final @NotNull Runnable onElement) {
+		super();
+		this.factory = factory;
+		this.sink = sink;
+		this.onElement = onElement;
+		streamedShapes = new ArrayList<>();
+	}
+
+	/**
+	 * Only a first top-level group of shapes is streamed: a group that follows a shape is a shape of the drawing.
+	 */
+	@Override
+	public boolean isStreamed(final @NotNull SVGElement group) {
+		if(first != null || several || firstStreamed || streamedGroup != null || !(group instanceof SVGGElement)) {
+			return false;
+		}
+
+		// The same test than SVGShapesFactory: a group of shapes, not a latexdraw shape.
+		final String type = group.getAttribute(group.lookupPrefixUsable(LNamespace.LATEXDRAW_NAMESPACE_URI) + LNamespace.XML_TYPE);
+		if(!type.isEmpty() && !LNamespace.XML_TYPE_GROUP.equals(type)) {
+			return false;
+		}
+
+		streamedGroup = group;
+		return true;
+	}
+
+	@Override
+	public void onGroupChild(final @NotNull SVGElement child) {
+		onElement.run();
+		final Shape sh = factory.createShape(child);
+		if(sh != null) {
+			streamedShapes.add(sh);
+			sink.add(sh);
+		}
+	}
+
+	@Override
+	public void onTopLevelElement(final @NotNull SVGElement elt) {
+		onElement.run();
+
+		if(elt == streamedGroup) {
+			streamedGroup = null;
+			nbStreamedChildren = elt.getChildNodes().getLength();
+			first = getStreamedGroupShape();
+			firstStreamed = first != null;
+			return;
+		}
+
+		final Shape sh = factory.createShape(elt);
+
+		if(sh == null) {
+			return;
+		}
+		if(several) {
+			sink.add(sh);
+		}else if(first == null) {
+			first = sh;
+		}else {
+			several = true;
+			deliverFirst();
+			sink.add(sh);
+		}
+	}
+
+	/**
+	 * Delivers the kept back shapes, once the document is read.
+	 */
+	void end() {
+		if(firstStreamed) {
+			// The group is the single shape: its shapes are the delivered ones, except for a group of one element
+			// that is the shape of this element.
+			if(nbStreamedChildren == 1 && first instanceof Group) {
+				sink.replace(List.of(first), ((Group) first).getShapes());
+			}
+		}else if(first instanceof Group) {
+			((Group) first).getShapes().forEach(sh -> sink.add(sh));
+		}else if(first != null) {
+			sink.add(first);
+		}
+		first = null;
+	}
+
+	/**
+	 * The first shape is not the single shape of the document.
+	 */
+	private void deliverFirst() {
+		if(!firstStreamed) {
+			sink.add(first);
+		}else if(nbStreamedChildren > 1) {
+			// The delivered shapes form a group
+			sink.replace(new ArrayList<>(streamedShapes), List.of(first));
+		}
+		first = null;
+		firstStreamed = false;
+	}
+
+	/**
+	 * @return The shape of the streamed group, built as SVGShapesFactory from the shapes of its children.
+	 */
+	private @Nullable Shape getStreamedGroupShape() {
+		switch(nbStreamedChildren) {
+			case 0:
+				return null;
+			case 1:
+				return streamedShapes.isEmpty() ? null : streamedShapes.get(0);
+			default:
+				final Group gp = ShapeFactory.INST.createGroup();
+				streamedShapes.forEach(sh -> gp.addShape(sh));
+				return gp;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package net.sf.latexdraw;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javafx.application.Platform;
@@ -36,6 +37,30 @@ public interface HelperTest {
 		WaitForAsyncUtils.waitForFxEvents();
 	}
 
+	/**
+	 * Roughly measures the heap retained by objects.
+	 * @param nbInstances The number of objects to create.
+	 * @param factory Creates the object at the given position.
+	 * @return The average number of bytes retained by one object.
+	 */
+	static long measureRetainedHeap(final int nbInstances, final IntFunction<?> factory) {
+		final Runtime runtime = Runtime.getRuntime();
+		final List<Object> instances = new ArrayList<>(nbInstances);
+		collectGarbage();
+		final long before = runtime.totalMemory() - runtime.freeMemory();
+		IntStream.range(0, nbInstances).forEach(i -> instances.add(factory.apply(i)));
+		collectGarbage();
+		final long after = runtime.totalMemory() - runtime.freeMemory();
+		assertThat(instances.size()).isEqualTo(nbInstances);
+		return (after - before) / nbInstances;
+	}
+
+	private static void collectGarbage() {
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+		}
+	}
+
 	default <T> List<T> cloneList(final List<T> list, final Function<T, T> cloner) {
 		final List<T> clone = new ArrayList<>(list.size());
 		list.forEach(elt -> clone.add(cloner.apply(elt)));
@@ -0,0 +1,202 @@
+package net.sf.latexdraw.command;
+
+import io.github.interacto.undo.UndoCollector;
+import io.github.interacto.undo.Undoable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.sf.latexdraw.command.shape.DeleteShapes;
+import net.sf.latexdraw.command.shape.ModifyShapeProperty;
+import net.sf.latexdraw.command.shape.ShapeProperties;
+import net.sf.latexdraw.command.shape.TranslateShapes;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Drawing;
+import net.sf.latexdraw.model.api.shape.Group;
+import net.sf.latexdraw.model.api.shape.Shape;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestUndoHistoryBudget {
+	Drawing drawing;
+	List<Shape> shapes;
+	UndoCollector collector;
+	int sizeMax;
+
+	@BeforeEach
+	void setUp() {
+		drawing = ShapeFactory.INST.createDrawing();
+		shapes = IntStream.range(0, 5000).mapToObj(i -> ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(i % 100 * 10d, i / 100 * 10d), 5d, 5d)).
+			collect(Collectors.toList());
+		shapes.forEach(sh -> drawing.addShape(sh));
+		drawing.setSelection(shapes);
+		collector = UndoCollector.INSTANCE;
+		collector.clear();
+		sizeMax = collector.getSizeMax();
+	}
+
+	@AfterEach
+	void tearDown() {
+		collector.clear();
+		collector.setSizeMax(sizeMax);
+	}
+
+	ModifyShapeProperty<Double> modifyThickness(final double thickness) {
+		final ModifyShapeProperty<Double> cmd = new ModifyShapeProperty<>(ShapeProperties.LINE_THICKNESS, drawing.getSelection().duplicateDeep(false), thickness);
+		cmd.doIt();
+		return cmd;
+	}
+
+	/**
+	 * Adds the undoable to the undo collector and notifies the budget, as the collector does with its handlers.
+	 */
+	void add(final UndoHistoryBudget budget, final Undoable undoable) {
+		collector.add(undoable, null);
+		budget.onUndoableAdded(undoable);
+	}
+
+	@Test
+	void testFootprintAfter1000EditsOn5000Shapes() {
+		final UndoHistoryBudget budget = new UndoHistoryBudget(collector, 32L * 1024L * 1024L, 1000);
+
+		IntStream.range(0, 1000).forEach(i -> add(budget, modifyThickness(1d + i % 20)));
+
+		// Without compaction, each edit retains its own group of 5000 shapes: about 40 KB per edit, 40 MB for the history
+		assertThat(collector.getUndo()).hasSize(1000);
+		assertThat(collector.getUndo().stream().map(u -> ((ModifyShapeProperty<?>) u).getShapes()).distinct()).hasSize(1);
+		assertThat(collector.getUndo().stream().mapToLong(u -> UndoHistoryBudget.getRetainedSize(u)).sum()).
+			isLessThan(UndoFootprint.getSizeOfGroup(drawing.getSelection()) + 1000L * 1024L);
+	}
+
+	@Test
+	void testHistoryTrimmedToBudget() {
+		final long sizeOneEdit = UndoHistoryBudget.getRetainedSize(modifyThickness(2d));
+		final UndoHistoryBudget budget = new UndoHistoryBudget(collector, sizeOneEdit * 3L, 1000);
+		final List<ModifyShapeProperty<Double>> cmds = new ArrayList<>();
+
+		// Each edit on a different selection: no sharing
+		IntStream.range(0, 10).forEach(i -> {
+			drawing.setSelection(shapes.subList(0, 4000 + i));
+			cmds.add(modifyThickness(3d + i));
+			add(budget, cmds.get(i));
+		});
+
+		// The oldest undoables are removed, the maximal size of the collector is restored
+		assertThat(collector.getUndo().size()).isBetween(1, 4);
+		assertThat(collector.getUndo()).doesNotContain(cmds.get(0), cmds.get(1), cmds.get(2), cmds.get(3), cmds.get(4), cmds.get(5));
+		assertThat(collector.getUndo().stream().mapToLong(u -> UndoHistoryBudget.getRetainedSize(u)).sum()).isLessThanOrEqualTo(budget.getMaxBytes());
+		assertThat(collector.getLastUndo()).containsSame(cmds.get(9));
+		assertThat(collector.getSizeMax()).isEqualTo(1000);
+
+		// The most recent undoable can still be undone and redone
+		collector.undo();
+		assertThat(shapes.get(0).getThickness()).isEqualTo(11d);
+		assertThat(collector.getLastRedo()).containsSame(cmds.get(9));
+		collector.redo();
+		assertThat(shapes.get(0).getThickness()).isEqualTo(12d);
+		assertThat(collector.getLastUndo()).containsSame(cmds.get(9));
+	}
+
+	@Test
+	void testNbFittingKeepsTheLastUndoable() {
+		final UndoHistoryBudget budget = new UndoHistoryBudget(Mockito.mock(UndoCollector.class), 10L, 30);
+		assertThat(budget.getNbFitting(List.of(Mockito.mock(Undoable.class), Mockito.mock(Undoable.class)))).isEqualTo(1);
+	}
+
+	@Test
+	void testNbFittingBoundedByMaxSize() {
+		final UndoHistoryBudget budget = new UndoHistoryBudget(Mockito.mock(UndoCollector.class), Long.MAX_VALUE, 2);
+		assertThat(budget.getNbFitting(List.of(Mockito.mock(Undoable.class), Mockito.mock(Undoable.class), Mockito.mock(Undoable.class)))).isEqualTo(2);
+	}
+
+	@Test
+	void testUndoableAddedTrimsTheCollector() {
+		final UndoCollector collector = Mockito.mock(UndoCollector.class);
+		final UndoHistoryBudget budget = new UndoHistoryBudget(collector, UndoHistoryBudget.DEFAULT_SIZE * 2L, 30);
+		final Undoable undoable = Mockito.mock(Undoable.class);
+		Mockito.when(collector.getUndo()).thenReturn(new ArrayDeque<>(List.of(undoable, Mockito.mock(Undoable.class), Mockito.mock(Undoable.class))));
+
+		budget.onUndoableAdded(undoable);
+
+		final InOrder order = Mockito.inOrder(collector);
+		order.verify(collector).setSizeMax(2);
+		order.verify(collector).setSizeMax(30);
+	}
+
+	@Test
+	void testUndoableAddedInBudget() {
+		final UndoCollector collector = Mockito.mock(UndoCollector.class);
+		final UndoHistoryBudget budget = new UndoHistoryBudget(collector, UndoHistoryBudget.DEFAULT_SIZE * 2L, 30);
+		final Undoable undoable = Mockito.mock(Undoable.class);
+		Mockito.when(collector.getUndo()).thenReturn(new ArrayDeque<>(List.of(undoable)));
+
+		budget.onUndoableAdded(undoable);
+
+		Mockito.verify(collector, Mockito.never()).setSizeMax(1);
+	}
+
+	@Test
+	void testCompactSharesTheGroupOfTheSameShapes() {
+		final ModifyShapeProperty<Double> cmd1 = modifyThickness(2d);
+		final ModifyShapeProperty<Double> cmd2 = modifyThickness(3d);
+		final long size = cmd2.getRetainedSize();
+
+		UndoHistoryBudget.compact(cmd2, cmd1);
+
+		assertThat(cmd2.getShapes()).isSameAs(cmd1.getShapes());
+		assertThat(cmd2.getRetainedSize()).isLessThan(size);
+		assertThat(cmd2.getRetainedSize()).isLessThan(1024L);
+	}
+
+	@Test
+	void testCompactDoesNotShareTheGroupOfOtherShapes() {
+		final ModifyShapeProperty<Double> cmd1 = modifyThickness(2d);
+		drawing.setSelection(shapes.subList(1, 10));
+		final ModifyShapeProperty<Double> cmd2 = modifyThickness(3d);
+
+		UndoHistoryBudget.compact(cmd2, cmd1);
+
+		assertThat(cmd2.getShapes()).isNotSameAs(cmd1.getShapes());
+	}
+
+	@Test
+	void testCompactSharesTheGroupWithTranslation() {
+		final ModifyShapeProperty<Double> cmd1 = modifyThickness(2d);
+		final TranslateShapes cmd2 = new TranslateShapes(drawing, drawing.getSelection().duplicateDeep(false));
+		cmd2.setT(10d, 20d);
+		cmd2.doIt();
+
+		UndoHistoryBudget.compact(cmd2, cmd1);
+		cmd2.undo();
+
+		assertThat(cmd2.getShape()).isSameAs(cmd1.getShapes());
+		assertThat(shapes.get(0).getTopLeftPoint().getX()).isEqualTo(0d);
+	}
+
+	@Test
+	void testUndoAfterCompaction() {
+		IntStream.range(0, shapes.size()).forEach(i -> shapes.get(i).setThickness(1d + i % 3));
+		final ModifyShapeProperty<Double> cmd1 = modifyThickness(2d);
+		final ModifyShapeProperty<Double> cmd2 = modifyThickness(4d);
+		UndoHistoryBudget.compact(cmd2, cmd1);
+
+		cmd2.undo();
+		assertThat(shapes).allMatch(sh -> sh.getThickness() == 2d);
+		cmd1.undo();
+		assertThat(IntStream.range(0, shapes.size())).allMatch(i -> shapes.get(i).getThickness() == 1d + i % 3);
+	}
+
+	@Test
+	void testDeletedShapesRetained() {
+		final DeleteShapes cmd = new DeleteShapes(drawing);
+		cmd.getShapes().addAll(shapes.subList(0, 100));
+		cmd.doIt();
+		assertThat(cmd.getRetainedSize()).isGreaterThan(100L * UndoFootprint.SHAPE_SIZE);
+	}
+}
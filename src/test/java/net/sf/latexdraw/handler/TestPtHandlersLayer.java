@@ -0,0 +1,110 @@
+package net.sf.latexdraw.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Point;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestPtHandlersLayer {
+	List<MovePtHandler> handlers;
+	PtHandlersLayer<MovePtHandler> layer;
+	List<Point> pts;
+
+	@BeforeEach
+	void setUp() {
+		handlers = new ArrayList<>();
+		layer = new PtHandlersLayer<>(false, pt -> new MovePtHandler(pt), handlers);
+		pts = List.of(ShapeFactory.INST.createPoint(10d, 20d), ShapeFactory.INST.createPoint(100d, 200d), ShapeFactory.INST.createPoint(105d, 205d));
+		layer.setPoints(pts);
+	}
+
+	@Test
+	void testGetPointAt() {
+		assertThat(layer.getPointAt(10d, 20d)).isEqualTo(0);
+		assertThat(layer.getPointAt(17d, 13d)).isEqualTo(0);
+		assertThat(layer.getPointAt(19d, 20d)).isEqualTo(-1);
+		assertThat(layer.getPointAt(-500d, 20d)).isEqualTo(-1);
+	}
+
+	@Test
+	void testGetPointAtReturnsTopHandler() {
+		assertThat(layer.getPointAt(102d, 202d)).isEqualTo(2);
+		assertThat(layer.getPointAt(95d, 195d)).isEqualTo(1);
+	}
+
+	@Test
+	void testGetPointAtRoundHandlers() {
+		final PtHandlersLayer<CtrlPointHandler> ctrlLayer = new PtHandlersLayer<>(true, pt -> new CtrlPointHandler(pt), new ArrayList<>());
+		ctrlLayer.setPoints(pts);
+		// As CtrlPointHandler, the circle is centred on the top-left corner of the square of the point
+		assertThat(ctrlLayer.getPointAt(2d, 12d)).isEqualTo(0);
+		assertThat(ctrlLayer.getPointAt(10d, 20d)).isEqualTo(-1);
+	}
+
+	@Test
+	void testGetPointAtAfterMove() {
+		pts.get(0).translate(500d, 0d);
+		assertThat(layer.getPointAt(10d, 20d)).isEqualTo(-1);
+		assertThat(layer.getPointAt(510d, 20d)).isEqualTo(0);
+	}
+
+	@Test
+	void testGetPointAtManyPoints() {
+		final List<Point> many = IntStream.range(0, 10_000).mapToObj(i -> ShapeFactory.INST.createPoint(i % 100 * 20d, i / 100 * 20d)).collect(Collectors.toList());
+		layer.setPoints(many);
+		assertThat(layer.getPointAt(1003d, 998d)).isEqualTo(5050);
+		assertThat(layer.getPointAt(-8.5, 3d)).isEqualTo(-1);
+		assertThat(layer.getPointAt(1986d, 1986d)).isEqualTo(9999);
+	}
+
+	@Test
+	void testPathDrawsAllHandlers() {
+		layer.layout();
+		assertThat(layer.getHandles().getElements()).hasSize(15);
+		layer.clear();
+		layer.layout();
+		assertThat(layer.getHandles().getElements()).isEmpty();
+	}
+
+	@Test
+	void testMaterialise() {
+		layer.materialise(12d, 22d);
+		assertThat(handlers).hasSize(1);
+		assertThat(handlers.get(0).getPoint()).isSameAs(pts.get(0));
+		assertThat(layer.getChildren()).contains(handlers.get(0));
+		assertThat(layer.getHandler()).containsSame(handlers.get(0));
+	}
+
+	@Test
+	void testMaterialiseAnotherHandler() {
+		layer.materialise(12d, 22d);
+		final MovePtHandler handler = handlers.get(0);
+		layer.materialise(12d, 21d);
+		assertThat(handlers).containsExactly(handler);
+		layer.materialise(95d, 195d);
+		assertThat(handlers).hasSize(1);
+		assertThat(handlers.get(0).getPoint()).isSameAs(pts.get(1));
+		assertThat(layer.getChildren()).doesNotContain(handler);
+	}
+
+	@Test
+	void testMaterialiseNoHandler() {
+		layer.materialise(-100d, 22d);
+		assertThat(handlers).isEmpty();
+		assertThat(layer.getHandler()).isEmpty();
+	}
+
+	@Test
+	void testSetPointsRemovesHandler() {
+		layer.materialise(12d, 22d);
+		layer.setPoints(List.of());
+		assertThat(handlers).isEmpty();
+		assertThat(layer.getChildren()).containsExactly(layer.getHandles());
+	}
+}
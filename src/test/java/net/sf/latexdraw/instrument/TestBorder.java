@@ -1,6 +1,8 @@
 package net.sf.latexdraw.instrument;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Arc;
 import javafx.scene.transform.Rotate;
@@ -12,6 +14,7 @@ import net.sf.latexdraw.model.api.shape.Line;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Shape;
 import net.sf.latexdraw.util.Injector;
+import net.sf.latexdraw.view.jfx.Canvas;
 import net.sf.latexdraw.view.jfx.ViewRectangle;
 import org.junit.Before;
 import org.junit.Test;
@@ -163,6 +166,32 @@ public class TestBorder extends BaseTestCanvas implements CollectionMatcher {
 		assertEquals(point.getY(), addedPolyline.getPtAt(1).getY(), 1d);
 	}
 
+	final CmdFXVoid addLongPolyline = () -> {
+		addedPolyline = ShapeFactory.INST.createPolyline(IntStream.range(0, Border.MAX_PT_HANDLER_NODES + 100).
+			mapToObj(i -> ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 50 + i % 20 * 20, -Canvas.ORIGIN.getY() + 100 + i / 20 * 20)).
+			collect(Collectors.toList()));
+		canvas.getDrawing().addShape(addedPolyline);
+	};
+
+	@Test
+	public void testSelectLongPointsShapeNoHandlerNode() {
+		Cmds.of(addLongPolyline, selectAllShapes).execute();
+		assertTrue(border.mvPtHandlers.isEmpty());
+		assertTrue(border.mvPtLayer.isVisible());
+		assertEquals(addedPolyline.getNbPoints(), border.mvPtLayer.getPoints().size());
+	}
+
+	@Test
+	public void testMoveVirtualisedPtHandlerMovePt() {
+		Cmds.of(addLongPolyline, selectAllShapes).execute();
+		final Point point = ShapeFactory.INST.createPoint(addedPolyline.getPtAt(21));
+		point.translate(100d, 20d);
+		Cmds.of(() -> drag(border.mvPtLayer.localToScreen(addedPolyline.getPtAt(21).getX(), addedPolyline.getPtAt(21).getY())).dropBy(100d, 20d)).execute();
+		assertEquals(1, border.mvPtHandlers.size());
+		assertEquals(point.getX(), addedPolyline.getPtAt(21).getX(), 1d);
+		assertEquals(point.getY(), addedPolyline.getPtAt(21).getY(), 1d);
+	}
+
 	@Test
 	public void testMoveCtrl1PtHandlerMovePt() {
 		Cmds.of(addBezier, selectAllShapes).execute();
@@ -0,0 +1,81 @@
+package net.sf.latexdraw.model.api.shape;
+
+import net.sf.latexdraw.model.ShapeFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestShapeBounds {
+	ShapeBounds bounds;
+
+	@Before
+	public void setUp() {
+		bounds = new ShapeBounds();
+	}
+
+	@Test
+	public void testEmptyByDefault() {
+		assertTrue(bounds.isEmpty());
+		assertEquals(0d, bounds.getWidth(), 0.0001);
+		assertEquals(0d, bounds.getHeight(), 0.0001);
+	}
+
+	@Test
+	public void testAddCoordinates() {
+		bounds.add(10d, -5d).add(-2d, 20d).add(3d, 4d);
+		assertFalse(bounds.isEmpty());
+		assertEquals(-2d, bounds.getMinX(), 0.0001);
+		assertEquals(-5d, bounds.getMinY(), 0.0001);
+		assertEquals(10d, bounds.getMaxX(), 0.0001);
+		assertEquals(20d, bounds.getMaxY(), 0.0001);
+		assertEquals(12d, bounds.getWidth(), 0.0001);
+		assertEquals(25d, bounds.getHeight(), 0.0001);
+		assertEquals(4d, bounds.getCentreX(), 0.0001);
+		assertEquals(7.5d, bounds.getCentreY(), 0.0001);
+	}
+
+	@Test
+	public void testAddPoint() {
+		bounds.add(ShapeFactory.INST.createPoint(1d, 2d));
+		assertEquals(1d, bounds.getMinX(), 0.0001);
+		assertEquals(2d, bounds.getMinY(), 0.0001);
+		assertEquals(1d, bounds.getMaxX(), 0.0001);
+		assertEquals(2d, bounds.getMaxY(), 0.0001);
+	}
+
+	@Test
+	public void testAddBounds() {
+		bounds.add(0d, 0d).add(new ShapeBounds().set(-1d, 2d, 5d, 6d));
+		assertEquals(-1d, bounds.getMinX(), 0.0001);
+		assertEquals(0d, bounds.getMinY(), 0.0001);
+		assertEquals(5d, bounds.getMaxX(), 0.0001);
+		assertEquals(6d, bounds.getMaxY(), 0.0001);
+	}
+
+	@Test
+	public void testAddEmptyBoundsDoesNothing() {
+		bounds.add(1d, 1d).add(new ShapeBounds());
+		assertEquals(1d, bounds.getMinX(), 0.0001);
+		assertEquals(1d, bounds.getMaxX(), 0.0001);
+	}
+
+	@Test
+	public void testSetBounds() {
+		final ShapeBounds other = new ShapeBounds().set(1d, 2d, 3d, 4d);
+		assertSame(bounds, bounds.set(other));
+		assertEquals(1d, bounds.getMinX(), 0.0001);
+		assertEquals(2d, bounds.getMinY(), 0.0001);
+		assertEquals(3d, bounds.getMaxX(), 0.0001);
+		assertEquals(4d, bounds.getMaxY(), 0.0001);
+	}
+
+	@Test
+	public void testReset() {
+		bounds.add(1d, 1d).reset();
+		assertTrue(bounds.isEmpty());
+	}
+}
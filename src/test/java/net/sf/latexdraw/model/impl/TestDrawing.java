@@ -11,7 +11,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class TestDrawing {
 	Drawing drawing;
@@ -67,4 +69,29 @@ public class TestDrawing {
 		assertNotNull(drawing.getSelection());
 		assertEquals(0, drawing.getSelection().size());
 	}
+
+	@Test
+	public void testHoldViewUpdatesOfShapes() {
+		final Shape sh = ShapeFactory.INST.createRectangle();
+		final Shape sh2 = ShapeFactory.INST.createRectangle();
+		drawing.addShape(sh);
+		drawing.holdViewUpdates();
+		drawing.addShape(sh2);
+		assertTrue(drawing.isHoldingViewUpdates());
+		assertTrue(sh.isHoldingViewUpdates());
+		assertFalse(sh2.isHoldingViewUpdates());
+		drawing.releaseViewUpdates();
+		assertFalse(drawing.isHoldingViewUpdates());
+		assertFalse(sh.isHoldingViewUpdates());
+	}
+
+	@Test
+	public void testViewUpdatesReleasedOnRemovedShape() {
+		final Shape sh = ShapeFactory.INST.createRectangle();
+		drawing.addShape(sh);
+		drawing.holdViewUpdates();
+		drawing.removeShape(sh);
+		drawing.releaseViewUpdates();
+		assertFalse(sh.isHoldingViewUpdates());
+	}
 }
@@ -55,6 +55,38 @@ public class TestFreehand implements HelperTest {
 		assertEquals(10, shape.getInterval());
 	}
 
+	@Test
+	public void testAddPoint() {
+		shape.addPoint(10d, 20d);
+		shape.addPoint(30d, 40d);
+		assertEquals(2, shape.getNbPoints());
+		assertEquals(ShapeFactory.INST.createPoint(30d, 40d), shape.getPtAt(-1));
+	}
+
+	@Test
+	public void testAddPointKO() {
+		shape.addPoint(Double.NaN, 20d);
+		shape.addPoint(10d, Double.POSITIVE_INFINITY);
+		assertEquals(0, shape.getNbPoints());
+	}
+
+	@Test
+	public void testAddPointUpdatesNbPointsProperty() {
+		shape.addPoint(10d, 20d);
+		assertEquals(1, shape.nbPointsProperty().get());
+		shape.addPoint(30d, 40d);
+		assertEquals(2, shape.nbPointsProperty().get());
+	}
+
+	@Test
+	public void testAddPointUpdatesBounds() {
+		shape.addPoint(10d, 20d);
+		shape.addPoint(30d, 40d);
+		shape.addPoint(-5d, 50d);
+		assertEquals(ShapeFactory.INST.createPoint(-5d, 20d), shape.getTopLeftPoint());
+		assertEquals(ShapeFactory.INST.createPoint(30d, 50d), shape.getBottomRightPoint());
+	}
+
 	@Test
 	public void testCopy() {
 		shape2.setOpened(!shape2.isOpened());
@@ -1,6 +1,9 @@
 package net.sf.latexdraw.model.impl;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.data.ShapeData;
 import net.sf.latexdraw.model.ShapeFactory;
@@ -25,6 +28,7 @@ import org.junit.Test;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
@@ -770,4 +774,215 @@ public class TestGroup implements HelperTest {
 		shape.getShapes().stream().filter(sh -> sh.isInteriorStylable()).
 			forEach(sh -> assertEquals(FillingStyle.GRAD, sh.getFillingStyle()));
 	}
+
+	@Test
+	public void testHoldViewUpdatesOfShapes() {
+		shape.addShape(sh1);
+		shape.addShape(sh2);
+		shape.holdViewUpdates();
+		assertTrue(shape.isHoldingViewUpdates());
+		assertTrue(shape.viewUpdatesHeldProperty().get());
+		assertTrue(sh1.isHoldingViewUpdates());
+		assertTrue(sh2.isHoldingViewUpdates());
+		shape.releaseViewUpdates();
+		assertFalse(shape.isHoldingViewUpdates());
+		assertFalse(shape.viewUpdatesHeldProperty().get());
+		assertFalse(sh1.isHoldingViewUpdates());
+		assertFalse(sh2.isHoldingViewUpdates());
+	}
+
+	@Test
+	public void testNestedHoldsOfViewUpdates() {
+		shape.addShape(sh1);
+		shape.holdViewUpdates();
+		shape.holdViewUpdates();
+		shape.releaseViewUpdates();
+		assertTrue(shape.isHoldingViewUpdates());
+		assertTrue(sh1.isHoldingViewUpdates());
+		shape.releaseViewUpdates();
+		assertFalse(shape.isHoldingViewUpdates());
+		assertFalse(sh1.isHoldingViewUpdates());
+	}
+
+	@Test
+	public void testReleaseNotifiesOncePerShape() {
+		final List<Boolean> changes = new ArrayList<>();
+		shape.addShape(sh1);
+		sh1.viewUpdatesHeldProperty().addListener((obs, oldV, newV) -> changes.add(newV));
+		shape.holdViewUpdates();
+		sh1.setThickness(3d);
+		sh1.translate(10d, 20d);
+		shape.releaseViewUpdates();
+		assertEquals(List.of(true, false), changes);
+	}
+
+	@Test
+	public void testViewUpdatesReleasedOnRemovedShape() {
+		shape.addShape(sh1);
+		shape.holdViewUpdates();
+		shape.removeShape(sh1);
+		shape.addShape(sh2);
+		shape.releaseViewUpdates();
+		assertFalse(sh1.isHoldingViewUpdates());
+		assertFalse(sh2.isHoldingViewUpdates());
+	}
+
+	@Test
+	public void testHoldViewUpdatesInTwoGroups() {
+		final Group gp = ShapeFactory.INST.createGroup();
+		shape.addShape(sh1);
+		gp.addShape(sh1);
+		shape.holdViewUpdates();
+		gp.holdViewUpdates();
+		shape.releaseViewUpdates();
+		assertTrue(sh1.isHoldingViewUpdates());
+		gp.releaseViewUpdates();
+		assertFalse(sh1.isHoldingViewUpdates());
+	}
+
+	@Test
+	public void testReleaseWithoutHold() {
+		shape.addShape(sh1);
+		shape.releaseViewUpdates();
+		sh1.holdViewUpdates();
+		shape.releaseViewUpdates();
+		assertFalse(shape.isHoldingViewUpdates());
+		assertTrue(sh1.isHoldingViewUpdates());
+	}
+
+	@Test
+	public void testFeaturesUpdatedOnMembership() {
+		final Dot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint());
+		shape.addShape(dot);
+		assertFalse(shape.isThicknessable());
+		assertEquals(Double.NaN, shape.getThickness(), 0.00001);
+		sh1.setThickness(12d);
+		shape.addShape(sh1);
+		assertTrue(shape.isThicknessable());
+		assertEquals(12d, shape.getThickness(), 0.00001);
+		shape.removeShape(sh1);
+		assertFalse(shape.isThicknessable());
+		assertEquals(Double.NaN, shape.getThickness(), 0.00001);
+	}
+
+	@Test
+	public void testFeaturesUpdatedOnPropertyChange() {
+		shape.addShape(sh1);
+		shape.addShape(sh2);
+		assertFalse(shape.hasShadow());
+		sh2.setHasShadow(true);
+		sh2.setShadowSize(5d);
+		assertTrue(shape.hasShadow());
+		assertEquals(5d, shape.getShadowSize(), 0.00001);
+		sh1.setHasShadow(true);
+		sh1.setShadowSize(3d);
+		assertEquals(3d, shape.getShadowSize(), 0.00001);
+		sh1.setHasShadow(false);
+		assertEquals(5d, shape.getShadowSize(), 0.00001);
+		sh2.setHasShadow(false);
+		assertFalse(shape.hasShadow());
+	}
+
+	@Test
+	public void testFirstValueUpdatedOnInsertion() {
+		sh1.setFillingStyle(FillingStyle.CLINES);
+		sh2.setFillingStyle(FillingStyle.GRAD);
+		shape.addShape(sh1);
+		assertEquals(FillingStyle.CLINES, shape.getFillingStyle());
+		shape.addShape(sh2, 0);
+		assertEquals(FillingStyle.GRAD, shape.getFillingStyle());
+		assertTrue(shape.hasGradient());
+		assertTrue(shape.hasHatchings());
+		sh2.setFillingStyle(FillingStyle.NONE);
+		assertFalse(shape.hasGradient());
+		shape.getShapes().setAll(sh1);
+		assertEquals(FillingStyle.CLINES, shape.getFillingStyle());
+	}
+
+	@Test
+	public void testFeaturesOfDotUpdatedOnStyle() {
+		final Dot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint());
+		dot.setDotStyle(DotStyle.DOT);
+		shape.addShape(dot);
+		assertFalse(shape.isFillable());
+		dot.setDotStyle(DotStyle.O);
+		assertTrue(shape.isFillable());
+	}
+
+	@Test
+	public void testFeaturesOfNestedGroup() {
+		final Group gp = ShapeFactory.INST.createGroup();
+		gp.addShape(sh1);
+		shape.addShape(gp);
+		assertFalse(shape.hasShadow());
+		sh1.setHasShadow(true);
+		sh1.setShadowAngle(1d);
+		assertTrue(shape.hasShadow());
+		assertEquals(1d, shape.getShadowAngle(), 0.00001);
+		gp.removeShape(sh1);
+		assertFalse(shape.hasShadow());
+	}
+
+	@Test
+	public void testFeaturesOfShapeAddedTwice() {
+		sh1.setHasShadow(true);
+		shape.addShape(sh1);
+		shape.addShape(sh1);
+		assertTrue(shape.hasShadow());
+		shape.removeShape(sh1);
+		assertTrue(shape.hasShadow());
+		sh1.setHasShadow(false);
+		assertFalse(shape.hasShadow());
+		sh1.setHasShadow(true);
+		shape.removeShape(sh1);
+		assertFalse(shape.hasShadow());
+	}
+
+	@Test
+	public void testFeaturesUpdatedThroughTheProperties() {
+		final Rectangle rec = ShapeFactory.INST.createRectangle();
+		rec.fillingProperty().set(FillingStyle.PLAIN);
+		shape.addShape(rec);
+		assertTrue(shape.isFilled());
+		assertFalse(shape.hasShadow());
+		rec.shadowProperty().set(true);
+		assertTrue(shape.hasShadow());
+		rec.fillingProperty().set(FillingStyle.GRAD);
+		assertTrue(shape.hasGradient());
+	}
+
+	@Test
+	public void testFeaturesSummaryDoesNotCreateTheLazyProperties() {
+		final Rectangle rec = Mockito.spy(ShapeFactory.INST.createRectangle());
+		shape.addShape(rec);
+		assertFalse(shape.hasShadow());
+		rec.setHasShadow(true);
+		rec.setHasDbleBord(true);
+		rec.setShowPts(true);
+		rec.setFillingStyle(FillingStyle.CLINES);
+		assertTrue(shape.hasShadow());
+		assertTrue(shape.hasDbleBord());
+		assertTrue(shape.hasHatchings());
+		Mockito.verify(rec, Mockito.never()).shadowProperty();
+		Mockito.verify(rec, Mockito.never()).dbleBordProperty();
+		Mockito.verify(rec, Mockito.never()).showPointProperty();
+		Mockito.verify(rec, Mockito.never()).fillingProperty();
+	}
+
+	@Test
+	public void testShapesDoNotRetainTheGroupsSummarisingThem() {
+		final WeakReference<Group> ref = new WeakReference<>(ShapeFactory.INST.createGroup());
+		ref.get().addShape(sh1);
+		assertFalse(ref.get().hasShadow());
+
+		for(int i = 0; i < 10 && ref.get() != null; i++) {
+			System.gc();
+		}
+
+		assertNull(ref.get());
+		// The listener of the collected group is ignored
+		sh1.setHasShadow(true);
+		shape.addShape(sh1);
+		assertTrue(shape.hasShadow());
+	}
 }
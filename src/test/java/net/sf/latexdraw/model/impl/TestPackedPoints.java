@@ -0,0 +1,198 @@
+package net.sf.latexdraw.model.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import net.sf.latexdraw.HelperTest;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Point;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestPackedPoints {
+	PackedPoints pts;
+
+	@BeforeEach
+	void setUp() {
+		pts = new PackedPoints(List.of(ShapeFactory.INST.createPoint(1d, 2d), ShapeFactory.INST.createPoint(3d, 4d)));
+	}
+
+	@Test
+	void testCopiesCoordinates() {
+		final Point pt = ShapeFactory.INST.createPoint(5d, 6d);
+		pts.add(pt);
+		pt.setPoint(10d, 10d);
+		assertThat(pts).containsExactly(ShapeFactory.INST.createPoint(1d, 2d), ShapeFactory.INST.createPoint(3d, 4d), ShapeFactory.INST.createPoint(5d, 6d));
+	}
+
+	@Test
+	void testGrows() {
+		IntStream.range(0, 1000).forEach(i -> pts.add(ShapeFactory.INST.createPoint(i, -i)));
+		assertThat(pts).hasSize(1002);
+		assertThat(pts.getX(1001)).isEqualTo(999d);
+		assertThat(pts.getY(1001)).isEqualTo(-999d);
+	}
+
+	@Test
+	void testCreateOrigins() {
+		assertThat(PackedPoints.createOrigins(3)).containsExactly(ShapeFactory.INST.createPoint(), ShapeFactory.INST.createPoint(), ShapeFactory.INST.createPoint());
+	}
+
+	@Test
+	void testFacadeWritesThrough() {
+		pts.get(1).setPoint(7d, 8d);
+		assertThat(pts.getX(1)).isEqualTo(7d);
+		assertThat(pts.getY(1)).isEqualTo(8d);
+		assertThat(pts.get(1).getX()).isEqualTo(7d);
+	}
+
+	@Test
+	void testFacadeRejectsInvalidCoordinates() {
+		pts.get(0).setX(Double.NaN);
+		assertThat(pts.getX(0)).isEqualTo(1d);
+	}
+
+	@Test
+	void testSet() {
+		final Point old = pts.set(0, ShapeFactory.INST.createPoint(-1d, -2d));
+		assertThat(old).isEqualTo(ShapeFactory.INST.createPoint(1d, 2d));
+		assertThat(pts.get(0)).isEqualTo(ShapeFactory.INST.createPoint(-1d, -2d));
+	}
+
+	@Test
+	void testInsertNotSupported() {
+		assertThrows(UnsupportedOperationException.class, () -> pts.add(0, ShapeFactory.INST.createPoint()));
+	}
+
+	@Test
+	void testRemoveNotSupported() {
+		assertThrows(UnsupportedOperationException.class, () -> pts.remove(0));
+	}
+
+	@Test
+	void testBadIndex() {
+		assertThrows(IndexOutOfBoundsException.class, () -> pts.get(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> pts.getX(-1));
+	}
+
+	@Test
+	void testNoPropertyCreatedByDefault() {
+		pts.get(0).translate(1d, 1d);
+		pts.forEach(pt -> pt.getX());
+		pts.getBounds(new ShapeBounds());
+		assertThat(pts.getNbCreatedProperties()).isZero();
+	}
+
+	@Test
+	void testShapeBoundsCreateNoProperty() {
+		final ShapeBase polyline = (ShapeBase) ShapeFactory.INST.createPolyline(IntStream.range(0, 100).
+			mapToObj(i -> ShapeFactory.INST.createPoint(i, i % 7)).collect(Collectors.toList()));
+		polyline.getBounds(new ShapeBounds());
+		polyline.getTopLeftPoint();
+		polyline.getBottomRightPoint();
+		polyline.translate(10d, 10d);
+		assertThat(polyline.getBounds(new ShapeBounds()).getMaxX()).isEqualTo(109d);
+		assertThat(((PackedPoints) polyline.points).getNbCreatedProperties()).isZero();
+	}
+
+	@Test
+	void testPropertyCreatedOnDemand() {
+		pts.get(1).yProperty();
+		assertThat(pts.getNbCreatedProperties()).isEqualTo(1);
+	}
+
+	@Test
+	void testPropertySharedByFacades() {
+		assertThat(pts.get(0).xProperty()).isSameAs(pts.get(0).xProperty());
+	}
+
+	@Test
+	void testPropertyNotifiedWhenModifiedFromAnotherFacade() {
+		final AtomicInteger cpt = new AtomicInteger();
+		pts.get(0).xProperty().addListener((observable, oldValue, newValue) -> cpt.incrementAndGet());
+		pts.get(0).setX(100d);
+		pts.set(0, ShapeFactory.INST.createPoint(200d, 0d));
+		assertThat(cpt.get()).isEqualTo(2);
+		assertThat(pts.get(0).xProperty().get()).isEqualTo(200d);
+	}
+
+	@Test
+	void testListenersReadUpToDateCoordinates() {
+		final List<Double> values = new ArrayList<>();
+		pts.get(0).yProperty().addListener((observable, oldValue, newValue) -> values.add(pts.getY(0)));
+		pts.get(0).setY(50d);
+		assertThat(values).containsExactly(50d);
+	}
+
+	@Test
+	void testPropertySetWritesThrough() {
+		pts.get(1).xProperty().set(-30d);
+		assertThat(pts.getX(1)).isEqualTo(-30d);
+	}
+
+	@Test
+	void testPropertyOfPointAddedAfterFirstProperty() {
+		pts.get(0).xProperty();
+		IntStream.range(0, 20).forEach(i -> pts.add(ShapeFactory.INST.createPoint(i, i)));
+		pts.get(21).setX(-1d);
+		assertThat(pts.get(21).xProperty().get()).isEqualTo(-1d);
+	}
+
+	@Test
+	void testBoundsUpdated() {
+		final ShapeBounds bounds = pts.getBounds(new ShapeBounds());
+		assertThat(bounds.getMinX()).isEqualTo(1d);
+		assertThat(bounds.getMaxY()).isEqualTo(4d);
+		pts.get(0).xProperty().set(-5d);
+		pts.get(1).setY(40d);
+		pts.getBounds(bounds);
+		assertThat(bounds.getMinX()).isEqualTo(-5d);
+		assertThat(bounds.getMaxY()).isEqualTo(40d);
+	}
+
+	@Test
+	void testBoundPropertyWritesThrough() {
+		final DoubleProperty x = new SimpleDoubleProperty(-20d);
+		pts.get(0).xProperty().bind(x.multiply(2d));
+		final ShapeBounds bounds = pts.getBounds(new ShapeBounds());
+		assertThat(pts.getX(0)).isEqualTo(-40d);
+		assertThat(bounds.getMinX()).isEqualTo(-40d);
+		x.set(10d);
+		pts.getBounds(bounds);
+		assertThat(pts.getX(0)).isEqualTo(20d);
+		assertThat(bounds.getMinX()).isEqualTo(3d);
+		assertThat(bounds.getMaxX()).isEqualTo(20d);
+	}
+
+	@Test
+	void testBoundPropertyWritesThroughWithoutReadingTheProperty() {
+		final DoubleProperty y = new SimpleDoubleProperty();
+		pts.get(1).yProperty().bind(y);
+		IntStream.range(0, 5).forEach(i -> {
+			y.set(i * 10d);
+			assertThat(pts.getY(1)).isEqualTo(i * 10d);
+		});
+	}
+
+	/**
+	 * Compares the retained heap of 10k points stored as point objects with their packed storage.
+	 */
+	@Test
+	void testRetainedHeapPer10kPoints() {
+		final List<Point> source = IntStream.range(0, 10_000).mapToObj(i -> ShapeFactory.INST.createPoint(i, i)).collect(Collectors.toList());
+
+		final long objects = HelperTest.measureRetainedHeap(20, i -> source.stream().map(pt -> ShapeFactory.INST.createPoint(pt)).collect(Collectors.toList()));
+		final long packed = HelperTest.measureRetainedHeap(20, i -> new PackedPoints(source));
+
+		// 16 bytes of coordinates per point, versus a point object and two JavaFX properties per point
+		assertThat(packed).isLessThan(objects / 3L);
+	}
+}
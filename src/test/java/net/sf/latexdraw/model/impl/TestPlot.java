@@ -16,6 +16,7 @@ import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.PositionShape;
 import net.sf.latexdraw.model.api.shape.Rectangle;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import net.sf.latexdraw.parser.ps.InvalidFormatPSFunctionException;
 import net.sf.latexdraw.view.latex.DviPsColors;
 import org.junit.Before;
@@ -24,6 +25,7 @@ import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.experimental.theories.suppliers.TestedOn;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -333,6 +335,23 @@ public class TestPlot implements HelperTest {
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
 
+	@Test
+	public void testBoundsComputedWithoutSamplingEachPoint() {
+		final Plot plot = Mockito.spy(ShapeFactory.INST.createPlot(ShapeFactory.INST.createPoint(10d, 20d), -2d, 3d, "x x mul", false));
+		plot.setNbPlottedPoints(6);
+		final ShapeBounds bounds = plot.getBounds(new ShapeBounds());
+
+		assertEquals(10d - 2d * Shape.PPC, bounds.getMinX(), 0.0000001);
+		assertEquals(20d - 9d * Shape.PPC, bounds.getMinY(), 0.0000001);
+		assertEquals(10d + 3d * Shape.PPC, bounds.getMaxX(), 0.0000001);
+		assertEquals(20d, bounds.getMaxY(), 0.0000001);
+		assertEquals(20d - 9d * Shape.PPC, plot.getTopLeftPoint().getY(), 0.0000001);
+		assertEquals(20d - 9d * Shape.PPC, plot.getTopRightPoint().getY(), 0.0000001);
+		assertEquals(20d, plot.getBottomLeftPoint().getY(), 0.0000001);
+		assertEquals(20d, plot.getBottomRightPoint().getY(), 0.0000001);
+		Mockito.verify(plot, Mockito.never()).getY(Mockito.anyDouble());
+	}
+
 	@Test
 	public void testPolarPropertyNotNull() {
 		assertNotNull(shape.polarProperty());
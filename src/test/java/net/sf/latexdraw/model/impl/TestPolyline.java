@@ -2,6 +2,10 @@ package net.sf.latexdraw.model.impl;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.model.ShapeFactory;
 import net.sf.latexdraw.model.api.shape.Circle;
@@ -11,6 +15,7 @@ import net.sf.latexdraw.model.api.shape.Polygon;
 import net.sf.latexdraw.model.api.shape.Polyline;
 import net.sf.latexdraw.model.api.shape.Rectangle;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -39,4 +44,39 @@ public class TestPolyline implements HelperTest {
 		assertTrue(shape.isTypeOf(Polyline.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testBoundsUpdatedWhenOnePointOfManyMoves() {
+		final Polyline pol = ShapeFactory.INST.createPolyline(IntStream.range(0, 10000).
+			mapToObj(i -> ShapeFactory.INST.createPoint(i % 100, i / 100)).collect(Collectors.toList()));
+		final ShapeBounds bounds = pol.getBounds(new ShapeBounds());
+		assertEquals(0d, bounds.getMinX(), 0.0001);
+		assertEquals(99d, bounds.getMaxY(), 0.0001);
+
+		pol.getPtAt(5000).setPoint(-10d, 500d);
+		pol.getBounds(bounds);
+		assertEquals(-10d, bounds.getMinX(), 0.0001);
+		assertEquals(500d, bounds.getMaxY(), 0.0001);
+		assertEquals(-10d, pol.getTopLeftPoint().getX(), 0.0001);
+		assertEquals(500d, pol.getBottomRightPoint().getY(), 0.0001);
+	}
+
+	@Test
+	public void testBoundsFollowBoundPoints() {
+		final Polyline pol = ShapeFactory.INST.createPolyline(Arrays.asList(ShapeFactory.INST.createPoint(), ShapeFactory.INST.createPoint(10d, 10d)));
+		final DoubleProperty start = new SimpleDoubleProperty(-1d);
+		final DoubleProperty end = new SimpleDoubleProperty(2d);
+		pol.getPtAt(0).xProperty().bind(start.multiply(Shape.PPC));
+		pol.getPtAt(1).xProperty().bind(end.multiply(Shape.PPC));
+		final ShapeBounds bounds = pol.getBounds(new ShapeBounds());
+		assertEquals(-Shape.PPC, bounds.getMinX(), 0.0001);
+		assertEquals(2d * Shape.PPC, bounds.getMaxX(), 0.0001);
+
+		start.set(-3d);
+		end.set(5d);
+		pol.getBounds(bounds);
+		assertEquals(-3d * Shape.PPC, bounds.getMinX(), 0.0001);
+		assertEquals(5d * Shape.PPC, bounds.getMaxX(), 0.0001);
+		assertEquals(-3d * Shape.PPC, pol.getTopLeftPoint().getX(), 0.0001);
+	}
 }
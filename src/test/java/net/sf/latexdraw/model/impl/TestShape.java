@@ -1,5 +1,6 @@
 package net.sf.latexdraw.model.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.data.DoubleData;
@@ -12,7 +13,10 @@ import net.sf.latexdraw.model.api.shape.FillingStyle;
 import net.sf.latexdraw.model.api.shape.LineStyle;
 import net.sf.latexdraw.model.api.shape.Point;
 import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.model.api.shape.ShapeBounds;
+import net.sf.latexdraw.model.api.shape.SingleShape;
 import net.sf.latexdraw.view.latex.DviPsColors;
+import org.junit.Test;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
@@ -20,6 +24,7 @@ import org.junit.runner.RunWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
@@ -144,6 +149,81 @@ public class TestShape implements HelperTest {
 		assertEquals((shape.getTopLeftPoint().getY() + shape.getBottomLeftPoint().getY()) / 2., gc.getY(), 0.0001);
 	}
 
+	@Theory
+	public void testPropertyCreatedLazilyHasCurrentValue(@ShapeData final Shape shape) {
+		assumeTrue(shape instanceof SingleShape && shape.isThicknessable());
+		shape.setThickness(17d);
+		shape.setLineColour(DviPsColors.RED);
+		assertEquals(17d, ((SingleShape) shape).thicknessProperty().get(), 0.0001);
+		assertEquals(DviPsColors.RED, ((SingleShape) shape).lineColourProperty().get());
+	}
+
+	@Theory
+	public void testSetterNotifiesCreatedProperty(@ShapeData final Shape shape) {
+		final List<Number> values = new ArrayList<>();
+		shape.rotationAngleProperty().addListener((observable, oldValue, newValue) -> values.add(newValue));
+		shape.setRotationAngle(1.5d);
+		assertEquals(List.of(1.5d), values);
+		assertEquals(1.5d, shape.getRotationAngle(), 0.0001);
+	}
+
+	@Theory
+	public void testPropertyValueReadByGetter(@ShapeData final Shape shape) {
+		assumeTrue(shape instanceof SingleShape && shape.isInteriorStylable());
+		((SingleShape) shape).hatchingsSepProperty().set(33d);
+		assertEquals(33d, shape.getHatchingsSep(), 0.0001);
+	}
+
+	@Theory
+	public void testDuplicateKeepsValuesOfCreatedProperties(@ShapeData final Shape shape) {
+		assumeTrue(shape instanceof SingleShape && shape.isLineStylable());
+		((SingleShape) shape).linestyleProperty().set(LineStyle.DASHED);
+		assertEquals(LineStyle.DASHED, shape.duplicate().getLineStyle());
+	}
+
+	/**
+	 * The JavaFX properties of a shape are created on demand: a default-styled shape must be clearly lighter
+	 * than a shape whose properties have all been created.
+	 */
+	@Test
+	public void testRetainedHeapOfDefaultShape() {
+		final long lazy = HelperTest.measureRetainedHeap(20_000, i -> ShapeFactory.INST.createRectangle());
+		final long materialised = HelperTest.measureRetainedHeap(20_000, i -> createAllProperties(ShapeFactory.INST.createRectangle()));
+		assertTrue(lazy + " vs " + materialised, lazy * 3L < materialised * 2L); //NON-NLS
+	}
+
+	private static SingleShape createAllProperties(final SingleShape sh) {
+		List.of(sh.thicknessProperty(), sh.linestyleProperty(), sh.borderPosProperty(), sh.lineColourProperty(), sh.fillingProperty(),
+			sh.dashSepWhiteProperty(), sh.dashSepBlackProperty(), sh.dotSepProperty(), sh.dbleBordProperty(), sh.dbleBordSepProperty(),
+			sh.dbleBordColProperty(), sh.gradColStartProperty(), sh.gradColEndProperty(), sh.fillingColProperty(), sh.gradAngleProperty(),
+			sh.gradMidPtProperty(), sh.shadowProperty(), sh.shadowColProperty(), sh.shadowAngleProperty(), sh.shadowSizeProperty(),
+			sh.hatchingsAngleProperty(), sh.hatchingsSepProperty(), sh.hatchingsWidthProperty(), sh.hatchingsColProperty(),
+			sh.rotationAngleProperty(), sh.showPointProperty());
+		return sh;
+	}
+
+	@Theory
+	public void testGetBoundsSameAsTopLeftBottomRight(@ShapeData final Shape shape) {
+		final ShapeBounds bounds = shape.getBounds(new ShapeBounds());
+		assertEquals(shape.getTopLeftPoint().getX(), bounds.getMinX(), 0.0001);
+		assertEquals(shape.getTopLeftPoint().getY(), bounds.getMinY(), 0.0001);
+		assertEquals(shape.getBottomRightPoint().getX(), bounds.getMaxX(), 0.0001);
+		assertEquals(shape.getBottomRightPoint().getY(), bounds.getMaxY(), 0.0001);
+	}
+
+	@Theory
+	public void testGetBoundsUpdatedOnTranslate(@ShapeData final Shape shape) {
+		final ShapeBounds bounds = shape.getBounds(new ShapeBounds());
+		final double minX = bounds.getMinX();
+		final double minY = bounds.getMinY();
+		shape.translate(11d, -7d);
+		assertSame(bounds, shape.getBounds(bounds));
+		assertEquals(minX + 11d, bounds.getMinX(), 0.0001);
+		assertEquals(minY - 7d, bounds.getMinY(), 0.0001);
+		assertEquals(shape.getTopLeftPoint().getX(), bounds.getMinX(), 0.0001);
+		assertEquals(shape.getBottomRightPoint().getY(), bounds.getMaxY(), 0.0001);
+	}
+
 	@Theory
 	public void testGetFullBottomRightPoint(@ShapeData final Shape shape) {
 		shape.setThickness(10.);
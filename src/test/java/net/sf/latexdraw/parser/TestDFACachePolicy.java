@@ -0,0 +1,131 @@
+package net.sf.latexdraw.parser;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import net.sf.latexdraw.parser.pst.PSTContext;
+import net.sf.latexdraw.parser.pst.PSTLexer;
+import net.sf.latexdraw.parser.pst.PSTParser;
+import net.sf.latexdraw.parser.svg.SVGPathLexer;
+import net.sf.latexdraw.parser.svg.SVGPathParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDFACachePolicy {
+	static final String PATH = "M 10 20 L 30.5 -40 C 1 2 3 4 5 6 Q 1 2 3 4 A 10 20 30 1 0 40 50 Z";
+	static final String PST = "\\psline[linewidth=0.1cm](1,2)(3,4)\\psframe(0,0)(2,2)";
+	DFACachePolicy policy;
+
+	@BeforeEach
+	void setUp() {
+		policy = new DFACachePolicy(Integer.MAX_VALUE);
+	}
+
+	static SVGPathParser parseSVGPath(final DFACachePolicy policy) {
+		final SVGPathLexer lexer = new SVGPathLexer(CharStreams.fromString(PATH));
+		final SVGPathParser parser = policy.prepare(new SVGPathParser(new CommonTokenStream(lexer)));
+		parser.svgpath();
+		policy.release(lexer, parser);
+		return parser;
+	}
+
+	static int parsePST(final DFACachePolicy policy) {
+		final PSTLexer lexer = new PSTLexer(CharStreams.fromString(PST));
+		final PSTParser parser = policy.prepare(new PSTParser(new CommonTokenStream(lexer)));
+		parser.pstCode(new PSTContext());
+		policy.release(lexer, parser);
+		return DFACachePolicy.getNbStates(lexer, parser);
+	}
+
+	/**
+	 * @return The parse tree of the given code, parsed with the caches of the given policy.
+	 */
+	static String parsePSTTree(final String code, final DFACachePolicy policy) {
+		final PSTLexer lexer = new PSTLexer(CharStreams.fromString(code));
+		final PSTParser parser = policy.prepare(new PSTParser(new CommonTokenStream(lexer)));
+		final String tree = parser.pstCode(new PSTContext()).toStringTree(parser);
+		policy.release(lexer, parser);
+		return tree;
+	}
+
+	static int getNbSVGPathStates() {
+		final SVGPathLexer lexer = new SVGPathLexer(CharStreams.fromString(""));
+		return DFACachePolicy.getNbStates(lexer, new SVGPathParser(new CommonTokenStream(lexer)));
+	}
+
+	@Test
+	void testDFAKeptBetweenParsings() {
+		parseSVGPath(policy);
+		assertThat(getNbSVGPathStates()).isPositive();
+		assertThat(policy.getNbResets()).isZero();
+	}
+
+	@Test
+	void testWarmDFANotExtendedBySameInput() {
+		parseSVGPath(policy);
+		final int nbStates = getNbSVGPathStates();
+		parseSVGPath(policy);
+		assertThat(getNbSVGPathStates()).isEqualTo(nbStates);
+	}
+
+	@Test
+	void testDFAClearedWhenBudgetExceeded() {
+		policy.setMaxStates(0);
+		parseSVGPath(policy);
+		assertThat(getNbSVGPathStates()).isZero();
+		assertThat(policy.getNbResets()).isEqualTo(1L);
+	}
+
+	@Test
+	void testPSTDFAKeptBetweenParsings() {
+		assertThat(parsePST(policy)).isPositive();
+	}
+
+	@Test
+	void testPSTDFAClearedWhenBudgetExceeded() {
+		policy.setMaxStates(0);
+		assertThat(parsePST(policy)).isZero();
+		assertThat(policy.getNbResets()).isEqualTo(1L);
+	}
+
+	@Test
+	void testMaxStatesNotNegative() {
+		policy.setMaxStates(-1);
+		assertThat(policy.getMaxStates()).isZero();
+	}
+
+	@Test
+	void testContextCacheClearedWithDFA() {
+		parsePST(policy);
+		assertThat(policy.getNbCachedContexts()).isPositive();
+		policy.setMaxStates(0);
+		parsePST(policy);
+		assertThat(policy.getNbCachedContexts()).isZero();
+	}
+
+	@Test
+	void testPreparedParsersShareTheContextCache() {
+		final PSTParser parser1 = policy.prepare(new PSTParser(new CommonTokenStream(new PSTLexer(CharStreams.fromString(PST)))));
+		final PSTParser parser2 = policy.prepare(new PSTParser(new CommonTokenStream(new PSTLexer(CharStreams.fromString(PST)))));
+		assertThat(parser1.getInterpreter().getSharedContextCache()).isSameAs(parser2.getInterpreter().getSharedContextCache());
+	}
+
+	/**
+	 * Parsing with the caches filled by other inputs gives the same parse trees than parsing with empty caches.
+	 */
+	@Test
+	void testWarmCachesGiveTheSameTrees() {
+		final List<String> codes = List.of(PST, "\\psframe[fillstyle=solid,fillcolor=red](1,1)(2,3)", "\\pscircle(1,1){2}",
+			"\\psellipse[linestyle=dashed](0,0)(1,2)\\psdot[dotstyle=square](5,5)", "\\psbezier(1,2)(3,4)(5,6)(7,8)",
+			"\\rput(1,2){\\psline{->}(0,0)(1,1)}", "\\psgrid[gridlabels=0pt](0,0)(5,5)", "\\psplot{0}{3}{x 2 mul}");
+		final DFACachePolicy cold = new DFACachePolicy(0);
+		final List<String> coldTrees = codes.stream().map(code -> parsePSTTree(code, cold)).collect(Collectors.toList());
+
+		assertThat(codes.stream().map(code -> parsePSTTree(code, policy)).collect(Collectors.toList())).isEqualTo(coldTrees);
+		assertThat(codes.stream().map(code -> parsePSTTree(code, policy)).collect(Collectors.toList())).isEqualTo(coldTrees);
+		assertThat(policy.getNbResets()).isZero();
+	}
+}
@@ -0,0 +1,91 @@
+package net.sf.latexdraw.parser.ps;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TestPSCompiledFunction {
+	static List<String> split(final String fct) {
+		return Arrays.stream(fct.split(" ")).filter(cmd -> !cmd.isEmpty()).collect(Collectors.toList());
+	}
+
+	@ParameterizedTest
+	@CsvSource({"x, 3, 3", "1 -2.5 mul, 0, -2.5", "x 2 add, 3, 5", "x -10 add, 12.1, 2.1", "x 2 sub, 3, 1", "2 x sub, 3, -1",
+		"x 3 mul 2 div, 3, 4.5", "-10 x div, -20, 0.5", "-10 x div, 20, -0.5", "x 3 idiv, 10, 3", "x 3 idiv, -10, -4", "x 3 mod, 10, 1",
+		"x 3 mod, -10, -1", "x 2 exp, 3, 9", "2 x exp, 3, 8", "x sin, 90, 1", "x sin, -90, -1", "x cos, 0, 1", "x cos, 180, -1",
+		"x log, 100, 2", "x 1 sub log, 11, 1", "x neg, 3, -3", "x neg abs, 3, 3", "x neg abs, -3, 3", "x 10 div floor, -5, -1",
+		"x 10 div floor, 5, 0", "x 10 div ceiling, 5, 1", "x 10 div ceiling, -5, 0", "x 1 exch sub, 3, -2", "x dup mul, -3, 9",
+		"x 1 pop, 3, 3", "count, 3, 0", "count count, 3, 1", "x 1 2 count, 3, 3", "x 1 2 count add add add, 3, 9",
+		"x 5 clear 3 x mul, 3, 9", "x sin 0 exch sub x cos mul, 0, 0", "1 2 3 4 5 count mul add sub div, 0, -0.07692307692307693",
+		"x 1 sub 0 exch div 3 x add, 3, 6"})
+	void testEvaluate(final String fct, final double x, final double expected) {
+		assertThat(new PSCompiledFunction(split(fct)).evaluate(x)).isEqualTo(expected, within(1e-12));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"x 0 div, 3", "0 x div, 0", "x 0 mod, 3", "x 0 idiv, 3", "x x sub 1 exch div, 3", "x 0 div add, 3",
+		"x 1 sub 0 exch div 3 x add, 1"})
+	void testDivisionByZeroFails(final String fct, final double x) {
+		final PSCompiledFunction compiled = new PSCompiledFunction(split(fct));
+		assertThrows(ArithmeticException.class, () -> compiled.evaluate(x));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"add", "x add", "x mul", "x sub", "x div", "x idiv", "x mod", "x exp", "x exch", "sin", "cos", "log", "neg",
+		"abs", "floor", "ceiling", "dup", "pop", "x pop", "x pop 1 add", "clear", "x clear", "x 1 add add"})
+	void testMissingOperandFails(final String fct) {
+		final PSCompiledFunction compiled = new PSCompiledFunction(split(fct));
+		assertThrows(InvalidFormatPSFunctionException.class, () -> compiled.evaluate(1d));
+	}
+
+	@Test
+	void testUnknownCommandNotCompiled() {
+		assertThrows(InvalidFormatPSFunctionException.class, () -> new PSCompiledFunction(List.of("x", "add", "foo")));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"x sqrt", "1 2 1 1 roll"})
+	void testUnsupportedCommandFails(final String fct) {
+		final PSCompiledFunction compiled = new PSCompiledFunction(split(fct));
+		assertThrows(InvalidFormatPSFunctionException.class, () -> compiled.evaluate(1d));
+	}
+
+	@Test
+	void testEvaluateRange() {
+		final PSCompiledFunction compiled = new PSCompiledFunction(split("x x mul 1 add"));
+		final double[] out = new double[5];
+		compiled.evaluate(-1d, 0.5, 4, out);
+		assertThat(out).containsExactly(2d, 1.25, 1d, 1.25, 0d);
+	}
+
+	@Test
+	void testEvaluateRangeAllocatesNothing() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+		final PSFunctionParser parser = new PSFunctionParser("x sin 2 exp x cos 2 exp add x 3 mul 2 div sub count mul");
+		final double[] out = new double[100_000];
+		final long id = Thread.currentThread().getId();
+
+		// Warming up
+		parser.evaluateRange(-100d, 100d, out.length, out);
+		final long before = bean.getThreadAllocatedBytes(id);
+		parser.evaluateRange(-100d, 100d, out.length, out);
+		final long allocated = bean.getThreadAllocatedBytes(id) - before;
+
+		// A boxed value per sample would require more than a megabyte
+		assertThat(allocated).isLessThan(10_000L);
+		// sin² + cos² - 3x/2, multiplied by the depth of the stack (1)
+		assertThat(out[out.length - 1]).isEqualTo(-149d, within(1e-9));
+	}
+}
@@ -1,43 +0,0 @@
-package net.sf.latexdraw.parser.ps;
-
-import org.junit.jupiter.api.Test;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-
-public class TestPSCosCommand extends TestPSCommand<PSCosCommand> {
-	@Override
-	PSCosCommand createCmd() {
-		return new PSCosCommand();
-	}
-
-	@Override
-	@Test
-	void testExecuteVal0() throws InvalidFormatPSFunctionException {
-		dequeue.push(0d);
-		cmd.execute(dequeue, 0d);
-		assertEquals(Math.cos(0d), dequeue.peek(), 0.00001);
-	}
-
-	@Override
-	@Test
-	void testExecuteValNeg() throws InvalidFormatPSFunctionException {
-		dequeue.push(-10d);
-		cmd.execute(dequeue, 0d);
-		assertEquals(Math.cos(Math.toRadians(-10d)), dequeue.peek(), 0.00001);
-	}
-
-	@Override
-	@Test
-	void testExecuteValPos() throws InvalidFormatPSFunctionException {
-		dequeue.push(10d);
-		cmd.execute(dequeue, 0d);
-		assertEquals(Math.cos(Math.toRadians(10d)), dequeue.peek(), 0.00001);
-	}
-
-	@Override
-	@Test
-	void testExecuteInvalidDequeueSize() throws InvalidFormatPSFunctionException {
-		assertThrows(InvalidFormatPSFunctionException.class, () -> cmd.execute(dequeue, 0d));
-	}
-}
@@ -1,5 +1,6 @@
 package net.sf.latexdraw.parser.ps;
 
+import java.lang.management.ManagementFactory;
 import net.sf.latexdraw.util.Tuple;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -8,6 +9,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class TestPSFunctionParser {
 	@Test
@@ -230,4 +232,67 @@ public class TestPSFunctionParser {
 		assertThat(res.b).isNotEmpty();
 		assertThat(res.a).isFalse();
 	}
+
+	@Test
+	void testEvaluateRange() {
+		final PSFunctionParser parser = new PSFunctionParser("x 2 mul");
+		final double[] out = new double[6];
+		parser.evaluateRange(-1d, 3d, 5, out);
+		assertThat(out).containsExactly(-2d, 0d, 2d, 4d, 6d, 0d);
+	}
+
+	@Test
+	void testIsValidPostFixEquationKOAfterTheFirstChunk() {
+		final Tuple<Boolean, String> res = PSFunctionParser.isValidPostFixEquation("300.5 x sub log", 0, 600, 601);
+		assertThat(res.b).endsWith("x=301.0");
+		assertThat(res.a).isFalse();
+	}
+
+	@Test
+	void testIsValidPostFixEquationAllocationDoesNotDependOnNbPoints() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+		final long id = Thread.currentThread().getId();
+
+		// Warming up
+		PSFunctionParser.isValidPostFixEquation("x sin", 0, 10, 1_000_000);
+		final long before = bean.getThreadAllocatedBytes(id);
+		final Tuple<Boolean, String> res = PSFunctionParser.isValidPostFixEquation("x sin", 0, 10, 1_000_000);
+		final long allocated = bean.getThreadAllocatedBytes(id) - before;
+
+		assertThat(res.a).isTrue();
+		// An array of the values of all the points would require 8 MB
+		assertThat(allocated).isLessThan(100_000L);
+	}
+
+	@Test
+	void testEvaluateRangeSamePointsAsGetY() {
+		final PSFunctionParser parser = new PSFunctionParser("x sin x mul");
+		final double[] out = new double[100];
+		parser.evaluateRange(-50d, 49d, 100, out);
+		for(int i = 0; i < out.length; i++) {
+			assertEquals(parser.getY(-50d + i), out[i], 0.0000001);
+		}
+	}
+
+	@Test
+	void testEvaluateRangeOnePoint() {
+		final PSFunctionParser parser = new PSFunctionParser("x 1 add");
+		final double[] out = new double[1];
+		parser.evaluateRange(2d, 10d, 1, out);
+		assertThat(out).containsExactly(3d);
+	}
+
+	@Test
+	void testEvaluateRangeArrayTooSmall() {
+		final PSFunctionParser parser = new PSFunctionParser("x");
+		assertThrows(IllegalArgumentException.class, () -> parser.evaluateRange(0d, 1d, 3, new double[2]));
+	}
+
+	@Test
+	void testEvaluateRangeKO() {
+		final PSFunctionParser parser = new PSFunctionParser("1 x div");
+		assertThrows(ArithmeticException.class, () -> parser.evaluateRange(-1d, 1d, 3, new double[3]));
+	}
 }
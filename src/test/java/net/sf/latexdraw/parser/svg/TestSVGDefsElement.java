@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TestSVGDefsElement extends TestBaseSVGElement {
@@ -45,6 +46,105 @@ public class TestSVGDefsElement extends TestBaseSVGElement {
 		assertEquals(mark, defs.getDef("id"));
 	}
 
+	SVGMarkerElement addMarker(final String id) {
+		final SVGMarkerElement mark = new SVGMarkerElement(node.getOwnerDocument());
+		mark.setAttribute(SVGAttributes.SVG_ID, id);
+		defs.appendChild(mark);
+		return mark;
+	}
+
+	@Test
+	void testGetDefFirstOfSameId() {
+		final SVGMarkerElement mark = addMarker("m");
+		addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+	}
+
+	@Test
+	void testGetDefAppendedAfterIndexed() {
+		addMarker("m1");
+		assertNull(defs.getDef("m2"));
+		final SVGMarkerElement mark = addMarker("m2");
+		assertSame(mark, defs.getDef("m2"));
+	}
+
+	@Test
+	void testGetDefRemovedChild() {
+		final SVGMarkerElement mark = addMarker("m");
+		final SVGMarkerElement mark2 = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		defs.removeChild(mark);
+		assertSame(mark2, defs.getDef("m"));
+		defs.removeChild(mark2);
+		assertNull(defs.getDef("m"));
+	}
+
+	@Test
+	void testGetDefChildMovedToAnotherParent() {
+		final SVGMarkerElement mark = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		final SVGDefsElement other = new SVGDefsElement(doc);
+		mark.setParent(other);
+		assertNull(defs.getDef("m"));
+		assertSame(mark, other.getDef("m"));
+	}
+
+	@Test
+	void testGetDefChildMovedToTheEnd() {
+		final SVGMarkerElement mark = addMarker("m");
+		final SVGMarkerElement mark2 = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		defs.appendChild(mark);
+		assertSame(mark2, defs.getDef("m"));
+	}
+
+	@Test
+	void testGetDefInsertedBefore() {
+		final SVGMarkerElement mark = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		final SVGMarkerElement mark2 = new SVGMarkerElement(node.getOwnerDocument());
+		mark2.setAttribute(SVGAttributes.SVG_ID, "m");
+		defs.insertBefore(mark2, mark);
+		assertSame(mark2, defs.getDef("m"));
+		assertSame(defs, mark2.getParent());
+	}
+
+	@Test
+	void testGetDefIdSet() {
+		final SVGMarkerElement mark = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		mark.setAttribute(SVGAttributes.SVG_ID, "m2");
+		assertNull(defs.getDef("m"));
+		assertSame(mark, defs.getDef("m2"));
+	}
+
+	@Test
+	void testGetDefIdValueSet() {
+		final SVGMarkerElement mark = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		mark.getAttributeNode(SVGAttributes.SVG_ID).setValue("m2");
+		assertNull(defs.getDef("m"));
+		assertSame(mark, defs.getDef("m2"));
+	}
+
+	@Test
+	void testGetDefIdRemoved() {
+		final SVGMarkerElement mark = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		mark.removeAttribute(SVGAttributes.SVG_ID);
+		assertNull(defs.getDef("m"));
+	}
+
+	@Test
+	void testGetDefPrefixedId() {
+		final SVGMarkerElement mark = addMarker("m");
+		assertSame(mark, defs.getDef("m"));
+		mark.setAttribute("svg:" + SVGAttributes.SVG_ID, "m2");
+		mark.setNodeName("svg:" + SVGElements.SVG_MARKER);
+		assertSame(mark, defs.getDef("m2"));
+		assertNull(defs.getDef("m"));
+	}
+
 	@Test
 	void testContructorKO() {
 		assertThrows(IllegalArgumentException.class, () -> new SVGDefsElement(null, null));
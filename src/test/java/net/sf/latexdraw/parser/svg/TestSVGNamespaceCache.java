@@ -0,0 +1,184 @@
+package net.sf.latexdraw.parser.svg;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.sf.latexdraw.util.LNamespace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the namespace resolutions cached by the SVG elements, and the resolutions of the references of a large document.
+ */
+class TestSVGNamespaceCache {
+	static final String URI = "http://foo"; //NON-NLS
+	SVGDocument doc;
+	SVGSVGElement root;
+	SVGElement g;
+	SVGElement elt;
+
+	@BeforeEach
+	void setUp() {
+		doc = new SVGDocument();
+		root = doc.getFirstChild();
+		g = new SVGGElement(doc);
+		elt = new SVGGElement(doc);
+		root.appendChild(g);
+		g.appendChild(elt);
+		root.setAttribute("xmlns:foo", URI);
+	}
+
+	@Test
+	void testLookupCached() {
+		final String prefix = elt.lookupPrefix(URI);
+		final String uri = elt.lookupNamespaceURI("foo");
+		final long nbScans = doc.getNbNamespaceScans();
+		assertThat(prefix).isEqualTo("foo");
+		assertThat(uri).isEqualTo(URI);
+		assertThat(elt.lookupPrefix(URI)).isSameAs(prefix);
+		assertThat(elt.lookupNamespaceURI("foo")).isSameAs(uri);
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans);
+		assertThat(elt.lookupNamespaceURI(null)).isEqualTo(SVGDocument.SVG_NAMESPACE);
+		assertThat(elt.lookupPrefix("http://bar")).isNull();
+		assertThat(elt.lookupNamespaceURI("bar")).isNull();
+	}
+
+	@Test
+	void testLookupScansEachAncestorOnce() {
+		final long nbScans = doc.getNbNamespaceScans();
+		elt.lookupPrefix(URI);
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans + 3L);
+		// The ancestors cached their own resolution
+		g.lookupPrefix(URI);
+		root.lookupPrefix(URI);
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans + 3L);
+	}
+
+	@Test
+	void testLookupNotScannedAgainAfterOtherAttributeChanged() {
+		elt.lookupPrefix(URI);
+		final long nbScans = doc.getNbNamespaceScans();
+		g.setAttribute("width", "10");
+		assertThat(elt.lookupPrefix(URI)).isEqualTo("foo");
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans);
+	}
+
+	@Test
+	void testLookupScannedOnceAfterNamespaceAttributeChanged() {
+		elt.lookupPrefix(URI);
+		final long nbScans = doc.getNbNamespaceScans();
+		g.setAttribute("xmlns:bar", "http://bar");
+		assertThat(elt.lookupPrefix(URI)).isEqualTo("foo");
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans + 3L);
+		assertThat(elt.lookupPrefix(URI)).isEqualTo("foo");
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans + 3L);
+	}
+
+	@Test
+	void testLookupScannedOnceAfterNamespacesChanged() {
+		elt.lookupNamespaceURI("foo");
+		final long nbScans = doc.getNbNamespaceScans();
+		doc.namespacesChanged();
+		assertThat(elt.lookupNamespaceURI("foo")).isEqualTo(URI);
+		assertThat(elt.lookupNamespaceURI("foo")).isEqualTo(URI);
+		assertThat(doc.getNbNamespaceScans()).isEqualTo(nbScans + 3L);
+	}
+
+	@Test
+	void testLookupAfterNamespaceAdded() {
+		assertThat(elt.lookupPrefix("http://bar")).isNull();
+		assertThat(elt.lookupNamespaceURI("bar")).isNull();
+		g.setAttribute("xmlns:bar", "http://bar");
+		assertThat(elt.lookupPrefix("http://bar")).isEqualTo("bar");
+		assertThat(elt.lookupNamespaceURI("bar")).isEqualTo("http://bar");
+	}
+
+	@Test
+	void testLookupAfterNamespaceValueSet() {
+		assertThat(elt.lookupNamespaceURI("foo")).isEqualTo(URI);
+		root.getAttributeNode("xmlns:foo").setValue("http://bar");
+		assertThat(elt.lookupNamespaceURI("foo")).isEqualTo("http://bar");
+		assertThat(elt.lookupPrefix(URI)).isNull();
+	}
+
+	@Test
+	void testLookupAfterNamespaceRemoved() {
+		assertThat(elt.lookupPrefix(URI)).isEqualTo("foo");
+		root.removeAttribute("xmlns:foo");
+		assertThat(elt.lookupPrefix(URI)).isNull();
+		assertThat(elt.lookupNamespaceURI("foo")).isNull();
+	}
+
+	@Test
+	void testLookupAfterNamespaceOverridden() {
+		assertThat(elt.getUsablePrefix(URI)).isEqualTo("foo:");
+		elt.setAttribute("xmlns:f", URI);
+		assertThat(elt.getUsablePrefix(URI)).isEqualTo("f:");
+		assertThat(g.getUsablePrefix(URI)).isEqualTo("foo:");
+	}
+
+	@Test
+	void testLookupAfterElementMoved() {
+		final SVGElement other = new SVGGElement(doc);
+		other.setAttribute("xmlns:o", URI);
+		assertThat(elt.lookupPrefixUsable(URI)).isEqualTo("foo:");
+		other.appendChild(g);
+		assertThat(elt.lookupPrefixUsable(URI)).isEqualTo("o:");
+		g.removeChild(elt);
+		assertThat(elt.lookupPrefixUsable(URI)).isEmpty();
+	}
+
+	@Test
+	void testLookupAfterDetachedElementInserted() {
+		final SVGElement detached = new SVGGElement(doc);
+		assertThat(detached.lookupPrefix(URI)).isNull();
+		root.insertBefore(detached, g);
+		assertThat(detached.lookupPrefix(URI)).isEqualTo("foo");
+	}
+
+	@Test
+	void testLookupOfDetachedSubtreeAfterAttached() {
+		final SVGElement detached = new SVGGElement(doc);
+		final SVGElement child = new SVGGElement(doc);
+		detached.appendChild(child);
+		assertThat(child.lookupPrefix(URI)).isNull();
+		g.appendChild(detached);
+		assertThat(child.lookupPrefix(URI)).isEqualTo("foo");
+	}
+
+	/**
+	 * A document with as many arrows as markers: each arrow refers to its marker and carries a latexdraw attribute.
+	 */
+	static String createArrowsDocument(final int nbArrows) {
+		final String markers = IntStream.range(0, nbArrows).mapToObj(i -> "<marker id=\"arrow" + i + "\" markerWidth=\"2\" markerHeight=\"2\">" +
+			"<path d=\"M 0 0 L 1 1\"/></marker>").collect(Collectors.joining());
+		final String arrows = IntStream.range(0, nbArrows).mapToObj(i -> "<g latexdraw:type=\"line\"><path d=\"M 0 0 L " + i +
+			" 1\" marker-end=\"url(#arrow" + i + ")\"/></g>").collect(Collectors.joining());
+		return "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:latexdraw=\"" + LNamespace.LATEXDRAW_NAMESPACE_URI + "\"><defs>" + markers +
+			"</defs>" + arrows + "</svg>";
+	}
+
+	@Test
+	void testResolutionsInLargeDocument(@TempDir final Path dir) throws IOException {
+		final int nbArrows = 20_000;
+		final Path file = Files.writeString(dir.resolve("arrows.svg"), createArrowsDocument(nbArrows));
+		final SVGDocument arrows = new SVGDocument(file.toUri());
+		final SVGSVGElement svg = arrows.getFirstChild();
+		final long nbScans = arrows.getNbNamespaceScans();
+
+		for(int i = 0; i < nbArrows; i++) {
+			final SVGElement arrow = (SVGElement) svg.getChildNodes().item(i + 1);
+			final SVGElement path = (SVGElement) arrow.getFirstChild();
+			assertThat(arrow.getAttribute(arrow.getUsablePrefix(LNamespace.LATEXDRAW_NAMESPACE_URI) + "type")).isEqualTo("line");
+			assertThat(path.getDef("arrow" + i)).isSameAs(svg.getDefs().getChildNodes().item(i));
+		}
+
+		// Each arrow scans its own declarations, while the declarations of the root are scanned once
+		assertThat(arrows.getNbNamespaceScans() - nbScans).isEqualTo(nbArrows + 1L);
+	}
+}
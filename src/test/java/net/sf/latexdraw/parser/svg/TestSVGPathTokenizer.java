@@ -0,0 +1,216 @@
+package net.sf.latexdraw.parser.svg;
+
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.sf.latexdraw.parser.svg.path.SVGPathSeg;
+import net.sf.latexdraw.util.BadaboomCollector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential tests of the tokenizer against the SVG path grammar.
+ */
+class TestSVGPathTokenizer {
+	static final String CMDS = "MmLlTtHhVvCcSsQqAaZz";
+
+	@BeforeEach
+	void setUp() {
+		BadaboomCollector.INSTANCE.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		BadaboomCollector.INSTANCE.clear();
+	}
+
+	static List<String> segsToString(final List<SVGPathSeg> segs) {
+		return segs.stream().map(seg -> seg.getClass().getSimpleName() + ' ' + seg).collect(Collectors.toList());
+	}
+
+	static List<String> parseWithGrammar(final String code) {
+		final List<SVGPathSeg> segs = new ArrayList<>();
+		SVGParserUtils.INSTANCE.parseSVGPathWithGrammar(code, segs::add);
+		return segsToString(segs);
+	}
+
+	static Stream<String> validPaths() {
+		return Stream.of("M 1 2 L 3 4", "M1,2L3,4", "m 1 2 l -3.5 .5 z", "M 1 2 Z", "M0 0 h 10 v -20 H 5 V 6", "M1 2 3 4 5 6 l 1 2 3 4",
+			"M 1-2L3-4", "M 1.5.5 L .1.2", "M 1. 2. L 3 4", "M +1 -0 L -0.0 +.5", "M 1 2 C 1 2 3 4 5 6", "M 1 2 c 1,2,3,4,5,6 7 8 9 10 11 12",
+			"M 1 2 S 1 2 3 4", "M 1 2 s 1 2 3 4,5 6 7 8", "M 1 2 Q 1 2 3 4", "M 1 2 q 1 2 3 4 5 6 7 8 9 10", "M 1 2 T 3 4 t 5 6 7 8",
+			"M 1 2 A 10 20 30 1 0 40 50", "M 1 2 a 10,20,30,0,1,40,50", "M 1 2 A 10 20 30 1.0 01 40 50", "M 1 2 A 10 20 30 1 1 40 50 1 2 3 4 5 6 7",
+			"M 1 2 H 1 2 3 V 4 5", " \t\n M 1 2 \r\n L 3 4 \f", "M 0.1 0.2 L 123456789.123456789 -0.000000000000000000000001",
+			"M 12345678901234567890 1 L 1 2", "M 0.30000000000000004 1 L 1 2", "M 1 2 L 3 4 Z M 5 6 L 7 8 z");
+	}
+
+	static Stream<String> invalidPaths() {
+		return Stream.of("L 1 2 M 3 4", "M 1 2", "M 1 L 2 3", "M 1 2 L 3", "M 1 2 L 3 4,", "M 1 2 L ,3 4", "M 1 2 L 3,,4", "M 1 2 H 3,4",
+			"M 1 2 C 1 2 3 4 5", "M 1 2 Q 1 2 3 4 5 6", "M 1 2 A 1 2 3 4 5 6", "M 1 2 L 1e5 4", "M 1 2 X 3 4", "M 1 2 L - 4", "M 1 2 L . 4",
+			"M 1 2 Z 3", "M 1 2, L 3 4", "M 1 2 L 3 4 ; ");
+	}
+
+	@ParameterizedTest
+	@MethodSource("validPaths")
+	void testValidPathSameAsGrammar(final String code) {
+		final List<SVGPathSeg> segs = new SVGPathTokenizer(code).parsePath();
+		assertThat(segs).isNotNull();
+		assertThat(segsToString(segs)).isEqualTo(parseWithGrammar(code));
+		assertThat(BadaboomCollector.INSTANCE.errorsProperty()).isEmpty();
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidPaths")
+	void testInvalidPathLeftToGrammar(final String code) {
+		assertThat(new SVGPathTokenizer(code).parsePath()).isNull();
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidPaths")
+	void testInvalidPathParsedByGrammar(final String code) {
+		final List<SVGPathSeg> segs = new ArrayList<>();
+		final List<SVGPathSeg> segsGrammar = new ArrayList<>();
+		// The grammar may fail on invalid codes: the same failure is expected
+		final Class<?> error = getError(() -> SVGParserUtils.INSTANCE.parseSVGPath(code, segs::add));
+		final Class<?> errorGrammar = getError(() -> SVGParserUtils.INSTANCE.parseSVGPathWithGrammar(code, segsGrammar::add));
+		assertThat(error).isEqualTo(errorGrammar);
+		assertThat(segsToString(segs)).isEqualTo(segsToString(segsGrammar));
+	}
+
+	static Class<?> getError(final Runnable parsing) {
+		try {
+			parsing.run();
+			return null;
+		}catch(final RuntimeException ex) {
+			return ex.getClass();
+		}
+	}
+
+	@Test
+	void testRandomPathsSameAsGrammar() {
+		final Random rnd = new Random(42L);
+		IntStream.range(0, 500).mapToObj(i -> randomPath(rnd)).forEach(code -> {
+			final List<SVGPathSeg> segs = new SVGPathTokenizer(code).parsePath();
+			assertThat(segs).as(code).isNotNull();
+			assertThat(segsToString(segs)).as(code).isEqualTo(parseWithGrammar(code));
+		});
+		assertThat(BadaboomCollector.INSTANCE.errorsProperty()).isEmpty();
+	}
+
+	@Test
+	void testPathsOfTestFilesSameAsGrammar() throws IOException {
+		final Pattern pattern = Pattern.compile("\\sd=\"([^\"]*)\"");
+		final List<Path> files;
+		try(final Stream<Path> paths = Files.walk(Path.of("src/test/resources"))) {
+			files = paths.filter(p -> p.toString().endsWith(".svg")).collect(Collectors.toList());
+		}
+		int nbPaths = 0;
+		for(final Path file : files) {
+			final Matcher matcher = pattern.matcher(Files.readString(file));
+			while(matcher.find()) {
+				final String code = matcher.group(1);
+				final List<SVGPathSeg> segs = new SVGPathTokenizer(code).parsePath();
+				if(segs != null) {
+					nbPaths++;
+					assertThat(segsToString(segs)).as(code).isEqualTo(parseWithGrammar(code));
+				}
+			}
+		}
+		assertThat(nbPaths).isPositive();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"1 2", " 1, 2, \t 3\n 4 \r ,5 6  \n \t ", "1-2-3-4", ".5.5", "+1,-2 3.25 4e"})
+	void testPointsSameAsGrammar(final String code) {
+		final List<Point2D> points = new SVGPathTokenizer(code).parsePoints();
+		if(code.endsWith("e")) {
+			assertThat(points).isNull();
+		}else {
+			assertThat(points).isEqualTo(SVGParserUtils.INSTANCE.parsePointsWithGrammar(code));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "fdsfsd", "10 10 10", "10,, 10 10 10", ",1 2", "1 2,", "1 2 3,"})
+	void testInvalidPointsLeftToGrammar(final String code) {
+		assertThat(new SVGPathTokenizer(code).parsePoints()).isNull();
+	}
+
+	static String randomPath(final Random rnd) {
+		final StringBuilder code = new StringBuilder();
+		code.append(rnd.nextBoolean() ? 'M' : 'm');
+		appendNumbers(code, 2 * (1 + rnd.nextInt(3)), rnd);
+		for(int i = 0, nb = 1 + rnd.nextInt(10); i < nb; i++) {
+			final char cmd = CMDS.charAt(rnd.nextInt(CMDS.length()));
+			code.append(rnd.nextBoolean() ? " " : "").append(cmd);
+			switch(Character.toUpperCase(cmd)) {
+				case 'H':
+				case 'V':
+					appendNumbersNoComma(code, 1 + rnd.nextInt(3), rnd);
+					break;
+				case 'C':
+					appendNumbers(code, 6 * (1 + rnd.nextInt(2)), rnd);
+					break;
+				case 'S':
+					appendNumbers(code, 4 * (1 + rnd.nextInt(2)), rnd);
+					break;
+				case 'Q':
+					appendNumbers(code, 4 + 6 * rnd.nextInt(2), rnd);
+					break;
+				case 'A':
+					appendNumbers(code, 7 * (1 + rnd.nextInt(2)), rnd);
+					break;
+				case 'Z':
+					break;
+				default:
+					appendNumbers(code, 2 * (1 + rnd.nextInt(3)), rnd);
+			}
+		}
+		return code.toString();
+	}
+
+	static void appendNumbers(final StringBuilder code, final int nb, final Random rnd) {
+		for(int i = 0; i < nb; i++) {
+			code.append(i > 0 && rnd.nextInt(3) == 0 ? "," : " ");
+			code.append(randomNumber(rnd));
+		}
+	}
+
+	static void appendNumbersNoComma(final StringBuilder code, final int nb, final Random rnd) {
+		for(int i = 0; i < nb; i++) {
+			code.append(' ').append(randomNumber(rnd));
+		}
+	}
+
+	static String randomNumber(final Random rnd) {
+		switch(rnd.nextInt(6)) {
+			case 0:
+				return String.valueOf(rnd.nextInt(3));
+			case 1:
+				return String.valueOf(rnd.nextInt(2000) - 1000);
+			case 2:
+				return BigDecimal.valueOf((rnd.nextDouble() - 0.5) * 1000d).toPlainString();
+			case 3:
+				return (rnd.nextBoolean() ? "-" : "") + '.' + rnd.nextInt(100000);
+			case 4:
+				return rnd.nextInt(100) + ".";
+			default:
+				return String.valueOf(rnd.nextLong());
+		}
+	}
+}
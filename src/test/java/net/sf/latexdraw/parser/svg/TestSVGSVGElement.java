@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -50,6 +51,29 @@ public class TestSVGSVGElement extends TestBaseSVGElement {
 		assertNotNull(e.getDefs());
 	}
 
+	@Test
+	void testGetDefsAppended() {
+		assertNull(e.getDefs());
+		final SVGDefsElement defs = new SVGDefsElement(doc);
+		e.appendChild(defs);
+		assertSame(defs, e.getDefs());
+		e.appendChild(new SVGDefsElement(doc));
+		assertSame(defs, e.getDefs());
+	}
+
+	@Test
+	void testGetDefsRemoved() {
+		final SVGDefsElement defs = new SVGDefsElement(doc);
+		final SVGDefsElement defs2 = new SVGDefsElement(doc);
+		e.appendChild(defs);
+		e.appendChild(defs2);
+		assertSame(defs, e.getDefs());
+		e.removeChild(defs);
+		assertSame(defs2, e.getDefs());
+		defs2.setParent(null);
+		assertNull(e.getDefs());
+	}
+
 	@Test
 	void testGetMetaNULL() {
 		assertNull(e.getMeta());
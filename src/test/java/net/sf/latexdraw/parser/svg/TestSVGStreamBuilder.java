@@ -0,0 +1,342 @@
+package net.sf.latexdraw.parser.svg;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.sf.latexdraw.util.BadaboomCollector;
+import net.sf.latexdraw.util.SystemUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Differential tests of the streamed SVG documents against the SVG documents built from DOM documents.
+ */
+class TestSVGStreamBuilder {
+	@TempDir Path dir;
+
+	@BeforeEach
+	void setUp() {
+		BadaboomCollector.INSTANCE.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		BadaboomCollector.INSTANCE.clear();
+	}
+
+	static Stream<Path> svgFiles() throws IOException {
+		try(final Stream<Path> paths = Files.walk(Path.of("src/test/resources"))) {
+			return paths.filter(p -> p.toString().endsWith(".svg")).collect(Collectors.toList()).stream();
+		}
+	}
+
+	/**
+	 * Builds the SVG root from a DOM document.
+	 */
+	static SVGSVGElement readWithDOM(final Path file) throws Exception {
+		final Document dom = SystemUtils.getInstance().createXMLDocumentBuilder().orElseThrow().parse(file.toFile());
+		return new SVGSVGElement(new SVGDocument(), dom.getDocumentElement());
+	}
+
+	/**
+	 * A textual description of a tree of nodes, including the types, the attributes (in order), and the values.
+	 */
+	static String describe(final Node node) {
+		final StringBuilder str = new StringBuilder();
+		describe(node, str, 0);
+		return str.toString();
+	}
+
+	static void describe(final Node node, final StringBuilder str, final int depth) {
+		str.append("  ".repeat(depth)).append(node.getClass().getSimpleName()).append(' ').append(node.getNodeName()).append(" = ").append(node.getNodeValue());
+		final NamedNodeMap attrs = node.getAttributes();
+		if(attrs != null) {
+			for(int i = 0; i < attrs.getLength(); i++) {
+				str.append(' ').append(attrs.item(i).getNodeName()).append("='").append(attrs.item(i).getNodeValue()).append('\'');
+			}
+		}
+		str.append('\n');
+		for(int i = 0; i < node.getChildNodes().getLength(); i++) {
+			describe(node.getChildNodes().item(i), str, depth + 1);
+		}
+	}
+
+	Path write(final String content) throws IOException {
+		return Files.writeString(dir.resolve("doc.svg"), content);
+	}
+
+	@ParameterizedTest
+	@MethodSource("svgFiles")
+	void testSameElementsAsDOM(final Path file) throws Exception {
+		final SVGSVGElement expected = readWithDOM(file);
+		final int nbErrors = BadaboomCollector.INSTANCE.errorsProperty().size();
+		BadaboomCollector.INSTANCE.clear();
+		final SVGDocument doc = new SVGDocument(file.toUri());
+		assertThat(describe(doc.getFirstChild())).isEqualTo(describe(expected));
+		assertThat(BadaboomCollector.INSTANCE.errorsProperty().size()).isEqualTo(nbErrors);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"<?xml version=\"1.0\"?><svg xmlns=\"http://www.w3.org/2000/svg\"><!-- c --><?pi data?><text>a<![CDATA[b]]>c &amp; d</text> </svg>",
+		"<svg xmlns=\"http://www.w3.org/2000/svg\"><g> <![CDATA[foo]]> </g><g>text</g><g><![CDATA[cdata]]></g><g><!--c--></g></svg>",
+		"<svg xmlns=\"http://www.w3.org/2000/svg\">foo &lt; bar</svg>",
+		"<svg:svg xmlns:svg=\"http://www.w3.org/2000/svg\" xmlns=\"http://foo\"><svg:g><g><svg:rect width=\"1\" height=\"2\"/></g></svg:g><svg:g><?pi?></svg:g></svg:svg>",
+		"<svg xmlns=\"http://www.w3.org/2000/svg\"><g><g><g z=\"1\" a=\"2\"><rect width=\"1\" height=\"2\"/>\n<foo/></g></g></g></svg>",
+		"<svg xmlns=\"http://www.w3.org/2000/svg\"><g><rect width=\"-1\" height=\"2\"><title>t</title></rect></g><rect width=\"1\" height=\"2\"/></svg>",
+		"<svg xmlns=\"http://www.w3.org/2000/svg\"><g style=\"fill: red\" transform=\"translate(1 2)\"><g><svg><rect width=\"1\" height=\"2\"/></svg></g></g></svg>"
+	})
+	void testSameElementsAsDOMUnusualContents(final String content) throws Exception {
+		final Path file = write(content);
+		assertThat(describe(new SVGDocument(file.toUri()).getFirstChild())).isEqualTo(describe(readWithDOM(file)));
+	}
+
+	@Test
+	void testPrologRead() throws Exception {
+		final SVGDocument doc = new SVGDocument(write("<?xml version=\"1.0\" encoding=\"ISO-8859-1\" standalone=\"yes\"?><svg/>").toUri());
+		assertThat(doc.getXmlVersion()).isEqualTo("1.0");
+		assertThat(doc.getXmlEncoding()).isEqualTo("ISO-8859-1");
+		assertThat(doc.getXmlStandalone()).isTrue();
+	}
+
+	@Test
+	void testPrologVersionRead() throws Exception {
+		assertThat(new SVGDocument(write("<?xml version=\"1.1\"?><svg/>").toUri()).getXmlVersion()).isEqualTo("1.1");
+	}
+
+	@Test
+	void testPrologDefaultValues() throws Exception {
+		final SVGDocument doc = new SVGDocument(write("<svg/>").toUri());
+		assertThat(doc.getXmlVersion()).isEqualTo("1.0");
+		assertThat(doc.getXmlEncoding()).isNull();
+		assertThat(doc.getXmlStandalone()).isFalse();
+	}
+
+	@Test
+	void testDTDNotSupported() throws IOException {
+		final Path file = write("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\"><svg/>");
+		assertThrows(IOException.class, () -> new SVGDocument(file.toUri()));
+	}
+
+	@Test
+	void testNotWellFormedDocument() throws IOException {
+		final Path file = write("<svg><g></svg>");
+		assertThrows(IOException.class, () -> new SVGDocument(file.toUri()));
+	}
+
+	@Test
+	void testNoSVGRoot() throws Exception {
+		final List<SVGElement> elts = new ArrayList<>();
+		final SVGDocument doc = new SVGDocument(write("<foo><svg><rect width=\"1\" height=\"2\"/></svg></foo>").toUri(), elts::add);
+		assertThat(doc.getFirstChild()).isNull();
+		assertThat(elts).isEmpty();
+	}
+
+	@Test
+	void testTopLevelElementsNotifiedInOrder() throws Exception {
+		final List<SVGElement> elts = new ArrayList<>();
+		final SVGDocument doc = new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><rect width=\"1\" height=\"2\"/><foo/>" +
+			"<g><rect width=\"1\" height=\"2\"/></g><!--c--><ellipse rx=\"1\" ry=\"2\"/></svg>").toUri(), elts::add);
+		assertThat(elts).hasSize(3);
+		assertThat(elts).containsExactlyElementsOf(IntStream.range(0, 3).mapToObj(i -> (SVGElement) doc.getFirstChild().getChildNodes().item(i)).
+			collect(Collectors.toList()));
+		assertThat(elts.get(0)).isInstanceOf(SVGRectElement.class);
+		assertThat(elts.get(1)).isInstanceOf(SVGGElement.class);
+		assertThat(elts.get(1).getChildNodes().getLength()).isEqualTo(1);
+		assertThat(elts.get(2)).isInstanceOf(SVGEllipseElement.class);
+	}
+
+	@Test
+	void testElementNotifiedBeforeEndOfDocument() throws Exception {
+		final List<Integer> nbChildrenWhenNotified = new ArrayList<>();
+		final String rects = IntStream.range(0, 1000).mapToObj(i -> "<rect width=\"1\" height=\"2\"/>").collect(Collectors.joining());
+		final SVGDocument doc = new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\">" + rects + "</svg>").toUri(),
+			elt -> nbChildrenWhenNotified.add(elt.getParentNode().getChildNodes().getLength()));
+		// Each element is notified before the next one is read
+		assertThat(nbChildrenWhenNotified).containsExactlyElementsOf(IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList()));
+		assertThat(doc.getFirstChild().getChildNodes().getLength()).isEqualTo(1000);
+	}
+
+	@Test
+	void testElementNotifiedOnceItsReferencesAreRead() throws Exception {
+		final List<String> notified = new ArrayList<>();
+		final List<Boolean> defined = new ArrayList<>();
+		new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\">" +
+			"<g id=\"g1\"><path d=\"M 1 2 L 3 4\" style=\"marker-end: url(#arrow)\"/></g>" +
+			"<rect id=\"r1\" width=\"1\" height=\"2\"/>" +
+			"<defs><marker id=\"arrow\"><path d=\"M 1 2 L 3 4\"/></marker></defs>" +
+			"<image id=\"i1\" xlink:href=\"#unknown\" width=\"1\" height=\"2\"/><rect id=\"r2\" width=\"1\" height=\"2\"/></svg>").toUri(), elt -> {
+			notified.add(elt.getNodeName() + elt.getAttribute("id"));
+			defined.add(elt.getDef("arrow") != null);
+		});
+		assertThat(notified).containsExactly("gg1", "rectr1", "defs", "imagei1", "rectr2");
+		assertThat(defined).containsOnly(true);
+	}
+
+	@Test
+	void testInvalidGroupSkippedOnce() throws Exception {
+		final SVGDocument doc = new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><g transform=\"foo(\"><rect width=\"1\" height=\"2\"/></g></svg>")
+			.toUri());
+		assertThat(describe(doc.getFirstChild())).isEqualTo(describe(readWithDOM(dir.resolve("doc.svg"))));
+	}
+
+	/**
+	 * Streams the children of the top-level groups.
+	 */
+	static class StreamingListener implements SVGElementsListener {
+		final List<String> events = new ArrayList<>();
+
+		static String isArrowDefined(final SVGElement elt) {
+			return elt.getSVGRoot().getDefs() == null || elt.getDef("arrow") == null ? "" : "+";
+		}
+
+		@Override
+		public void onTopLevelElement(final SVGElement elt) {
+			events.add(elt.getNodeName() + elt.getAttribute("id") + isArrowDefined(elt));
+		}
+
+		@Override
+		public boolean isStreamed(final SVGElement group) {
+			return true;
+		}
+
+		@Override
+		public void onGroupChild(final SVGElement child) {
+			events.add('>' + child.getNodeName() + child.getAttribute("id") + isArrowDefined(child));
+		}
+	}
+
+	@Test
+	void testGroupChildrenNotifiedWhileTheGroupIsRead() throws Exception {
+		final List<Integer> nbChildrenWhenNotified = new ArrayList<>();
+		final String rects = IntStream.range(0, 1000).mapToObj(i -> "<rect width=\"1\" height=\"2\"/>").collect(Collectors.joining());
+		final List<SVGElement> groups = new ArrayList<>();
+		new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><g>" + rects + "</g><defs/></svg>").toUri(), new SVGElementsListener() {
+			@Override
+			public void onTopLevelElement(final SVGElement elt) {
+				groups.add(elt);
+			}
+
+			@Override
+			public boolean isStreamed(final SVGElement group) {
+				return true;
+			}
+
+			@Override
+			public void onGroupChild(final SVGElement child) {
+				nbChildrenWhenNotified.add(child.getParentNode().getChildNodes().getLength());
+			}
+		});
+		// Each child is notified before the next one is read
+		assertThat(nbChildrenWhenNotified).containsExactlyElementsOf(IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList()));
+		assertThat(groups).hasSize(2);
+		assertThat(groups.get(0).getChildNodes().getLength()).isEqualTo(1000);
+	}
+
+	@Test
+	void testFirstChildNotifiedBeforeTheEndOfTheStream() throws Exception {
+		final String rects = IntStream.range(0, 5000).mapToObj(i -> "<rect width=\"1\" height=\"2\"/>").collect(Collectors.joining());
+		final byte[] content = ("<svg xmlns=\"http://www.w3.org/2000/svg\"><g>" + rects + "</g><defs/></svg>").getBytes(StandardCharsets.UTF_8);
+		final CountingInputStream input = new CountingInputStream(new ByteArrayInputStream(content));
+		final List<Long> readWhenNotified = new ArrayList<>();
+
+		new SVGStreamBuilder(new SVGDocument(), new StreamingListener() {
+			@Override
+			public void onGroupChild(final SVGElement child) {
+				readWhenNotified.add(input.count);
+			}
+		}).read(input);
+
+		assertThat(readWhenNotified).hasSize(5000);
+		assertThat(readWhenNotified.get(0)).isLessThan(content.length / 10L);
+		assertThat(input.count).isEqualTo(content.length);
+	}
+
+	@Test
+	void testGroupChildWaitsOnlyForItsReferences() throws Exception {
+		final StreamingListener listener = new StreamingListener();
+		new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><g id=\"g1\"><rect id=\"r1\" width=\"1\" height=\"2\"/>" +
+			"<path id=\"p1\" d=\"M 1 2 L 3 4\" style=\"marker-end: url(#arrow)\"/><rect id=\"r2\" width=\"1\" height=\"2\"/></g>" +
+			"<defs><marker id=\"arrow\"><path d=\"M 1 2 L 3 4\"/></marker></defs></svg>").toUri(), listener);
+		// The first rectangle does not wait for the definitions; the next children are notified in order
+		assertThat(listener.events).containsExactly(">rectr1", ">pathp1+", ">rectr2+", "gg1+", "defs+");
+	}
+
+	@Test
+	void testGroupWaitsForItsOwnReferences() throws Exception {
+		final StreamingListener listener = new StreamingListener();
+		new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><g id=\"g1\" style=\"marker-end: url(#arrow)\"><rect id=\"r1\" width=\"1\" height=\"2\"/></g>" +
+			"<rect id=\"r2\" width=\"1\" height=\"2\"/><defs><marker id=\"arrow\"><path d=\"M 1 2 L 3 4\"/></marker></defs></svg>").toUri(), listener);
+		assertThat(listener.events).containsExactly(">rectr1", "gg1+", "rectr2+", "defs+");
+	}
+
+	@Test
+	void testGroupNotStreamedWhenElementsWait() throws Exception {
+		final StreamingListener listener = new StreamingListener();
+		new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><path id=\"p1\" d=\"M 1 2 L 3 4\" style=\"marker-end: url(#arrow)\"/>" +
+			"<g id=\"g1\"><rect id=\"r1\" width=\"1\" height=\"2\"/></g><defs><marker id=\"arrow\"><path d=\"M 1 2 L 3 4\"/></marker></defs></svg>").toUri(),
+			listener);
+		assertThat(listener.events).containsExactly("pathp1+", "gg1+", "defs+");
+	}
+
+	@Test
+	void testNestedGroupsNotStreamed() throws Exception {
+		final StreamingListener listener = new StreamingListener();
+		new SVGDocument(write("<svg xmlns=\"http://www.w3.org/2000/svg\"><g id=\"g1\"><g id=\"g2\"><rect id=\"r1\" width=\"1\" height=\"2\"/>" +
+			"<rect id=\"r2\" width=\"1\" height=\"2\"/></g></g></svg>").toUri(), listener);
+		assertThat(listener.events).containsExactly(">gg2", "gg1");
+	}
+
+	@ParameterizedTest
+	@MethodSource("svgFiles")
+	void testSameElementsAsDOMWhenStreamed(final Path file) throws Exception {
+		final SVGSVGElement expected = readWithDOM(file);
+		assertThat(describe(new SVGDocument(file.toUri(), new StreamingListener()).getFirstChild())).isEqualTo(describe(expected));
+	}
+
+	static final class CountingInputStream extends FilterInputStream {
+		long count;
+
+		CountingInputStream(final InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int value = super.read();
+			if(value >= 0) {
+				count++;
+			}
+			return value;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int nb = super.read(b, off, len);
+			if(nb > 0) {
+				count += nb;
+			}
+			return nb;
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package net.sf.latexdraw.parser.svg;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.w3c.dom.Node;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSOutput;
+import org.w3c.dom.ls.LSSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Differential tests of the stream writer against the LS serialiser of the JDK.
+ */
+class TestSVGStreamWriter {
+	@TempDir Path dir;
+
+	static Stream<Path> svgFiles() throws IOException {
+		return TestSVGStreamBuilder.svgFiles();
+	}
+
+	static String serialiseWithLS(final Node node, final Charset charset) throws Exception {
+		final DOMImplementationLS impl = (DOMImplementationLS) DOMImplementationRegistry.newInstance().getDOMImplementation("XML 3.0 LS 3.0");
+		final LSSerializer serializer = impl.createLSSerializer();
+		serializer.getDomConfig().setParameter("format-pretty-print", Boolean.TRUE);
+		serializer.getDomConfig().setParameter("namespaces", Boolean.FALSE);
+		final LSOutput output = impl.createLSOutput();
+		final StringWriter str = new StringWriter();
+		output.setEncoding(charset.name());
+		output.setCharacterStream(str);
+		serializer.write(node, output);
+		return str.toString();
+	}
+
+	static String serialise(final Node node, final Charset charset) throws IOException {
+		final StringWriter str = new StringWriter();
+		try(final SVGStreamWriter writer = new SVGStreamWriter(str, charset)) {
+			writer.writeNode(node);
+		}
+		return str.toString();
+	}
+
+	/**
+	 * A document with unusual contents: escaped characters, mixed contents, comments, blank texts.
+	 */
+	static SVGDocument createUnusualDocument() {
+		final SVGDocument doc = new SVGDocument();
+		final SVGSVGElement root = doc.getFirstChild();
+		root.setAttribute("att", "a<&>\"'é\n\t\r x😀");
+		addElement(doc, root, "text").appendChild(doc.createTextNode("a<&>\"'é\n\t x]]>😀 \r \u007f"));
+		final SVGElement mixed = addElement(doc, root, "mixed");
+		mixed.appendChild(doc.createTextNode(" t1\n t1b "));
+		addElement(doc, mixed, "c");
+		mixed.appendChild(doc.createTextNode("   "));
+		addElement(doc, mixed, "c2").setAttribute("x", "1");
+		final SVGElement two = addElement(doc, root, "two");
+		two.appendChild(doc.createTextNode("t1"));
+		two.appendChild(doc.createTextNode("  "));
+		two.appendChild(doc.createTextNode("t2"));
+		addElement(doc, root, "ws").appendChild(doc.createTextNode(" \n "));
+		addElement(doc, root, "empty").appendChild(doc.createTextNode(""));
+		addElement(doc, root, "com").appendChild(doc.createComment("a comment"));
+		final SVGElement com = addElement(doc, root, "com2");
+		com.appendChild(doc.createTextNode("t"));
+		com.appendChild(doc.createComment("c"));
+		addElement(doc, com, "x");
+		addElement(doc, addElement(doc, root, "nested"), "n").appendChild(doc.createTextNode("v"));
+		return doc;
+	}
+
+	static SVGElement addElement(final SVGDocument doc, final SVGElement parent, final String name) {
+		final SVGElement elt = (SVGElement) doc.createElement(name);
+		parent.appendChild(elt);
+		return elt;
+	}
+
+	@ParameterizedTest
+	@MethodSource("svgFiles")
+	void testSameOutputAsLSSerialiser(final Path file) throws Exception {
+		final SVGSVGElement root = new SVGDocument(file.toUri()).getFirstChild();
+		assertThat(serialise(root, StandardCharsets.UTF_8)).isEqualTo(serialiseWithLS(root, StandardCharsets.UTF_8));
+		assertThat(serialise(root, StandardCharsets.US_ASCII)).isEqualTo(serialiseWithLS(root, StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void testSameOutputAsLSSerialiserUnusualContents() throws Exception {
+		final SVGSVGElement root = createUnusualDocument().getFirstChild();
+		assertThat(serialise(root, StandardCharsets.UTF_8)).isEqualTo(serialiseWithLS(root, StandardCharsets.UTF_8));
+		assertThat(serialise(root, StandardCharsets.US_ASCII)).isEqualTo(serialiseWithLS(root, StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void testSameOutputAsLSSerialiserEmptyRoot() throws Exception {
+		final SVGSVGElement root = new SVGDocument().getFirstChild();
+		assertThat(serialise(root, StandardCharsets.UTF_8)).isEqualTo(serialiseWithLS(root, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testStreamedElementsSameAsTree() throws IOException {
+		final SVGDocument doc = new SVGDocument(Path.of("src/test/resources/test.svg").toUri());
+		final SVGSVGElement root = doc.getFirstChild();
+		final StringWriter str = new StringWriter();
+
+		try(final SVGStreamWriter writer = new SVGStreamWriter(str, StandardCharsets.UTF_8)) {
+			writer.writeStartElement(root);
+			for(int i = 0; i < root.getChildNodes().getLength(); i++) {
+				final Node child = root.getChildNodes().item(i);
+				writer.writeStartElement(child);
+				for(int j = 0; j < child.getChildNodes().getLength(); j++) {
+					writer.writeNode(child.getChildNodes().item(j));
+				}
+				writer.writeEndElement();
+			}
+		}
+
+		assertThat(str.toString()).isEqualTo(serialise(root, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testStartedElementWithoutChildren() throws IOException {
+		final SVGDocument doc = new SVGDocument();
+		final StringWriter str = new StringWriter();
+		try(final SVGStreamWriter writer = new SVGStreamWriter(str, StandardCharsets.UTF_8)) {
+			writer.writeStartElement(doc.getFirstChild());
+			writer.writeStartElement(new SVGGElement(doc));
+			writer.writeEndElement();
+		}
+		assertThat(str.toString()).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-8\"?><svg xmlns=\"http://www.w3.org/2000/svg\">\n    <g/>\n</svg>\n");
+	}
+
+	@Test
+	void testEndElementWithoutStart() throws IOException {
+		try(final SVGStreamWriter writer = new SVGStreamWriter(new StringWriter(), StandardCharsets.UTF_8)) {
+			assertThrows(IllegalStateException.class, () -> writer.writeEndElement());
+		}
+	}
+
+	@Test
+	void testSavedDocumentReadAgain() throws Exception {
+		final SVGDocument doc = createUnusualDocument();
+		final Path file = dir.resolve("doc.svg");
+		assertThat(doc.saveSVGDocument(file.toString())).isTrue();
+		final SVGDocument read = new SVGDocument(file.toUri());
+		assertThat(read.getFirstChild().getAttribute("att")).isEqualTo("a<&>\"'é\n\t\r x😀");
+		assertThat(read.getFirstChild().getChildNodes().item(0).getTextContent()).isEqualTo("a<&>\"'é\n\t x]]>😀 \r \u007f");
+		assertThat(Files.readString(file, Charset.defaultCharset())).isEqualTo(serialiseWithLS(doc.getFirstChild(), Charset.defaultCharset()));
+	}
+
+	@Test
+	void testSaveInvalidPath() {
+		assertThat(new SVGDocument().saveSVGDocument(dir.resolve("foo").resolve("bar.svg").toString())).isFalse();
+	}
+}
@@ -32,6 +32,8 @@ class TestPreferencesService {
 		assertEquals(p1.includesProperty().get(), p2.includesProperty().get());
 		assertEquals(p1.getLang(), p2.getLang());
 		assertEquals(p1.nbRecentFilesProperty().get(), p2.nbRecentFilesProperty().get());
+		assertEquals(p1.lodProxySizeProperty().get(), p2.lodProxySizeProperty().get());
+		assertEquals(p1.lodReducedSizeProperty().get(), p2.lodReducedSizeProperty().get());
 	}
 
 	@Nested
@@ -67,6 +69,16 @@ class TestPreferencesService {
 			assertEquals(10, prefs.gridGapProperty().get());
 		}
 
+		@Test
+		void testLodProxySizeProperty() {
+			assertEquals(8, prefs.lodProxySizeProperty().get());
+		}
+
+		@Test
+		void testLodReducedSizeProperty() {
+			assertEquals(40, prefs.lodReducedSizeProperty().get());
+		}
+
 		@Test
 		void testIsMagneticGrid() {
 			assertFalse(prefs.isMagneticGrid());
@@ -218,6 +230,8 @@ class TestPreferencesService {
 			prefs.includesProperty().set("include text");
 			prefs.langProperty().set(prefs.getSupportedLocales().stream().filter(l -> l != prefs.langProperty().get()).findFirst().orElseThrow());
 			prefs.nbRecentFilesProperty().set(prefs.nbRecentFilesProperty().get() * 3);
+			prefs.lodProxySizeProperty().set(0);
+			prefs.lodReducedSizeProperty().set(prefs.lodReducedSizeProperty().get() + 10);
 
 			prefs.writePreferences();
 			final PreferencesService p2 = new PreferencesService(prefs.getPreferencesPath());
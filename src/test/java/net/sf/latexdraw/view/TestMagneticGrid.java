@@ -1,6 +1,112 @@
 package net.sf.latexdraw.view;
 
+import java.util.stream.IntStream;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import net.sf.latexdraw.service.LaTeXDataService;
+import net.sf.latexdraw.service.PreferencesService;
+import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.MagneticGrid;
+import net.sf.latexdraw.view.jfx.ViewFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApplicationExtension.class)
 public class TestMagneticGrid {
+	static final double VIEWPORT_WIDTH = 400d;
+	static final double VIEWPORT_HEIGHT = 300d;
+	PreferencesService prefs;
+	Canvas canvas;
+	MagneticGrid grid;
+	ScrollPane scrollPane;
+
+	@Start
+	void start(final Stage stage) {
+		prefs = new PreferencesService();
+		prefs.gridStyleProperty().set(GridStyle.STANDARD);
+		canvas = new Canvas(prefs, new ViewFactory(new LaTeXDataService()));
+		grid = canvas.getMagneticGrid();
+		scrollPane = new ScrollPane(new StackPane(canvas));
+		stage.setScene(new Scene(scrollPane, VIEWPORT_WIDTH, VIEWPORT_HEIGHT));
+		stage.show();
+		// The zoom scales the canvas around its centre
+		scrollPane.setHvalue(0.5);
+		scrollPane.setVvalue(0.5);
+	}
+
+	void setZoom(final double zoom) {
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> {
+			canvas.setScaleX(zoom);
+			canvas.setScaleY(zoom);
+			canvas.zoomProperty().set(zoom);
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+	}
+
+	void assertRasterCoversViewportOnly() {
+		assertThat(grid.getChildrenUnmodifiable()).containsExactly(grid.getRaster());
+		// One more pixel for the rounding
+		assertThat(grid.getRaster().getWidth()).isGreaterThan(0d).isLessThanOrEqualTo(VIEWPORT_WIDTH + 1d);
+		assertThat(grid.getRaster().getHeight()).isGreaterThan(0d).isLessThanOrEqualTo(VIEWPORT_HEIGHT + 1d);
+	}
+
+	@Test
+	void testRasterCoversViewportWhateverTheZoom() {
+		for(final double zoom : new double[] {canvas.getMinZoom(), 1d, canvas.getMaxZoom()}) {
+			setZoom(zoom);
+			assertRasterCoversViewportOnly();
+		}
+	}
+
+	@Test
+	void testRasterFollowsScroll() {
+		WaitForAsyncUtils.waitForFxEvents();
+		final double x = grid.getRaster().getLayoutX();
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> scrollPane.setHvalue(0.6));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertThat(grid.getRaster().getLayoutX()).isGreaterThan(x);
+		assertRasterCoversViewportOnly();
+	}
+
+	@Test
+	void testLinesDrawn() {
+		WaitForAsyncUtils.waitForFxEvents();
+		final WritableImage image = WaitForAsyncUtils.waitForAsyncFx(1000, () -> grid.getRaster().snapshot(null, null));
+		final PixelReader reader = image.getPixelReader();
+		final long nbDrawnPixels = IntStream.range(0, (int) image.getWidth()).mapToLong(x -> IntStream.range(0, (int) image.getHeight())
+			.filter(y -> reader.getColor(x, y).getOpacity() > 0d).count()).sum();
+		assertThat(nbDrawnPixels).isGreaterThan(0L);
+	}
+
+	@Test
+	void testNoRasterWithoutGrid() {
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> prefs.gridStyleProperty().set(GridStyle.NONE));
+		assertThat(grid.getRaster().getWidth()).isZero();
+		assertThat(grid.getRaster().getHeight()).isZero();
+	}
+
+	/**
+	 * The cost of a frame depends on the lines drawn: whatever the zoom, the grid draws at most a line every 4 pixels of the viewport.
+	 */
+	@Test
+	void testNbLinesDoesNotDependOnZoom() {
+		for(final double zoom : new double[] {canvas.getMinZoom(), canvas.getMaxZoom()}) {
+			setZoom(zoom);
+			WaitForAsyncUtils.waitForAsyncFx(1000, () -> grid.update());
+			assertRasterCoversViewportOnly();
+			assertThat(((GridViewBase) grid).getNbLines()).isGreaterThan(0).isLessThanOrEqualTo((int) ((VIEWPORT_WIDTH + VIEWPORT_HEIGHT) / 4d));
+		}
+	}
+
 //	MagneticGrid grid;
 //	Canvas canvas;
 //	PreferencesService prefs;
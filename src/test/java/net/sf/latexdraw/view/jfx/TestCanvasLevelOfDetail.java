@@ -0,0 +1,140 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.FillingStyle;
+import net.sf.latexdraw.model.api.shape.Rectangle;
+import net.sf.latexdraw.service.LaTeXDataService;
+import net.sf.latexdraw.service.PreferencesService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestCanvasLevelOfDetail {
+	PreferencesService prefs;
+	Canvas canvas;
+
+	@Start
+	void start(final Stage stage) {
+		prefs = new PreferencesService();
+		canvas = new Canvas(prefs, new ViewFactory(new LaTeXDataService()));
+		stage.setScene(new Scene(new ScrollPane(new StackPane(canvas)), 400d, 300d));
+		stage.show();
+	}
+
+	/**
+	 * A 50x50 rectangle with a shadow, a double border, and hatchings.
+	 */
+	static Rectangle createDetailedRectangle(final double x, final double y) {
+		final Rectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(x, y), 50d, 50d);
+		rec.setHasShadow(true);
+		rec.setHasDbleBord(true);
+		rec.setFillingStyle(FillingStyle.CLINES);
+		return rec;
+	}
+
+	void addShapes(final int nb) {
+		WaitForAsyncUtils.waitForAsyncFx(10_000, () -> IntStream.range(0, nb)
+			.forEach(i -> canvas.getDrawing().addShape(createDetailedRectangle(i % 100 * 60d, i / 100 * 60d))));
+		WaitForAsyncUtils.waitForFxEvents();
+	}
+
+	void setZoom(final double zoom) {
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> canvas.zoomProperty().set(zoom));
+		WaitForAsyncUtils.waitForFxEvents();
+	}
+
+	List<LevelOfDetail> getLevels() {
+		return canvas.getViews().getChildren().stream().map(v -> ((ViewShape<?>) v).getLevelOfDetail()).collect(Collectors.toList());
+	}
+
+	@Test
+	void testFullDetailsAtZoom1() {
+		addShapes(3);
+		assertThat(getLevels()).containsOnly(LevelOfDetail.FULL);
+	}
+
+	@Test
+	void testReducedDetailsAtLowZoom() {
+		addShapes(3);
+		setZoom(0.5);
+		assertThat(getLevels()).containsOnly(LevelOfDetail.REDUCED);
+	}
+
+	@Test
+	void testProxiesAtMinZoom() {
+		addShapes(3);
+		setZoom(canvas.getMinZoom());
+		assertThat(getLevels()).containsOnly(LevelOfDetail.PROXY);
+	}
+
+	@Test
+	void testFullDetailsBackOnZoomIn() {
+		addShapes(3);
+		setZoom(canvas.getMinZoom());
+		setZoom(1d);
+		assertThat(getLevels()).containsOnly(LevelOfDetail.FULL);
+	}
+
+	@Test
+	void testAddedShapeAtMinZoom() {
+		setZoom(canvas.getMinZoom());
+		addShapes(1);
+		assertThat(getLevels()).containsOnly(LevelOfDetail.PROXY);
+	}
+
+	@Test
+	void testThresholdsFromPreferences() {
+		addShapes(3);
+		setZoom(canvas.getMinZoom());
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> prefs.lodProxySizeProperty().set(0));
+		assertThat(getLevels()).containsOnly(LevelOfDetail.REDUCED);
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> prefs.lodReducedSizeProperty().set(0));
+		assertThat(getLevels()).containsOnly(LevelOfDetail.FULL);
+	}
+
+	@Test
+	void testLevelOfDetailDisabled() {
+		addShapes(3);
+		setZoom(canvas.getMinZoom());
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> canvas.setLevelOfDetailEnabled(false));
+		assertThat(getLevels()).containsOnly(LevelOfDetail.FULL);
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> canvas.setLevelOfDetailEnabled(true));
+		assertThat(getLevels()).containsOnly(LevelOfDetail.PROXY);
+	}
+
+	@Test
+	void testLevelUpdatedWhenShapeResized() {
+		addShapes(1);
+		setZoom(0.5);
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> ((Rectangle) canvas.getDrawing().getShapeAt(0).orElseThrow()).setWidth(200d));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertThat(getLevels()).containsOnly(LevelOfDetail.FULL);
+	}
+
+	@Test
+	void testSmallViewsReplacedByTheirProxies() {
+		addShapes(2000);
+		setZoom(canvas.getMinZoom());
+		final List<ViewShape<?>> views = canvas.getViews().getChildren().stream().map(v -> (ViewShape<?>) v).collect(Collectors.toList());
+		assertThat(getLevels()).containsOnly(LevelOfDetail.PROXY);
+		// Only the proxy of each view is painted, the other children are transparent.
+		assertThat(views).allSatisfy(v -> {
+			final javafx.scene.shape.Rectangle proxy = v.getProxy().orElseThrow();
+			assertThat(v.getChildren()).contains(proxy);
+			assertThat(v.getChildren()).filteredOn(ch -> ch != proxy).allMatch(ch -> ch.getOpacity() == 0d);
+			assertThat(proxy.getBoundsInParent()).isEqualTo(v.getBoundsInLocal());
+		});
+	}
+}
@@ -0,0 +1,134 @@
+package net.sf.latexdraw.view.jfx;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.Paint;
+import net.sf.latexdraw.model.api.shape.FillingStyle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestHatchingsCache {
+	HatchingsCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new HatchingsCache(1024L * 1024L);
+	}
+
+	ImagePattern getPattern(final FillingStyle style, final double angle, final double x, final double y) {
+		return (ImagePattern) cache.getPaint(style, angle, 8d, 2d, Color.BLUE, null, x, y);
+	}
+
+	@Test
+	void testSameTileForSameHatchings() {
+		final ImagePattern p1 = getPattern(FillingStyle.VLINES, 0.3, 0d, 0d);
+		final ImagePattern p2 = getPattern(FillingStyle.VLINES, 0.3, 0d, 0d);
+		assertThat(p2.getImage()).isSameAs(p1.getImage());
+		assertThat(cache.getNbMisses()).isEqualTo(1L);
+		assertThat(cache.getNbHits()).isEqualTo(1L);
+	}
+
+	@Test
+	void testTileIndependentOfPosition() {
+		final ImagePattern p1 = getPattern(FillingStyle.VLINES, 0.3, 0d, 0d);
+		final ImagePattern p2 = getPattern(FillingStyle.VLINES, 0.3, 120d, -35d);
+		assertThat(p2.getImage()).isSameAs(p1.getImage());
+		assertThat(p2.getX()).isEqualTo(120d);
+		assertThat(p2.getY()).isEqualTo(-35d);
+		assertThat(p2.isProportional()).isFalse();
+	}
+
+	@Test
+	void testNewTileForOtherHatchings() {
+		final ImagePattern p1 = getPattern(FillingStyle.VLINES, 0.3, 0d, 0d);
+		final ImagePattern p2 = getPattern(FillingStyle.HLINES, 0.3, 0d, 0d);
+		final Paint p3 = cache.getPaint(FillingStyle.VLINES, 0.3, 8d, 2d, Color.RED, null, 0d, 0d);
+		final Paint p4 = cache.getPaint(FillingStyle.VLINES_PLAIN, 0.3, 8d, 2d, Color.BLUE, Color.WHITE, 0d, 0d);
+		assertThat(p2.getImage()).isNotSameAs(p1.getImage());
+		assertThat(((ImagePattern) p3).getImage()).isNotSameAs(p1.getImage());
+		assertThat(((ImagePattern) p4).getImage()).isNotSameAs(p1.getImage());
+		assertThat(cache.getNbMisses()).isEqualTo(4L);
+	}
+
+	@Test
+	void testVerticalLinesTile() {
+		final ImagePattern pattern = getPattern(FillingStyle.VLINES, 0d, 0d, 0d);
+		final Image img = pattern.getImage();
+		assertThat(pattern.getWidth()).isEqualTo(10d, within(1e-9));
+		assertThat(img.getWidth()).isEqualTo(10d * HatchingsCache.RESOLUTION);
+		// A line of width 2 centred on x = 0, thus covering [0, 1] and [9, 10]
+		assertThat(img.getPixelReader().getColor(0, 0)).isEqualTo(Color.BLUE);
+		assertThat(img.getPixelReader().getColor((int) img.getWidth() - 1, 0)).isEqualTo(Color.BLUE);
+		assertThat(img.getPixelReader().getColor((int) img.getWidth() / 2, 0).getOpacity()).isZero();
+	}
+
+	@Test
+	void testFilledTileBehindLines() {
+		final ImagePattern pattern = (ImagePattern) cache.getPaint(FillingStyle.HLINES_PLAIN, 0d, 8d, 2d, Color.BLUE, Color.RED, 0d, 0d);
+		final Image img = pattern.getImage();
+		assertThat(pattern.getHeight()).isEqualTo(10d, within(1e-9));
+		assertThat(img.getPixelReader().getColor(0, 0)).isEqualTo(Color.BLUE);
+		assertThat(img.getPixelReader().getColor(0, (int) img.getHeight() / 2)).isEqualTo(Color.RED);
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = {0d, 0.3, Math.PI / 4d, Math.PI / 6d, -1.2, 2.5, 1e-4, Math.PI / 2d})
+	void testTilesAreBounded(final double angle) {
+		for(final FillingStyle style : new FillingStyle[] {FillingStyle.VLINES, FillingStyle.HLINES, FillingStyle.CLINES}) {
+			final ImagePattern pattern = getPattern(style, angle, 0d, 0d);
+			assertThat(pattern.getWidth() * pattern.getHeight()).isLessThanOrEqualTo(HatchingsCache.MAX_TILE_AREA);
+			assertThat(pattern.getImage().getWidth()).isEqualTo(Math.ceil(pattern.getWidth() * HatchingsCache.RESOLUTION));
+		}
+	}
+
+	@Test
+	void testTileRepeatsLines() {
+		// Crossed hatchings at 30 degrees: the two sides of the tile must be painted the same to repeat the lines
+		final Image img = getPattern(FillingStyle.CLINES, Math.PI / 6d, 0d, 0d).getImage();
+		final int w = (int) img.getWidth();
+		final int h = (int) img.getHeight();
+		int nbDifferences = 0;
+		for(int j = 0; j < h; j++) {
+			if(Math.abs(img.getPixelReader().getColor(0, j).getOpacity() - img.getPixelReader().getColor(w - 1, j).getOpacity()) > 0.8) {
+				nbDifferences++;
+			}
+		}
+		// The first and last columns are neighbours once repeated: only the edges of lines can differ a lot
+		assertThat(nbDifferences).isLessThan(h / 10);
+	}
+
+	@Test
+	void testNoGap() {
+		assertThat(cache.getPaint(FillingStyle.VLINES, 0d, 0d, 0d, Color.BLUE, null, 0d, 0d)).isEqualTo(Color.BLUE);
+		assertThat(cache.getNbEntries()).isZero();
+	}
+
+	@Test
+	void testLeastRecentlyUsedEvicted() {
+		// A tile of vertical lines with a period of 10 weighs 20 * 20 * 4 bytes
+		cache = new HatchingsCache(3200L);
+		final ImagePattern p1 = getPattern(FillingStyle.VLINES, 0d, 0d, 0d);
+		getPattern(FillingStyle.HLINES, 0d, 0d, 0d);
+		getPattern(FillingStyle.VLINES, 0d, 0d, 0d);
+		getPattern(FillingStyle.CLINES, 0d, 0d, 0d);
+		assertThat(cache.getNbEntries()).isEqualTo(2);
+		assertThat(getPattern(FillingStyle.VLINES, 0d, 0d, 0d).getImage()).isSameAs(p1.getImage());
+		assertThat(cache.getNbMisses()).isEqualTo(3L);
+	}
+
+	@Test
+	void testClear() {
+		getPattern(FillingStyle.VLINES, 0d, 0d, 0d);
+		cache.clear();
+		assertThat(cache.getNbEntries()).isZero();
+	}
+}
@@ -0,0 +1,224 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.scene.image.Image;
+import net.sf.latexdraw.util.OperatingSystem;
+import net.sf.latexdraw.util.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestLaTeXBatchRenderer {
+	/** The commands run by the stub toolchain. */
+	List<String> commands;
+	/** The documents compiled by the stub toolchain. */
+	List<String> documents;
+	/** Removes the last page of the PDF documents. */
+	boolean losePage;
+	LaTeXRenderingCache cache;
+	LaTeXBatchRenderer renderer;
+
+	@BeforeEach
+	void setUp() {
+		commands = new ArrayList<>();
+		documents = new ArrayList<>();
+		losePage = false;
+		cache = new LaTeXRenderingCache(null, Long.MAX_VALUE, 0L);
+		renderer = new LaTeXBatchRenderer(cache, (cmd, dir, started) -> runStub(cmd));
+	}
+
+	/**
+	 * @return The name of the binary run by the command, without its path and extension,
+	 * so that the stubs match the binaries of any operating system (e.g. /Library/TeX/texbin/latex, latex.exe).
+	 */
+	static String getBinName(final String[] cmd) {
+		final String name = Path.of(cmd[0]).getFileName().toString();
+		final int dot = name.lastIndexOf('.');
+		return dot > 0 ? name.substring(0, dot) : name;
+	}
+
+	/**
+	 * A stub of the LaTeX toolchain: latex fails on the documents that contain \error,
+	 * convert produces one PNG per page of the latest document, the page i being i+1 pixels wide.
+	 */
+	Tuple<Boolean, String> runStub(final String[] cmd) {
+		final String bin = getBinName(cmd);
+		commands.add(bin);
+		try {
+			if("latex".equals(bin)) {
+				final String doc = Files.readString(Path.of(cmd[cmd.length - 1]));
+				documents.add(doc);
+				return doc.contains("\\error") ? new Tuple<>(false, "! Undefined control sequence.") : new Tuple<>(true, "latex log");
+			}
+			if("convert".equals(bin)) {
+				final String doc = documents.get(documents.size() - 1);
+				final int nbPages = doc.contains("{latexdrawtext}") ? doc.split("\\\\begin\\{latexdrawtext\\}").length - 1 : 1;
+				for(int i = 0; i < nbPages - (losePage ? 1 : 0); i++) {
+					TestLaTeXRenderingCache.createPNG(Path.of(cmd[2].replace("%d", String.valueOf(i))), i + 1, 5);
+				}
+			}
+		}catch(final IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return new Tuple<>(true, "");
+	}
+
+	long countCommands(final String cmd) {
+		return commands.stream().filter(c -> c.equals(cmd)).count();
+	}
+
+	@Test
+	void testStubMatchesBinariesOfAllSystems() {
+		assertThat(Arrays.stream(OperatingSystem.values()).map(os -> getBinName(new String[] {os.getLatexBinPath()}))).containsOnly("latex");
+		assertThat(getBinName(new String[] {"latex.exe"})).isEqualTo("latex");
+	}
+
+	@Test
+	void testSingleTextUsesStandaloneDocument() {
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("foo"));
+		assertThat(res).hasSize(1);
+		assertThat(res.get(0).a).isNotNull();
+		assertThat(documents).containsExactly(LaTeXBatchRenderer.createDocument("", "foo"));
+		assertThat(renderer.getNbBatches()).isZero();
+	}
+
+	@Test
+	void testBatchRunsToolchainOnce() {
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("a", "b", "c"));
+		assertThat(countCommands("latex")).isEqualTo(1L);
+		assertThat(countCommands("convert")).isEqualTo(1L);
+		assertThat(res).extracting(r -> r.a.getWidth()).containsExactly(1d, 2d, 3d);
+		assertThat(renderer.getNbBatches()).isEqualTo(1L);
+		assertThat(renderer.getLastBatchSize()).isEqualTo(3);
+		assertThat(renderer.getLastBatchDuration()).isNotNegative();
+	}
+
+	@Test
+	void testBatchDocumentHasOnePagePerText() {
+		renderer.render("\\usepackage{foo}", List.of("a", "b"));
+		assertThat(documents).containsExactly(LaTeXBatchRenderer.createBatchDocument("\\usepackage{foo}", List.of("a", "b")));
+		assertThat(documents.get(0)).contains("\\begin{latexdrawtext}a\\end{latexdrawtext}", "\\begin{latexdrawtext}b\\end{latexdrawtext}",
+			"\\usepackage{foo}", "\\documentclass[multi]{standalone}");
+	}
+
+	@Test
+	void testBatchResultsCachedPerText() {
+		renderer.render("", List.of("a", "b"));
+		commands.clear();
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("b", "a"));
+		assertThat(commands).isEmpty();
+		assertThat(res).extracting(r -> r.a.getWidth()).containsExactly(2d, 1d);
+		assertThat(cache.get(LaTeXBatchRenderer.createDocument("", "a"))).isPresent();
+	}
+
+	@Test
+	void testOnlyMissingTextsCompiled() {
+		renderer.render("", List.of("a"));
+		documents.clear();
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("a", "b", "c"));
+		assertThat(documents).containsExactly(LaTeXBatchRenderer.createBatchDocument("", List.of("b", "c")));
+		assertThat(res).allMatch(r -> r.a != null);
+		assertThat(renderer.getLastBatchSize()).isEqualTo(2);
+	}
+
+	@Test
+	void testErrorInBatchCompilesTextsSeparately() {
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("a", "\\error", "c"));
+		assertThat(res.get(0).a).isNotNull();
+		assertThat(res.get(1).a).isNull();
+		assertThat(res.get(1).b).contains("Undefined control sequence");
+		assertThat(res.get(2).a).isNotNull();
+	}
+
+	@Test
+	void testErrorInBatchIsolatedByBisection() {
+		final List<String> bodies = IntStream.range(0, 16).mapToObj(i -> i == 5 ? "\\error" : "t" + i).collect(Collectors.toList());
+		final List<Tuple<Image, String>> res = renderer.render("", bodies);
+		// The failing batch, then two halves at each of the log2(16) levels, instead of one compilation per text
+		assertThat(countCommands("latex")).isEqualTo(9L);
+		assertThat(res.get(5).a).isNull();
+		assertThat(res.get(5).b).contains("Undefined control sequence");
+		assertThat(IntStream.range(0, 16).filter(i -> i != 5).mapToObj(res::get)).allMatch(r -> r.a != null);
+		assertThat(renderer.getNbBatches()).isEqualTo(1L);
+		assertThat(renderer.getLastBatchSize()).isEqualTo(16);
+	}
+
+	@Test
+	void testMissingPageCompilesTextsOneByOne() {
+		losePage = true;
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("a", "b"));
+		// The single documents lose their page too
+		assertThat(countCommands("latex")).isEqualTo(3L);
+		assertThat(res).allMatch(r -> r.a == null);
+	}
+
+	@Test
+	void testTemporaryFilesRemoved() {
+		final List<File> dirs = new ArrayList<>();
+		renderer = new LaTeXBatchRenderer(cache, (cmd, dir, started) -> {
+			if("convert".equals(getBinName(cmd))) {
+				dirs.add(new File(cmd[2]).getParentFile());
+			}
+			return runStub(cmd);
+		});
+		renderer.render("", List.of("a", "b"));
+		assertThat(dirs).hasSize(1);
+		assertThat(dirs.get(0)).doesNotExist();
+	}
+
+	@Test
+	void testCancelledJobRunsNoCommand() {
+		final LaTeXBatchRenderer.Job job = new LaTeXBatchRenderer.Job();
+		job.cancel();
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("a", "b"), job);
+		assertThat(commands).isEmpty();
+		assertThat(res).hasSize(2).allMatch(r -> r.a == null);
+		assertThat(cache.get(LaTeXBatchRenderer.createDocument("", "a"))).isEmpty();
+	}
+
+	@Test
+	void testJobCancelledDuringCompilationStopsToolchain() {
+		final LaTeXBatchRenderer.Job job = new LaTeXBatchRenderer.Job();
+		renderer = new LaTeXBatchRenderer(cache, (cmd, dir, started) -> {
+			final Tuple<Boolean, String> res = runStub(cmd);
+			job.cancel();
+			return res;
+		});
+		final List<Tuple<Image, String>> res = renderer.render("", List.of("a", "b"), job);
+		assertThat(commands).containsExactly("latex");
+		assertThat(res).allMatch(r -> r.a == null);
+	}
+
+	@Test
+	void testCancelKillsStartedProcess() throws Exception {
+		final Process process = new ProcessBuilder("sleep", "30").start();
+		final LaTeXBatchRenderer.Job job = new LaTeXBatchRenderer.Job();
+		job.setProcess(process);
+		job.cancel();
+		assertThat(process.waitFor(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(job.isCancelled()).isTrue();
+	}
+
+	@Test
+	void testProcessStartedAfterCancelIsKilled() throws Exception {
+		final Process process = new ProcessBuilder("sleep", "30").start();
+		final LaTeXBatchRenderer.Job job = new LaTeXBatchRenderer.Job();
+		job.cancel();
+		job.setProcess(process);
+		assertThat(process.waitFor(10, TimeUnit.SECONDS)).isTrue();
+	}
+}
@@ -0,0 +1,146 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javafx.scene.image.Image;
+import javax.imageio.ImageIO;
+import net.sf.latexdraw.util.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestLaTeXRenderingCache {
+	@TempDir
+	Path dir;
+	Path cacheDir;
+	File png;
+	Image img;
+	LaTeXRenderingCache cache;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		cacheDir = dir.resolve("cache");
+		png = createPNG(dir.resolve("pic.png"), 10, 10);
+		img = new Image(png.toURI().toString());
+		cache = new LaTeXRenderingCache(cacheDir, 1024L * 1024L, 1024L * 1024L);
+	}
+
+	static File createPNG(final Path path, final int width, final int height) throws IOException {
+		final File file = path.toFile();
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", file);
+		return file;
+	}
+
+	long countFiles(final String extension) throws IOException {
+		try(final Stream<Path> files = Files.list(cacheDir)) {
+			return files.filter(path -> path.toString().endsWith(extension)).count();
+		}
+	}
+
+	@Test
+	void testMissWhenEmpty() {
+		assertThat(cache.get("doc")).isEmpty();
+		assertThat(cache.getNbMisses()).isEqualTo(1L);
+		assertThat(cache.getNbHits()).isZero();
+	}
+
+	@Test
+	void testHitAfterPut() {
+		cache.put("doc", img, png, "log");
+		final Tuple<Image, String> entry = cache.get("doc").orElseThrow();
+		assertThat(entry.a).isSameAs(img);
+		assertThat(entry.b).isEqualTo("log");
+		assertThat(cache.getNbHits()).isEqualTo(1L);
+		assertThat(cache.getNbMisses()).isZero();
+	}
+
+	@Test
+	void testOtherDocumentIsMiss() {
+		cache.put("doc", img, png, "log");
+		assertThat(cache.get("doc2")).isEmpty();
+	}
+
+	@Test
+	void testHitFromDiskInNewSession() {
+		cache.put("doc", img, png, "log");
+		final LaTeXRenderingCache cache2 = new LaTeXRenderingCache(cacheDir, 1024L * 1024L, 1024L * 1024L);
+		final Tuple<Image, String> entry = cache2.get("doc").orElseThrow();
+		assertThat(entry.a.getWidth()).isEqualTo(10d);
+		assertThat(entry.b).isEqualTo("log");
+		assertThat(cache2.getNbHits()).isEqualTo(1L);
+		assertThat(cache2.getNbMemoryEntries()).isEqualTo(1);
+	}
+
+	@Test
+	void testHitFromDiskAfterClearMemory() {
+		cache.put("doc", img, png, "log");
+		cache.clearMemory();
+		assertThat(cache.getNbMemoryEntries()).isZero();
+		assertThat(cache.get("doc")).isPresent();
+	}
+
+	@Test
+	void testNoDiskTier() {
+		final LaTeXRenderingCache memCache = new LaTeXRenderingCache(null, 1024L, 1024L);
+		memCache.put("doc", img, png, "log");
+		memCache.clearMemory();
+		assertThat(memCache.get("doc")).isEmpty();
+	}
+
+	@Test
+	void testMemoryEvictsLeastRecentlyUsed() {
+		// 400 bytes per 10x10 picture: room for two pictures
+		final LaTeXRenderingCache memCache = new LaTeXRenderingCache(null, 800L, 0L);
+		memCache.put("doc1", img, png, "");
+		memCache.put("doc2", img, png, "");
+		memCache.get("doc1");
+		memCache.put("doc3", img, png, "");
+		assertThat(memCache.getNbMemoryEntries()).isEqualTo(2);
+		assertThat(memCache.get("doc1")).isPresent();
+		assertThat(memCache.get("doc2")).isEmpty();
+		assertThat(memCache.get("doc3")).isPresent();
+	}
+
+	@Test
+	void testMemoryKeepsPictureLargerThanBudget() {
+		final LaTeXRenderingCache memCache = new LaTeXRenderingCache(null, 10L, 0L);
+		memCache.put("doc", img, png, "");
+		assertThat(memCache.get("doc")).isPresent();
+	}
+
+	@Test
+	void testDiskEvictsOldestFiles() throws IOException {
+		final LaTeXRenderingCache smallCache = new LaTeXRenderingCache(cacheDir, 1024L * 1024L, png.length() * 2L);
+		smallCache.put("doc1", img, png, "");
+		cacheDir.resolve(LaTeXRenderingCache.hash("doc1") + ".png").toFile().setLastModified(1000L);
+		smallCache.put("doc2", img, png, "");
+		smallCache.put("doc3", img, png, "");
+		assertThat(countFiles(".png")).isEqualTo(2L);
+		assertThat(countFiles(".log")).isEqualTo(2L);
+		assertThat(cacheDir.resolve(LaTeXRenderingCache.hash("doc1") + ".png")).doesNotExist();
+	}
+
+	@Test
+	void testCorruptedFileIsMissAndRemoved() throws IOException {
+		Files.createDirectories(cacheDir);
+		final Path corrupted = cacheDir.resolve(LaTeXRenderingCache.hash("doc") + ".png");
+		Files.writeString(corrupted, "not a picture");
+		assertThat(cache.get("doc")).isEmpty();
+		assertThat(corrupted).doesNotExist();
+	}
+
+	@Test
+	void testHashDependsOnDocument() {
+		assertThat(LaTeXRenderingCache.hash("doc")).hasSize(64).isEqualTo(LaTeXRenderingCache.hash("doc"));
+		assertThat(LaTeXRenderingCache.hash("doc")).isNotEqualTo(LaTeXRenderingCache.hash("doc "));
+	}
+}
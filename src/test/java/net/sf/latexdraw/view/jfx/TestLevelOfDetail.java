@@ -0,0 +1,33 @@
+package net.sf.latexdraw.view.jfx;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestLevelOfDetail {
+	@Test
+	void testFromSizeProxy() {
+		assertThat(LevelOfDetail.fromSize(7.9, 8, 40)).isEqualTo(LevelOfDetail.PROXY);
+	}
+
+	@Test
+	void testFromSizeReduced() {
+		assertThat(LevelOfDetail.fromSize(8d, 8, 40)).isEqualTo(LevelOfDetail.REDUCED);
+		assertThat(LevelOfDetail.fromSize(39.9, 8, 40)).isEqualTo(LevelOfDetail.REDUCED);
+	}
+
+	@Test
+	void testFromSizeFull() {
+		assertThat(LevelOfDetail.fromSize(40d, 8, 40)).isEqualTo(LevelOfDetail.FULL);
+	}
+
+	@Test
+	void testFromSizeNoProxy() {
+		assertThat(LevelOfDetail.fromSize(1d, 0, 40)).isEqualTo(LevelOfDetail.REDUCED);
+	}
+
+	@Test
+	void testFromSizeDisabled() {
+		assertThat(LevelOfDetail.fromSize(1d, 0, 0)).isEqualTo(LevelOfDetail.FULL);
+	}
+}
@@ -0,0 +1,134 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestSpatialIndex {
+	SpatialIndex<String> index;
+
+	@BeforeEach
+	void setUp() {
+		index = new SpatialIndex<>(10d);
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = {0d, -1d, Double.NaN, Double.POSITIVE_INFINITY})
+	void testInvalidCellSize(final double size) {
+		assertThrows(IllegalArgumentException.class, () -> new SpatialIndex<>(size));
+	}
+
+	@Test
+	void testEmpty() {
+		assertThat(index.size()).isZero();
+		assertThat(index.query(0d, 0d, 100d, 100d)).isEmpty();
+	}
+
+	@Test
+	void testPutQuery() {
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		index.put("b", new BoundingBox(50d, 50d, 10d, 10d));
+		assertThat(index.query(0d, 0d, 20d, 20d)).containsExactly("a");
+		assertThat(index.query(0d, 0d, 100d, 100d)).containsExactlyInAnyOrder("a", "b");
+		assertThat(index.query(30d, 30d, 40d, 40d)).isEmpty();
+	}
+
+	@Test
+	void testQueryNear() {
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		assertThat(index.queryNear(18d, 18d, 2d)).isEmpty();
+		assertThat(index.queryNear(18d, 18d, 3d)).containsExactly("a");
+		assertThat(index.queryNear(10d, 10d, 0d)).containsExactly("a");
+	}
+
+	@Test
+	void testPutUpdatesBounds() {
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		index.put("a", new BoundingBox(500d, 500d, 10d, 10d));
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.query(0d, 0d, 20d, 20d)).isEmpty();
+		assertThat(index.query(490d, 490d, 520d, 520d)).containsExactly("a");
+	}
+
+	@Test
+	void testPutInvalidBoundsRemoves() {
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		index.put("a", Double.NaN, 0d, 1d, 1d);
+		assertThat(index.contains("a")).isFalse();
+	}
+
+	@Test
+	void testRemove() {
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		assertThat(index.remove("a")).isTrue();
+		assertThat(index.remove("a")).isFalse();
+		assertThat(index.query(0d, 0d, 20d, 20d)).isEmpty();
+	}
+
+	@Test
+	void testClear() {
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		index.put("b", new BoundingBox(-5000d, -5000d, 10000d, 10000d));
+		index.clear();
+		assertThat(index.size()).isZero();
+		assertThat(index.query(0d, 0d, 20d, 20d)).isEmpty();
+	}
+
+	@Test
+	void testOversizedObject() {
+		index.put("big", new BoundingBox(-5000d, -5000d, 10000d, 10000d));
+		index.put("a", new BoundingBox(5d, 5d, 10d, 10d));
+		assertThat(index.query(0d, 0d, 1d, 1d)).containsExactly("big");
+		assertThat(index.query(6d, 6d, 7d, 7d)).containsExactlyInAnyOrder("a", "big");
+		assertThat(index.remove("big")).isTrue();
+		assertThat(index.query(0d, 0d, 1d, 1d)).isEmpty();
+	}
+
+	@Test
+	void testNegativeCoordinates() {
+		index.put("a", new BoundingBox(-25d, -25d, 10d, 10d));
+		assertThat(index.query(-20d, -20d, -19d, -19d)).containsExactly("a");
+		assertThat(index.query(0d, 0d, 5d, 5d)).isEmpty();
+	}
+
+	@Test
+	void testSameResultsThanBruteForce() {
+		final Random rnd = new Random(42);
+		final List<Bounds> bounds = IntStream.range(0, 2000)
+			.mapToObj(i -> new BoundingBox(rnd.nextDouble() * 2000d - 1000d, rnd.nextDouble() * 2000d - 1000d, rnd.nextDouble() * 80d, rnd.nextDouble() * 80d))
+			.collect(Collectors.toList());
+		IntStream.range(0, bounds.size()).forEach(i -> index.put(String.valueOf(i), bounds.get(i)));
+
+		IntStream.range(0, 200).forEach(q -> {
+			final Bounds query = new BoundingBox(rnd.nextDouble() * 2000d - 1000d, rnd.nextDouble() * 2000d - 1000d, rnd.nextDouble() * 300d, rnd.nextDouble() * 300d);
+			final List<String> expected = IntStream.range(0, bounds.size()).filter(i -> bounds.get(i).intersects(query))
+				.mapToObj(i -> String.valueOf(i)).collect(Collectors.toList());
+			assertThat(index.query(query)).containsExactlyInAnyOrderElementsOf(expected);
+		});
+	}
+
+	/**
+	 * A rubber-band selection of a given size must return the same candidates whatever the size of the drawing,
+	 * checking the same number of objects.
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = {1000, 10000, 100000})
+	void testQueryDoesNotDependOnDrawingSize(final int nbShapes) {
+		final int side = (int) Math.ceil(Math.sqrt(nbShapes));
+		IntStream.range(0, nbShapes).forEach(i -> index.put(String.valueOf(i), new BoundingBox(i % side * 20d, i / side * 20d, 10d, 10d)));
+
+		assertThat(index.query(0d, 0d, 95d, 95d)).hasSize(25);
+		// The objects of the 10x10 cells the selection covers: one object every two cells in both directions
+		assertThat(index.getNbChecked()).isEqualTo(25);
+	}
+}
@@ -0,0 +1,172 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.service.LaTeXDataService;
+import net.sf.latexdraw.util.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestTextCompilationScheduler {
+	/** The documents compiled by the stub toolchain. */
+	List<String> documents;
+	/** Blocks the stub latex command until released. Null: not blocked. */
+	CountDownLatch blockLatex;
+	CountDownLatch latexStarted;
+	ScheduledExecutorService pool;
+	TextCompilationScheduler scheduler;
+	ViewText view1;
+	ViewText view2;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		documents = new CopyOnWriteArrayList<>();
+		blockLatex = null;
+		latexStarted = new CountDownLatch(1);
+		pool = Executors.newScheduledThreadPool(2);
+		final LaTeXBatchRenderer renderer = new LaTeXBatchRenderer(new LaTeXRenderingCache(null, Long.MAX_VALUE, 0L), (cmd, dir, started) -> runStub(cmd));
+		scheduler = new TextCompilationScheduler(pool, renderer, 50L);
+		view1 = WaitForAsyncUtils.asyncFx(() -> new ViewText(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(), "a"), new LaTeXDataService())).get(5, TimeUnit.SECONDS);
+		view2 = WaitForAsyncUtils.asyncFx(() -> new ViewText(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(), "b"), new LaTeXDataService())).get(5, TimeUnit.SECONDS);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		pool.shutdownNow();
+		WaitForAsyncUtils.asyncFx(() -> {
+			view1.flush();
+			view2.flush();
+		}).get(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * A stub of the LaTeX toolchain: latex succeeds (and may block), convert produces one PNG per text.
+	 */
+	Tuple<Boolean, String> runStub(final String[] cmd) {
+		final String bin = TestLaTeXBatchRenderer.getBinName(cmd);
+		try {
+			if("latex".equals(bin)) {
+				documents.add(Files.readString(Path.of(cmd[cmd.length - 1])));
+				latexStarted.countDown();
+				if(blockLatex != null) {
+					blockLatex.await(10, TimeUnit.SECONDS);
+				}
+			}
+			if("convert".equals(bin)) {
+				final String doc = documents.get(documents.size() - 1);
+				final int nbPages = doc.contains("{latexdrawtext}") ? doc.split("\\\\begin\\{latexdrawtext\\}").length - 1 : 1;
+				for(int i = 0; i < nbPages; i++) {
+					TestLaTeXRenderingCache.createPNG(Path.of(cmd[2].replace("%d", String.valueOf(i))), i + 1, 5);
+				}
+			}
+		}catch(final IOException ex) {
+			throw new UncheckedIOException(ex);
+		}catch(final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return new Tuple<>(true, "log" + documents.size());
+	}
+
+	@Test
+	void testRequestsDuringQuietPeriodCoalesced() throws Exception {
+		Future<?> future = null;
+		for(int i = 0; i < 5; i++) {
+			future = scheduler.request(view1);
+		}
+		future.get(5, TimeUnit.SECONDS);
+		assertThat(documents).hasSize(1);
+		assertThat(scheduler.getNbSubmitted()).isEqualTo(5L);
+		assertThat(scheduler.getNbCoalesced()).isEqualTo(4L);
+		assertThat(scheduler.getNbCancelled()).isZero();
+	}
+
+	@Test
+	void testCoalescedRequestsShareFuture() {
+		assertThat(scheduler.request(view1)).isSameAs(scheduler.request(view1));
+	}
+
+	@Test
+	void testViewsRequestedTogetherCompiledInOneBatch() throws Exception {
+		final Future<?> f1 = scheduler.request(view1);
+		final Future<?> f2 = scheduler.request(view2);
+		f1.get(5, TimeUnit.SECONDS);
+		f2.get(5, TimeUnit.SECONDS);
+		assertThat(documents).hasSize(1);
+		assertThat(documents.get(0)).contains("\\begin{latexdrawtext}");
+	}
+
+	@Test
+	void testCompiledImageApplied() throws Exception {
+		scheduler.request(view1).get(5, TimeUnit.SECONDS);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertThat(view1.getCompilationData()).hasValueSatisfying(log -> assertThat(log).startsWith("log1"));
+	}
+
+	@Test
+	void testCancelBeforeQuietPeriodEnds() {
+		// A manual pool: the end of the quiet period is run by the test.
+		final ScheduledExecutorService manualPool = Mockito.mock(ScheduledExecutorService.class);
+		final ArgumentCaptor<Runnable> start = ArgumentCaptor.forClass(Runnable.class);
+		final TextCompilationScheduler manualScheduler = new TextCompilationScheduler(manualPool,
+			new LaTeXBatchRenderer(new LaTeXRenderingCache(null, Long.MAX_VALUE, 0L), (cmd, dir, started) -> runStub(cmd)), 0L);
+
+		final Future<?> future = manualScheduler.request(view1);
+		manualScheduler.cancel(view1);
+		Mockito.verify(manualPool).schedule(start.capture(), Mockito.anyLong(), Mockito.any());
+		start.getValue().run();
+
+		assertThat(future.isDone()).isTrue();
+		assertThat(documents).isEmpty();
+		assertThat(manualScheduler.getNbCancelled()).isEqualTo(1L);
+	}
+
+	@Test
+	void testNewRequestSupersedesRunningCompilation() throws Exception {
+		blockLatex = new CountDownLatch(1);
+		final Future<?> first = scheduler.request(view1);
+		assertThat(latexStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		final Future<?> second = scheduler.request(view1);
+		blockLatex.countDown();
+		first.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		assertThat(scheduler.getNbCancelled()).isEqualTo(1L);
+		// The superseded batch stops after latex, the new one runs completely
+		assertThat(documents).hasSize(2);
+	}
+
+	@Test
+	void testOutdatedVersionNotApplied() throws Exception {
+		final long version = view1.getTextVersion();
+		WaitForAsyncUtils.asyncFx(() -> {
+			view1.getModel().setText("c");
+			view1.updateImageText(new Tuple<>(null, "outdated"), version);
+		}).get(5, TimeUnit.SECONDS);
+		assertThat(view1.getCompilationData()).isNotEqualTo(Optional.of("outdated"));
+	}
+
+	@Test
+	void testQuietPeriodNotNegative() {
+		scheduler.setQuietPeriod(-10L);
+		assertThat(scheduler.getQuietPeriod()).isZero();
+	}
+}
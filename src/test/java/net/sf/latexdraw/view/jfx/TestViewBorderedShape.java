@@ -1,6 +1,8 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.Arrays;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.LinearGradient;
@@ -445,6 +447,17 @@ abstract class TestViewBorderedShape<T extends ViewSingleShape<S, R>, S extends
 		});
 	}
 
+	@Test
+	void testFillHatchingsTileKeptOnTranslate() {
+		assumeTrue(model.isFillable());
+		Cmds.of(CmdFXVoid.of(() -> model.setFillingStyle(FillingStyle.CLINES))).execute();
+		final ImagePattern pattern = (ImagePattern) border.getFill();
+		final long misses = ViewSingleShape.HATCHINGS_CACHE.getNbMisses();
+		Cmds.of(CmdFXVoid.of(() -> model.translate(23d, 11d))).execute();
+		assertTrue(((ImagePattern) border.getFill()).getImage() == pattern.getImage());
+		assertEquals(misses, ViewSingleShape.HATCHINGS_CACHE.getNbMisses());
+	}
+
 	@Test
 	void testShadowAdded() {
 		assumeTrue(model.isShadowable());
@@ -592,4 +605,118 @@ abstract class TestViewBorderedShape<T extends ViewSingleShape<S, R>, S extends
 		assumeTrue(model.isDbleBorderable());
 		assertTrue(view.getChildren().indexOf(border) < view.getChildren().indexOf(view.getDbleBorder().orElseThrow()));
 	}
+
+	@Test
+	void testDefaultLevelOfDetailFull() {
+		assertEquals(LevelOfDetail.FULL, view.getLevelOfDetail());
+		assertTrue(view.getProxy().isEmpty());
+	}
+
+	@Test
+	void testReducedDetailsHideShadow() {
+		assumeTrue(model.isShadowable());
+		Cmds.of(CmdFXVoid.of(() -> {
+			model.setHasShadow(true);
+			view.setLevelOfDetail(LevelOfDetail.REDUCED);
+		})).execute();
+		assertFalse(view.getShadow().orElseThrow().isVisible());
+	}
+
+	@Test
+	void testReducedDetailsHideDbleBorder() {
+		assumeTrue(model.isDbleBorderable());
+		Cmds.of(CmdFXVoid.of(() -> {
+			model.setHasDbleBord(true);
+			view.setLevelOfDetail(LevelOfDetail.REDUCED);
+		})).execute();
+		assertFalse(view.getDbleBorder().orElseThrow().isVisible());
+	}
+
+	@Test
+	void testFullDetailsShowShadowAndDbleBorderAgain() {
+		assumeTrue(model.isShadowable() && model.isDbleBorderable());
+		Cmds.of(CmdFXVoid.of(() -> {
+			model.setHasShadow(true);
+			model.setHasDbleBord(true);
+			view.setLevelOfDetail(LevelOfDetail.REDUCED);
+			view.setLevelOfDetail(LevelOfDetail.FULL);
+		})).execute();
+		assertTrue(view.getShadow().orElseThrow().isVisible());
+		assertTrue(view.getDbleBorder().orElseThrow().isVisible());
+	}
+
+	@Test
+	void testReducedDetailsPlainHatchings() {
+		assumeTrue(model.isFillable());
+		Cmds.of(CmdFXVoid.of(() -> {
+			model.setFillingStyle(FillingStyle.VLINES);
+			view.setLevelOfDetail(LevelOfDetail.REDUCED);
+		})).execute();
+		assertTrue(border.getFill() instanceof Color);
+		Cmds.of(CmdFXVoid.of(() -> view.setLevelOfDetail(LevelOfDetail.FULL))).execute();
+		assertTrue(border.getFill() instanceof ImagePattern);
+	}
+
+	@Test
+	void testReducedDetailsPlainFilledHatchings() {
+		assumeTrue(model.isFillable());
+		Cmds.of(CmdFXVoid.of(() -> {
+			view.setLevelOfDetail(LevelOfDetail.REDUCED);
+			model.setFillingStyle(FillingStyle.CLINES_PLAIN);
+		})).execute();
+		assertEquals(model.getFillingCol().toJFX(), border.getFill());
+	}
+
+	@Test
+	void testProxyHidesChildrenButKeepsBounds() {
+		final Bounds bounds = view.getBoundsInLocal();
+		Cmds.of(CmdFXVoid.of(() -> view.setLevelOfDetail(LevelOfDetail.PROXY))).execute();
+		final javafx.scene.shape.Rectangle proxy = view.getProxy().orElseThrow();
+		assertTrue(view.getChildren().stream().filter(ch -> ch != proxy).allMatch(ch -> ch.getOpacity() == 0d));
+		assertEquals(bounds, view.getBoundsInLocal());
+		assertEquals(bounds, proxy.getBoundsInParent());
+	}
+
+	@Test
+	void testProxyFollowsModel() {
+		final double x = view.getBoundsInLocal().getMinX();
+		Cmds.of(CmdFXVoid.of(() -> {
+			view.setLevelOfDetail(LevelOfDetail.PROXY);
+			model.translate(100d, 50d);
+		})).execute();
+		// The old bounding box would still be part of the bounds of the view if the proxy did not follow the model
+		assertEquals(view.getBoundsInLocal(), view.getProxy().orElseThrow().getBoundsInParent());
+		assertEquals(x + 100d, view.getProxy().orElseThrow().getX(), 0.001);
+	}
+
+	@Test
+	void testProxyFollowsLineColour() {
+		Cmds.of(CmdFXVoid.of(() -> {
+			view.setLevelOfDetail(LevelOfDetail.PROXY);
+			model.setLineColour(DviPsColors.BITTERSWEET);
+		})).execute();
+		assertEquals(DviPsColors.BITTERSWEET.toJFX(), view.getProxy().orElseThrow().getFill());
+	}
+
+	@Test
+	void testProxyRemoved() {
+		Cmds.of(CmdFXVoid.of(() -> {
+			view.setLevelOfDetail(LevelOfDetail.PROXY);
+			view.setLevelOfDetail(LevelOfDetail.FULL);
+		})).execute();
+		assertTrue(view.getProxy().isEmpty());
+		assertTrue(view.getChildren().stream().allMatch(ch -> ch.getOpacity() == 1d));
+	}
+
+	@Test
+	void testProxyRemovedRestoresOpacity() {
+		final Node child = view.getChildren().get(0);
+		Cmds.of(CmdFXVoid.of(() -> {
+			child.setOpacity(0.3);
+			view.setLevelOfDetail(LevelOfDetail.PROXY);
+		})).execute();
+		assertEquals(0d, child.getOpacity(), 0.000001);
+		Cmds.of(CmdFXVoid.of(() -> view.setLevelOfDetail(LevelOfDetail.FULL))).execute();
+		assertEquals(0.3, child.getOpacity(), 0.000001);
+	}
 }
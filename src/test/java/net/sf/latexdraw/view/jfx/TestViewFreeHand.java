@@ -1,7 +1,10 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.model.ShapeFactory;
@@ -9,9 +12,13 @@ import net.sf.latexdraw.model.api.shape.FreeHandStyle;
 import net.sf.latexdraw.model.api.shape.Freehand;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class TestViewFreeHand extends TestViewBorderedShape<ViewFreeHand, Freehand, Path> {
 	List<PathElement> before;
@@ -73,4 +80,52 @@ public class TestViewFreeHand extends TestViewBorderedShape<ViewFreeHand, Freeha
 		model.translate(0d, 11d);
 		assertPathSameButNotEqual(before, border.getElements());
 	}
+
+	static Stream<Arguments> drawingParams() {
+		return Stream.of(FreeHandStyle.values()).flatMap(style -> IntStream.of(1, 2, 3, 5).boxed().flatMap(interval ->
+			Stream.of(true, false).map(opened -> Arguments.of(style, interval, opened))));
+	}
+
+	@ParameterizedTest
+	@MethodSource("drawingParams")
+	void testAddPointsSamePathAsCreatedView(final FreeHandStyle style, final int interval, final boolean opened) {
+		final Freehand fh = ShapeFactory.INST.createFreeHand(Collections.singletonList(ShapeFactory.INST.createPoint(10d, 20d)));
+		fh.setType(style);
+		fh.setInterval(interval);
+		fh.setOpened(opened);
+		final ViewFreeHand drawn = (ViewFreeHand) factory.createView(fh).orElseThrow();
+
+		for(int i = 1; i < 12; i++) {
+			fh.addPoint(10d + i * 7d, 20d + (i % 3) * 11d);
+			final ViewFreeHand created = (ViewFreeHand) factory.createView(fh).orElseThrow();
+			assertEquals(created.getBorder().getElements(), drawn.getBorder().getElements());
+			assertEquals(drawn.getBorder().getElements(), drawn.getShadow().orElseThrow().getElements());
+			created.flush();
+		}
+		drawn.flush();
+	}
+
+	@Test
+	void testAddPointKeepsPreviousPathElements() {
+		IntStream.range(0, 5000).forEach(i -> model.addPoint(i, i % 100));
+		final List<PathElement> elts = List.copyOf(border.getElements());
+		model.addPoint(-10d, -10d);
+		model.addPoint(-20d, -20d);
+		// Only the last curve is replaced when a point is added
+		IntStream.range(0, elts.size() - 1).forEach(i -> assertSame(elts.get(i), border.getElements().get(i)));
+	}
+
+	@Test
+	void testAddPointUpdatesPath() {
+		model.addPoint(-10d, -10d);
+		assertNotEquals(before, border.getElements());
+	}
+
+	@Test
+	void testTranslateAfterAddPoint() {
+		model.addPoint(-10d, -10d);
+		before = duplicatePath(border.getElements());
+		model.translate(11d, 0d);
+		assertPathSameButNotEqual(before, border.getElements());
+	}
 }
@@ -1,18 +1,29 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.List;
-import javafx.scene.shape.Ellipse;
+import java.util.stream.Collectors;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Dot;
 import net.sf.latexdraw.model.api.shape.DotStyle;
 import net.sf.latexdraw.model.api.shape.Plot;
 import net.sf.latexdraw.model.api.shape.PlotStyle;
+import net.sf.latexdraw.view.latex.DviPsColors;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mockito;
 import org.testfx.util.WaitForAsyncUtils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestViewPlot extends TestViewShape<ViewPlot, Plot> {
@@ -26,6 +37,16 @@ public class TestViewPlot extends TestViewShape<ViewPlot, Plot> {
 	}
 
 
+	@Test
+	void testSamplesComputedAtOnce() {
+		final Plot plot = Mockito.spy(ShapeFactory.INST.createPlot(ShapeFactory.INST.createPoint(0d, 0d), -2d, 3d, "x x mul", false));
+		plot.setNbPlottedPoints(6);
+		assertArrayEquals(new double[] {-2d, 4d, -1d, 1d, 0d, 0d, 1d, 1d, 2d, 4d, 3d, 9d}, view.sample(plot, -2d, 3d, 1d), 0.0000001);
+		// The samples of the ecurve style start one step after the minimal X-coordinate
+		assertArrayEquals(new double[] {-1d, 1d, 0d, 0d, 1d, 1d, 2d, 4d, 3d, 9d, 4d, 16d}, view.sample(plot, -1d, 2d, 1d), 0.0000001);
+		Mockito.verify(plot, Mockito.never()).getY(Mockito.anyDouble());
+	}
+
 	@Test
 	void testOnChangePlotXMin() {
 		final List<PathElement> before = duplicatePath(getCurvePath());
@@ -101,7 +122,8 @@ public class TestViewPlot extends TestViewShape<ViewPlot, Plot> {
 	void testOnChangeStyleDOTS() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertTrue(view.getChildren().get(0) instanceof ViewDot);
+		assertTrue(view.getChildren().get(0) instanceof ViewPlotDots);
+		assertEquals(1, view.getChildren().size());
 	}
 
 	@Test
@@ -127,45 +149,53 @@ public class TestViewPlot extends TestViewShape<ViewPlot, Plot> {
 		assertTrue(view.getChildren().get(0) instanceof ViewBezierCurve);
 	}
 
+	private ViewPlotDots getDots() {
+		return (ViewPlotDots) view.getChildren().get(0);
+	}
+
+	private static long countMoveTo(final Path path) {
+		return path.getElements().stream().filter(elt -> elt instanceof MoveTo).count();
+	}
+
 	@Test
 	void testOnChangeDotDiametre() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		final double before = ((Ellipse) ((ViewDot) view.getChildren().get(0)).getChildren().get(0)).getRadiusX();
+		final double before = ((ArcTo) getDots().circles.getElements().get(1)).getRadiusX();
 		model.setDiametre(model.getDiametre() * 1.577);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertNotEquals(before, ((Ellipse) ((ViewDot) view.getChildren().get(0)).getChildren().get(0)).getRadiusX());
+		assertNotEquals(before, ((ArcTo) getDots().circles.getElements().get(1)).getRadiusX());
 	}
 
 	@Test
 	void testOnChangeDotStyle() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		final List<PathElement> before = ((Path) ((ViewDot) view.getChildren().get(0)).getChildren().get(1)).getElements();
+		final List<PathElement> before = duplicatePath(getDots().glyphs.getElements());
 		model.setDotStyle(DotStyle.FDIAMOND);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertNotEquals(before, ((Path) ((ViewDot) view.getChildren().get(0)).getChildren().get(1)).getElements());
+		assertNotEquals(before, getDots().glyphs.getElements());
+		assertTrue(getDots().glyphs.isVisible());
+		assertFalse(getDots().circles.isVisible());
 	}
 
-
 	@Test
 	void testOnDotNotSamePoints() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		// Computing the number of different x
-		final int nbXDiff = (int) view.getChildren().stream().map(node -> ((ViewDot) node).dot.centerXProperty().get()).distinct().count();
-		// Computing the number of different y
-		final int nbYDiff = (int) view.getChildren().stream().map(node -> ((ViewDot) node).dot.centerYProperty().get()).distinct().count();
+		final List<MoveTo> moves = getDots().circles.getElements().stream().filter(elt -> elt instanceof MoveTo).
+			map(elt -> (MoveTo) elt).collect(Collectors.toList());
 		// The points of the plot must all differ
-		WaitForAsyncUtils.waitForFxEvents();
-		assertTrue(view.getChildren().size() == nbXDiff || view.getChildren().size() == nbYDiff);
+		final int nbXDiff = (int) moves.stream().mapToDouble(MoveTo::getX).distinct().count();
+		final int nbYDiff = (int) moves.stream().mapToDouble(MoveTo::getY).distinct().count();
+		assertTrue(moves.size() == nbXDiff || moves.size() == nbYDiff);
 	}
 
 	@Test
 	void testOnDotNbPoints() {
 		model.setPlotStyle(PlotStyle.DOTS);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertEquals(model.getNbPlottedPoints(), view.getChildren().size());
+		assertEquals(model.getNbPlottedPoints(), countMoveTo(getDots().circles));
 	}
 
 	@Test
@@ -173,9 +203,143 @@ public class TestViewPlot extends TestViewShape<ViewPlot, Plot> {
 		model.setPlotStyle(PlotStyle.DOTS);
 		model.setPolar(true);
 		WaitForAsyncUtils.waitForFxEvents();
-		assertEquals(model.getNbPlottedPoints(), view.getChildren().size());
+		assertEquals(model.getNbPlottedPoints(), countMoveTo(getDots().circles));
+	}
+
+	@ParameterizedTest
+	@EnumSource(DotStyle.class)
+	void testDotsSameGlyphsAsDotViews(final DotStyle style) {
+		model.setPlotStyle(PlotStyle.DOTS);
+		model.setDotStyle(style);
+		WaitForAsyncUtils.waitForFxEvents();
+		final List<Dot> dots = view.updatePoints(model, 0d, 0d, model.getPlotMinX(), model.getPlotMaxX(), model.getPlottingStep());
+		final List<PathElement> glyphs = getDots().glyphs.getElements();
+		int i = 0;
+
+		for(final Dot dot : dots) {
+			final ViewDot dotView = new ViewDot(dot, factory);
+			assertEquals(dotView.path.isVisible(), getDots().glyphs.isVisible());
+			assertEquals(dotView.path.getFill(), getDots().glyphs.getFill());
+			assertEquals(dotView.path.getStrokeWidth(), getDots().glyphs.getStrokeWidth(), 0.0000001);
+			assertEquals(dotView.dot.getFill(), getDots().circles.getFill());
+			if(getDots().glyphs.isVisible()) {
+				for(final PathElement elt : dotView.path.getElements()) {
+					assertPathElementEquals(elt, glyphs.get(i++));
+				}
+			}
+			dotView.flush();
+		}
+		assertEquals(i, glyphs.size());
+	}
+
+	private static void assertPathElementEquals(final PathElement expected, final PathElement actual) {
+		assertEquals(expected.getClass(), actual.getClass());
+		if(expected instanceof MoveTo) {
+			assertEquals(((MoveTo) expected).getX(), ((MoveTo) actual).getX(), 0.0000001);
+			assertEquals(((MoveTo) expected).getY(), ((MoveTo) actual).getY(), 0.0000001);
+		}else if(expected instanceof LineTo) {
+			assertEquals(((LineTo) expected).getX(), ((LineTo) actual).getX(), 0.0000001);
+			assertEquals(((LineTo) expected).getY(), ((LineTo) actual).getY(), 0.0000001);
+		}
+	}
+
+	@Test
+	void testManyDotsNoSubViews() {
+		model.setPlotStyle(PlotStyle.DOTS);
+		model.setDotStyle(DotStyle.OPLUS);
+		WaitForAsyncUtils.waitForFxEvents();
+		// Warming up
+		model.setNbPlottedPoints(5000);
+		WaitForAsyncUtils.waitForFxEvents();
+		model.setPlotEquation("x 2 mul");
+		WaitForAsyncUtils.waitForFxEvents();
+
+		final long time = System.nanoTime();
+		model.setPlotEquation("x sin");
+		WaitForAsyncUtils.waitForFxEvents();
+		final long duration = System.nanoTime() - time;
+
+		assertEquals(1, view.getChildren().size());
+		assertEquals(5000, countMoveTo(getDots().circles));
+		// Creating 5000 dot shapes and views took about a second
+		assertTrue(duration < 500_000_000L, () -> "Plotting 5000 dots took " + duration / 1_000_000L + "ms");
+	}
+
+	@Test
+	void testSamplesReusedOnLineColourChange() {
+		final ViewBezierCurve curve = (ViewBezierCurve) view.getChildren().get(0);
+		final long hits = view.getNbSamplesHits();
+		model.setLineColour(DviPsColors.RED);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertSame(curve, view.getChildren().get(0));
+		assertEquals(DviPsColors.RED.toJFX(), curve.getBorder().getStroke());
+		assertEquals(hits, view.getNbSamplesHits());
+	}
+
+	@Test
+	void testSubViewKeptOnThicknessChange() {
+		model.setPlotStyle(PlotStyle.LINE);
+		WaitForAsyncUtils.waitForFxEvents();
+		final ViewPolyline line = (ViewPolyline) view.getChildren().get(0);
+		model.setThickness(model.getThickness() * 3.1);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertSame(line, view.getChildren().get(0));
+		assertEquals(model.getThickness(), line.getModel().getThickness(), 0.0000001);
+	}
+
+	@Test
+	void testSamplesReusedOnDotsStyleChange() {
+		model.setPlotStyle(PlotStyle.DOTS);
+		WaitForAsyncUtils.waitForFxEvents();
+		final long hits = view.getNbSamplesHits();
+		model.setLineColour(DviPsColors.BLUE);
+		model.setDotStyle(DotStyle.X);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(hits + 2L, view.getNbSamplesHits());
+		assertEquals(DviPsColors.BLUE.toJFX(), getDots().glyphs.getStroke());
+	}
+
+	@Test
+	void testSamplesReusedOnScaleOrPlotStyleChange() {
+		final long hits = view.getNbSamplesHits();
+		model.setXScale(model.getXScale() * 2d);
+		model.setYScale(model.getYScale() * 2d);
+		model.setPlotStyle(PlotStyle.POLYGON);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(hits + 3L, view.getNbSamplesHits());
+	}
+
+	@Test
+	void testSamplesNotReusedOnTranslate() {
+		final ViewBezierCurve curve = (ViewBezierCurve) view.getChildren().get(0);
+		final long hits = view.getNbSamplesHits();
+		model.translate(10d, 20d);
+		WaitForAsyncUtils.waitForFxEvents();
+		// Translating the plot only translates its view
+		assertSame(curve, view.getChildren().get(0));
+		assertEquals(hits, view.getNbSamplesHits());
 	}
 
+	@Test
+	void testSamplesNotReusedOnEquationChange() {
+		final long hits = view.getNbSamplesHits();
+		model.setPlotEquation("x 3 mul");
+		model.setNbPlottedPoints(model.getNbPlottedPoints() + 3);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(hits, view.getNbSamplesHits());
+	}
+
+	@Test
+	void testSamplesSameAsComputed() {
+		model.setPlotStyle(PlotStyle.LINE);
+		model.setXScale(1.5);
+		WaitForAsyncUtils.waitForFxEvents();
+		final ViewPolyline line = (ViewPolyline) view.getChildren().get(0);
+		final ViewPlot other = new ViewPlot(model, factory);
+		final ViewPolyline otherLine = (ViewPolyline) other.getChildren().get(0);
+		assertEquals(otherLine.getModel().getPoints(), line.getModel().getPoints());
+		other.flush();
+	}
 
 	@Override
 	@Test
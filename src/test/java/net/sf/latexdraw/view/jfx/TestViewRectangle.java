@@ -1,11 +1,16 @@
 package net.sf.latexdraw.view.jfx;
 
+import javafx.scene.paint.ImagePattern;
 import net.sf.latexdraw.data.ShapeSupplier;
+import net.sf.latexdraw.instrument.CmdFXVoid;
+import net.sf.latexdraw.instrument.Cmds;
 import net.sf.latexdraw.model.api.shape.BorderPos;
+import net.sf.latexdraw.model.api.shape.FillingStyle;
 import net.sf.latexdraw.model.api.shape.Rectangle;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class TestViewRectangle extends TestViewBorderedShape<ViewRectangle, Rectangle, javafx.scene.shape.Rectangle> {
 	@Override
@@ -13,6 +18,19 @@ public class TestViewRectangle extends TestViewBorderedShape<ViewRectangle, Rect
 		return ShapeSupplier.createRectangle();
 	}
 
+	@Test
+	void testResizeHatchingsNoNewTile() {
+		Cmds.of(CmdFXVoid.of(() -> model.setFillingStyle(FillingStyle.VLINES))).execute();
+		final ImagePattern pattern = (ImagePattern) border.getFill();
+		final long misses = ViewSingleShape.HATCHINGS_CACHE.getNbMisses();
+		Cmds.of(CmdFXVoid.of(() -> {
+			model.setWidth(model.getWidth() * 3d);
+			model.setHeight(model.getHeight() / 2d);
+		})).execute();
+		assertSame(pattern.getImage(), ((ImagePattern) border.getFill()).getImage());
+		assertEquals(misses, ViewSingleShape.HATCHINGS_CACHE.getNbMisses());
+	}
+
 	@Test
 	void testXPosition() {
 		model.setX(123d);
@@ -1,9 +1,14 @@
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javafx.geometry.Bounds;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.ImageView;
@@ -118,6 +123,25 @@ public class TestViewText extends TestViewShape<ViewText, Text> {
 		assertTrue(getImage().isVisible());
 	}
 
+	@Test
+	void testTextsCreatedInSameEventCompiledInOneBatch() throws InterruptedException, TimeoutException, ExecutionException {
+		final long nbBatches = ViewText.getRenderer().getNbBatches();
+		final String prefix = "batch" + System.nanoTime();
+		final List<ViewText> views = new ArrayList<>();
+		// The futures are read in the JavaFX thread: the compilation cannot be done before the end of the event that creates the views
+		final List<Future<?>> compilations = WaitForAsyncUtils.asyncFx(() -> IntStream.range(0, 3).<Future<?>>mapToObj(i -> {
+			final ViewText txt = (ViewText) factory.createView(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(), prefix + i)).orElseThrow();
+			views.add(txt);
+			return txt.getCurrentCompilation();
+		}).collect(Collectors.toList())).get(5, TimeUnit.SECONDS);
+		for(final Future<?> compilation : compilations) {
+			compilation.get(10, TimeUnit.SECONDS);
+		}
+		assertEquals(nbBatches + 1L, ViewText.getRenderer().getNbBatches());
+		assertEquals(3, ViewText.getRenderer().getLastBatchSize());
+		views.forEach(v -> v.flush());
+	}
+
 	@Test
 	@Override
 	public void testOnTranslateX() {
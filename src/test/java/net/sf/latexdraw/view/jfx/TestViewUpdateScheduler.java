@@ -0,0 +1,183 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import net.sf.latexdraw.command.shape.ModifyShapeProperty;
+import net.sf.latexdraw.command.shape.ShapeProperties;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.ArrowStyle;
+import net.sf.latexdraw.model.api.shape.Group;
+import net.sf.latexdraw.model.api.shape.Polyline;
+import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.service.LaTeXDataService;
+import net.sf.latexdraw.service.PreferencesService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestViewUpdateScheduler {
+	Canvas canvas;
+
+	@Start
+	void start(final Stage stage) {
+		canvas = new Canvas(new PreferencesService(), new ViewFactory(new LaTeXDataService()));
+		stage.setScene(new Scene(new ScrollPane(new StackPane(canvas)), 400d, 300d));
+		stage.show();
+	}
+
+	static Polyline createPolyline(final double x, final double y) {
+		final Polyline line = ShapeFactory.INST.createPolyline(List.of(ShapeFactory.INST.createPoint(x, y),
+			ShapeFactory.INST.createPoint(x + 20d, y + 10d), ShapeFactory.INST.createPoint(x + 40d, y)));
+		line.setArrowStyle(ArrowStyle.RIGHT_ARROW, 0);
+		line.setArrowStyle(ArrowStyle.LEFT_ARROW, -1);
+		return line;
+	}
+
+	Group addGroup(final int nb) {
+		final Group group = ShapeFactory.INST.createGroup();
+		IntStream.range(0, nb).forEach(i -> group.addShape(createPolyline(i % 50 * 50d, i / 50 * 30d)));
+		WaitForAsyncUtils.waitForAsyncFx(10_000, () -> canvas.getDrawing().addShape(group));
+		waitForUpdates();
+		return group;
+	}
+
+	static void waitForUpdates() {
+		WaitForAsyncUtils.waitForFxEvents();
+		try {
+			WaitForAsyncUtils.waitFor(10, TimeUnit.SECONDS,
+				() -> WaitForAsyncUtils.waitForAsyncFx(1000, () -> ViewShape.UPDATES.getNbPendingViews() == 0));
+		}catch(final TimeoutException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	static void collectViews(final Node node, final List<ViewShape<?>> views) {
+		if(node instanceof ViewShape) {
+			views.add((ViewShape<?>) node);
+		}
+		if(node instanceof Parent) {
+			((Parent) node).getChildrenUnmodifiable().forEach(n -> collectViews(n, views));
+		}
+	}
+
+	Map<ViewShape<?>, Long> getNbUpdatePasses() {
+		final List<ViewShape<?>> views = new ArrayList<>();
+		collectViews(canvas.getViews(), views);
+		final Map<ViewShape<?>, Long> passes = new IdentityHashMap<>();
+		views.forEach(v -> passes.put(v, v.getNbUpdatePasses()));
+		return passes;
+	}
+
+	@Test
+	void testGroupTranslationUpdatesEachViewOncePerFrame() {
+		addGroup(1000);
+		final Map<ViewShape<?>, Long> before = getNbUpdatePasses();
+		final long passes = ViewShape.UPDATES.getNbPasses();
+
+		WaitForAsyncUtils.waitForAsyncFx(10_000, () -> canvas.getDrawing().getShapeAt(0).orElseThrow().translate(10d, 5d));
+		waitForUpdates();
+
+		final Map<ViewShape<?>, Long> after = getNbUpdatePasses();
+		assertThat(ViewShape.UPDATES.getNbPasses()).isEqualTo(passes + 1L);
+		assertThat(after.keySet()).isEqualTo(before.keySet());
+		// Each point of each polyline changed twice (x and y), but each arrow trait is updated once
+		final List<ViewShape<?>> arrowViews = new ArrayList<>();
+		after.forEach((view, nb) -> {
+			assertThat(nb - before.get(view)).isBetween(0L, 1L);
+			if(view instanceof ViewArrowableTrait) {
+				arrowViews.add(view);
+				assertThat(nb - before.get(view)).isEqualTo(1L);
+			}
+		});
+		assertThat(arrowViews).hasSize(1000);
+	}
+
+	@Test
+	void testGroupTranslationUpdatesArrowClips() {
+		final Group group = addGroup(10);
+		final ViewPolyline view = (ViewPolyline) ((Parent) ((Parent) canvas.getViews().getChildren().get(0)).getChildrenUnmodifiable().get(0))
+			.getChildrenUnmodifiable().get(0);
+		final Node clip = view.border.getClip();
+
+		WaitForAsyncUtils.waitForAsyncFx(1000, () -> group.translate(10d, 5d));
+		waitForUpdates();
+
+		assertThat(view.border.getClip()).isNotNull().isNotSameAs(clip);
+	}
+
+	@Test
+	void testUndisplayedViewUpdatedAtOnce() {
+		final Polyline line = createPolyline(10d, 10d);
+		final ViewPolyline view = (ViewPolyline) new ViewFactory(new LaTeXDataService()).createView(line).orElseThrow();
+		final long nb = view.viewArrows.getNbUpdatePasses();
+		line.translate(10d, 5d);
+		assertThat(view.viewArrows.getNbUpdatePasses()).isGreaterThan(nb);
+		assertThat(ViewShape.UPDATES.getNbPendingViews()).isZero();
+		view.flush();
+	}
+
+	@Test
+	void testPropertyChangeOnSelectedShapesUpdatesEachViewOnce() {
+		final List<Shape> shapes = IntStream.range(0, 5000).mapToObj(i -> createPolyline(i % 100 * 50d, i / 100 * 30d)).collect(Collectors.toList());
+		WaitForAsyncUtils.waitForAsyncFx(60_000, () -> {
+			shapes.forEach(sh -> canvas.getDrawing().addShape(sh));
+			canvas.getDrawing().setSelection(shapes);
+		});
+		waitForUpdates();
+		final Map<ViewShape<?>, Long> before = getNbUpdatePasses();
+		final long passes = ViewShape.UPDATES.getNbPasses();
+
+		WaitForAsyncUtils.waitForAsyncFx(10_000, () -> new ModifyShapeProperty<>(ShapeProperties.LINE_THICKNESS,
+			canvas.getDrawing().getSelection().duplicateDeep(false), 7d).doIt());
+		waitForUpdates();
+
+		assertThat(ViewShape.UPDATES.getNbPasses()).isEqualTo(passes + 1L);
+		assertThat(shapes).allMatch(sh -> sh.getThickness() == 7d);
+		// The strokes and the arrows of each shape are updated in a single pass of each view
+		getNbUpdatePasses().forEach((view, nb) -> assertThat(nb - before.get(view)).isEqualTo(1L));
+	}
+
+	@Test
+	void testHoldViewUpdatesOfUndisplayedView() {
+		final Polyline line = createPolyline(10d, 10d);
+		final ViewPolyline view = (ViewPolyline) new ViewFactory(new LaTeXDataService()).createView(line).orElseThrow();
+		final long nb = view.viewArrows.getNbUpdatePasses();
+		line.holdViewUpdates();
+		line.translate(10d, 5d);
+		line.setThickness(4d);
+		assertThat(view.viewArrows.getNbUpdatePasses()).isEqualTo(nb);
+		assertThat(ViewShape.UPDATES.getNbPendingViews()).isGreaterThan(0);
+		line.releaseViewUpdates();
+		assertThat(view.viewArrows.getNbUpdatePasses()).isEqualTo(nb + 1L);
+		assertThat(ViewShape.UPDATES.getNbPendingViews()).isZero();
+		view.flush();
+	}
+
+	@Test
+	void testFlushCancelsHeldUpdates() {
+		final Polyline line = createPolyline(10d, 10d);
+		final ViewPolyline view = (ViewPolyline) new ViewFactory(new LaTeXDataService()).createView(line).orElseThrow();
+		line.holdViewUpdates();
+		line.setThickness(4d);
+		view.flush();
+		line.releaseViewUpdates();
+		assertThat(ViewShape.UPDATES.getNbPendingViews()).isZero();
+	}
+}
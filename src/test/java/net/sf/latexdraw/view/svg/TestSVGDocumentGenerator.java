@@ -0,0 +1,76 @@
+package net.sf.latexdraw.view.svg;
+
+import io.github.interacto.jfx.ui.JfxUI;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import javafx.concurrent.Task;
+import javafx.scene.control.ProgressBar;
+import net.sf.latexdraw.model.ShapeFactory;
+import net.sf.latexdraw.model.api.shape.Drawing;
+import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.parser.svg.SVGDocument;
+import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.ViewFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(ApplicationExtension.class)
+public class TestSVGDocumentGenerator {
+	static final String ORIGINAL = "<svg xmlns=\"http://www.w3.org/2000/svg\"><rect width=\"10\" height=\"20\"/></svg>"; //NON-NLS
+
+	@TempDir Path dir;
+	Path file;
+	SVGShapesFactory factory;
+	Drawing drawing;
+	SVGDocumentGenerator generator;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = Files.writeString(dir.resolve("drawing.svg"), ORIGINAL);
+		factory = Mockito.mock(SVGShapesFactory.class);
+		drawing = ShapeFactory.INST.createDrawing();
+		drawing.addShape(ShapeFactory.INST.createRectangle());
+		drawing.addShape(ShapeFactory.INST.createCircle());
+		generator = new SVGDocumentGenerator(Mockito.mock(ViewFactory.class), factory, Mockito.mock(ResourceBundle.class),
+			Mockito.mock(Canvas.class), drawing, Mockito.mock(JfxUI.class));
+	}
+
+	Task<Boolean> save() {
+		return generator.save(file.toString(), new ProgressBar(), null);
+	}
+
+	long countFiles() throws IOException {
+		try(final Stream<Path> files = Files.list(dir)) {
+			return files.count();
+		}
+	}
+
+	@Test
+	void testSaveReplacesTheFile() throws IOException, ExecutionException, InterruptedException {
+		assertThat(save().get()).isTrue();
+		assertThat(Files.readString(file)).isNotEqualTo(ORIGINAL).contains("<svg");
+		assertThat(countFiles()).isEqualTo(1L);
+	}
+
+	@Test
+	void testFailingShapeGeneratorKeepsTheFile() throws IOException {
+		final Shape failing = drawing.getShapeAt(1).orElseThrow();
+		Mockito.when(factory.createSVGElement(Mockito.eq(failing), Mockito.any(SVGDocument.class))).thenThrow(new IllegalStateException());
+		final Task<Boolean> task = save();
+
+		assertThrows(ExecutionException.class, () -> task.get());
+		assertThat(Files.readString(file)).isEqualTo(ORIGINAL);
+		assertThat(countFiles()).isEqualTo(1L);
+	}
+}
@@ -1,7 +1,95 @@
 package net.sf.latexdraw.view.svg;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import net.sf.latexdraw.model.CompareShapeMatcher;
+import net.sf.latexdraw.model.ShapeFactory;
 import net.sf.latexdraw.model.api.shape.Grid;
+import net.sf.latexdraw.parser.svg.SVGElement;
+import net.sf.latexdraw.parser.svg.SVGGElement;
+import net.sf.latexdraw.parser.svg.SVGStreamWriter;
 import net.sf.latexdraw.view.PolymorphGridTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.w3c.dom.Node;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class TestSVGGrid extends TestSVGBase<Grid> implements PolymorphGridTest {
+	SVGElement toSVG(final Grid grid, final boolean compact) {
+		final SVGElement elt = new SVGGrid(grid, compact).toSVG(doc);
+		doc.getFirstChild().appendChild(elt);
+		return elt;
+	}
+
+	static int countElements(final Node node) {
+		int nb = 1;
+		for(int i = 0; i < node.getChildNodes().getLength(); i++) {
+			nb += countElements(node.getChildNodes().item(i));
+		}
+		return nb;
+	}
+
+	static String serialise(final Node node) throws IOException {
+		final StringWriter str = new StringWriter();
+		try(final SVGStreamWriter writer = new SVGStreamWriter(str, StandardCharsets.UTF_8)) {
+			writer.writeNode(node);
+		}
+		return str.toString();
+	}
+
+	/**
+	 * A dotted 20x20 grid with a dotted sub-grid, without labels.
+	 */
+	static Grid createLargeDottedGrid() {
+		final Grid grid = ShapeFactory.INST.createGrid(ShapeFactory.INST.createPoint(100d, 100d));
+		grid.setGridStartX(0d);
+		grid.setGridStartY(0d);
+		grid.setGridEndX(20d);
+		grid.setGridEndY(20d);
+		grid.setGridDots(5);
+		grid.setSubGridDiv(4);
+		grid.setSubGridDots(5);
+		grid.setLabelsSize(0);
+		return grid;
+	}
+
+	@ParameterizedTest
+	@MethodSource("net.sf.latexdraw.data.ShapeSupplier#createDiversifiedGrid")
+	void testCompactAndElementEncodingsReadTheSame(final Grid sh) {
+		final Grid compact = (Grid) factory.createShape(toSVG(sh, true));
+		final Grid elements = (Grid) factory.createShape(toSVG(sh, false));
+		CompareShapeMatcher.INST.assertEqualsGrid(sh, compact);
+		CompareShapeMatcher.INST.assertEqualsGrid(elements, compact);
+	}
+
+	@Test
+	void testCompactEncodingOnePathPerLayer() {
+		final SVGElement elt = toSVG(createLargeDottedGrid(), true);
+		final SVGElement subGrid = SVGShape.getLaTeXDrawElement((SVGGElement) elt, "subGrid");
+		assertThat(subGrid.getChildNodes().getLength()).isEqualTo(1);
+		assertThat(subGrid.getChildNodes().item(0).getNodeName()).isEqualTo("path");
+	}
+
+	@Test
+	void testCompactEncodingRoundTripLargeDottedGrid() {
+		final Grid grid = createLargeDottedGrid();
+		final Grid compact = (Grid) factory.createShape(toSVG(grid, true));
+		CompareShapeMatcher.INST.assertEqualsGrid(grid, compact);
+		CompareShapeMatcher.INST.assertEqualsGrid((Grid) factory.createShape(toSVG(grid, false)), compact);
+	}
+
+	@Test
+	void testCompactEncodingSmaller() throws IOException {
+		final Grid grid = createLargeDottedGrid();
+		final SVGElement elements = toSVG(grid, false);
+		final SVGElement compact = toSVG(grid, true);
+
+		// Tens of thousands of circles against a few elements
+		assertThat(countElements(elements)).isGreaterThan(20_000);
+		assertThat(countElements(compact)).isLessThan(20);
+		assertThat(serialise(compact).length()).isLessThan(serialise(elements).length() / 2);
+	}
 }
@@ -0,0 +1,189 @@
+package net.sf.latexdraw.view.svg;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.sf.latexdraw.model.api.shape.Group;
+import net.sf.latexdraw.model.api.shape.Shape;
+import net.sf.latexdraw.parser.svg.SVGDocument;
+import net.sf.latexdraw.parser.svg.SVGElement;
+import net.sf.latexdraw.parser.svg.SVGElementsListener;
+import net.sf.latexdraw.service.LaTeXDataService;
+import net.sf.latexdraw.util.BadaboomCollector;
+import net.sf.latexdraw.view.jfx.ViewFactory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.w3c.dom.NodeList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential tests of the shapes streamed from SVG documents against the shapes converted from the read documents.
+ */
+class TestSVGStreamedShapes {
+	static final String SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\">"; //NON-NLS
+	static final String RECT = "<rect width=\"10\" height=\"20\" x=\"%d\" y=\"5\"/>"; //NON-NLS
+
+	@TempDir Path dir;
+	SVGShapesFactory factory;
+	/** The shapes of the sink, as a drawing would contain them. */
+	List<Shape> shapes;
+	List<String> events;
+	SVGStreamedShapes.Sink sink;
+
+	@BeforeEach
+	void setUp() {
+		BadaboomCollector.INSTANCE.clear();
+		factory = new SVGShapesFactory(new ViewFactory(new LaTeXDataService()));
+		shapes = new ArrayList<>();
+		events = new ArrayList<>();
+		sink = new SVGStreamedShapes.Sink() {
+			@Override
+			public void add(final @NotNull Shape sh) {
+				events.add("add");
+				shapes.add(sh);
+			}
+
+			@Override
+			public void replace(final @NotNull List<Shape> added, final @NotNull List<Shape> newShapes) {
+				events.add("replace");
+				final int index = added.isEmpty() ? shapes.size() : shapes.indexOf(added.get(0));
+				shapes.removeAll(added);
+				shapes.addAll(index, newShapes);
+			}
+		};
+	}
+
+	@AfterEach
+	void tearDown() {
+		BadaboomCollector.INSTANCE.clear();
+	}
+
+	static Stream<Path> svgFiles() throws IOException {
+		try(final Stream<Path> paths = Files.walk(Path.of("src/test/resources"))) {
+			// The overviewForma documents refer to pictures that cannot be read: their conversion fails.
+			return paths.filter(p -> p.toString().endsWith(".svg") && !p.getFileName().toString().startsWith("overviewForma")).
+				collect(Collectors.toList()).stream();
+		}
+	}
+
+	static String rects(final int nb) {
+		return IntStream.range(0, nb).mapToObj(i -> String.format(RECT, i * 20)).collect(Collectors.joining());
+	}
+
+	/**
+	 * A textual description of the shapes: their types, positions, and the shapes of the groups.
+	 */
+	static String describe(final List<Shape> shapes) {
+		return shapes.stream().map(sh -> sh.getClass().getSimpleName() + sh.getTopLeftPoint() +
+			(sh instanceof Group ? describe(((Group) sh).getShapes()) : "")).collect(Collectors.joining(", ", "[", "]"));
+	}
+
+	/**
+	 * The shapes of a document converted once read (as SVGDocumentGenerator::toLatexdraw).
+	 */
+	List<Shape> convertReadDocument(final Path file) throws IOException {
+		final NodeList elts = new SVGDocument(file.toUri()).getDocumentElement().getChildNodes();
+		final List<Shape> read = IntStream.range(0, elts.getLength()).mapToObj(i -> elts.item(i)).filter(node -> node instanceof SVGElement).
+			map(node -> factory.createShape((SVGElement) node)).filter(sh -> sh != null).collect(Collectors.toList());
+		return read.size() == 1 && read.get(0) instanceof Group ? ((Group) read.get(0)).getShapes() : read;
+	}
+
+	List<Shape> stream(final Path file) throws IOException {
+		final SVGStreamedShapes streamed = new SVGStreamedShapes(factory, sink, () -> { });
+		new SVGDocument(file.toUri(), streamed);
+		streamed.end();
+		return shapes;
+	}
+
+	Path write(final String content) throws IOException {
+		return Files.writeString(dir.resolve("doc.svg"), content);
+	}
+
+	@ParameterizedTest
+	@MethodSource("svgFiles")
+	void testSameShapesAsReadDocument(final Path file) throws IOException {
+		assertThat(describe(stream(file))).isEqualTo(describe(convertReadDocument(file)));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		SVG + "<g>" + "<rect width=\"10\" height=\"20\"/><rect width=\"10\" height=\"20\" x=\"30\"/><rect width=\"1\" height=\"2\" x=\"50\"/></g><defs/></svg>",
+		SVG + "<g><rect width=\"10\" height=\"20\"/><rect width=\"10\" height=\"20\" x=\"30\"/></g><rect width=\"1\" height=\"2\" x=\"50\"/></svg>",
+		SVG + "<rect width=\"1\" height=\"2\" x=\"50\"/><g><rect width=\"10\" height=\"20\"/><rect width=\"10\" height=\"20\" x=\"30\"/></g></svg>",
+		SVG + "<g><g><rect width=\"10\" height=\"20\"/><rect width=\"10\" height=\"20\" x=\"30\"/></g></g></svg>",
+		SVG + "<g><g><rect width=\"10\" height=\"20\"/><rect width=\"10\" height=\"20\" x=\"30\"/></g></g><rect width=\"1\" height=\"2\" x=\"50\"/></svg>",
+		SVG + "<g><rect width=\"10\" height=\"20\"/></g></svg>",
+		SVG + "<g><rect width=\"10\" height=\"20\"/></g><rect width=\"1\" height=\"2\" x=\"50\"/></svg>",
+		SVG + "<g><rect width=\"10\" height=\"20\"/><foo/></g><rect width=\"1\" height=\"2\" x=\"50\"/></svg>",
+		SVG + "<g></g><rect width=\"1\" height=\"2\" x=\"50\"/></svg>",
+		SVG + "<g><foo/><bar/></g><rect width=\"1\" height=\"2\" x=\"50\"/><g><rect width=\"10\" height=\"20\"/></g></svg>",
+		SVG + "<g><rect width=\"10\" height=\"20\"/> <rect width=\"10\" height=\"20\" x=\"30\"/></g><g><rect width=\"1\" height=\"2\"/></g></svg>"
+	})
+	void testSameShapesAsReadDocumentUnusualContents(final String content) throws IOException {
+		final Path file = write(content);
+		assertThat(describe(stream(file))).isEqualTo(describe(convertReadDocument(file)));
+	}
+
+	@Test
+	void testFirstShapeDeliveredBeforeTheEndOfTheStream() throws IOException {
+		final List<Integer> nbReadWhenDelivered = new ArrayList<>();
+		final List<SVGElement> lastRead = new ArrayList<>();
+		final SVGStreamedShapes streamed = new SVGStreamedShapes(factory, new SVGStreamedShapes.Sink() {
+			@Override
+			public void add(final @NotNull Shape sh) {
+				nbReadWhenDelivered.add(lastRead.get(0).getParentNode().getChildNodes().getLength());
+				sink.add(sh);
+			}
+
+			@Override
+			public void replace(final @NotNull List<Shape> added, final @NotNull List<Shape> newShapes) {
+				sink.replace(added, newShapes);
+			}
+		}, () -> { });
+
+		new SVGDocument(write(SVG + "<g>" + rects(2000) + "</g><defs/></svg>").toUri(), new SVGElementsListener() {
+			@Override
+			public void onTopLevelElement(final @NotNull SVGElement elt) {
+				streamed.onTopLevelElement(elt);
+			}
+
+			@Override
+			public boolean isStreamed(final @NotNull SVGElement group) {
+				return streamed.isStreamed(group);
+			}
+
+			@Override
+			public void onGroupChild(final @NotNull SVGElement child) {
+				lastRead.clear();
+				lastRead.add(child);
+				streamed.onGroupChild(child);
+			}
+		});
+		streamed.end();
+
+		// Each shape is delivered once its element read, before the next elements
+		assertThat(nbReadWhenDelivered).containsExactlyElementsOf(IntStream.rangeClosed(1, 2000).boxed().collect(Collectors.toList()));
+		assertThat(shapes).hasSize(2000);
+		assertThat(events).containsOnly("add");
+	}
+
+	@Test
+	void testStreamedShapesRegroupedWhenFollowedByAShape() throws IOException {
+		stream(write(SVG + "<g>" + rects(3) + "</g><rect width=\"1\" height=\"2\"/></svg>"));
+		assertThat(events).containsExactly("add", "add", "add", "replace", "add");
+		assertThat(shapes).hasSize(2);
+		assertThat(((Group) shapes.get(0)).getShapes()).hasSize(3);
+	}
+}